@@ -0,0 +1,39 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.Course;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic course data shared by the benchmarks
+ */
+final class BenchmarkData {
+    static final String[] GRADES = {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "D", "F"};
+    static final double[] CREDITS = {0.75, 1.5, 2.0, 3.0, 4.0};
+    private static final String[] WORDS = {
+        "Data", "Structures", "Algorithms", "Physics", "Chemistry", "Calculus", "Networks",
+        "Databases", "Operating", "Systems", "Compiler", "Design", "Signals", "Circuits"
+    };
+    private static final String[] TEACHERS = {"Rahman", "Karim", "Hasan", "Ahmed", "Islam", "Das", "Roy", "Khan"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Course> randomCourses(int count, long seed) {
+        Random random = new Random(seed);
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            courses.add(new Course(
+                WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i,
+                "CSE" + (1000 + random.nextInt(9000)),
+                CREDITS[random.nextInt(CREDITS.length)],
+                TEACHERS[random.nextInt(TEACHERS.length)],
+                TEACHERS[random.nextInt(TEACHERS.length)],
+                GRADES[random.nextInt(GRADES.length)]
+            ));
+        }
+        return courses;
+    }
+}
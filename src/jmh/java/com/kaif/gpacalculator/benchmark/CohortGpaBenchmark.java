@@ -0,0 +1,59 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.CohortBatch;
+import com.kaif.gpacalculator.util.CohortGpaCalculator;
+import com.kaif.gpacalculator.util.FixedPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cohort GPA scaling across worker counts: 50k students x 40 courses over 8 semesters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CohortGpaBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"50000"})
+    public int students;
+
+    private CohortBatch cohort;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        cohort = new CohortBatch();
+        for (int student = 0; student < students; student++) {
+            String studentId = "S" + student;
+            for (int course = 0; course < 40; course++) {
+                cohort.add(studentId, "2024-" + course / 5,
+                    FixedPoint.fromDouble(BenchmarkData.CREDITS[random.nextInt(BenchmarkData.CREDITS.length)]),
+                    BenchmarkData.GRADES[random.nextInt(BenchmarkData.GRADES.length)]);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<CohortGpaCalculator.StudentGpa> calculate() {
+        return CohortGpaCalculator.calculate(cohort, threads);
+    }
+}
@@ -0,0 +1,58 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.CourseBatch;
+import com.kaif.gpacalculator.util.GpaCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GPA over List&lt;Course&gt; versus the columnar CourseBatch at transcript-table sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CourseBatchBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private List<Course> courses;
+    private CourseBatch batch;
+
+    @Setup
+    public void setUp() {
+        courses = BenchmarkData.randomCourses(size, 42);
+        batch = CourseBatch.from(courses, false);
+    }
+
+    @Benchmark
+    public double listGPA() {
+        return GpaCalculator.calculateGPA(courses);
+    }
+
+    @Benchmark
+    public double batchGPA() {
+        return GpaCalculator.calculateGPA(batch);
+    }
+
+    @Benchmark
+    public double batchTotalCredits() {
+        return GpaCalculator.calculateTotalCredits(batch);
+    }
+}
@@ -0,0 +1,113 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.CourseCsv;
+import com.kaif.gpacalculator.util.FixedPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a course CSV file into Course objects: the memory-mapped CourseCsv parser
+ * (one thread and split across threads) against a BufferedReader + String.split baseline.
+ * Parsing only; the database insert is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseCsvBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private Path file;
+    private final GradeScale scale = GradeScale.getActive();
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("courses", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(CourseCsv.HEADER);
+            out.write('\n');
+            for (Course course : BenchmarkData.randomCourses(rows, 11)) {
+                CourseCsv.writeRecord(out, course.getCourseName(), course.getCourseCode(), course.getCreditHundredths(),
+                                      course.getTeacher1Name(), course.getTeacher2Name(), course.getGrade());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void bufferedReaderSplit(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                blackhole.consume(Course.withCreditHundredths(fields[0].trim(), fields[1].trim(),
+                    FixedPoint.parse(fields[2]), emptyToNull(fields[3].trim()), emptyToNull(fields[4].trim()),
+                    fields[5].trim()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapped(Blackhole blackhole) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            new CourseCsv(scale).parse(channel, handler(blackhole));
+        }
+    }
+
+    @Benchmark
+    public void mappedParallel4(Blackhole blackhole) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CourseCsv.parseParallel(channel, scale, 4, () -> handler(blackhole));
+        }
+    }
+
+    private static CourseCsv.RowHandler handler(Blackhole blackhole) {
+        return new CourseCsv.RowHandler() {
+            @Override
+            public void course(long line, Course course) {
+                blackhole.consume(course);
+            }
+
+            @Override
+            public void error(long line, String message) {
+                throw new IllegalStateException(line + ": " + message);
+            }
+        };
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,61 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.kaif.gpacalculator.model.Course;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson serialization of course lists as done by db.insertCalculation
+ * (compact, current) and by the original pretty-printing path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseJsonBenchmark {
+
+    @Param({"8", "100", "10000"})
+    public int size;
+
+    private List<Course> courses;
+    private String compactJson;
+    private final Gson compactGson = new Gson();
+    private final Gson prettyGson = new GsonBuilder().setPrettyPrinting().create();
+
+    @Setup
+    public void setUp() {
+        courses = BenchmarkData.randomCourses(size, 7);
+        compactJson = compactGson.toJson(courses);
+    }
+
+    @Benchmark
+    public String toJsonCompact() {
+        return compactGson.toJson(courses);
+    }
+
+    @Benchmark
+    public String toJsonPretty() {
+        return prettyGson.toJson(courses);
+    }
+
+    @Benchmark
+    public Course[] fromJson() {
+        return compactGson.fromJson(compactJson, Course[].class);
+    }
+}
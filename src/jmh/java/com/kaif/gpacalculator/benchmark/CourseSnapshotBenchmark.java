@@ -0,0 +1,70 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.CourseSnapshot;
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.GpaCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opening a course snapshot file and computing its GPA, with and without the data checksum
+ * pass, against the same courses held as a List.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseSnapshotBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private Path file;
+    private List<Course> courses;
+
+    @Setup
+    public void setUp() throws IOException {
+        courses = BenchmarkData.randomCourses(rows, 13);
+        file = Files.createTempFile("courses", ".snap");
+        CourseSnapshot.write(file, courses, GradeScale.getActive(), true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public double openVerifiedGpa() throws IOException {
+        return GpaCalculator.calculateGPA(CourseSnapshot.open(file));
+    }
+
+    @Benchmark
+    public double openUnverifiedGpa() throws IOException {
+        return GpaCalculator.calculateGPA(CourseSnapshot.open(file, false));
+    }
+
+    @Benchmark
+    public double listGpa() {
+        return GpaCalculator.calculateGPA(courses);
+    }
+}
@@ -0,0 +1,128 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.Course;
+import database.db;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Main db CRUD, search and history paths against a scratch SQLite file seeded with synthetic data.
+ * Each fork gets its own file (db is a singleton), pointed to via -Dgpa.db.path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private Path directory;
+    private db database;
+    private List<Course> calculationCourses;
+    private int nextId;
+    private int gradeIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("gpa-bench");
+        System.setProperty("gpa.db.path", directory.resolve("bench.db").toString());
+        Logger.getLogger("database").setLevel(java.util.logging.Level.WARNING);
+
+        database = db.getInstance();
+        database.insertCourses(BenchmarkData.randomCourses(rows, 1));
+        calculationCourses = BenchmarkData.randomCourses(8, 2);
+        for (int i = 0; i < 1000; i++) {
+            database.insertCalculation(3.5, 24.0, calculationCourses);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.closeConnection();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private int nextId() {
+        nextId = nextId % rows + 1;
+        return nextId;
+    }
+
+    @Benchmark
+    public boolean insertCourse() {
+        return database.insertCourse(new Course("Bench Course", "BEN101", 3.0, "T1", "T2", "B+"));
+    }
+
+    @Benchmark
+    public Course getCourseById() {
+        return database.getCourseById(nextId());
+    }
+
+    @Benchmark
+    public boolean updateCourseGrade() {
+        String grade = BenchmarkData.GRADES[gradeIndex++ % BenchmarkData.GRADES.length];
+        return database.updateCourseGrade(nextId(), grade);
+    }
+
+    @Benchmark
+    public List<Course> searchSelective() {
+        return database.searchCourses("CSE4242");
+    }
+
+    @Benchmark
+    public List<Course> searchCommonWord() {
+        return database.searchCourses("Networks");
+    }
+
+    @Benchmark
+    public db.CoursePage firstPage() {
+        return database.getCoursesPage(null, 50);
+    }
+
+    @Benchmark
+    public int courseCount() {
+        return database.getCourseCount();
+    }
+
+    @Benchmark
+    public boolean insertCalculation() {
+        return database.insertCalculation(3.5, 24.0, calculationCourses);
+    }
+
+    @Benchmark
+    public List<db.CalculationRecord> calculationHistory() {
+        return database.getCalculationHistory(10);
+    }
+
+    @Benchmark
+    public String calculationCoursesJSON() {
+        return database.getCalculationCoursesJSON(1 + nextId() % 1000);
+    }
+}
@@ -0,0 +1,50 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.util.GpaCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GPA and total-credit computation over course lists of increasing size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GpaCalculatorBenchmark {
+
+    @Param({"10", "1000", "1000000"})
+    public int size;
+
+    private List<Course> courses;
+
+    @Setup
+    public void setUp() {
+        courses = BenchmarkData.randomCourses(size, 42);
+    }
+
+    @Benchmark
+    public double calculateGPA() {
+        return GpaCalculator.calculateGPA(courses);
+    }
+
+    @Benchmark
+    public double calculateTotalCredits() {
+        return GpaCalculator.calculateTotalCredits(courses);
+    }
+}
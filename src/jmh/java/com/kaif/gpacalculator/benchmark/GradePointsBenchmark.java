@@ -0,0 +1,59 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.Course;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grade string to grade point conversion, via setGrade on a reused course and via construction
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradePointsBenchmark {
+
+    private String[] grades;
+    private Course course;
+
+    @Setup
+    public void setUp() {
+        // Fresh String instances so the switch cannot rely on identity with the literals
+        grades = new String[BenchmarkData.GRADES.length];
+        for (int i = 0; i < grades.length; i++) {
+            grades[i] = new String(BenchmarkData.GRADES[i]);
+        }
+        course = new Course("Benchmark", "BEN101", 3.0, "T1", "T2", "A");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void setGrade(Blackhole blackhole) {
+        for (String grade : grades) {
+            course.setGrade(grade);
+            blackhole.consume(course.getGradePoints());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void construct(Blackhole blackhole) {
+        for (String grade : grades) {
+            blackhole.consume(new Course("Benchmark", "BEN101", 3.0, "T1", "T2", grade).getGradePoints());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.report.GpaReport;
+import com.kaif.gpacalculator.report.ReportEngine;
+import com.kaif.gpacalculator.util.GpaCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering one GPA report (course table of the given size) to HTML through the compiled
+ * template and to PDF, into a discarding stream so only render cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+
+    @Param({"10", "200"})
+    public int courses;
+
+    private GpaReport report;
+
+    @Setup
+    public void setUp() {
+        List<Course> list = BenchmarkData.randomCourses(courses, 17);
+        report = GpaReport.forCalculation("GPA Report", "Benchmark", GpaCalculator.calculateGPA(list),
+                                          GpaCalculator.calculateTotalCredits(list), list);
+    }
+
+    @Benchmark
+    public void html() throws IOException {
+        ReportEngine.render(report, ReportEngine.Format.HTML, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void pdf() throws IOException {
+        ReportEngine.render(report, ReportEngine.Format.PDF, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,55 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.TargetGpaSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Target-GPA solver on worst-case inputs: the 4.3 scale (13 levels, finest point gcd) and a
+ * target of 3.70, the hardest one found by sweeping targets. "fine" adds a 3.01-credit course
+ * so the credit gcd drops to one hundredth and the DP range is at its largest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TargetGpaSolverBenchmark {
+
+    @Param({"20", "60", "120"})
+    public int pending;
+
+    @Param({"typical", "fine"})
+    public String credits;
+
+    private long[] pendingCredits;
+
+    @Setup
+    public void setUp() {
+        long[] mix = "fine".equals(credits)
+            ? new long[] {300, 301, 150, 75, 400}
+            : new long[] {300, 300, 150, 75, 400};
+        pendingCredits = new long[pending];
+        for (int i = 0; i < pending; i++) {
+            pendingCredits[i] = mix[i % mix.length];
+        }
+    }
+
+    @Benchmark
+    public TargetGpaSolver.Plan solve() {
+        return TargetGpaSolver.solve(0, 0, pendingCredits, GradeScale.SCALE_4_3, 370);
+    }
+}
@@ -0,0 +1,78 @@
+package com.kaif.gpacalculator.benchmark;
+
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.FixedPoint;
+import com.kaif.gpacalculator.util.WeightedSumKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vector API weighted-sum kernel against the scalar loop, over points columns and over grade codes
+ * with a table lookup. The fork adds jdk.incubator.vector so sums() takes the SIMD path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "--add-modules=jdk.incubator.vector"})
+public class WeightedSumKernelBenchmark {
+
+    @Param({"65536", "1000000", "10000000"})
+    public int size;
+
+    private long[] credits;
+    private long[] points;
+    private byte[] gradeCodes;
+    private long[] table;
+
+    @Setup
+    public void setUp() {
+        if (!WeightedSumKernel.isVectorized()) {
+            throw new IllegalStateException("Vector API kernel not enabled in this fork");
+        }
+        GradeScale scale = GradeScale.STANDARD_4_0;
+        table = scale.hundredthsTable();
+        Random random = new Random(17);
+        credits = new long[size];
+        points = new long[size];
+        gradeCodes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            credits[i] = FixedPoint.fromDouble(BenchmarkData.CREDITS[random.nextInt(BenchmarkData.CREDITS.length)]);
+            gradeCodes[i] = scale.code(BenchmarkData.GRADES[random.nextInt(BenchmarkData.GRADES.length)]);
+            points[i] = table[gradeCodes[i] & 0xFF];
+        }
+    }
+
+    @Benchmark
+    public long[] scalarPoints() {
+        return WeightedSumKernel.scalarSums(credits, points, size);
+    }
+
+    @Benchmark
+    public long[] vectorPoints() {
+        return WeightedSumKernel.sums(credits, points, size);
+    }
+
+    @Benchmark
+    public long[] scalarCodes() {
+        return WeightedSumKernel.scalarSums(credits, gradeCodes, table, size);
+    }
+
+    @Benchmark
+    public long[] vectorCodes() {
+        return WeightedSumKernel.sums(credits, gradeCodes, table, size);
+    }
+}
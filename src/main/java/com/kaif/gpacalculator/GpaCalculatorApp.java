@@ -1,5 +1,7 @@
 package com.kaif.gpacalculator;
 
+import database.AsyncDatabase;
+import database.WriteBehindQueue;
 import database.db;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -9,8 +11,12 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
 
+import java.util.logging.Logger;
+
 public class GpaCalculatorApp extends Application {
 
+    private static final Logger logger = Logger.getLogger(GpaCalculatorApp.class.getName());
+
     private Scene scene;
     private String cssPath = "/com/kaif/gpacalculator/css/styles.css";
     private db database;
@@ -55,6 +61,23 @@ public class GpaCalculatorApp extends Application {
         }
     }
 
+    @Override
+    public void stop() {
+        // Flush queued course entries before the JVM exits
+        if (WriteBehindQueue.isStarted()) {
+            WriteBehindQueue writeBehind = WriteBehindQueue.getInstance();
+            writeBehind.shutdown();
+            logger.info(String.format("Write-behind: %d group commits, avg %.2f ms",
+                writeBehind.getCommitCount(), writeBehind.getAverageCommitMillis()));
+        }
+        if (AsyncDatabase.isStarted()) {
+            AsyncDatabase.getInstance().shutdown();
+        }
+        if (database != null) {
+            database.closeConnection();
+        }
+    }
+
     private void loadCSS() {
         try {
             scene.getStylesheets().add(getClass().getResource(cssPath).toExternalForm());
@@ -1,11 +1,20 @@
 package com.kaif.gpacalculator.controller;
 
 import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.FixedPoint;
+import com.kaif.gpacalculator.util.GpaAccumulator;
 import com.kaif.gpacalculator.util.GpaCalculator;
+import com.kaif.gpacalculator.util.GpaResultCache;
+import com.kaif.gpacalculator.util.GpaStatistics;
+import com.kaif.gpacalculator.util.TargetGpaSolver;
+import database.AsyncDatabase;
 import database.db;
+import database.WriteBehindQueue;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -14,17 +23,32 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.GridPane;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
 
 /**
  * Controller for the Course Entry Screen with Database Integration
  */
 public class CourseEntryController implements Initializable {
 
+    private static final Logger logger = Logger.getLogger(CourseEntryController.class.getName());
+
+    // CSV imports larger than this are parsed on every core
+    private static final long PARALLEL_CSV_BYTES = 1L << 30;
+
+    @FXML private TextField sessionField;
     @FXML private TextField totalCreditsField;
     @FXML private TextField courseNameField;
     @FXML private TextField courseCodeField;
@@ -44,23 +68,31 @@ public class CourseEntryController implements Initializable {
     @FXML private Label targetCreditsLabel;
     @FXML private Button calculateButton;
     @FXML private Button addCourseButton;
+    @FXML private ProgressIndicator dbProgress;
 
     private ObservableList<Course> courseList = FXCollections.observableArrayList();
-    private double targetCredits = 0.0;
-    private double currentCredits = 0.0;
+    // Credits are exact hundredths, so the target is met by equality rather than a tolerance
+    private long targetCredits = 0;
+    // Session the entered courses belong to (0 = none, so no CGPA is tracked)
+    private int sessionId = 0;
+    // Running credit/points totals of courseList, kept current by list change events
+    private final GpaAccumulator totals = new GpaAccumulator();
     
-    // Database instance
-    private db database;
+    // Database instance (async so SQLite I/O stays off the FX thread)
+    private AsyncDatabase database;
+    private WriteBehindQueue writeBehind;
+    private GpaResultCache resultCache;
+    private int pendingDbOperations = 0;
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         // Initialize database
-        database = db.getInstance();
+        database = AsyncDatabase.getInstance();
+        writeBehind = WriteBehindQueue.getInstance();
+        resultCache = GpaResultCache.getInstance();
         
-        // Initialize grade combo box
-        gradeComboBox.setItems(FXCollections.observableArrayList(
-            "A+", "A", "A-", "B+", "B", "B-", "C+", "C", "D", "F"
-        ));
+        // Initialize grade combo box from the active grading scale
+        gradeComboBox.setItems(FXCollections.observableArrayList(GradeScale.getActive().getGrades()));
         
         // Initialize table columns
         nameColumn.setCellValueFactory(new PropertyValueFactory<>("courseName"));
@@ -76,6 +108,10 @@ public class CourseEntryController implements Initializable {
         // Set items to table
         coursesTable.setItems(courseList);
         
+        // Keep totals, credit label and calculate button in step with the course list
+        totals.bind(courseList);
+        courseList.addListener((ListChangeListener<Course>) change -> updateCreditDisplay());
+        
         // Enable smooth scrolling
         coursesTable.setFixedCellSize(50.0);
         
@@ -90,27 +126,53 @@ public class CourseEntryController implements Initializable {
      * Load courses from database into the table
      */
     private void loadCoursesFromDatabase() {
-        courseList.clear();
-        courseList.addAll(database.getAllCourses());
-        updateCurrentCredits();
+        track(database.getAllCourses()).thenAccept(savedCourses -> {
+            courseList.setAll(savedCourses);
+        });
+    }
+    
+    /**
+     * Show the progress indicator while a database operation is in flight.
+     * Futures from AsyncDatabase complete on the FX thread, so the counter needs no locking.
+     */
+    private <T> CompletableFuture<T> track(CompletableFuture<T> operation) {
+        pendingDbOperations++;
+        dbProgress.setVisible(true);
+        return operation.whenComplete((result, error) -> {
+            if (--pendingDbOperations == 0) {
+                dbProgress.setVisible(false);
+            }
+            if (error != null) {
+                showAlert(Alert.AlertType.ERROR, "Database Error", "Database operation failed: " + error.getMessage());
+            }
+        });
     }
 
     @FXML
     private void handleSetTarget() {
         try {
-            double credits = Double.parseDouble(totalCreditsField.getText().trim());
+            long credits = FixedPoint.parse(totalCreditsField.getText());
             if (credits <= 0) {
                 showAlert(Alert.AlertType.ERROR, "Invalid Input", "Please enter a positive number for credits.");
                 return;
             }
-            targetCredits = credits;
-            targetCreditsLabel.setText(String.format("Target: %.1f", targetCredits));
-            enableCourseEntryControls();
-            updateCalculateButton();
-            showAlert(Alert.AlertType.INFORMATION, "Target Set", 
-                     String.format("Target credits set to %.1f. You can now add courses.", targetCredits));
+            // Resolve the session before enabling entry so every added course carries it
+            String sessionName = sessionField.getText() == null ? "" : sessionField.getText().trim();
+            CompletableFuture<Integer> session = sessionName.isEmpty()
+                ? CompletableFuture.completedFuture(0)
+                : track(database.getOrCreateSession(sessionName));
+            session.thenAccept(id -> {
+                sessionId = id;
+                targetCredits = credits;
+                targetCreditsLabel.setText("Target: " + formatCredits(targetCredits));
+                enableCourseEntryControls();
+                updateCalculateButton();
+                showAlert(Alert.AlertType.INFORMATION, "Target Set", 
+                         "Target credits set to " + formatCredits(targetCredits)
+                         + (id > 0 ? " for " + sessionName : "") + ". You can now add courses.");
+            });
         } catch (NumberFormatException e) {
-            showAlert(Alert.AlertType.ERROR, "Invalid Input", "Please enter a valid number for credits.");
+            showAlert(Alert.AlertType.ERROR, "Invalid Input", "Please enter a valid number for credits (at most two decimal places).");
         }
     }
 
@@ -130,41 +192,40 @@ public class CourseEntryController implements Initializable {
         try {
             String courseName = courseNameField.getText().trim();
             String courseCode = courseCodeField.getText().trim();
-            double courseCredit = Double.parseDouble(courseCreditField.getText().trim());
+            long courseCredit = FixedPoint.parse(courseCreditField.getText());
             String teacher1 = teacher1Field.getText().trim();
             String teacher2 = teacher2Field.getText().trim();
             String grade = gradeComboBox.getValue();
 
             // Check if adding this course would exceed target credits
+            long currentCredits = totals.getTotalCreditHundredths();
             if (targetCredits > 0 && (currentCredits + courseCredit) > targetCredits) {
                 showAlert(Alert.AlertType.WARNING, "Credit Limit", 
-                         String.format("Adding this course would exceed target credits!\nCurrent: %.1f, Adding: %.1f, Target: %.1f",
-                         currentCredits, courseCredit, targetCredits));
+                         String.format("Adding this course would exceed target credits!\nCurrent: %s, Adding: %s, Target: %s",
+                         formatCredits(currentCredits), formatCredits(courseCredit), formatCredits(targetCredits)));
                 return;
             }
 
             // Create and add course
-            Course course = new Course(courseName, courseCode, courseCredit, teacher1, teacher2, grade);
+            Course course = Course.withCreditHundredths(courseName, courseCode, courseCredit, teacher1, teacher2, grade);
+            course.setSessionId(sessionId);
             
-            // Save to database
-            if (database.insertCourse(course)) {
-                // Add to local list (UI)
-                courseList.add(course);
-                
-                // Update current credits
-                currentCredits += courseCredit;
-                currentCreditsLabel.setText(String.format("Current: %.1f", currentCredits));
-                
-                // Update calculate button state
-                updateCalculateButton();
-                
-                // Clear fields
-                handleClearFields();
-                
-                // Show success message
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Course added and saved to database!");
+            // Journal the course; the write-behind flusher commits it to the database in a group
+            boolean journaled = writeBehind.enqueue(course);
+            
+            // Add to local list (UI); the list listener updates credits and the calculate button
+            courseList.add(course);
+            
+            // Clear fields
+            handleClearFields();
+            
+            // The database commit is still pending, so only promise that it is queued
+            if (journaled) {
+                showAlert(Alert.AlertType.INFORMATION, "Success", "Course added and queued for saving to the database.");
             } else {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to save course to database.");
+                showAlert(Alert.AlertType.WARNING, "Not Journaled",
+                         "Course added and queued, but the recovery journal could not be written.\n"
+                         + "It will be saved shortly; if the app crashes first it may be lost.");
             }
 
         } catch (NumberFormatException e) {
@@ -173,13 +234,19 @@ public class CourseEntryController implements Initializable {
     }
     
     /**
-     * Update current credits from course list
+     * Show the running credit total and refresh the calculate button
+     */
+    private void updateCreditDisplay() {
+        currentCreditsLabel.setText("Current: " + formatCredits(totals.getTotalCreditHundredths()));
+        updateCalculateButton();
+    }
+    
+    /**
+     * Credits for display: two decimals, but "3.0" rather than "3.00"
      */
-    private void updateCurrentCredits() {
-        currentCredits = courseList.stream()
-            .mapToDouble(Course::getCourseCredit)
-            .sum();
-        currentCreditsLabel.setText(String.format("Current: %.1f", currentCredits));
+    private static String formatCredits(long hundredths) {
+        String text = FixedPoint.format(hundredths);
+        return text.endsWith("0") ? text.substring(0, text.length() - 1) : text;
     }
 
     @FXML
@@ -231,30 +298,50 @@ public class CourseEntryController implements Initializable {
         }
 
         // Check if target credits is set and fulfilled
+        long currentCredits = totals.getTotalCreditHundredths();
         if (targetCredits > 0) {
-            if (Math.abs(currentCredits - targetCredits) > 0.01) {
+            if (currentCredits != targetCredits) {
                 showAlert(Alert.AlertType.ERROR, "Credit Requirement Not Met", 
-                         String.format("You must fulfill the target credits before calculating GPA.\nTarget: %.1f credits\nCurrent: %.1f credits\nRemaining: %.1f credits",
-                         targetCredits, currentCredits, targetCredits - currentCredits));
+                         String.format("You must fulfill the target credits before calculating GPA.\nTarget: %s credits\nCurrent: %s credits\nRemaining: %s credits",
+                         formatCredits(targetCredits), formatCredits(currentCredits), formatCredits(targetCredits - currentCredits)));
                 return;
             }
         }
 
         try {
-            // Calculate GPA
-            double gpa = GpaCalculator.calculateGPA(courseList.stream().toList());
-            double totalCredits = GpaCalculator.calculateTotalCredits(courseList.stream().toList());
-            
-            // Save calculation to database
-            database.insertCalculation(gpa, totalCredits, courseList.stream().toList());
-            System.out.println("GPA calculation saved to database!");
+            // Results are memoized by the list's order-independent content hash; a miss takes the
+            // running totals, rounded once by registrar policy. One snapshot of the list serves all consumers
+            List<Course> courses = List.copyOf(courseList);
+            String contentHash = GpaResultCache.contentHash(courses);
+            GpaResultCache.Result result = resultCache.get(contentHash, () -> new GpaResultCache.Result(
+                totals.getWeightedTenThousandths(), currentCredits, courses.size()));
+            double gpa = result.getGpa();
+            double totalCredits = result.getTotalCredits();
             
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/kaif/gpacalculator/view/gpa-result.fxml"));
             Parent root = loader.load();
             
             // Pass data to result controller
             GpaResultController resultController = loader.getController();
-            resultController.initData(gpa, totalCredits, courseList.stream().toList());
+            resultController.initData(gpa, totalCredits, courses);
+            
+            // Save calculation in the background (a repeat only bumps its history row's hit count),
+            // then rank it against the (incrementally kept) history statistics
+            track(database.insertCalculation(gpa, totalCredits, courses, contentHash).thenCompose(saved -> {
+                if (saved) {
+                    logger.info("GPA calculation saved to database");
+                } else {
+                    logger.warning("Failed to save GPA calculation");
+                }
+                return database.getCalculationStatistics();
+            })).thenAccept(resultController::showHistoryRank);
+            
+            // CGPA through this session comes from the per-session aggregates once the courses are committed
+            if (sessionId > 0) {
+                int session = sessionId;
+                track(writeBehind.flushAsync().thenCompose(v -> database.getSessionSummaries()))
+                    .thenAccept(summaries -> resultController.showCumulative(summaries, session));
+            }
             
             Stage stage = (Stage) calculateButton.getScene().getWindow();
             double width = stage.getWidth();
@@ -307,13 +394,13 @@ public class CourseEntryController implements Initializable {
         }
 
         try {
-            double credit = Double.parseDouble(courseCreditField.getText().trim());
+            long credit = FixedPoint.parse(courseCreditField.getText());
             if (credit <= 0) {
                 showAlert(Alert.AlertType.WARNING, "Invalid Credit", "Course credit must be a positive number.");
                 return false;
             }
         } catch (NumberFormatException e) {
-            showAlert(Alert.AlertType.WARNING, "Invalid Credit", "Please enter a valid number for course credit.");
+            showAlert(Alert.AlertType.WARNING, "Invalid Credit", "Please enter a valid number for course credit (at most two decimal places).");
             return false;
         }
 
@@ -324,7 +411,7 @@ public class CourseEntryController implements Initializable {
         // Enable calculate button only when target credits is fulfilled (if set)
         if (targetCredits > 0) {
             // Require target to be met
-            calculateButton.setDisable(Math.abs(currentCredits - targetCredits) >= 0.01);
+            calculateButton.setDisable(totals.getTotalCreditHundredths() != targetCredits);
         } else {
             // If no target set, allow calculation anytime there are courses
             calculateButton.setDisable(courseList.isEmpty());
@@ -345,10 +432,17 @@ public class CourseEntryController implements Initializable {
                     alert.setContentText("Are you sure you want to delete this course?");
                     
                     if (alert.showAndWait().get() == ButtonType.OK) {
-                        currentCredits -= course.getCourseCredit();
-                        currentCreditsLabel.setText(String.format("Current: %.1f", currentCredits));
-                        courseList.remove(course);
-                        updateCalculateButton();
+                        // Still-queued courses are just dropped; committed ones are deleted from the database
+                        CompletableFuture<Boolean> deleted = writeBehind.cancel(course)
+                            ? CompletableFuture.completedFuture(true)
+                            : track(writeBehind.flushAsync().thenCompose(v -> database.deleteCourse(course.getId())));
+                        deleted.thenAccept(success -> {
+                            if (!success) {
+                                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete course from database.");
+                                return;
+                            }
+                            courseList.remove(course);
+                        });
                     }
                 });
                 deleteButton.getStyleClass().add("delete-button");
@@ -397,19 +491,9 @@ public class CourseEntryController implements Initializable {
     /**
      * Restore previously entered course data when navigating back
      */
-    public void restoreData(java.util.List<Course> courses) {
-        courseList.clear();
-        courseList.addAll(courses);
-        coursesTable.setItems(courseList);
-        
-        // Recalculate current credits
-        currentCredits = courseList.stream()
-                .mapToDouble(Course::getCourseCredit)
-                .sum();
-        currentCreditsLabel.setText(String.format("%.1f", currentCredits));
-        
-        // Update calculate button state
-        updateCalculateButton();
+    public void restoreData(List<Course> courses) {
+        // A single change event; the list listener recomputes credits and the calculate button
+        courseList.setAll(courses);
     }
     
     /**
@@ -428,36 +512,112 @@ public class CourseEntryController implements Initializable {
         alert.setContentText("This will remove all courses from the current session and database. This action cannot be undone.");
         
         if (alert.showAndWait().get() == ButtonType.OK) {
-            database.deleteAllCourses();
-            courseList.clear();
-            currentCredits = 0.0;
-            currentCreditsLabel.setText("Current: 0.0");
-            updateCalculateButton();
-            showAlert(Alert.AlertType.INFORMATION, "Success", "All courses have been cleared.");
+            track(writeBehind.flushAsync().thenCompose(v -> database.deleteAllCourses())).thenAccept(success -> {
+                if (!success) {
+                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete courses from database.");
+                    return;
+                }
+                courseList.clear();
+                showAlert(Alert.AlertType.INFORMATION, "Success", "All courses have been cleared.");
+            });
         }
     }
     
     /**
-     * Export current courses to JSON
+     * Export saved courses, and the calculation history next to them, to JSON files
+     * (gzip-compressed when the chosen name ends in .gz); a .csv name exports just the courses as CSV
      */
     @FXML
     private void handleExportToJSON() {
-        if (courseList.isEmpty()) {
-            showAlert(Alert.AlertType.WARNING, "No Courses", "There are no courses to export.");
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Courses");
+        chooser.setInitialFileName("courses.json");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("JSON files", "*.json"),
+            new FileChooser.ExtensionFilter("Compressed JSON", "*.json.gz"),
+            new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showSaveDialog(calculateButton.getScene().getWindow());
+        if (file == null) {
             return;
         }
         
-        try {
-            String json = database.exportCoursesToJSON();
-            // You can add file chooser here to save to a file
-            System.out.println("Courses exported to JSON:");
-            System.out.println(json);
-            showAlert(Alert.AlertType.INFORMATION, "Export Successful", 
-                     "Courses exported to JSON. Check console for output.\n" +
-                     "In a full implementation, this would save to a file.");
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Export Failed", "Failed to export courses: " + e.getMessage());
+        if (file.getName().endsWith(".csv")) {
+            track(writeBehind.flushAsync().thenCompose(v -> database.exportCoursesToCSV(file.toPath())))
+                .thenAccept(report -> {
+                    if (report == null) {
+                        showAlert(Alert.AlertType.ERROR, "Export Failed", "Could not write the export file. See the log for details.");
+                    } else {
+                        showAlert(Alert.AlertType.INFORMATION, "Export Successful", "Courses: " + report);
+                    }
+                });
+            return;
+        }
+        
+        String name = file.getName();
+        boolean gzip = name.endsWith(".gz");
+        String base = name.replaceFirst("(\\.json)?(\\.gz)?$", "");
+        Path history = file.toPath().resolveSibling(base + "-history.json" + (gzip ? ".gz" : ""));
+        
+        track(writeBehind.flushAsync()
+            .thenCompose(v -> database.exportCoursesToJSON(file.toPath(), gzip))
+            .thenCombine(database.exportCalculationsToJSON(history, gzip), (courses, calculations) -> {
+                if (courses == null || calculations == null) {
+                    showAlert(Alert.AlertType.ERROR, "Export Failed", "Could not write the export files. See the log for details.");
+                } else {
+                    showAlert(Alert.AlertType.INFORMATION, "Export Successful",
+                             "Courses: " + courses + "\nHistory: " + calculations);
+                }
+                return null;
+            }));
+    }
+    
+    /**
+     * Stream courses from a JSON or CSV file into the database, showing progress as chunks commit
+     */
+    @FXML
+    private void handleImportFromJSON() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Courses");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("JSON or CSV files", "*.json", "*.json.gz", "*.csv"),
+            new FileChooser.ExtensionFilter("JSON files", "*.json", "*.json.gz"),
+            new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showOpenDialog(calculateButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        Alert progressAlert = new Alert(Alert.AlertType.INFORMATION);
+        progressAlert.setTitle("Importing Courses");
+        progressAlert.setHeaderText("Importing " + file.getName());
+        progressAlert.setContentText("Starting...");
+        progressAlert.getButtonTypes().clear();
+        progressAlert.show();
+        
+        Consumer<db.ImportReport> progress = report ->
+            progressAlert.setContentText(String.format("%.0f%% - %s", report.getFraction() * 100, report));
+        CompletableFuture<db.ImportReport> importing;
+        if (file.getName().endsWith(".csv")) {
+            // Split multi-GB files across cores; smaller ones import in file order
+            int parallelism = file.length() > PARALLEL_CSV_BYTES ? Runtime.getRuntime().availableProcessors() : 1;
+            importing = database.importCoursesFromCSV(file.toPath(), 0, parallelism, progress);
+        } else {
+            importing = database.importCoursesFromJSON(file.toPath(), 0, progress);
         }
+        track(importing.whenComplete((report, error) -> {
+            // An alert without buttons only closes once it has one
+            progressAlert.getButtonTypes().add(ButtonType.CLOSE);
+            progressAlert.close();
+        })).thenAccept(report -> {
+            StringBuilder message = new StringBuilder(report.toString());
+            if (!report.getErrors().isEmpty()) {
+                message.append("\n\nProblems (first ").append(report.getErrors().size()).append("):\n");
+                report.getErrors().stream().limit(10).forEach(error -> message.append(error).append("\n"));
+            }
+            showAlert(report.isComplete() && report.getRejected() == 0
+                        ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING,
+                      "Import Finished", message.toString());
+        });
     }
     
     /**
@@ -465,21 +625,129 @@ public class CourseEntryController implements Initializable {
      */
     @FXML
     private void handleViewHistory() {
-        var history = database.getCalculationHistory(10);
+        track(database.getCalculationHistory(10)
+                .thenCombine(database.getCalculationStatistics(), (history, stats) -> {
+            if (history.isEmpty()) {
+                showAlert(Alert.AlertType.INFORMATION, "No History", "No calculation history found.");
+                return null;
+            }
+            
+            StringBuilder message = new StringBuilder("Recent GPA Calculations:\n\n");
+            for (var record : history) {
+                message.append(record.toString()).append("\n");
+            }
+            appendStatistics(message, stats);
+            
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Calculation History");
+            alert.setHeaderText("Your Recent GPA Calculations");
+            alert.setContentText(message.toString());
+            alert.getDialogPane().setPrefWidth(600);
+            alert.showAndWait();
+            return null;
+        }));
+    }
+    
+    /**
+     * Summary and a text histogram (half-point bins) of every saved calculation
+     */
+    private static void appendStatistics(StringBuilder message, GpaStatistics stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        message.append("\nAll Calculations:\n").append(stats).append("\n");
+        message.append(String.format("Median: %.2f | 10th-90th percentile: %.2f - %.2f\n\n",
+            stats.quantile(0.5), stats.quantile(0.1), stats.quantile(0.9)));
+        
+        int binWidth = 50;
+        long[] bins = stats.histogram(binWidth);
+        long largest = Arrays.stream(bins).max().orElse(1);
+        for (int i = 0; i < bins.length; i++) {
+            int bar = (int) Math.ceil(30.0 * bins[i] / largest);
+            message.append(String.format("%.2f-%.2f %s %d\n", i * binWidth / 100.0, (i + 1) * binWidth / 100.0,
+                "█".repeat(bar), bins[i]));
+        }
+    }
+    
+    /**
+     * Work out the easiest grades for the remaining credits that still reach a target GPA
+     */
+    @FXML
+    private void handlePlanTargetGpa() {
+        TextField targetField = new TextField();
+        targetField.setPromptText("e.g., 3.60");
+        TextField pendingField = new TextField();
+        pendingField.setPromptText("e.g., 3, 3, 1.5");
+        long remaining = targetCredits - totals.getTotalCreditHundredths();
+        if (remaining > 0) {
+            pendingField.setText(formatCredits(remaining));
+        }
+        
+        GridPane form = new GridPane();
+        form.setHgap(10);
+        form.setVgap(10);
+        form.addRow(0, new Label("Target GPA:"), targetField);
+        form.addRow(1, new Label("Remaining course credits:"), pendingField);
+        
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Plan Target GPA");
+        dialog.setHeaderText("Which grades do the remaining courses need?");
+        dialog.getDialogPane().setContent(form);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
+            return;
+        }
         
-        if (history.isEmpty()) {
-            showAlert(Alert.AlertType.INFORMATION, "No History", "No calculation history found.");
+        long target;
+        long[] pending;
+        try {
+            target = FixedPoint.parse(targetField.getText());
+            String[] parts = pendingField.getText().split(",");
+            pending = new long[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                pending[i] = FixedPoint.parse(parts[i]);
+                if (pending[i] <= 0) {
+                    throw new NumberFormatException("Credits must be positive");
+                }
+            }
+        } catch (NumberFormatException e) {
+            showAlert(Alert.AlertType.ERROR, "Invalid Input",
+                     "Enter a target GPA and the credits of each remaining course, separated by commas.");
             return;
         }
         
-        StringBuilder message = new StringBuilder("Recent GPA Calculations:\n\n");
-        for (var record : history) {
-            message.append(record.toString()).append("\n");
+        TargetGpaSolver.Plan plan;
+        try {
+            plan = TargetGpaSolver.solve(courseList, pending, GradeScale.getActive(), target);
+        } catch (IllegalArgumentException e) {
+            showAlert(Alert.AlertType.ERROR, "Cannot Plan", e.getMessage());
+            return;
+        }
+        if (!plan.isFeasible()) {
+            showAlert(Alert.AlertType.INFORMATION, "Target Out of Reach",
+                     "Even top grades in every remaining course give a GPA of "
+                     + GpaCalculator.formatGPA(plan.getBestGpaHundredths()) + ".");
+            return;
+        }
+        
+        TargetGpaSolver.Assignment easiest = plan.getMinimumEffort();
+        StringBuilder message = new StringBuilder("Easiest way to reach " + GpaCalculator.formatGPA(target) + ":\n\n");
+        for (int i = 0; i < pending.length; i++) {
+            message.append(String.format("Course %d (%s credits): %s\n", i + 1, formatCredits(pending[i]), easiest.getGrade(i)));
+        }
+        message.append("\nResulting GPA: ").append(GpaCalculator.formatGPA(easiest.getGpaHundredths())).append("\n");
+        List<TargetGpaSolver.Assignment> frontier = plan.getFrontier();
+        if (frontier.size() > 1) {
+            message.append("\nAiming higher in some courses lets others drop:\n");
+            for (TargetGpaSolver.Assignment option : frontier.subList(1, frontier.size())) {
+                message.append(String.format("Up to %s: %s (GPA %s)\n", option.getHardestGrade(),
+                    String.join(", ", option.getGrades()), GpaCalculator.formatGPA(option.getGpaHundredths())));
+            }
         }
         
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("Calculation History");
-        alert.setHeaderText("Your Recent GPA Calculations");
+        alert.setTitle("Target GPA Plan");
+        alert.setHeaderText("Hardest grade needed: " + easiest.getHardestGrade());
         alert.setContentText(message.toString());
         alert.getDialogPane().setPrefWidth(600);
         alert.showAndWait();
@@ -490,25 +758,23 @@ public class CourseEntryController implements Initializable {
      */
     @FXML
     private void handleLoadFromDatabase() {
-        var savedCourses = database.getAllCourses();
-        
-        if (savedCourses.isEmpty()) {
-            showAlert(Alert.AlertType.INFORMATION, "No Data", "No saved courses found in database.");
-            return;
-        }
-        
-        Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
-        confirmAlert.setTitle("Load Saved Courses");
-        confirmAlert.setHeaderText("Load " + savedCourses.size() + " courses from database?");
-        confirmAlert.setContentText("This will replace your current course list. Current courses will be lost if not saved.");
-        
-        if (confirmAlert.showAndWait().get() == ButtonType.OK) {
-            courseList.clear();
-            courseList.addAll(savedCourses);
-            updateCurrentCredits();
-            updateCalculateButton();
-            showAlert(Alert.AlertType.INFORMATION, "Success", 
-                     savedCourses.size() + " courses loaded from database!");
-        }
+        track(writeBehind.flushAsync().thenCompose(v -> database.getAllCourses())).thenAccept(savedCourses -> {
+            if (savedCourses.isEmpty()) {
+                showAlert(Alert.AlertType.INFORMATION, "No Data", "No saved courses found in database.");
+                return;
+            }
+            
+            Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
+            confirmAlert.setTitle("Load Saved Courses");
+            confirmAlert.setHeaderText("Load " + savedCourses.size() + " courses from database?");
+            confirmAlert.setContentText("This will replace your current course list. Current courses will be lost if not saved.");
+            
+            if (confirmAlert.showAndWait().get() == ButtonType.OK) {
+                // One change event for the whole list keeps the table to a single relayout
+                courseList.setAll(savedCourses);
+                showAlert(Alert.AlertType.INFORMATION, "Success", 
+                         savedCourses.size() + " courses loaded from database!");
+            }
+        });
     }
 }
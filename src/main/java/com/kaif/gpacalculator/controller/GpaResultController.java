@@ -1,6 +1,15 @@
 package com.kaif.gpacalculator.controller;
 
 import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.report.GpaReport;
+import com.kaif.gpacalculator.report.ReportEngine;
+import com.kaif.gpacalculator.util.GpaBand;
+import com.kaif.gpacalculator.util.GpaCalculator;
+import com.kaif.gpacalculator.util.GpaStatistics;
+import database.AsyncDatabase;
+import database.db;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -9,14 +18,23 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the GPA Result Screen
@@ -25,6 +43,10 @@ public class GpaResultController {
 
     @FXML private Label gpaValueLabel;
     @FXML private Label gpaGradeLabel;
+    @FXML private Label historyRankLabel;
+    @FXML private Label termNameLabel;
+    @FXML private Label cgpaValueLabel;
+    @FXML private Label cgpaDetailLabel;
     @FXML private Label totalCoursesLabel;
     @FXML private Label totalCreditsLabel;
     @FXML private Label qualityPointsLabel;
@@ -40,7 +62,9 @@ public class GpaResultController {
     @FXML private TableColumn<Course, Double> resultPointsColumn;
 
     private double gpa;
+    private double totalCredits;
     private List<Course> courses;
+    private String termName;
 
     @FXML
     private void initialize() {
@@ -59,43 +83,24 @@ public class GpaResultController {
      */
     public void initData(double gpa, double totalCredits, List<Course> courses) {
         this.gpa = gpa;
+        this.totalCredits = totalCredits;
         this.courses = courses;
         
-        // Display GPA
+        // Display GPA; CGPA shows the same value until session totals arrive (see showCumulative)
         gpaValueLabel.setText(String.format("%.2f", gpa));
+        cgpaValueLabel.setText(String.format("%.2f", gpa));
         
-        // Determine grade and color
-        String grade;
-        String colorClass;
-        String message;
-        
-        if (gpa >= 3.5) {
-            grade = "Excellent (A)";
-            colorClass = "gpa-excellent";
-            message = "Outstanding performance! Keep up the excellent work!";
-        } else if (gpa >= 3.0) {
-            grade = "Good (B)";
-            colorClass = "gpa-good";
-            message = "Great job! You're doing well in your studies.";
-        } else if (gpa >= 2.0) {
-            grade = "Average (C)";
-            colorClass = "gpa-average";
-            message = "You're passing. Consider improving your study habits.";
-        } else {
-            grade = "Below Average";
-            colorClass = "gpa-below-average";
-            message = "You need to work harder. Seek help if needed.";
-        }
-        
-        gpaGradeLabel.setText("Grade: " + grade);
-        performanceMessageLabel.setText(message);
+        // Grade band and color (bands are for a 4.0 scale; GpaBand normalizes other scales)
+        GpaBand band = GpaBand.of(gpa, GradeScale.getActive());
+        gpaGradeLabel.setText("Grade: " + band.getLabel());
+        performanceMessageLabel.setText(band.getMessage());
         
         // Apply color styling
-        gpaValueLabel.getStyleClass().add(colorClass);
+        gpaValueLabel.getStyleClass().add(band.getStyleClass());
         
         // Calculate statistics
         int totalCourses = courses.size();
-        double qualityPoints = courses.stream().mapToDouble(Course::getWeightedGradePoints).sum();
+        double qualityPoints = GpaCalculator.calculateQualityPoints(courses);
         
         totalCoursesLabel.setText(String.valueOf(totalCourses));
         totalCreditsLabel.setText(String.format("%.1f", totalCredits));
@@ -106,6 +111,48 @@ public class GpaResultController {
         resultTable.setItems(courseData);
     }
 
+    /**
+     * Show the CGPA through the given session next to its term GPA
+     */
+    public void showCumulative(List<db.SessionSummary> summaries, int sessionId) {
+        for (int i = 0; i < summaries.size(); i++) {
+            db.SessionSummary summary = summaries.get(i);
+            if (summary.getSessionId() == sessionId) {
+                termName = summary.getSessionName();
+                termNameLabel.setText(termName);
+                cgpaValueLabel.setText(GpaCalculator.formatGPA(summary.getCgpaHundredths()));
+                cgpaDetailLabel.setText(String.format("%d session%s, %.1f credits",
+                    i + 1, i == 0 ? "" : "s", summary.getTotalCredits()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Show where this GPA ranks among all saved calculations
+     */
+    public void showHistoryRank(GpaStatistics stats) {
+        if (stats.getCount() < 2) {
+            return;
+        }
+        long percentile = Math.round(stats.percentileRank(gpa));
+        historyRankLabel.setText(String.format("%s percentile of your %d calculations (mean %.2f, best %.2f)",
+            ordinal(percentile), stats.getCount(), stats.getMean(), stats.getMax()));
+    }
+
+    private static String ordinal(long n) {
+        long lastTwo = n % 100;
+        if (lastTwo >= 11 && lastTwo <= 13) {
+            return n + "th";
+        }
+        return switch ((int) (n % 10)) {
+            case 1 -> n + "st";
+            case 2 -> n + "nd";
+            case 3 -> n + "rd";
+            default -> n + "th";
+        };
+    }
+
     @FXML
     private void handleBackToEntry(ActionEvent event) {
         try {
@@ -148,9 +195,90 @@ public class GpaResultController {
         }
     }
 
+    /**
+     * Save this result as a PDF or HTML report (chosen by the file extension)
+     */
     @FXML
     private void handlePrint(ActionEvent event) {
-        // TODO: Implement print/save functionality
-        System.out.println("Print/Save functionality - To be implemented");
+        if (courses == null) {
+            return;
+        }
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Save GPA Report");
+        chooser.setInitialFileName("gpa-report.pdf");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("PDF files", "*.pdf"),
+            new FileChooser.ExtensionFilter("HTML files", "*.html"));
+        File file = chooser.showSaveDialog(((Node) event.getSource()).getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        String subtitle = (termName != null ? termName + " - " : "") + LocalDate.now();
+        GpaReport report = GpaReport.forCalculation("GPA Report", subtitle, gpa, totalCredits, courses);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return ReportEngine.write(report, file.toPath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((bytes, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                showAlert(Alert.AlertType.ERROR, "Save Failed", "Could not write the report: " + cause.getMessage());
+            } else {
+                showAlert(Alert.AlertType.INFORMATION, "Report Saved",
+                          String.format("Saved %s (%.1f KB)", file.getName(), bytes / 1024.0));
+            }
+        }));
+    }
+    
+    /**
+     * Render PDF and HTML reports for every saved calculation into a chosen folder
+     */
+    @FXML
+    private void handlePrintAll(ActionEvent event) {
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Save Reports for All Calculations");
+        File directory = chooser.showDialog(((Node) event.getSource()).getScene().getWindow());
+        if (directory == null) {
+            return;
+        }
+        
+        Alert progressAlert = new Alert(Alert.AlertType.INFORMATION);
+        progressAlert.setTitle("Rendering Reports");
+        progressAlert.setHeaderText("Rendering reports into " + directory.getName());
+        progressAlert.setContentText("Starting...");
+        progressAlert.getButtonTypes().clear();
+        progressAlert.show();
+        
+        AsyncDatabase.getInstance()
+            .renderCalculationReports(directory.toPath(), EnumSet.allOf(ReportEngine.Format.class),
+                                      Runtime.getRuntime().availableProcessors(),
+                                      progress -> progressAlert.setContentText(progress.toString()))
+            .whenComplete((report, error) -> {
+                // An alert without buttons only closes once it has one
+                progressAlert.getButtonTypes().add(ButtonType.CLOSE);
+                progressAlert.close();
+                if (error != null || report == null) {
+                    showAlert(Alert.AlertType.ERROR, "Reports Failed", "Could not render the reports. See the log for details.");
+                    return;
+                }
+                StringBuilder message = new StringBuilder(report.toString());
+                if (!report.getErrors().isEmpty()) {
+                    message.append("\n\nProblems (first ").append(report.getErrors().size()).append("):\n");
+                    report.getErrors().stream().limit(10).forEach(problem -> message.append(problem).append("\n"));
+                }
+                showAlert(report.getFailed() == 0 ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING,
+                          "Reports Finished", message.toString());
+            });
+    }
+    
+    private void showAlert(Alert.AlertType type, String title, String content) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(content);
+        alert.showAndWait();
     }
 }
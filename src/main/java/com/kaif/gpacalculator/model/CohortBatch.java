@@ -0,0 +1,177 @@
+package com.kaif.gpacalculator.model;
+
+import com.kaif.gpacalculator.util.CourseCsv;
+import com.kaif.gpacalculator.util.FixedPoint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar course results for many students: one row per graded course, tagged with a
+ * dictionary-encoded student and semester. Rows can arrive in any order; grouping and
+ * ordering are done by {@code CohortGpaCalculator}. Grades are byte codes of the batch's scale.
+ */
+public class CohortBatch {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final GradeScale scale;
+    private int size;
+    private int[] students;
+    private int[] semesters;
+    private long[] credits;
+    private byte[] gradeCodes;
+
+    private final Map<String, Integer> studentIndex = new HashMap<>();
+    private final List<String> studentIds = new ArrayList<>();
+    private final Map<String, Integer> semesterIndex = new HashMap<>();
+    private final List<String> semesterNames = new ArrayList<>();
+
+    /**
+     * Empty batch graded on the given scale
+     */
+    public CohortBatch(int capacity, GradeScale scale) {
+        int initial = Math.max(capacity, 1);
+        this.scale = scale;
+        this.students = new int[initial];
+        this.semesters = new int[initial];
+        this.credits = new long[initial];
+        this.gradeCodes = new byte[initial];
+    }
+
+    public CohortBatch() {
+        this(DEFAULT_CAPACITY, GradeScale.getActive());
+    }
+
+    /**
+     * Read a CSV file of "student,semester,credit,grade" records (an optional header record
+     * starting with "student" is skipped). Fields follow CourseCsv's quoting rules, so a
+     * quoted student id or semester may contain commas.
+     */
+    public static CohortBatch readCsv(Path file) throws IOException {
+        CohortBatch batch = new CohortBatch();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CourseCsv.parseRecords(channel, new CourseCsv.RecordHandler() {
+                @Override
+                public void record(long line, String[] fields) {
+                    if (line == 1 && fields[0].regionMatches(true, 0, "student", 0, 7)) {
+                        return;
+                    }
+                    if (fields.length != 4) {
+                        error(line, "expected student,semester,credit,grade");
+                    }
+                    try {
+                        batch.add(fields[0], fields[1], FixedPoint.parse(fields[2]), fields[3]);
+                    } catch (NumberFormatException e) {
+                        error(line, "invalid credit '" + fields[2] + "'");
+                    }
+                }
+
+                @Override
+                public void error(long line, String message) {
+                    throw new UncheckedIOException(new IOException(file + ":" + line + ": " + message));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return batch;
+    }
+
+    // ==================== Appending ====================
+
+    public void add(String studentId, String semester, long creditHundredths, String grade) {
+        add(studentId, semester, creditHundredths, scale.code(grade));
+    }
+
+    /**
+     * Append one row; credit is in hundredths and gradeCode is a code of getScale()
+     */
+    public void add(String studentId, String semester, long creditHundredths, byte gradeCode) {
+        if (size == credits.length) {
+            int capacity = credits.length + (credits.length >> 1) + 1;
+            students = Arrays.copyOf(students, capacity);
+            semesters = Arrays.copyOf(semesters, capacity);
+            credits = Arrays.copyOf(credits, capacity);
+            gradeCodes = Arrays.copyOf(gradeCodes, capacity);
+        }
+        students[size] = encode(studentId, studentIndex, studentIds);
+        semesters[size] = encode(semester, semesterIndex, semesterNames);
+        credits[size] = creditHundredths;
+        gradeCodes[size] = gradeCode;
+        size++;
+    }
+
+    private static int encode(String value, Map<String, Integer> index, List<String> values) {
+        Integer existing = index.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        int code = values.size();
+        index.put(value, code);
+        values.add(value);
+        return code;
+    }
+
+    // ==================== Access ====================
+
+    public GradeScale getScale() {
+        return scale;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getStudentCount() {
+        return studentIds.size();
+    }
+
+    public String getStudentId(int student) {
+        return studentIds.get(student);
+    }
+
+    public int getSemesterCount() {
+        return semesterNames.size();
+    }
+
+    public String getSemesterName(int semester) {
+        return semesterNames.get(semester);
+    }
+
+    /**
+     * Backing student column (not copied; only the first size() entries are valid)
+     */
+    public int[] getStudents() {
+        return students;
+    }
+
+    /**
+     * Backing semester column (not copied; only the first size() entries are valid)
+     */
+    public int[] getSemesters() {
+        return semesters;
+    }
+
+    /**
+     * Backing credit column in hundredths (not copied; only the first size() entries are valid)
+     */
+    public long[] getCredits() {
+        return credits;
+    }
+
+    /**
+     * Backing grade code column (not copied; only the first size() entries are valid)
+     */
+    public byte[] getGradeCodes() {
+        return gradeCodes;
+    }
+}
@@ -1,48 +1,83 @@
 package com.kaif.gpacalculator.model;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.kaif.gpacalculator.util.FixedPoint;
+
 /**
- * Model class representing a Course with all its details
+ * Model class representing a Course with all its details.
+ * Credits are held as fixed-point hundredths; the double accessors are for display and legacy callers.
  */
+@JsonAdapter(CourseJsonAdapter.class)
 public class Course {
+    private int id;
     private String courseName;
     private String courseCode;
-    private double courseCredit;
+    private long creditHundredths;
     private String teacher1Name;
     private String teacher2Name;
     private String grade;
-    private double gradePoints;
+    private int sessionId;
+    // (scale id << 8) | grade code under that scale; 0 (no scale) until first looked up,
+    // which also covers Gson-built instances that skip the constructor. One int so the
+    // pair is always read consistently.
+    private transient int scaledCode;
 
     public Course(String courseName, String courseCode, double courseCredit, 
                   String teacher1Name, String teacher2Name, String grade) {
         this.courseName = courseName;
         this.courseCode = courseCode;
-        this.courseCredit = courseCredit;
+        this.creditHundredths = FixedPoint.fromDouble(courseCredit);
         this.teacher1Name = teacher1Name;
         this.teacher2Name = teacher2Name;
         this.grade = grade;
-        this.gradePoints = calculateGradePoints(grade);
     }
 
     /**
-     * Convert letter grade to grade points
+     * Course with its credit given exactly in hundredths (300 = 3.0 credits)
+     */
+    public static Course withCreditHundredths(String courseName, String courseCode, long creditHundredths,
+                                              String teacher1Name, String teacher2Name, String grade) {
+        Course course = new Course(courseName, courseCode, 0.0, teacher1Name, teacher2Name, grade);
+        course.creditHundredths = creditHundredths;
+        return course;
+    }
+
+    /**
+     * Grade code of this course under a scale, cached for the most recently used scale
      */
-    private double calculateGradePoints(String grade) {
-        return switch (grade) {
-            case "A+" -> 4.0;
-            case "A" -> 3.75;
-            case "A-" -> 3.5;
-            case "B+" -> 3.25;
-            case "B" -> 3.0;
-            case "B-" -> 2.75;
-            case "C+" -> 2.5;
-            case "C" -> 2.25;
-            case "D" -> 2.0;
-            case "F" -> 0.0;
-            default -> 0.0;
-        };
+    public byte getGradeCode(GradeScale scale) {
+        int cached = scaledCode;
+        if (cached >>> 8 == scale.id()) {
+            return (byte) cached;
+        }
+        byte code = scale.code(grade);
+        scaledCode = scale.id() << 8 | (code & 0xFF);
+        return code;
     }
 
     // Getters and Setters
+    /**
+     * Database key of this course, or 0 if it has not been saved yet
+     */
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Session (semester) this course was taken in, or 0 if it is not assigned to one
+     */
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(int sessionId) {
+        this.sessionId = sessionId;
+    }
+
     public String getCourseName() {
         return courseName;
     }
@@ -60,11 +95,19 @@ public class Course {
     }
 
     public double getCourseCredit() {
-        return courseCredit;
+        return FixedPoint.toDouble(creditHundredths);
     }
 
     public void setCourseCredit(double courseCredit) {
-        this.courseCredit = courseCredit;
+        this.creditHundredths = FixedPoint.fromDouble(courseCredit);
+    }
+
+    public long getCreditHundredths() {
+        return creditHundredths;
+    }
+
+    public void setCreditHundredths(long creditHundredths) {
+        this.creditHundredths = creditHundredths;
     }
 
     public String getTeacher1Name() {
@@ -89,23 +132,42 @@ public class Course {
 
     public void setGrade(String grade) {
         this.grade = grade;
-        this.gradePoints = calculateGradePoints(grade);
+        this.scaledCode = 0;
     }
 
+    /**
+     * Grade points under the active grade scale
+     */
     public double getGradePoints() {
-        return gradePoints;
+        GradeScale scale = GradeScale.getActive();
+        return scale.points(getGradeCode(scale));
+    }
+
+    /**
+     * Grade points under the active grade scale, in hundredths
+     */
+    public long getGradePointsHundredths() {
+        GradeScale scale = GradeScale.getActive();
+        return scale.pointsHundredths(getGradeCode(scale));
     }
 
     /**
      * Calculate weighted grade points (credit * grade points)
      */
     public double getWeightedGradePoints() {
-        return courseCredit * gradePoints;
+        return getWeightedTenThousandths() / (double) (FixedPoint.SCALE * FixedPoint.SCALE);
+    }
+
+    /**
+     * Exact credit * grade points in ten-thousandths (hundredths times hundredths)
+     */
+    public long getWeightedTenThousandths() {
+        return creditHundredths * getGradePointsHundredths();
     }
 
     @Override
     public String toString() {
         return String.format("%s (%s) - Credit: %.1f - Grade: %s - Teachers: %s, %s",
-                courseName, courseCode, courseCredit, grade, teacher1Name, teacher2Name);
+                courseName, courseCode, getCourseCredit(), grade, teacher1Name, teacher2Name);
     }
 }
@@ -0,0 +1,228 @@
+package com.kaif.gpacalculator.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented (struct-of-arrays) batch of courses for bulk GPA work.
+ * Credits (fixed-point hundredths) and grades live in primitive arrays, so a pass over millions of rows touches
+ * two dense arrays instead of one heap object per course. Text columns are optional and,
+ * when kept, repeated values share one String instance per batch.
+ * Grades are byte codes of the batch's {@link GradeScale}.
+ */
+public class CourseBatch {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private GradeScale scale;
+    private int size;
+    private int[] ids;
+    private long[] credits;
+    private byte[] gradeCodes;
+
+    private final boolean withText;
+    private String[] names;
+    private String[] codes;
+    private String[] teacher1Names;
+    private String[] teacher2Names;
+    private final Map<String, String> interned;
+
+    /**
+     * Empty batch with room for capacity rows, graded on the active scale;
+     * text columns are kept only if withText
+     */
+    public CourseBatch(int capacity, boolean withText) {
+        this.scale = GradeScale.getActive();
+        int initial = Math.max(capacity, 1);
+        this.ids = new int[initial];
+        this.credits = new long[initial];
+        this.gradeCodes = new byte[initial];
+        this.withText = withText;
+        if (withText) {
+            this.names = new String[initial];
+            this.codes = new String[initial];
+            this.teacher1Names = new String[initial];
+            this.teacher2Names = new String[initial];
+            this.interned = new HashMap<>();
+        } else {
+            this.interned = null;
+        }
+    }
+
+    public CourseBatch(boolean withText) {
+        this(DEFAULT_CAPACITY, withText);
+    }
+
+    /**
+     * Columnar copy of a course list
+     */
+    public static CourseBatch from(List<Course> courses, boolean withText) {
+        CourseBatch batch = new CourseBatch(courses.size(), withText);
+        for (Course course : courses) {
+            batch.add(course);
+        }
+        return batch;
+    }
+
+    // ==================== Appending ====================
+
+    public void add(Course course) {
+        int row = nextRow();
+        ids[row] = course.getId();
+        credits[row] = course.getCreditHundredths();
+        gradeCodes[row] = course.getGradeCode(scale);
+        if (withText) {
+            names[row] = intern(course.getCourseName());
+            codes[row] = intern(course.getCourseCode());
+            teacher1Names[row] = intern(course.getTeacher1Name());
+            teacher2Names[row] = intern(course.getTeacher2Name());
+        }
+    }
+
+    /**
+     * Append one row; text arguments are ignored when the batch has no text columns
+     */
+    public void add(int id, String name, String code, long creditHundredths, String teacher1, String teacher2, String grade) {
+        int row = nextRow();
+        ids[row] = id;
+        credits[row] = creditHundredths;
+        gradeCodes[row] = scale.code(grade);
+        if (withText) {
+            names[row] = intern(name);
+            codes[row] = intern(code);
+            teacher1Names[row] = intern(teacher1);
+            teacher2Names[row] = intern(teacher2);
+        }
+    }
+
+    /**
+     * Append one row without text (cheapest path for numeric-only batches); gradeCode is in getScale()
+     */
+    public void add(int id, long creditHundredths, byte gradeCode) {
+        int row = nextRow();
+        ids[row] = id;
+        credits[row] = creditHundredths;
+        gradeCodes[row] = gradeCode;
+    }
+
+    private int nextRow() {
+        if (size == credits.length) {
+            int capacity = credits.length + (credits.length >> 1) + 1;
+            ids = Arrays.copyOf(ids, capacity);
+            credits = Arrays.copyOf(credits, capacity);
+            gradeCodes = Arrays.copyOf(gradeCodes, capacity);
+            if (withText) {
+                names = Arrays.copyOf(names, capacity);
+                codes = Arrays.copyOf(codes, capacity);
+                teacher1Names = Arrays.copyOf(teacher1Names, capacity);
+                teacher2Names = Arrays.copyOf(teacher2Names, capacity);
+            }
+        }
+        return size++;
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = interned.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    // ==================== Grade scale ====================
+
+    public GradeScale getScale() {
+        return scale;
+    }
+
+    /**
+     * Re-encode every grade for another scale in one pass over the code column.
+     * Labels the target scale lacks become GradeScale.UNKNOWN (0.0 points).
+     */
+    public void rescore(GradeScale target) {
+        if (target == scale) {
+            return;
+        }
+        byte[] translation = scale.translationTo(target);
+        for (int i = 0; i < size; i++) {
+            gradeCodes[i] = translation[gradeCodes[i] & 0xFF];
+        }
+        scale = target;
+    }
+
+    // ==================== Access ====================
+
+    public int size() {
+        return size;
+    }
+
+    public boolean hasText() {
+        return withText;
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public long getCreditHundredths(int row) {
+        return credits[row];
+    }
+
+    public byte getGradeCode(int row) {
+        return gradeCodes[row];
+    }
+
+    public String getGrade(int row) {
+        return scale.grade(gradeCodes[row]);
+    }
+
+    public double getGradePoints(int row) {
+        return scale.points(gradeCodes[row]);
+    }
+
+    /**
+     * Text columns (null without text)
+     */
+    public String getCourseName(int row) {
+        return withText ? names[row] : null;
+    }
+
+    public String getCourseCode(int row) {
+        return withText ? codes[row] : null;
+    }
+
+    public String getTeacher1Name(int row) {
+        return withText ? teacher1Names[row] : null;
+    }
+
+    public String getTeacher2Name(int row) {
+        return withText ? teacher2Names[row] : null;
+    }
+
+    /**
+     * Backing credit column in hundredths (not copied; only the first size() entries are valid)
+     */
+    public long[] getCredits() {
+        return credits;
+    }
+
+    /**
+     * Backing grade code column (not copied; only the first size() entries are valid)
+     */
+    public byte[] getGradeCodes() {
+        return gradeCodes;
+    }
+
+    /**
+     * Rebuild row as a Course object (text columns are null without text)
+     */
+    public Course toCourse(int row) {
+        Course course = withText
+            ? Course.withCreditHundredths(names[row], codes[row], credits[row], teacher1Names[row], teacher2Names[row], getGrade(row))
+            : Course.withCreditHundredths(null, null, credits[row], null, null, getGrade(row));
+        course.setId(ids[row]);
+        return course;
+    }
+}
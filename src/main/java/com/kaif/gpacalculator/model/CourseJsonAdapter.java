@@ -0,0 +1,98 @@
+package com.kaif.gpacalculator.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.kaif.gpacalculator.util.FixedPoint;
+
+import java.io.IOException;
+
+/**
+ * Gson mapping for Course that writes the fields the original reflective mapping did, in its
+ * order: id, courseName, courseCode, courseCredit (3.0), teacher1Name, teacher2Name, grade and
+ * gradePoints (3.75, under the active scale), plus sessionId for courses linked to a session.
+ * The model stores hundredths; credits are read from the number's literal text, so "0.75"
+ * becomes exactly 75 without a trip through double. gradePoints is ignored on read, since
+ * points always follow the grade.
+ */
+public class CourseJsonAdapter extends TypeAdapter<Course> {
+
+    @Override
+    public void write(JsonWriter out, Course course) throws IOException {
+        out.beginObject();
+        out.name("id").value(course.getId());
+        writeString(out, "courseName", course.getCourseName());
+        writeString(out, "courseCode", course.getCourseCode());
+        out.name("courseCredit").value(FixedPoint.toDouble(course.getCreditHundredths()));
+        writeString(out, "teacher1Name", course.getTeacher1Name());
+        writeString(out, "teacher2Name", course.getTeacher2Name());
+        writeString(out, "grade", course.getGrade());
+        out.name("gradePoints").value(FixedPoint.toDouble(course.getGradePointsHundredths()));
+        // Only linked courses carry a session, so unlinked lists keep the original shape
+        if (course.getSessionId() != 0) {
+            out.name("sessionId").value(course.getSessionId());
+        }
+        out.endObject();
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        // Omit nulls, as Gson's default reflective mapping does
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    @Override
+    public Course read(JsonReader in) throws IOException {
+        int id = 0;
+        String courseName = null;
+        String courseCode = null;
+        long creditHundredths = 0;
+        String teacher1Name = null;
+        String teacher2Name = null;
+        String grade = null;
+        int sessionId = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id" -> id = in.nextInt();
+                case "courseName" -> courseName = in.nextString();
+                case "courseCode" -> courseCode = in.nextString();
+                case "courseCredit" -> creditHundredths = readHundredths(in.nextString());
+                case "teacher1Name" -> teacher1Name = in.nextString();
+                case "teacher2Name" -> teacher2Name = in.nextString();
+                case "grade" -> grade = in.nextString();
+                case "sessionId" -> sessionId = in.nextInt();
+                // gradePoints is derived from the grade; anything else is not ours
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        Course course = Course.withCreditHundredths(courseName, courseCode, creditHundredths,
+                                                    teacher1Name, teacher2Name, grade);
+        course.setId(id);
+        course.setSessionId(sessionId);
+        return course;
+    }
+
+    private static long readHundredths(String literal) throws IOException {
+        try {
+            return FixedPoint.parse(literal);
+        } catch (NumberFormatException e) {
+            // More than two decimals or exponent notation: round like the double constructor does
+            try {
+                return FixedPoint.fromDouble(Double.parseDouble(literal));
+            } catch (NumberFormatException invalid) {
+                throw new IOException("Invalid courseCredit: " + literal);
+            }
+        }
+    }
+}
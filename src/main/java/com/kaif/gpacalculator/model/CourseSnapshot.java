@@ -0,0 +1,551 @@
+package com.kaif.gpacalculator.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only course set in a compact binary file that is memory-mapped and read lazily, for
+ * archives (old semesters, whole cohorts) that would otherwise be re-decoded from SQLite rows.
+ *
+ * Layout (little-endian): a 64-byte header, then fixed-width columns - credits (long
+ * hundredths), ids (int), optionally four dictionary indexes per row for name, code and
+ * teachers (int, -1 for null), grade codes (byte) - and a string dictionary (int offsets
+ * plus UTF-8 bytes). The first dictionary entries are the grade labels of the scale the
+ * codes were written in, so a snapshot can be scored on any scale. The header carries a
+ * format version and a CRC32C of itself and of everything after it.
+ *
+ * Opening maps the file and checks the header (and optionally the data checksum); nothing
+ * is decoded until asked for. Strings are decoded on first use and cached. Safe to read from
+ * several threads.
+ */
+public final class CourseSnapshot {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'G', 'P', 'A', 'S', 'N', 'A', 'P', 0};
+    private static final int HEADER_BYTES = 64;
+    private static final int FLAG_TEXT = 1;
+    private static final int TEXT_COLUMNS = 4;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    // Checksum pass mapping size
+    private static final long VERIFY_CHUNK_BYTES = 256L << 20;
+
+    private final int size;
+    private final boolean withText;
+    private final String[] gradeLabels;
+    private final LongBuffer credits;
+    private final IntBuffer ids;
+    private final IntBuffer text;
+    private final ByteBuffer gradeCodes;
+    private final IntBuffer dictionaryOffsets;
+    private final ByteBuffer dictionary;
+    private final int dictionarySize;
+    private volatile String[] strings;
+
+    private CourseSnapshot(int size, boolean withText, int gradeCount, int dictionarySize, LongBuffer credits,
+                           IntBuffer ids, IntBuffer text, ByteBuffer gradeCodes, IntBuffer dictionaryOffsets,
+                           ByteBuffer dictionary) {
+        this.size = size;
+        this.withText = withText;
+        this.credits = credits;
+        this.ids = ids;
+        this.text = text;
+        this.gradeCodes = gradeCodes;
+        this.dictionaryOffsets = dictionaryOffsets;
+        this.dictionary = dictionary;
+        this.dictionarySize = dictionarySize;
+        this.gradeLabels = new String[gradeCount];
+        for (int i = 0; i < gradeCount; i++) {
+            gradeLabels[i] = decode(i);
+        }
+    }
+
+    // ==================== Layout ====================
+
+    /**
+     * Byte offsets of each section for a given row count
+     */
+    private record Layout(long credits, long ids, long text, long gradeCodes, long dictionary) {
+        static Layout of(long rows, boolean withText) {
+            long credits = HEADER_BYTES;
+            long ids = credits + rows * Long.BYTES;
+            long text = ids + rows * Integer.BYTES;
+            long gradeCodes = text + (withText ? rows * TEXT_COLUMNS * Integer.BYTES : 0);
+            // Keep the dictionary's int offsets aligned
+            long dictionary = (gradeCodes + rows + 7) & ~7L;
+            return new Layout(credits, ids, text, gradeCodes, dictionary);
+        }
+    }
+
+    // ==================== Writing ====================
+
+    /**
+     * Write a course list, grading it on scale; text columns are kept only if withText
+     */
+    public static void write(Path file, List<Course> courses, GradeScale scale, boolean withText) throws IOException {
+        write(file, new Rows() {
+            public int size() { return courses.size(); }
+            public int id(int row) { return courses.get(row).getId(); }
+            public long credit(int row) { return courses.get(row).getCreditHundredths(); }
+            public byte gradeCode(int row) { return courses.get(row).getGradeCode(scale); }
+            public String text(int row, int column) {
+                Course course = courses.get(row);
+                return switch (column) {
+                    case 0 -> course.getCourseName();
+                    case 1 -> course.getCourseCode();
+                    case 2 -> course.getTeacher1Name();
+                    default -> course.getTeacher2Name();
+                };
+            }
+        }, scale, withText);
+    }
+
+    /**
+     * Write a columnar batch in its own scale (text columns if the batch has them)
+     */
+    public static void write(Path file, CourseBatch batch) throws IOException {
+        write(file, new Rows() {
+            public int size() { return batch.size(); }
+            public int id(int row) { return batch.getId(row); }
+            public long credit(int row) { return batch.getCreditHundredths(row); }
+            public byte gradeCode(int row) { return batch.getGradeCode(row); }
+            public String text(int row, int column) {
+                return switch (column) {
+                    case 0 -> batch.getCourseName(row);
+                    case 1 -> batch.getCourseCode(row);
+                    case 2 -> batch.getTeacher1Name(row);
+                    default -> batch.getTeacher2Name(row);
+                };
+            }
+        }, batch.getScale(), batch.hasText());
+    }
+
+    /**
+     * Row source for the writer
+     */
+    private interface Rows {
+        int size();
+        int id(int row);
+        long credit(int row);
+        byte gradeCode(int row);
+        String text(int row, int column);
+    }
+
+    /**
+     * Stream the sections out in order through one buffer (checksumming as it goes), then the
+     * header; written to a temporary file and moved into place
+     */
+    private static void write(Path file, Rows rows, GradeScale scale, boolean withText) throws IOException {
+        int count = rows.size();
+        Layout layout = Layout.of(count, withText);
+
+        // Grade labels first, then each distinct text value once
+        Map<String, Integer> index = new HashMap<>();
+        List<String> entries = new ArrayList<>(scale.getGrades());
+        for (int i = 0; i < entries.size(); i++) {
+            index.put(entries.get(i), i);
+        }
+
+        Path target = file.toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter out = new SectionWriter(channel);
+            for (int row = 0; row < count; row++) {
+                out.putLong(rows.credit(row));
+            }
+            for (int row = 0; row < count; row++) {
+                out.putInt(rows.id(row));
+            }
+            if (withText) {
+                for (int row = 0; row < count; row++) {
+                    for (int column = 0; column < TEXT_COLUMNS; column++) {
+                        String value = rows.text(row, column);
+                        if (value == null) {
+                            out.putInt(-1);
+                        } else {
+                            Integer entry = index.putIfAbsent(value, entries.size());
+                            if (entry == null) {
+                                entry = entries.size();
+                                entries.add(value);
+                            }
+                            out.putInt(entry);
+                        }
+                    }
+                }
+            }
+            for (int row = 0; row < count; row++) {
+                out.put(rows.gradeCode(row));
+            }
+            out.padTo(layout.dictionary());
+
+            byte[][] encoded = new byte[entries.size()][];
+            long dictionaryBytes = 0;
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = entries.get(i).getBytes(StandardCharsets.UTF_8);
+                dictionaryBytes += encoded[i].length;
+            }
+            if (dictionaryBytes > Integer.MAX_VALUE) {
+                throw new IOException("String dictionary too large for a snapshot");
+            }
+            int offset = 0;
+            out.putInt(offset);
+            for (byte[] bytes : encoded) {
+                offset += bytes.length;
+                out.putInt(offset);
+            }
+            for (byte[] bytes : encoded) {
+                out.put(bytes);
+            }
+            long length = out.finish();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(withText ? FLAG_TEXT : 0);
+            header.putLong(count);
+            header.putInt(scale.size());
+            header.putInt(entries.size());
+            header.putLong(dictionaryBytes);
+            header.putLong(length);
+            header.putLong(out.checksum());
+            CRC32C headerChecksum = new CRC32C();
+            headerChecksum.update(header.array(), 0, header.position());
+            header.putInt((int) headerChecksum.getValue());
+            header.putInt(0);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Little-endian buffered writer for everything after the header, with a running CRC32C
+     */
+    private static final class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C checksum = new CRC32C();
+        private long position = HEADER_BYTES;
+
+        SectionWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void put(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            for (int offset = 0; offset < bytes.length; ) {
+                ensure(1);
+                int count = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, count);
+                offset += count;
+            }
+        }
+
+        void padTo(long offset) throws IOException {
+            while (position + buffer.position() < offset) {
+                put((byte) 0);
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            checksum.update(buffer.array(), 0, buffer.limit());
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Flush and return the file length
+         */
+        long finish() throws IOException {
+            flush();
+            return position;
+        }
+
+        long checksum() {
+            return checksum.getValue();
+        }
+    }
+
+    // ==================== Opening ====================
+
+    /**
+     * Open a snapshot, verifying the header and data checksums
+     */
+    public static CourseSnapshot open(Path file) throws IOException {
+        return open(file, true);
+    }
+
+    /**
+     * Open a snapshot; without verifyData only the header checksum is checked, so opening
+     * does not touch the data pages at all
+     */
+    public static CourseSnapshot open(Path file, boolean verifyData) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileLength = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // read the whole header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES
+                    || !Arrays.equals(header.array(), 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+                throw new IOException(file + " is not a course snapshot");
+            }
+            CRC32C headerChecksum = new CRC32C();
+            headerChecksum.update(header.array(), 0, 56);
+            if (header.getInt(56) != (int) headerChecksum.getValue()) {
+                throw new IOException(file + ": snapshot header is corrupt");
+            }
+            int version = header.getInt(8);
+            if (version > VERSION) {
+                throw new IOException(file + ": snapshot version " + version + " is newer than supported (" + VERSION + ")");
+            }
+            boolean withText = (header.getInt(12) & FLAG_TEXT) != 0;
+            long rows = header.getLong(16);
+            int gradeCount = header.getInt(24);
+            int dictionarySize = header.getInt(28);
+            long dictionaryBytes = header.getLong(32);
+            long length = header.getLong(40);
+            long dataChecksum = header.getLong(48);
+            if (length != fileLength) {
+                throw new IOException(file + ": snapshot is truncated (" + fileLength + " of " + length + " bytes)");
+            }
+            if (rows > Integer.MAX_VALUE / Long.BYTES) {
+                throw new IOException(file + ": snapshot has too many rows to map");
+            }
+            if (verifyData && checksum(channel, HEADER_BYTES, fileLength) != dataChecksum) {
+                throw new IOException(file + ": snapshot data checksum mismatch");
+            }
+
+            Layout layout = Layout.of(rows, withText);
+            int size = (int) rows;
+            long offsetsBytes = (dictionarySize + 1L) * Integer.BYTES;
+            return new CourseSnapshot(size, withText, gradeCount, dictionarySize,
+                map(channel, layout.credits(), rows * Long.BYTES).asLongBuffer(),
+                map(channel, layout.ids(), rows * Integer.BYTES).asIntBuffer(),
+                withText ? map(channel, layout.text(), rows * TEXT_COLUMNS * Integer.BYTES).asIntBuffer() : null,
+                map(channel, layout.gradeCodes(), rows),
+                map(channel, layout.dictionary(), offsetsBytes).asIntBuffer(),
+                map(channel, layout.dictionary() + offsetsBytes, dictionaryBytes));
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot section too large to map (" + length + " bytes)");
+        }
+        MappedByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        return section.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long checksum(FileChannel channel, long from, long to) throws IOException {
+        CRC32C checksum = new CRC32C();
+        for (long position = from; position < to; position += VERIFY_CHUNK_BYTES) {
+            checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                        Math.min(VERIFY_CHUNK_BYTES, to - position)));
+        }
+        return checksum.getValue();
+    }
+
+    // ==================== Access ====================
+
+    public int size() {
+        return size;
+    }
+
+    public boolean hasText() {
+        return withText;
+    }
+
+    /**
+     * Grade labels of the scale the codes were written in, best first
+     */
+    public List<String> getGrades() {
+        return List.of(gradeLabels);
+    }
+
+    public int getId(int row) {
+        return ids.get(row);
+    }
+
+    public long getCreditHundredths(int row) {
+        return credits.get(row);
+    }
+
+    /**
+     * Grade code in the snapshot's own scale (see getGrades)
+     */
+    public byte getGradeCode(int row) {
+        return gradeCodes.get(row);
+    }
+
+    /**
+     * Grade label, or null if the course's grade was not on the written scale
+     */
+    public String getGrade(int row) {
+        int code = gradeCodes.get(row) & 0xFF;
+        return code < gradeLabels.length ? gradeLabels[code] : null;
+    }
+
+    public String getCourseName(int row) {
+        return text(row, 0);
+    }
+
+    public String getCourseCode(int row) {
+        return text(row, 1);
+    }
+
+    public String getTeacher1Name(int row) {
+        return text(row, 2);
+    }
+
+    public String getTeacher2Name(int row) {
+        return text(row, 3);
+    }
+
+    /**
+     * Copy length credits from row from into dst (bulk, for GPA passes)
+     */
+    public void readCredits(int from, long[] dst, int length) {
+        credits.get(from, dst, 0, length);
+    }
+
+    /**
+     * Copy length grade codes (snapshot scale) from row from into dst
+     */
+    public void readGradeCodes(int from, byte[] dst, int length) {
+        gradeCodes.get(from, dst, 0, length);
+    }
+
+    /**
+     * Points in hundredths on a scale, indexed by this snapshot's grade codes (&amp; 0xFF);
+     * labels the scale lacks score 0, as GradeScale.UNKNOWN does
+     */
+    public long[] hundredthsTable(GradeScale scale) {
+        long[] table = new long[256];
+        long[] points = scale.hundredthsTable();
+        for (int code = 0; code < gradeLabels.length; code++) {
+            table[code] = points[scale.code(gradeLabels[code]) & 0xFF];
+        }
+        return table;
+    }
+
+    // ==================== Materializing ====================
+
+    /**
+     * Rebuild one row as a Course (text columns are null without text)
+     */
+    public Course toCourse(int row) {
+        Course course = Course.withCreditHundredths(getCourseName(row), getCourseCode(row), getCreditHundredths(row),
+                                                    getTeacher1Name(row), getTeacher2Name(row), getGrade(row));
+        course.setId(getId(row));
+        return course;
+    }
+
+    public List<Course> toCourses() {
+        List<Course> courses = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            courses.add(toCourse(row));
+        }
+        return courses;
+    }
+
+    /**
+     * Columnar copy graded on the active scale; text columns only if withText and present
+     */
+    public CourseBatch toBatch(boolean withText) {
+        CourseBatch batch = new CourseBatch(size, withText && this.withText);
+        if (batch.hasText()) {
+            for (int row = 0; row < size; row++) {
+                batch.add(getId(row), getCourseName(row), getCourseCode(row), getCreditHundredths(row),
+                          getTeacher1Name(row), getTeacher2Name(row), getGrade(row));
+            }
+        } else {
+            byte[] translation = new byte[256];
+            Arrays.fill(translation, GradeScale.UNKNOWN);
+            for (int code = 0; code < gradeLabels.length; code++) {
+                translation[code] = batch.getScale().code(gradeLabels[code]);
+            }
+            for (int row = 0; row < size; row++) {
+                batch.add(getId(row), getCreditHundredths(row), translation[getGradeCode(row) & 0xFF]);
+            }
+        }
+        return batch;
+    }
+
+    // ==================== Dictionary ====================
+
+    private String text(int row, int column) {
+        if (!withText) {
+            return null;
+        }
+        int entry = text.get(row * TEXT_COLUMNS + column);
+        if (entry < 0) {
+            return null;
+        }
+        String[] cache = strings;
+        if (cache == null) {
+            // Racing threads may each allocate one; either is fine, entries are just re-decoded
+            cache = new String[dictionarySize];
+            strings = cache;
+        }
+        String value = cache[entry];
+        if (value == null) {
+            value = decode(entry);
+            cache[entry] = value;
+        }
+        return value;
+    }
+
+    private String decode(int entry) {
+        int start = dictionaryOffsets.get(entry);
+        byte[] bytes = new byte[dictionaryOffsets.get(entry + 1) - start];
+        dictionary.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
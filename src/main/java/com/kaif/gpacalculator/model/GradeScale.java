@@ -0,0 +1,346 @@
+package com.kaif.gpacalculator.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * A grading scale: an ordered set of grade labels (best first) and the points each is worth.
+ * Grades are encoded as compact byte codes (their position in the scale) and points are read
+ * from precomputed 256-entry tables, so code -> points is a single array load. Points are
+ * held to hundredths (see FixedPoint); finer values in a config file are rounded.
+ * Unknown grades get {@link #UNKNOWN} and score 0.0, as the original switch did.
+ *
+ * The active scale comes from -Dgpa.gradeScale: a built-in name (4.0, 4.3, percentage,
+ * pass-fail) or the path of a .properties file, e.g.
+ * <pre>
+ * name=My University
+ * grades=A:4.0:85, B:3.0:70, C:2.0:55, F:0.0:0
+ * </pre>
+ * where each entry is label:points[:minimum percentage].
+ */
+public final class GradeScale {
+    private static final Logger logger = Logger.getLogger(GradeScale.class.getName());
+
+    /**
+     * Code of a grade that is not part of the scale (worth 0.0 points)
+     */
+    public static final byte UNKNOWN = (byte) 0xFF;
+    private static final int MAX_GRADES = 255;
+
+    private static final AtomicInteger nextId = new AtomicInteger(1);
+
+    // ==================== Built-in scales ====================
+
+    /**
+     * UGC Bangladesh 4.0 scale (the application's original grading)
+     */
+    public static final GradeScale STANDARD_4_0 = new GradeScale("4.0",
+        new String[] {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "D", "F"},
+        new double[] {4.0, 3.75, 3.5, 3.25, 3.0, 2.75, 2.5, 2.25, 2.0, 0.0},
+        new double[] {80, 75, 70, 65, 60, 55, 50, 45, 40, 0});
+
+    /**
+     * North American 4.3 scale with A+ above 4.0
+     */
+    public static final GradeScale SCALE_4_3 = new GradeScale("4.3",
+        new String[] {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "D-", "F"},
+        new double[] {4.3, 4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.7, 1.3, 1.0, 0.7, 0.0},
+        new double[] {90, 85, 80, 77, 73, 70, 67, 63, 60, 57, 53, 50, 0});
+
+    /**
+     * Percentage bands entered directly (same points as the 4.0 scale)
+     */
+    public static final GradeScale PERCENTAGE = new GradeScale("percentage",
+        new String[] {"80-100", "75-79", "70-74", "65-69", "60-64", "55-59", "50-54", "45-49", "40-44", "0-39"},
+        new double[] {4.0, 3.75, 3.5, 3.25, 3.0, 2.75, 2.5, 2.25, 2.0, 0.0},
+        new double[] {80, 75, 70, 65, 60, 55, 50, 45, 40, 0});
+
+    /**
+     * Pass/fail: a pass is worth full points, so the GPA is 4.0 times the credit-weighted pass rate
+     */
+    public static final GradeScale PASS_FAIL = new GradeScale("pass-fail",
+        new String[] {"P", "F"},
+        new double[] {4.0, 0.0},
+        null);
+
+    private static final List<GradeScale> BUILT_IN = List.of(STANDARD_4_0, SCALE_4_3, PERCENTAGE, PASS_FAIL);
+
+    private static volatile GradeScale active = fromConfig(System.getProperty("gpa.gradeScale"));
+
+    // ==================== Scale definition ====================
+
+    private final int id;
+    private final String name;
+    private final String[] grades;
+    private final double[] pointsByCode;
+    private final long[] hundredthsByCode;
+    private final double[] minimumPercent;
+    private final Map<String, Byte> codes;
+    private final long maxHundredths;
+
+    /**
+     * Scale from parallel arrays ordered best grade first; minimumPercent may be null
+     */
+    public GradeScale(String name, String[] grades, double[] points, double[] minimumPercent) {
+        if (grades.length == 0 || grades.length > MAX_GRADES || grades.length != points.length
+                || (minimumPercent != null && minimumPercent.length != grades.length)) {
+            throw new IllegalArgumentException("Invalid grade scale definition: " + name);
+        }
+        this.id = nextId.getAndIncrement();
+        this.name = name;
+        this.grades = grades.clone();
+        this.minimumPercent = minimumPercent != null ? minimumPercent.clone() : null;
+        // Indexed by (code & 0xFF); every slot past the last grade, including UNKNOWN, stays 0.0
+        this.pointsByCode = new double[256];
+        this.hundredthsByCode = new long[256];
+        this.codes = new HashMap<>(grades.length * 2);
+        for (int code = 0; code < grades.length; code++) {
+            if (codes.put(grades[code], (byte) code) != null) {
+                throw new IllegalArgumentException("Duplicate grade '" + grades[code] + "' in scale " + name);
+            }
+            hundredthsByCode[code] = Math.round(points[code] * 100);
+            pointsByCode[code] = hundredthsByCode[code] / 100.0;
+        }
+        // Best-first is the convention, not a rule, so the top of the scale is the largest entry
+        this.maxHundredths = Arrays.stream(hundredthsByCode).max().getAsLong();
+    }
+
+    /**
+     * Scale read from a .properties file (see class comment for the format)
+     */
+    public static GradeScale load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        String name = properties.getProperty("name", file.getFileName().toString());
+        String spec = properties.getProperty("grades");
+        if (spec == null || spec.isBlank()) {
+            throw new IOException("Grade scale " + file + " has no 'grades' entry");
+        }
+
+        List<String> grades = new ArrayList<>();
+        List<Double> points = new ArrayList<>();
+        List<Double> percents = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length < 2 || parts.length > 3 || parts[0].isEmpty()) {
+                throw new IOException("Bad grade entry '" + entry.trim() + "' in " + file);
+            }
+            try {
+                grades.add(parts[0]);
+                points.add(Double.parseDouble(parts[1]));
+                if (parts.length == 3) {
+                    percents.add(Double.parseDouble(parts[2]));
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad number in grade entry '" + entry.trim() + "' in " + file);
+            }
+        }
+
+        double[] pointArray = points.stream().mapToDouble(Double::doubleValue).toArray();
+        double[] percentArray = percents.size() == grades.size()
+            ? percents.stream().mapToDouble(Double::doubleValue).toArray()
+            : null;
+        try {
+            return new GradeScale(name, grades.toArray(new String[0]), pointArray, percentArray);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    /**
+     * Built-in scale by name (case-insensitive), or null
+     */
+    public static GradeScale builtIn(String name) {
+        for (GradeScale scale : BUILT_IN) {
+            if (scale.name.equalsIgnoreCase(name)) {
+                return scale;
+            }
+        }
+        return null;
+    }
+
+    public static List<GradeScale> builtInScales() {
+        return BUILT_IN;
+    }
+
+    /**
+     * Resolve a config value (built-in name or file path), falling back to the 4.0 scale
+     */
+    static GradeScale fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return STANDARD_4_0;
+        }
+        GradeScale scale = builtIn(value.trim());
+        if (scale != null) {
+            return scale;
+        }
+        try {
+            return load(Path.of(value.trim()));
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Could not load grade scale '" + value + "', using 4.0 scale: " + e.toString());
+            return STANDARD_4_0;
+        }
+    }
+
+    // ==================== Active scale ====================
+
+    public static GradeScale getActive() {
+        return active;
+    }
+
+    /**
+     * Switch scales in memory only. Courses re-score lazily on their next points lookup;
+     * a CourseBatch needs {@link CourseBatch#rescore} and a GpaAccumulator its refreshAll().
+     * Stored courses keep their old points, so with a database use db.switchGradeScale,
+     * which re-scores them (and the session totals) in the same step.
+     */
+    public static void setActive(GradeScale scale) {
+        if (scale == null) {
+            throw new IllegalArgumentException("Grade scale must not be null");
+        }
+        active = scale;
+    }
+
+    // ==================== Lookups ====================
+
+    /**
+     * Byte code of a grade label, or UNKNOWN
+     */
+    public byte code(String grade) {
+        if (grade == null) {
+            return UNKNOWN;
+        }
+        Byte code = codes.get(grade);
+        return code != null ? code : UNKNOWN;
+    }
+
+    public double points(byte code) {
+        return pointsByCode[code & 0xFF];
+    }
+
+    public double points(String grade) {
+        return points(code(grade));
+    }
+
+    /**
+     * Points for a code in hundredths (3.75 -> 375)
+     */
+    public long pointsHundredths(byte code) {
+        return hundredthsByCode[code & 0xFF];
+    }
+
+    /**
+     * Grade label for a code, or null for UNKNOWN
+     */
+    public String grade(byte code) {
+        int index = code & 0xFF;
+        return index < grades.length ? grades[index] : null;
+    }
+
+    /**
+     * Best grade whose minimum percentage the mark reaches, or UNKNOWN if the scale has no bands
+     */
+    public byte codeForPercentage(double percent) {
+        if (minimumPercent != null) {
+            for (int code = 0; code < minimumPercent.length; code++) {
+                if (percent >= minimumPercent[code]) {
+                    return (byte) code;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Points table indexed by (code &amp; 0xFF); shared, do not modify
+     */
+    public double[] pointsTable() {
+        return pointsByCode;
+    }
+
+    /**
+     * Points in hundredths indexed by (code &amp; 0xFF); shared, do not modify
+     */
+    public long[] hundredthsTable() {
+        return hundredthsByCode;
+    }
+
+    /**
+     * Table mapping this scale's codes to the codes of the same labels in another scale
+     */
+    public byte[] translationTo(GradeScale target) {
+        byte[] translation = new byte[256];
+        Arrays.fill(translation, UNKNOWN);
+        for (int code = 0; code < grades.length; code++) {
+            translation[code] = target.code(grades[code]);
+        }
+        return translation;
+    }
+
+    /**
+     * Grade labels, best first (for combo boxes)
+     */
+    public List<String> getGrades() {
+        return List.of(grades);
+    }
+
+    public int size() {
+        return grades.length;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getMaxPoints() {
+        return maxHundredths / 100.0;
+    }
+
+    public long getMaxPointsHundredths() {
+        return maxHundredths;
+    }
+
+    /**
+     * SHA-256 (hex) of the labels and their points in hundredths. Unlike {@link #id()} it is the
+     * same in every run, so a database can tell which scale its stored points were scored under.
+     */
+    public String fingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int code = 0; code < grades.length; code++) {
+                digest.update((grades[code] + '\0' + hundredthsByCode[code] + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Unique per instance; lets Course cache (scale, code) in a single int
+     */
+    int id() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
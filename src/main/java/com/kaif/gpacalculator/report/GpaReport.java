@@ -0,0 +1,176 @@
+package com.kaif.gpacalculator.report;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.CohortGpaCalculator;
+import com.kaif.gpacalculator.util.FixedPoint;
+import com.kaif.gpacalculator.util.GpaBand;
+import com.kaif.gpacalculator.util.GpaCalculator;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything a printed GPA report shows: the headline GPA with its band, summary totals and
+ * a table (courses for one calculation, terms for a cohort transcript). Cells are formatted
+ * once here so the HTML and PDF renderers print identical text.
+ */
+public class GpaReport implements ReportTemplate.Scope {
+
+    private static final String[] COURSE_COLUMNS =
+        {"Course", "Code", "Credit", "Teacher 1", "Teacher 2", "Grade", "Points"};
+    private static final boolean[] COURSE_NUMERIC = {false, false, true, false, false, false, true};
+    private static final String[] TERM_COLUMNS = {"Semester", "Credits", "Term GPA", "CGPA"};
+    private static final boolean[] TERM_NUMERIC = {false, true, true, true};
+
+    private final String title;
+    private final String subtitle;
+    private final String gpaLabel;
+    private final double gpa;
+    private final GradeScale scale;
+    private final GpaBand band;
+    private final int courseCount;
+    private final double totalCredits;
+    private final String qualityPoints;
+    private final String[] columns;
+    private final boolean[] numeric;
+    private final List<String[]> rows;
+
+    private GpaReport(String title, String subtitle, String gpaLabel, double gpa, GradeScale scale, int courseCount,
+                      double totalCredits, String qualityPoints, String[] columns, boolean[] numeric,
+                      List<String[]> rows) {
+        this.title = title;
+        this.subtitle = subtitle;
+        this.gpaLabel = gpaLabel;
+        this.gpa = gpa;
+        this.scale = scale;
+        this.band = GpaBand.of(gpa, scale);
+        this.courseCount = courseCount;
+        this.totalCredits = totalCredits;
+        this.qualityPoints = qualityPoints;
+        this.columns = columns;
+        this.numeric = numeric;
+        this.rows = rows;
+    }
+
+    /**
+     * Report for one GPA result, as shown on the result screen (active grade scale)
+     */
+    public static GpaReport forCalculation(String title, String subtitle, double gpa, double totalCredits,
+                                           List<Course> courses) {
+        GradeScale scale = GradeScale.getActive();
+        List<String[]> rows = new ArrayList<>(courses.size());
+        long weighted = 0;
+        for (Course course : courses) {
+            long points = scale.pointsHundredths(course.getGradeCode(scale));
+            weighted += course.getCreditHundredths() * points;
+            rows.add(new String[] {
+                course.getCourseName(), course.getCourseCode(), FixedPoint.format(course.getCreditHundredths()),
+                course.getTeacher1Name(), course.getTeacher2Name(), course.getGrade(), FixedPoint.format(points)
+            });
+        }
+        // Same two-decimal rounding as the result screen
+        String qualityPoints = FixedPoint.format(FixedPoint.divide(weighted, FixedPoint.SCALE, RoundingMode.HALF_UP));
+        return new GpaReport(title, subtitle, "GPA", gpa, scale, courses.size(), totalCredits, qualityPoints,
+                             COURSE_COLUMNS, COURSE_NUMERIC, rows);
+    }
+
+    /**
+     * Transcript for one student of a cohort: term GPA and running CGPA per semester
+     */
+    public static GpaReport forStudent(CohortGpaCalculator.StudentGpa student, GradeScale scale) {
+        List<String> semesters = student.getSemesters();
+        List<String[]> rows = new ArrayList<>(semesters.size());
+        for (int term = 0; term < semesters.size(); term++) {
+            rows.add(new String[] {
+                semesters.get(term),
+                FixedPoint.format(FixedPoint.fromDouble(student.getTermCredits(term))),
+                GpaCalculator.formatGPA(student.getTermGpa(term)),
+                GpaCalculator.formatGPA(student.getCgpaAfter(term))
+            });
+        }
+        return new GpaReport("Transcript - " + student.getStudentId(), semesters.size() + " semester"
+                             + (semesters.size() == 1 ? "" : "s"), "CGPA", student.getCgpa(), scale,
+                             student.getCourseCount(), student.getTotalCredits(), null,
+                             TERM_COLUMNS, TERM_NUMERIC, rows);
+    }
+
+    public String getTitle() { return title; }
+    public String getSubtitle() { return subtitle; }
+    public String getGpaLabel() { return gpaLabel; }
+    public double getGpa() { return gpa; }
+    public GpaBand getBand() { return band; }
+    public int getCourseCount() { return courseCount; }
+    public double getTotalCredits() { return totalCredits; }
+    public String getQualityPoints() { return qualityPoints; }
+    public int getColumnCount() { return columns.length; }
+    public String getColumn(int column) { return columns[column]; }
+    public boolean isNumeric(int column) { return numeric[column]; }
+    public List<String[]> getRows() { return rows; }
+
+    public String getFormattedGpa() {
+        return GpaCalculator.formatGPA(gpa);
+    }
+
+    public String getFormattedCredits() {
+        return FixedPoint.format(FixedPoint.fromDouble(totalCredits));
+    }
+
+    public String getMaxPoints() {
+        return FixedPoint.format(scale.getMaxPointsHundredths());
+    }
+
+    // ==================== Template values ====================
+
+    @Override
+    public Object get(String key) {
+        return switch (key) {
+            case "title" -> title;
+            case "subtitle" -> subtitle;
+            case "gpaLabel" -> gpaLabel;
+            case "gpa" -> getFormattedGpa();
+            case "maxPoints" -> getMaxPoints();
+            case "scale" -> scale.getName();
+            case "band" -> band.getLabel();
+            case "bandClass" -> band.getStyleClass();
+            case "message" -> band.getMessage();
+            case "courseCount" -> courseCount;
+            case "credits" -> getFormattedCredits();
+            case "qualityPoints" -> qualityPoints;
+            case "columns" -> columnCells(columns);
+            case "rows" -> rowScopes();
+            default -> null;
+        };
+    }
+
+    private Cell[] columnCells(String[] texts) {
+        Cell[] cells = new Cell[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            cells[i] = new Cell(texts[i], numeric[i]);
+        }
+        return cells;
+    }
+
+    private List<ReportTemplate.Scope> rowScopes() {
+        List<ReportTemplate.Scope> scopes = new ArrayList<>(rows.size());
+        for (String[] row : rows) {
+            scopes.add(key -> key.equals("cells") ? columnCells(row) : null);
+        }
+        return scopes;
+    }
+
+    /**
+     * One table cell: its text and whether it is right-aligned (numeric)
+     */
+    private record Cell(String text, boolean numeric) implements ReportTemplate.Scope {
+        @Override
+        public Object get(String key) {
+            return switch (key) {
+                case "text" -> text;
+                case "align" -> numeric ? "num" : "";
+                default -> null;
+            };
+        }
+    }
+}
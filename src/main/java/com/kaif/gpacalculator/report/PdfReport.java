@@ -0,0 +1,220 @@
+package com.kaif.gpacalculator.report;
+
+import com.kaif.gpacalculator.report.PdfWriter.Font;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Lays a GpaReport out on A4 pages with PdfWriter: title, a summary box with the GPA in its
+ * band colour, then the table, repeating the header row on every page. Column widths follow
+ * the content and cells that still do not fit are cut short with "...".
+ */
+final class PdfReport {
+
+    private static final float MARGIN = 50;
+    private static final float CONTENT_WIDTH = PdfWriter.PAGE_WIDTH - 2 * MARGIN;
+    private static final float TABLE_FONT = 9;
+    private static final float ROW_HEIGHT = 16;
+    private static final float CELL_PADDING = 4;
+    private static final float FOOTER_Y = 30;
+    private static final float MAX_COLUMN_SHARE = 0.4f;
+
+    private static final int TEXT = 0x2C3E50;
+    private static final int MUTED = 0x7F8C8D;
+    private static final int PANEL = 0xF4F6F8;
+    private static final int HEADER = 0x667EEA;
+    private static final int STRIPE = 0xF8F9FA;
+    private static final int RULE = 0xDEE2E6;
+    private static final int WHITE = 0xFFFFFF;
+
+    private PdfReport() {
+    }
+
+    static void render(GpaReport report, OutputStream out) throws IOException {
+        PdfWriter pdf = new PdfWriter(out, report.getTitle());
+        pdf.newPage();
+        float y = PdfWriter.PAGE_HEIGHT - MARGIN - 14;
+
+        pdf.fill(TEXT);
+        pdf.text(Font.BOLD, 20, MARGIN, y, fit(report.getTitle(), Font.BOLD, 20, CONTENT_WIDTH));
+        if (report.getSubtitle() != null) {
+            y -= 18;
+            pdf.fill(MUTED);
+            pdf.text(Font.REGULAR, 11, MARGIN, y, fit(report.getSubtitle(), Font.REGULAR, 11, CONTENT_WIDTH));
+        }
+
+        y = summary(pdf, report, y - 20);
+        table(pdf, report, y - 24);
+        footer(pdf, report);
+        pdf.finish();
+    }
+
+    /**
+     * GPA, band and totals in a shaded box whose top is at y; returns its bottom
+     */
+    private static float summary(PdfWriter pdf, GpaReport report, float top) {
+        float height = 78;
+        float bottom = top - height;
+        pdf.fill(PANEL);
+        pdf.rect(MARGIN, bottom, CONTENT_WIDTH, height);
+
+        float x = MARGIN + 16;
+        pdf.fill(bandColor(report));
+        pdf.text(Font.BOLD, 32, x, top - 44, report.getFormattedGpa());
+        float gpaWidth = PdfWriter.width(report.getFormattedGpa(), Font.BOLD, 32);
+        pdf.fill(MUTED);
+        pdf.text(Font.REGULAR, 10, x + gpaWidth + 6, top - 44, report.getGpaLabel() + " / " + report.getMaxPoints());
+        pdf.text(Font.REGULAR, 9, x, top - 64, report.getBand().getMessage());
+
+        float right = MARGIN + CONTENT_WIDTH * 0.52f;
+        pdf.fill(TEXT);
+        pdf.text(Font.BOLD, 12, right, top - 22, "Grade: " + report.getBand().getLabel());
+        pdf.text(Font.REGULAR, 10, right, top - 40, "Courses: " + report.getCourseCount()
+                 + "    Credits: " + report.getFormattedCredits());
+        if (report.getQualityPoints() != null) {
+            pdf.text(Font.REGULAR, 10, right, top - 56, "Quality points: " + report.getQualityPoints());
+        }
+        return bottom;
+    }
+
+    private static void table(PdfWriter pdf, GpaReport report, float top) throws IOException {
+        float[] widths = columnWidths(report);
+        float y = header(pdf, report, widths, top);
+        List<String[]> rows = report.getRows();
+        for (int r = 0; r < rows.size(); r++) {
+            if (y - ROW_HEIGHT < MARGIN) {
+                footer(pdf, report);
+                pdf.newPage();
+                y = header(pdf, report, widths, PdfWriter.PAGE_HEIGHT - MARGIN);
+            }
+            if (r % 2 == 1) {
+                pdf.fill(STRIPE);
+                pdf.rect(MARGIN, y - ROW_HEIGHT, CONTENT_WIDTH, ROW_HEIGHT);
+            }
+            pdf.fill(TEXT);
+            row(pdf, report, rows.get(r), widths, Font.REGULAR, y);
+            pdf.line(MARGIN, y - ROW_HEIGHT, MARGIN + CONTENT_WIDTH, y - ROW_HEIGHT, 0.5f, RULE);
+            y -= ROW_HEIGHT;
+        }
+    }
+
+    private static float header(PdfWriter pdf, GpaReport report, float[] widths, float top) {
+        pdf.fill(HEADER);
+        pdf.rect(MARGIN, top - ROW_HEIGHT, CONTENT_WIDTH, ROW_HEIGHT);
+        String[] names = new String[report.getColumnCount()];
+        for (int c = 0; c < names.length; c++) {
+            names[c] = report.getColumn(c);
+        }
+        pdf.fill(WHITE);
+        row(pdf, report, names, widths, Font.BOLD, top);
+        return top - ROW_HEIGHT;
+    }
+
+    private static void row(PdfWriter pdf, GpaReport report, String[] cells, float[] widths, Font font, float top) {
+        float x = MARGIN;
+        float baseline = top - ROW_HEIGHT + 5;
+        for (int c = 0; c < widths.length; c++) {
+            String text = cells[c] == null ? "" : fit(cells[c], font, TABLE_FONT, widths[c] - 2 * CELL_PADDING);
+            if (!text.isEmpty()) {
+                float textX = report.isNumeric(c)
+                    ? x + widths[c] - CELL_PADDING - PdfWriter.width(text, font, TABLE_FONT)
+                    : x + CELL_PADDING;
+                pdf.text(font, TABLE_FONT, textX, baseline, text);
+            }
+            x += widths[c];
+        }
+    }
+
+    private static void footer(PdfWriter pdf, GpaReport report) {
+        pdf.fill(MUTED);
+        String text = fit(report.getTitle(), Font.REGULAR, 8, CONTENT_WIDTH - 60);
+        pdf.text(Font.REGULAR, 8, MARGIN, FOOTER_Y, text);
+        String page = "Page " + pdf.getPageCount();
+        pdf.text(Font.REGULAR, 8, MARGIN + CONTENT_WIDTH - PdfWriter.width(page, Font.REGULAR, 8), FOOTER_Y, page);
+    }
+
+    /**
+     * Widths that fit the page: columns narrower than an equal share keep their natural
+     * width (capped at 40% of the page), the rest split what is left in proportion; spare
+     * room is shared out evenly
+     */
+    static float[] columnWidths(GpaReport report) {
+        int columns = report.getColumnCount();
+        float[] natural = new float[columns];
+        for (int c = 0; c < columns; c++) {
+            natural[c] = PdfWriter.width(report.getColumn(c), Font.BOLD, TABLE_FONT);
+        }
+        for (String[] row : report.getRows()) {
+            for (int c = 0; c < columns; c++) {
+                if (row[c] != null) {
+                    natural[c] = Math.max(natural[c], PdfWriter.width(row[c], Font.REGULAR, TABLE_FONT));
+                }
+            }
+        }
+        float total = 0;
+        for (int c = 0; c < columns; c++) {
+            // One point of slack so float rounding never truncates a cell that was measured to fit,
+            // and no single long value may squeeze the other columns out
+            natural[c] = Math.min(natural[c] + 2 * CELL_PADDING + 1, MAX_COLUMN_SHARE * CONTENT_WIDTH);
+            total += natural[c];
+        }
+
+        float[] widths = natural.clone();
+        if (total <= CONTENT_WIDTH) {
+            float extra = (CONTENT_WIDTH - total) / columns;
+            for (int c = 0; c < columns; c++) {
+                widths[c] += extra;
+            }
+            return widths;
+        }
+        float fair = CONTENT_WIDTH / columns;
+        float narrow = 0;
+        float wide = 0;
+        for (float width : natural) {
+            if (width <= fair) {
+                narrow += width;
+            } else {
+                wide += width;
+            }
+        }
+        float scale = (CONTENT_WIDTH - narrow) / wide;
+        for (int c = 0; c < columns; c++) {
+            if (natural[c] > fair) {
+                widths[c] = natural[c] * scale;
+            }
+        }
+        return widths;
+    }
+
+    /**
+     * text, or as much of it as fits in width followed by "..."
+     */
+    static String fit(String text, Font font, float size, float width) {
+        if (PdfWriter.width(text, font, size) <= width) {
+            return text;
+        }
+        float budget = width - PdfWriter.width("...", font, size);
+        int end = 0;
+        float used = 0;
+        while (end < text.length()) {
+            float next = PdfWriter.width(text.charAt(end), font, size);
+            if (used + next > budget) {
+                break;
+            }
+            used += next;
+            end++;
+        }
+        return text.substring(0, end) + "...";
+    }
+
+    private static int bandColor(GpaReport report) {
+        return switch (report.getBand()) {
+            case EXCELLENT -> 0x11998E;
+            case GOOD -> 0x4FACFE;
+            case AVERAGE -> 0xF39C12;
+            case BELOW_AVERAGE -> 0xEB3349;
+        };
+    }
+}
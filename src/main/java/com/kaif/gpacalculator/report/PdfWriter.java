@@ -0,0 +1,323 @@
+package com.kaif.gpacalculator.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal streaming PDF 1.4 writer: A4 pages of filled rectangles, lines and single-line text
+ * in the two standard Helvetica fonts (no embedding, WinAnsi encoding). Each page is buffered
+ * until the next one starts, then written out, so memory stays flat however many pages a
+ * document has. Text widths come from the standard Helvetica metrics for layout.
+ *
+ * Not thread-safe; use one writer per document.
+ */
+final class PdfWriter {
+
+    static final float PAGE_WIDTH = 595;
+    static final float PAGE_HEIGHT = 842;
+
+    enum Font {
+        REGULAR("F1", "Helvetica", HELVETICA_WIDTHS),
+        BOLD("F2", "Helvetica-Bold", HELVETICA_BOLD_WIDTHS);
+
+        private final String resource;
+        private final String baseFont;
+        private final short[] widths;
+
+        Font(String resource, String baseFont, short[] widths) {
+            this.resource = resource;
+            this.baseFont = baseFont;
+            this.widths = widths;
+        }
+    }
+
+    // Glyph widths (1/1000 em) for characters 32..126 from the standard Type 1 font metrics
+    private static final short[] HELVETICA_WIDTHS = {
+        278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+        556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+        1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+        667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+        333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+        556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584
+    };
+    private static final short[] HELVETICA_BOLD_WIDTHS = {
+        278, 333, 474, 556, 556, 889, 722, 238, 333, 333, 389, 584, 278, 333, 278, 278,
+        556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 333, 333, 584, 584, 584, 611,
+        975, 722, 722, 722, 722, 667, 611, 778, 722, 278, 556, 722, 611, 833, 722, 778,
+        667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 333, 278, 333, 584, 556,
+        333, 556, 611, 556, 611, 556, 333, 611, 611, 278, 278, 556, 278, 889, 611, 611,
+        611, 611, 389, 556, 333, 611, 556, 778, 556, 556, 500, 389, 280, 389, 584
+    };
+    // Width used for Latin-1 letters and the few other WinAnsi characters outside 32..126
+    private static final int OTHER_WIDTH = 556;
+
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+    private static final int FIRST_FONT = 3;
+    private static final int INFO = 5;
+    private static final int FIRST_PAGE_OBJECT = 6;
+
+    private final OutputStream out;
+    private final String title;
+    private long position;
+    private long[] offsets = new long[64];
+    private int nextObject = FIRST_PAGE_OBJECT;
+    private int[] pageObjects = new int[8];
+    private int pageCount;
+    private boolean pageOpen;
+    private boolean finished;
+
+    private byte[] content = new byte[16 * 1024];
+    private int contentLength;
+
+    /**
+     * Start a document on out (which the caller should buffer); title goes into the document info
+     */
+    PdfWriter(OutputStream out, String title) throws IOException {
+        this.out = out;
+        this.title = title;
+        // The binary comment marks the file as binary for transfer tools
+        write("%PDF-1.4\n%âãÏÓ\n");
+    }
+
+    /**
+     * Width of text in points at the given font and size
+     */
+    static float width(String text, Font font, float size) {
+        int units = 0;
+        for (int i = 0; i < text.length(); i++) {
+            units += units(text.charAt(i), font);
+        }
+        return units * size / 1000f;
+    }
+
+    static float width(char c, Font font, float size) {
+        return units(c, font) * size / 1000f;
+    }
+
+    private static int units(char c, Font font) {
+        return c >= 32 && c <= 126 ? font.widths[c - 32] : OTHER_WIDTH;
+    }
+
+    // ==================== Drawing ====================
+
+    /**
+     * Finish the current page (if any) and start a new, empty one
+     */
+    void newPage() throws IOException {
+        endPage();
+        pageOpen = true;
+        contentLength = 0;
+    }
+
+    int getPageCount() {
+        return pageCount + (pageOpen ? 1 : 0);
+    }
+
+    /**
+     * Set the fill colour (0xRRGGBB) for following rectangles and text
+     */
+    void fill(int rgb) {
+        color(rgb);
+        append(" rg\n");
+    }
+
+    void rect(float x, float y, float width, float height) {
+        number(x).append(' ').number(y).append(' ').number(width).append(' ').number(height).append(" re f\n");
+    }
+
+    void line(float x1, float y1, float x2, float y2, float lineWidth, int rgb) {
+        color(rgb);
+        append(" RG ").number(lineWidth).append(" w ").number(x1).append(' ').number(y1).append(" m ")
+            .number(x2).append(' ').number(y2).append(" l S\n");
+    }
+
+    /**
+     * One line of text with its baseline starting at (x, y), in the current fill colour
+     */
+    void text(Font font, float size, float x, float y, String text) {
+        append("BT /").append(font.resource).append(' ').number(size).append(" Tf ")
+            .number(x).append(' ').number(y).append(" Td (");
+        string(text);
+        append(") Tj ET\n");
+    }
+
+    // ==================== Document ====================
+
+    /**
+     * Write the last page, the page tree, fonts, cross-reference table and trailer.
+     * The underlying stream is flushed but left open.
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (getPageCount() == 0) {
+            newPage();
+        }
+        endPage();
+        finished = true;
+
+        beginObject(CATALOG);
+        write("<< /Type /Catalog /Pages " + PAGES + " 0 R >>\nendobj\n");
+
+        beginObject(PAGES);
+        StringBuilder kids = new StringBuilder("<< /Type /Pages /Count ").append(pageCount).append(" /Kids [");
+        for (int i = 0; i < pageCount; i++) {
+            kids.append(i == 0 ? "" : " ").append(pageObjects[i]).append(" 0 R");
+        }
+        write(kids.append("] >>\nendobj\n").toString());
+
+        for (Font font : Font.values()) {
+            beginObject(FIRST_FONT + font.ordinal());
+            write("<< /Type /Font /Subtype /Type1 /BaseFont /" + font.baseFont
+                  + " /Encoding /WinAnsiEncoding >>\nendobj\n");
+        }
+
+        beginObject(INFO);
+        contentLength = 0;
+        append("<< /Title (");
+        string(title);
+        append(") /Producer (GPA Calculator) >>\nendobj\n");
+        writeContent();
+
+        long xref = position;
+        StringBuilder table = new StringBuilder(20 * nextObject + 64);
+        table.append("xref\n0 ").append(nextObject).append("\n0000000000 65535 f \n");
+        for (int object = 1; object < nextObject; object++) {
+            String offset = Long.toString(offsets[object]);
+            table.append("0000000000", offset.length(), 10).append(offset).append(" 00000 n \n");
+        }
+        table.append("trailer\n<< /Size ").append(nextObject).append(" /Root ").append(CATALOG)
+             .append(" 0 R /Info ").append(INFO).append(" 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+        write(table.toString());
+        out.flush();
+    }
+
+    private void endPage() throws IOException {
+        if (!pageOpen) {
+            return;
+        }
+        pageOpen = false;
+        int contentObject = nextObject++;
+        int pageObject = nextObject++;
+
+        beginObject(contentObject);
+        write("<< /Length " + contentLength + " >>\nstream\n");
+        writeContent();
+        write("\nendstream\nendobj\n");
+
+        beginObject(pageObject);
+        write("<< /Type /Page /Parent " + PAGES + " 0 R /MediaBox [0 0 " + (int) PAGE_WIDTH + " " + (int) PAGE_HEIGHT
+              + "] /Resources << /Font << /F1 " + FIRST_FONT + " 0 R /F2 " + (FIRST_FONT + 1) + " 0 R >> >> /Contents "
+              + contentObject + " 0 R >>\nendobj\n");
+
+        if (pageCount == pageObjects.length) {
+            pageObjects = Arrays.copyOf(pageObjects, pageCount * 2);
+        }
+        pageObjects[pageCount++] = pageObject;
+    }
+
+    private void beginObject(int object) throws IOException {
+        if (object >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(object + 1, offsets.length * 2));
+        }
+        offsets[object] = position;
+        write(object + " 0 obj\n");
+    }
+
+    private void write(String ascii) throws IOException {
+        byte[] bytes = ascii.getBytes(StandardCharsets.ISO_8859_1);
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    private void writeContent() throws IOException {
+        out.write(content, 0, contentLength);
+        position += contentLength;
+    }
+
+    // ==================== Content buffer ====================
+
+    private PdfWriter append(String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            appendByte(ascii.charAt(i));
+        }
+        return this;
+    }
+
+    private PdfWriter append(char c) {
+        appendByte(c);
+        return this;
+    }
+
+    private void appendByte(int b) {
+        if (contentLength == content.length) {
+            content = Arrays.copyOf(content, content.length * 2);
+        }
+        content[contentLength++] = (byte) b;
+    }
+
+    /**
+     * A coordinate or size with at most two decimals (plenty at 1/72 inch)
+     */
+    private PdfWriter number(float value) {
+        long hundredths = Math.round(value * 100.0);
+        if (hundredths < 0) {
+            appendByte('-');
+            hundredths = -hundredths;
+        }
+        append(Long.toString(hundredths / 100));
+        long fraction = hundredths % 100;
+        if (fraction != 0) {
+            appendByte('.');
+            appendByte('0' + (int) (fraction / 10));
+            if (fraction % 10 != 0) {
+                appendByte('0' + (int) (fraction % 10));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Body of a PDF string literal: WinAnsi bytes with parentheses and backslashes escaped
+     */
+    private void string(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            int b = winAnsi(text.charAt(i));
+            if (b == '(' || b == ')' || b == '\\') {
+                appendByte('\\');
+            }
+            appendByte(b);
+        }
+    }
+
+    private void color(int rgb) {
+        number(((rgb >> 16) & 0xFF) / 255f).append(' ').number(((rgb >> 8) & 0xFF) / 255f).append(' ')
+            .number((rgb & 0xFF) / 255f);
+    }
+
+    /**
+     * WinAnsiEncoding byte for a character; '?' when the encoding has no glyph for it
+     */
+    private static int winAnsi(char c) {
+        if ((c >= 32 && c <= 126) || (c >= 160 && c <= 255)) {
+            return c;
+        }
+        return switch (c) {
+            case '€' -> 0x80;
+            case '…' -> 0x85;
+            case '‘' -> 0x91;
+            case '’' -> 0x92;
+            case '“' -> 0x93;
+            case '”' -> 0x94;
+            case '•' -> 0x95;
+            case '–' -> 0x96;
+            case '—' -> 0x97;
+            case '\t' -> ' ';
+            default -> '?';
+        };
+    }
+}
@@ -0,0 +1,381 @@
+package com.kaif.gpacalculator.report;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.CohortGpaCalculator;
+import database.db;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Renders GPA reports to HTML (through the cached compiled ReportTemplate) and PDF, one at a
+ * time for the result screen or in batches for every saved calculation or a whole cohort.
+ *
+ * A batch runs on a fixed pool of worker threads that each take the next item, load its data,
+ * render it and stream it straight to its own file, so only one report per worker is ever in
+ * memory. Items can come from a list or, for saved calculations, a page at a time from the
+ * database, so the batch never holds the whole history either. Per-report latency (load + render + write) and overall throughput are reported in
+ * a BatchReport.
+ */
+public class ReportEngine implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(ReportEngine.class.getName());
+    private static final int OUTPUT_BUFFER = 64 * 1024;
+    private static final int MAX_ERRORS = 20;
+    private static final int CALCULATION_PAGE = 256;
+
+    public enum Format {
+        HTML(".html"),
+        PDF(".pdf");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() { return extension; }
+
+        /**
+         * Format for a file name by its extension (PDF unless it ends in .html or .htm)
+         */
+        public static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase();
+            return name.endsWith(".html") || name.endsWith(".htm") ? HTML : PDF;
+        }
+    }
+
+    /**
+     * Builds the report for one batch item; may do I/O (e.g. read the calculation's courses)
+     */
+    @FunctionalInterface
+    public interface ReportSource<T> {
+        GpaReport load(T item) throws IOException;
+    }
+
+    /**
+     * Batch items a page at a time: the page after the given item (null for the first page),
+     * empty once there are no more
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+        List<T> nextPage(T after) throws IOException;
+    }
+
+    private final int parallelism;
+    private final ExecutorService workers;
+
+    public ReportEngine(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "report-renderer-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    // ==================== Single reports ====================
+
+    public static void render(GpaReport report, Format format, OutputStream out) throws IOException {
+        if (format == Format.HTML) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            ReportTemplate.html().render(report, writer);
+            writer.flush();
+        } else {
+            PdfReport.render(report, out);
+        }
+    }
+
+    /**
+     * Write a report to a file, choosing HTML or PDF by its extension; returns the bytes written
+     */
+    public static long write(GpaReport report, Path file) throws IOException {
+        return write(report, Format.forFile(file), file);
+    }
+
+    public static long write(GpaReport report, Format format, Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), OUTPUT_BUFFER)) {
+            render(report, format, out);
+        }
+        return Files.size(file);
+    }
+
+    // ==================== Batches ====================
+
+    /**
+     * One report per saved calculation, named calculation-&lt;id&gt;.pdf / .html. Calculations
+     * are read in id order, a page at a time, as the workers need them.
+     */
+    public BatchReport renderCalculations(db database, Path directory, Set<Format> formats,
+                                          Consumer<BatchReport> progress) throws IOException {
+        PageSource<db.CalculationRecord> pages = after -> {
+            List<db.CalculationRecord> page =
+                database.getCalculationsAfter(after == null ? 0 : after.getId(), CALCULATION_PAGE);
+            if (page == null) {
+                throw new IOException("calculation history could not be read");
+            }
+            return page;
+        };
+        return renderAll(pages, database.getCalculationCount(), record -> "calculation-" + record.getId(), record -> {
+            List<Course> courses = database.getCalculationCourses(record.getId());
+            if (courses == null) {
+                throw new IOException("courses of calculation " + record.getId() + " could not be read");
+            }
+            return GpaReport.forCalculation("GPA Report #" + record.getId(), record.getDate(),
+                                            record.getGpa(), record.getTotalCredits(), courses);
+        }, directory, formats, progress);
+    }
+
+    /**
+     * One transcript per student of a cohort, named transcript-&lt;student&gt;.pdf / .html
+     */
+    public BatchReport renderCohort(List<CohortGpaCalculator.StudentGpa> students, GradeScale scale, Path directory,
+                                    Set<Format> formats, Consumer<BatchReport> progress) throws IOException {
+        return renderAll(students, student -> "transcript-" + safeFileName(student.getStudentId()),
+                         student -> GpaReport.forStudent(student, scale), directory, formats, progress);
+    }
+
+    /**
+     * Render one report per item into directory (created if missing), in each of the formats.
+     * A failed item is counted and logged and the batch carries on. Progress, if given, is
+     * called from worker threads about a hundred times over the batch.
+     */
+    public <T> BatchReport renderAll(List<T> items, Function<T, String> baseName, ReportSource<T> source,
+                                     Path directory, Set<Format> formats,
+                                     Consumer<BatchReport> progress) throws IOException {
+        // The whole list as a single page
+        PageSource<T> pages = after -> after == null ? items : List.of();
+        return renderAll(pages, items.size(), baseName, source, directory, formats, progress);
+    }
+
+    /**
+     * Like renderAll over a list, but pulling items a page at a time as workers free up.
+     * expectedTotal only paces progress reports; the batch runs until a page comes back empty.
+     * A page that fails to load stops the batch with that IOException.
+     */
+    public <T> BatchReport renderAll(PageSource<T> pages, int expectedTotal, Function<T, String> baseName,
+                                     ReportSource<T> source, Path directory, Set<Format> formats,
+                                     Consumer<BatchReport> progress) throws IOException {
+        Files.createDirectories(directory);
+        Set<Format> outputs = formats.isEmpty() ? EnumSet.of(Format.PDF) : EnumSet.copyOf(formats);
+        int progressStep = Math.max(1, expectedTotal / 100);
+
+        Feed<T> feed = new Feed<>(pages);
+        List<long[]> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        long start = System.nanoTime();
+
+        Callable<Void> worker = () -> {
+            // Latencies of this worker's reports, merged once it runs out of items
+            long[] own = new long[64];
+            int count = 0;
+            T item;
+            while ((item = feed.next()) != null) {
+                String name = baseName.apply(item);
+                long begin = System.nanoTime();
+                try {
+                    GpaReport report = source.load(item);
+                    for (Format format : outputs) {
+                        bytes.addAndGet(write(report, format, directory.resolve(name + format.getExtension())));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failed.incrementAndGet();
+                    if (errors.size() < MAX_ERRORS) {
+                        errors.add(name + ": " + e.getMessage());
+                    }
+                    logger.warning("Report " + name + " failed: " + e.toString());
+                }
+                if (count == own.length) {
+                    own = Arrays.copyOf(own, count * 2);
+                }
+                own[count++] = System.nanoTime() - begin;
+                int completed = done.incrementAndGet();
+                if (progress != null && completed % progressStep == 0 && completed < expectedTotal) {
+                    progress.accept(new BatchReport(completed, failed.get(), bytes.get(),
+                                                    System.nanoTime() - start, null, errors));
+                }
+            }
+            latencies.add(Arrays.copyOf(own, count));
+            return null;
+        };
+
+        List<Future<Void>> running = new ArrayList<>(parallelism);
+        for (int i = 0; i < Math.min(parallelism, Math.max(expectedTotal, 1)); i++) {
+            running.add(workers.submit(worker));
+        }
+        for (Future<Void> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Report batch interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException pageError) {
+                    throw pageError;
+                }
+                throw new IOException("Report worker failed", e.getCause());
+            }
+        }
+
+        long[] merged = new long[done.get()];
+        int offset = 0;
+        for (long[] own : latencies) {
+            System.arraycopy(own, 0, merged, offset, own.length);
+            offset += own.length;
+        }
+        BatchReport report = new BatchReport(done.get(), failed.get(), bytes.get(), System.nanoTime() - start,
+                                             merged, errors);
+        logger.info("Rendered reports to " + directory + ": " + report);
+        if (progress != null) {
+            progress.accept(report);
+        }
+        return report;
+    }
+
+    /**
+     * Stop the worker threads (batches run synchronously, so none is in flight afterwards)
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    private static String safeFileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * Hands items to workers one at a time, fetching the next page when the current one runs
+     * out; only one page is held at once
+     */
+    private static final class Feed<T> {
+        private final PageSource<T> pages;
+        private List<T> page = List.of();
+        private int position;
+        private T last;
+        private boolean exhausted;
+
+        Feed(PageSource<T> pages) {
+            this.pages = pages;
+        }
+
+        /**
+         * Next item, or null once the source is exhausted
+         */
+        synchronized T next() throws IOException {
+            while (position == page.size()) {
+                if (exhausted) {
+                    return null;
+                }
+                // A failed page ends the feed for every worker, not just the one that asked
+                exhausted = true;
+                page = pages.nextPage(last);
+                position = 0;
+                exhausted = page.isEmpty();
+            }
+            last = page.get(position++);
+            return last;
+        }
+    }
+
+    // ==================== Results ====================
+
+    /**
+     * Outcome (or progress so far) of a batch: counts, bytes, elapsed time and, once the
+     * batch has finished, per-report latency percentiles
+     */
+    public static class BatchReport {
+        private final int reports;
+        private final int failed;
+        private final long bytes;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+        private final List<String> errors;
+
+        BatchReport(int reports, int failed, long bytes, long elapsedNanos, long[] latencies, List<String> errors) {
+            this.reports = reports;
+            this.failed = failed;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = latencies == null ? new long[0] : latencies.clone();
+            Arrays.sort(this.sortedLatencies);
+            synchronized (errors) {
+                this.errors = List.copyOf(errors);
+            }
+        }
+
+        public int getReports() { return reports; }
+        public int getFailed() { return failed; }
+        public long getBytes() { return bytes; }
+        public List<String> getErrors() { return errors; }
+        public double getElapsedSeconds() { return elapsedNanos / 1_000_000_000.0; }
+
+        public double getReportsPerSecond() {
+            return reports / Math.max(getElapsedSeconds(), 1e-9);
+        }
+
+        /**
+         * Latency in milliseconds at a percentile (0-100) of the reports in the batch;
+         * 0 for progress reports
+         */
+        public double getLatencyMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(rank, sortedLatencies.length - 1))] / 1_000_000.0;
+        }
+
+        public double getMeanLatencyMillis() {
+            long sum = 0;
+            for (long latency : sortedLatencies) {
+                sum += latency;
+            }
+            return sortedLatencies.length == 0 ? 0 : sum / 1_000_000.0 / sortedLatencies.length;
+        }
+
+        @Override
+        public String toString() {
+            String summary = String.format("Reports: %d | Failed: %d | %.1f MB in %.2fs (%.0f reports/s)",
+                reports, failed, bytes / 1_048_576.0, getElapsedSeconds(), getReportsPerSecond());
+            if (sortedLatencies.length == 0) {
+                return summary;
+            }
+            return summary + String.format(" | latency mean %.2f ms, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms",
+                getMeanLatencyMillis(), getLatencyMillis(50), getLatencyMillis(95), getLatencyMillis(99),
+                getLatencyMillis(100));
+        }
+    }
+}
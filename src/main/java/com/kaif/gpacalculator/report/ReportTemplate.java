@@ -0,0 +1,204 @@
+package com.kaif.gpacalculator.report;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A small mustache-style text template, parsed once into a node tree and then rendered any
+ * number of times (from any number of threads) straight into a Writer.
+ *
+ * Tags: {{name}} writes a value, HTML-escaped; {{#name}}...{{/name}} renders its body once per
+ * element of a collection or array, once for a nested Scope or non-empty value, and not at all
+ * for null, false, "" or an empty collection. {{.}} is the current element. Names are looked
+ * up from the innermost scope outwards.
+ */
+public final class ReportTemplate {
+
+    /**
+     * Values a template can refer to by name
+     */
+    public interface Scope {
+        Object get(String key);
+    }
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final String HTML_RESOURCE = "/com/kaif/gpacalculator/report/report.html";
+
+    private static volatile ReportTemplate html;
+
+    private final Node[] nodes;
+
+    private ReportTemplate(Node[] nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * The built-in HTML report template, compiled on first use and cached
+     */
+    public static ReportTemplate html() {
+        ReportTemplate template = html;
+        if (template == null) {
+            synchronized (ReportTemplate.class) {
+                template = html;
+                if (template == null) {
+                    try (InputStream in = ReportTemplate.class.getResourceAsStream(HTML_RESOURCE)) {
+                        if (in == null) {
+                            throw new IllegalStateException("Missing report template " + HTML_RESOURCE);
+                        }
+                        template = compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    html = template;
+                }
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Parse template text; IllegalArgumentException on an unclosed tag or mismatched section
+     */
+    public static ReportTemplate compile(String text) {
+        Deque<List<Node>> bodies = new ArrayDeque<>();
+        Deque<String> sections = new ArrayDeque<>();
+        bodies.push(new ArrayList<>());
+
+        int position = 0;
+        while (position < text.length()) {
+            int open = text.indexOf(OPEN, position);
+            if (open < 0) {
+                bodies.peek().add(new Text(text.substring(position)));
+                break;
+            }
+            if (open > position) {
+                bodies.peek().add(new Text(text.substring(position, open)));
+            }
+            int close = text.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed tag at offset " + open);
+            }
+            String tag = text.substring(open + OPEN.length(), close).trim();
+            if (tag.startsWith("#")) {
+                sections.push(tag.substring(1).trim());
+                bodies.push(new ArrayList<>());
+            } else if (tag.startsWith("/")) {
+                String name = tag.substring(1).trim();
+                if (sections.isEmpty() || !sections.peek().equals(name)) {
+                    throw new IllegalArgumentException("Unexpected {{/" + name + "}} at offset " + open);
+                }
+                Node[] body = bodies.pop().toArray(new Node[0]);
+                bodies.peek().add(new Section(sections.pop(), body));
+            } else if (!tag.isEmpty()) {
+                bodies.peek().add(new Value(tag));
+            }
+            position = close + CLOSE.length();
+        }
+        if (!sections.isEmpty()) {
+            throw new IllegalArgumentException("Unclosed section {{#" + sections.peek() + "}}");
+        }
+        return new ReportTemplate(bodies.pop().toArray(new Node[0]));
+    }
+
+    /**
+     * Render against a root scope
+     */
+    public void render(Scope root, Writer out) throws IOException {
+        Deque<Object> context = new ArrayDeque<>();
+        context.push(root);
+        render(nodes, context, out);
+    }
+
+    private static void render(Node[] nodes, Deque<Object> context, Writer out) throws IOException {
+        for (Node node : nodes) {
+            if (node instanceof Text text) {
+                out.write(text.text);
+            } else if (node instanceof Value value) {
+                Object resolved = lookup(value.name, context);
+                if (resolved != null) {
+                    escape(resolved.toString(), out);
+                }
+            } else {
+                Section section = (Section) node;
+                Object resolved = lookup(section.name, context);
+                if (resolved instanceof Collection<?> items) {
+                    for (Object item : items) {
+                        renderWith(section.body, item, context, out);
+                    }
+                } else if (resolved instanceof Object[] items) {
+                    for (Object item : items) {
+                        renderWith(section.body, item, context, out);
+                    }
+                } else if (resolved != null && !Boolean.FALSE.equals(resolved) && !"".equals(resolved)) {
+                    renderWith(section.body, resolved, context, out);
+                }
+            }
+        }
+    }
+
+    private static void renderWith(Node[] body, Object item, Deque<Object> context, Writer out) throws IOException {
+        context.push(item);
+        try {
+            render(body, context, out);
+        } finally {
+            context.pop();
+        }
+    }
+
+    private static Object lookup(String name, Deque<Object> context) {
+        if (name.equals(".")) {
+            return context.peek();
+        }
+        for (Object scope : context) {
+            if (scope instanceof Scope values) {
+                Object value = values.get(name);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Write text with the five HTML-significant characters escaped
+     */
+    static void escape(String text, Writer out) throws IOException {
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String entity = switch (text.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.write(text, start, i - start);
+                out.write(entity);
+                start = i + 1;
+            }
+        }
+        out.write(text, start, text.length() - start);
+    }
+
+    // ==================== Nodes ====================
+
+    private interface Node { }
+
+    private record Text(String text) implements Node { }
+
+    private record Value(String name) implements Node { }
+
+    private record Section(String name, Node[] body) implements Node { }
+}
@@ -0,0 +1,247 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.CohortBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Per-student term GPA and CGPA for a whole cohort, computed in parallel with fork-join.
+ *
+ * Results are deterministic: sums are exact fixed-point integers and each student is scored
+ * by a single task, so the output is bit-for-bit the same for any input row order and any
+ * parallelism. Rows are sorted per student only to group them by semester.
+ * Semesters are ordered by label, so labels should sort chronologically (e.g. "2024-1").
+ */
+public class CohortGpaCalculator {
+
+    // Students per leaf task; large enough to amortize forking, small enough to balance
+    private static final int STUDENTS_PER_TASK = 256;
+
+    // Sort key layout: semester rank | grade code | credit rank
+    private static final int CREDIT_BITS = 28;
+    private static final int CODE_SHIFT = CREDIT_BITS;
+    private static final int SEMESTER_SHIFT = CREDIT_BITS + 8;
+    private static final long CREDIT_MASK = (1L << CREDIT_BITS) - 1;
+
+    /**
+     * Compute with one worker per available processor
+     */
+    public static List<StudentGpa> calculate(CohortBatch batch) {
+        return calculate(batch, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Compute with the given number of worker threads (1 runs everything on the caller's pool thread)
+     */
+    public static List<StudentGpa> calculate(CohortBatch batch, int parallelism) {
+        int rows = batch.size();
+        int studentCount = batch.getStudentCount();
+        if (rows == 0) {
+            return List.of();
+        }
+
+        int[] students = batch.getStudents();
+        int[] semesters = batch.getSemesters();
+        long[] credits = batch.getCredits();
+        byte[] gradeCodes = batch.getGradeCodes();
+
+        // Semester ranks by label, and the distinct credit values in ascending order
+        int[] semesterRank = rankSemesters(batch);
+        long[] distinctCredits = distinct(credits, rows);
+        if (semesterRank.length >= 1 << (63 - SEMESTER_SHIFT) || distinctCredits.length > CREDIT_MASK) {
+            throw new IllegalArgumentException("Too many semesters or distinct credit values in cohort");
+        }
+
+        // Counting sort of packed keys by student: offsets[s]..offsets[s + 1] are student s's rows
+        int[] offsets = new int[studentCount + 1];
+        for (int i = 0; i < rows; i++) {
+            offsets[students[i] + 1]++;
+        }
+        for (int s = 0; s < studentCount; s++) {
+            offsets[s + 1] += offsets[s];
+        }
+        int[] fill = Arrays.copyOf(offsets, studentCount);
+        long[] keys = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            long creditRank = Arrays.binarySearch(distinctCredits, credits[i]);
+            keys[fill[students[i]]++] = (long) semesterRank[semesters[i]] << SEMESTER_SHIFT
+                                      | (long) (gradeCodes[i] & 0xFF) << CODE_SHIFT
+                                      | creditRank;
+        }
+
+        // Semester labels in rank order, for decoding
+        String[] semesterByRank = new String[semesterRank.length];
+        for (int semester = 0; semester < semesterRank.length; semester++) {
+            semesterByRank[semesterRank[semester]] = batch.getSemesterName(semester);
+        }
+
+        StudentGpa[] results = new StudentGpa[studentCount];
+        StudentTask root = new StudentTask(batch, keys, offsets, distinctCredits, semesterByRank,
+                                           batch.getScale().hundredthsTable(), results, 0, studentCount);
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            pool.invoke(root);
+        } finally {
+            pool.shutdown();
+        }
+        return Arrays.asList(results);
+    }
+
+    private static int[] rankSemesters(CohortBatch batch) {
+        int count = batch.getSemesterCount();
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(batch::getSemesterName));
+        int[] rank = new int[count];
+        for (int r = 0; r < count; r++) {
+            rank[order[r]] = r;
+        }
+        return rank;
+    }
+
+    private static long[] distinct(long[] values, int length) {
+        long[] sorted = Arrays.copyOf(values, length);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < length; i++) {
+            if (unique == 0 || sorted[i] != sorted[unique - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    /**
+     * Scores students [from, to), splitting in halves until a range is small enough
+     */
+    private static final class StudentTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CohortBatch batch;
+        private final long[] keys;
+        private final int[] offsets;
+        private final long[] distinctCredits;
+        private final String[] semesterByRank;
+        private final long[] points;
+        private final StudentGpa[] results;
+        private final int from;
+        private final int to;
+
+        StudentTask(CohortBatch batch, long[] keys, int[] offsets, long[] distinctCredits,
+                    String[] semesterByRank, long[] points, StudentGpa[] results, int from, int to) {
+            this.batch = batch;
+            this.keys = keys;
+            this.offsets = offsets;
+            this.distinctCredits = distinctCredits;
+            this.semesterByRank = semesterByRank;
+            this.points = points;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= STUDENTS_PER_TASK) {
+                for (int student = from; student < to; student++) {
+                    results[student] = score(student);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new StudentTask(batch, keys, offsets, distinctCredits, semesterByRank, points, results, from, middle),
+                new StudentTask(batch, keys, offsets, distinctCredits, semesterByRank, points, results, middle, to));
+        }
+
+        private StudentGpa score(int student) {
+            int start = offsets[student];
+            int end = offsets[student + 1];
+            // Group the student's rows by semester (in label order)
+            Arrays.sort(keys, start, end);
+
+            List<String> terms = new ArrayList<>();
+            List<double[]> termTotals = new ArrayList<>();
+            long termWeighted = 0;
+            long termCredits = 0;
+            long totalWeighted = 0;
+            long totalCredits = 0;
+
+            int currentTerm = -1;
+            for (int i = start; i < end; i++) {
+                long key = keys[i];
+                int term = (int) (key >>> SEMESTER_SHIFT);
+                if (term != currentTerm) {
+                    if (currentTerm >= 0) {
+                        termTotals.add(totals(termWeighted, termCredits, totalWeighted, totalCredits));
+                        termWeighted = 0;
+                        termCredits = 0;
+                    }
+                    terms.add(semesterByRank[term]);
+                    currentTerm = term;
+                }
+                long credit = distinctCredits[(int) (key & CREDIT_MASK)];
+                long weighted = credit * points[(int) (key >>> CODE_SHIFT) & 0xFF];
+                termWeighted += weighted;
+                termCredits += credit;
+                totalWeighted += weighted;
+                totalCredits += credit;
+            }
+            termTotals.add(totals(termWeighted, termCredits, totalWeighted, totalCredits));
+
+            return new StudentGpa(batch.getStudentId(student), terms, termTotals, end - start);
+        }
+
+        /**
+         * {term GPA, term credits, CGPA so far, credits so far}
+         */
+        private static double[] totals(long termWeighted, long termCredits, long totalWeighted, long totalCredits) {
+            return new double[] {
+                GpaCalculator.gpa(termWeighted, termCredits),
+                FixedPoint.toDouble(termCredits),
+                GpaCalculator.gpa(totalWeighted, totalCredits),
+                FixedPoint.toDouble(totalCredits)
+            };
+        }
+    }
+
+    /**
+     * One student's term-by-term GPA and running CGPA
+     */
+    public static class StudentGpa {
+        private final String studentId;
+        private final List<String> semesters;
+        private final List<double[]> terms;
+        private final int courseCount;
+
+        StudentGpa(String studentId, List<String> semesters, List<double[]> terms, int courseCount) {
+            this.studentId = studentId;
+            this.semesters = semesters;
+            this.terms = terms;
+            this.courseCount = courseCount;
+        }
+
+        public String getStudentId() { return studentId; }
+        public List<String> getSemesters() { return semesters; }
+        public int getCourseCount() { return courseCount; }
+        public double getTermGpa(int term) { return terms.get(term)[0]; }
+        public double getTermCredits(int term) { return terms.get(term)[1]; }
+        public double getCgpaAfter(int term) { return terms.get(term)[2]; }
+        public double getCreditsAfter(int term) { return terms.get(term)[3]; }
+        public double getCgpa() { return terms.get(terms.size() - 1)[2]; }
+        public double getTotalCredits() { return terms.get(terms.size() - 1)[3]; }
+
+        @Override
+        public String toString() {
+            return String.format("%s - CGPA: %.2f - Credits: %.1f - Semesters: %d",
+                    studentId, getCgpa(), getTotalCredits(), semesters.size());
+        }
+    }
+}
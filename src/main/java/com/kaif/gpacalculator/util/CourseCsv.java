@@ -0,0 +1,835 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * CSV codec for course rows: courseName,courseCode,courseCredit,teacher1Name,teacher2Name,grade.
+ *
+ * Files are memory-mapped and parsed straight off the bytes (RFC 4180 quoting, "" escapes,
+ * line breaks inside quotes, CRLF or LF). The mapping is read in 1 MB blocks into one reused
+ * array, so the scan is a plain array loop and fields decode in place. Credits become
+ * hundredths and grades resolve to the scale's own label without creating field Strings; only
+ * the text columns allocate, and codes and teacher names, which repeat, are shared through a
+ * small intern cache. An optional header line is skipped. Rows are only converted; validation
+ * is left to the caller.
+ *
+ * A parser instance is single-threaded; parseParallel gives each range its own.
+ */
+public final class CourseCsv {
+
+    public static final String HEADER = "courseName,courseCode,courseCredit,teacher1Name,teacher2Name,grade";
+    public static final int FIELDS = 6;
+
+    // Mapped window; a record must fit in one window
+    private static final int REGION_BYTES = 64 << 20;
+    // Parallel ranges are kept well under the 2 GB limit of one mapping
+    private static final long MAX_RANGE_BYTES = 256L << 20;
+    private static final int BLOCK_BYTES = 1 << 20;
+    private static final int INTERN_SLOTS = 16384;
+    private static final int MAX_INTERN_BYTES = 48;
+
+    /**
+     * Receives parsed rows in file order (per range in parallel mode)
+     */
+    public interface RowHandler {
+        void course(long line, Course course);
+
+        void error(long line, String message);
+
+        /**
+         * Another span of input bytes has been fully parsed
+         */
+        default void consumed(long bytes) {
+        }
+    }
+
+    /**
+     * Receives the raw fields of each record from {@link #parseRecords}
+     */
+    public interface RecordHandler {
+        void record(long line, String[] fields);
+
+        void error(long line, String message);
+    }
+
+    private final List<String> gradeLabels;
+    // Each label's UTF-8 bytes packed into a long with its length (see packed), -1 if too long
+    private final long[] gradeKeys;
+
+    // Current record: field bounds in data, and whether a field needs "" unescaping
+    private byte[] data;
+    private final int[] fieldStart = new int[FIELDS];
+    private final int[] fieldEnd = new int[FIELDS];
+    private final boolean[] fieldQuoted = new boolean[FIELDS];
+    private final boolean[] fieldEscaped = new boolean[FIELDS];
+    private int fieldCount;
+    private String recordError;
+    private long recordNewlines;
+
+    // Field being converted: its bytes are text[textStart, textStart + length) (data or scratch)
+    private byte[] text;
+    private int textStart;
+    private byte[] scratch = new byte[256];
+    private final String[] internStrings = new String[INTERN_SLOTS];
+
+    private byte[] block;
+    private long line = 1;
+    // Set by parseRecords: records are handed over as fields instead of converted to courses
+    private RecordHandler records;
+
+    public CourseCsv(GradeScale scale) {
+        this.gradeLabels = scale.getGrades();
+        this.gradeKeys = new long[gradeLabels.size()];
+        for (int i = 0; i < gradeKeys.length; i++) {
+            byte[] label = gradeLabels.get(i).getBytes(StandardCharsets.UTF_8);
+            gradeKeys[i] = label.length < 8 ? packed(label, 0, label.length) : -1;
+        }
+    }
+
+    // ==================== Whole Files ====================
+
+    /**
+     * Parse a whole file on the calling thread, one mapped window at a time
+     */
+    public void parse(FileChannel channel, RowHandler handler) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        line = 1;
+        while (position < size) {
+            int length = (int) Math.min(REGION_BYTES, size - position);
+            boolean last = position + length == size;
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int consumed = parse(region, length, last, handler);
+            if (consumed == 0 && !last) {
+                throw new IOException("CSV record at line " + line + " is longer than " + REGION_BYTES + " bytes");
+            }
+            position += consumed;
+            handler.consumed(consumed);
+        }
+    }
+
+    /**
+     * Tokenize a whole file with the course rows' quoting rules but without converting it:
+     * each record's fields (unquoted ones trimmed, "" unescaped, empty ones as "") go to the
+     * handler in file order. Lets other CSV inputs share this tokenizer; records of more than
+     * FIELDS fields are reported as errors, and no header is skipped.
+     */
+    public static void parseRecords(FileChannel channel, RecordHandler handler) throws IOException {
+        CourseCsv parser = new CourseCsv(GradeScale.getActive());
+        parser.records = handler;
+        parser.parse(channel, new RowHandler() {
+            @Override
+            public void course(long line, Course course) {
+            }
+
+            @Override
+            public void error(long line, String message) {
+                handler.error(line, message);
+            }
+        });
+    }
+
+    /**
+     * Parse a file with several threads. The file is cut into ranges that start on record
+     * boundaries (quote-aware, so quoted line breaks are never split); each range is parsed by
+     * its own parser and handler from the supplier, so rows arrive in file order per range but
+     * ranges interleave. Blocks until every range is done.
+     */
+    public static void parseParallel(FileChannel channel, GradeScale scale, int parallelism,
+                                     Supplier<RowHandler> handlers) throws IOException {
+        long size = channel.size();
+        int parts = (int) Math.max((long) parallelism * 4, (size + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+        Ranges ranges = split(channel, size, parts);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "csv-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < parts; i++) {
+                long from = ranges.offsets[i];
+                long to = ranges.offsets[i + 1];
+                long firstLine = ranges.lines[i];
+                tasks.add(pool.submit(() -> {
+                    RowHandler handler = handlers.get();
+                    if (to > from) {
+                        CourseCsv parser = new CourseCsv(scale);
+                        parser.line = firstLine;
+                        parser.parse(map(channel, from, to - from), (int) (to - from), true, handler);
+                    }
+                    handler.consumed(to - from);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("CSV parsing interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException unchecked ? unchecked.getCause() : e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("CSV parsing failed", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Parse a mapped region from the current line, copying it through the block array; returns
+     * the bytes consumed (short of length only if !last and the region ends mid-record)
+     */
+    private int parse(MappedByteBuffer region, int length, boolean last, RowHandler handler) {
+        if (block == null) {
+            block = new byte[Math.min(BLOCK_BYTES, length)];
+        }
+        int position = 0;
+        while (position < length) {
+            int count = Math.min(block.length, length - position);
+            boolean lastBlock = last && position + count == length;
+            region.get(position, block, 0, count);
+            int consumed = parse(block, 0, count, lastBlock, line, handler);
+            if (consumed == 0 && !lastBlock) {
+                if (position + count == length) {
+                    // The record runs past this region; the caller maps the next one from here
+                    break;
+                }
+                // One record longer than the block
+                block = new byte[Math.min(block.length * 2, REGION_BYTES)];
+                continue;
+            }
+            position += consumed;
+        }
+        return position;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Range start offsets (parts + 1 entries, last = size) and the line number each range starts on
+     */
+    private record Ranges(long[] offsets, long[] lines) {
+    }
+
+    /**
+     * Cut the file into parts at record boundaries. Each equal slice is scanned (in parallel)
+     * with the record automaton from every start state at once, which gives the scanner state
+     * and line number at each cut; each cut then moves forward to just after the next line
+     * break that ends a record.
+     */
+    private static Ranges split(FileChannel channel, long size, int parts) throws IOException {
+        long[] cuts = new long[parts + 1];
+        for (int i = 0; i <= parts; i++) {
+            cuts[i] = size * i / parts;
+        }
+        SliceScan[] slices = new SliceScan[parts];
+        try {
+            IntStream.range(0, parts).parallel().forEach(i -> slices[i] = scanSlice(channel, cuts[i], cuts[i + 1]));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        long[] offsets = new long[parts + 1];
+        long[] lines = new long[parts + 1];
+        offsets[parts] = size;
+        lines[0] = 1;
+        int state = FIELD_START;
+        long newlines = 0;
+        for (int i = 1; i < parts; i++) {
+            newlines += slices[i - 1].lines(state);
+            state = slices[i - 1].endState(state);
+            long[] boundary = nextRecordStart(channel, cuts[i], size, state);
+            // Never move backwards past the previous range (a long record can swallow a whole slice)
+            if (boundary[0] < offsets[i - 1]) {
+                offsets[i] = offsets[i - 1];
+                lines[i] = lines[i - 1];
+            } else {
+                offsets[i] = boundary[0];
+                lines[i] = 1 + newlines + boundary[1];
+            }
+        }
+        return new Ranges(offsets, Arrays.copyOf(lines, parts));
+    }
+
+    private static SliceScan scanSlice(FileChannel channel, long from, long to) {
+        byte[] bytes = new byte[BLOCK_BYTES];
+        SliceScan scan = new SliceScan();
+        for (long position = from; position < to; position += REGION_BYTES) {
+            int length = (int) Math.min(REGION_BYTES, to - position);
+            MappedByteBuffer region = map(channel, position, length);
+            for (int offset = 0; offset < length; offset += bytes.length) {
+                int count = Math.min(bytes.length, length - offset);
+                region.get(offset, bytes, 0, count);
+                scan.scan(bytes, count);
+            }
+        }
+        return scan;
+    }
+
+    /**
+     * {offset just after the first record-ending line break at or after from, lines advanced},
+     * starting in the given scanner state
+     */
+    private static long[] nextRecordStart(FileChannel channel, long from, long size, int state) throws IOException {
+        long newlines = 0;
+        for (long position = from; position < size; position += REGION_BYTES) {
+            int length = (int) Math.min(REGION_BYTES, size - position);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                byte b = region.get(i);
+                int next = TRANSITIONS[state << 8 | (b & 0xFF)];
+                newlines += next >>> STATE_BITS;
+                state = next & STATE_MASK;
+                if (b == '\n' && state == FIELD_START) {
+                    return new long[] {position + i + 1, newlines};
+                }
+            }
+        }
+        return new long[] {size, newlines};
+    }
+
+    // ==================== Record Automaton ====================
+
+    // scanRecord's quoting rules as states, so a file can be split where the serial parse
+    // would see a record boundary: a quote opens a quoted field only at the start of a field
+    // ("3" disks" unquoted is plain text), "" inside quotes is an escape, text after a closing
+    // quote runs to the next LF, and CR, LF and CRLF all end a record
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    // A quote inside a quoted field: an escape if another follows, else the closing quote
+    private static final int QUOTE = 3;
+    private static final int AFTER_BAD_QUOTE = 4;
+    // Just ended a record on CR; an LF here belongs to the same line break
+    private static final int CR = 5;
+    private static final int STATES = 6;
+    private static final int STATE_BITS = 3;
+    private static final int STATE_MASK = (1 << STATE_BITS) - 1;
+
+    // Next state for (state << 8 | byte), plus 1 << STATE_BITS when the parser's line number advances
+    private static final int[] TRANSITIONS = new int[STATES << 8];
+
+    static {
+        for (int state = 0; state < STATES; state++) {
+            for (int b = 0; b < 256; b++) {
+                TRANSITIONS[state << 8 | b] = transition(state, b);
+            }
+        }
+    }
+
+    private static int transition(int state, int b) {
+        int lineBreak = 1 << STATE_BITS;
+        switch (state) {
+            case QUOTED:
+                return b == '"' ? QUOTE : b == '\n' ? QUOTED | lineBreak : QUOTED;
+            case QUOTE:
+                if (b == '"') {
+                    return QUOTED;
+                }
+                // The quote closed the field
+                return b == ',' ? FIELD_START
+                     : b == '\n' ? FIELD_START | lineBreak
+                     : b == '\r' ? CR | lineBreak
+                     : AFTER_BAD_QUOTE;
+            case AFTER_BAD_QUOTE:
+                return b == '\n' ? FIELD_START | lineBreak : AFTER_BAD_QUOTE;
+            case CR:
+                if (b == '\n') {
+                    return FIELD_START;
+                }
+                return transition(FIELD_START, b);
+            default:
+                // FIELD_START or UNQUOTED
+                return b == ',' ? FIELD_START
+                     : b == '\n' ? FIELD_START | lineBreak
+                     : b == '\r' ? CR | lineBreak
+                     : b == '"' && state == FIELD_START ? QUOTED
+                     : UNQUOTED;
+        }
+    }
+
+    /**
+     * The automaton run over one slice from every possible start state at once. Runs that
+     * reach the same state are merged (keeping their line offset), so a slice usually costs
+     * one or two table lookups per byte.
+     */
+    private static final class SliceScan {
+        // Per start state: the run it follows and the lines it had counted when it joined that run
+        private final int[] runOf = new int[STATES];
+        private final long[] lineOffset = new long[STATES];
+        // Per run
+        private final int[] state = new int[STATES];
+        private final long[] lines = new long[STATES];
+        private int runs = STATES;
+
+        SliceScan() {
+            for (int s = 0; s < STATES; s++) {
+                runOf[s] = s;
+                state[s] = s;
+            }
+        }
+
+        void scan(byte[] bytes, int count) {
+            for (int i = 0; i < count; i++) {
+                int b = bytes[i] & 0xFF;
+                for (int r = 0; r < runs; r++) {
+                    int next = TRANSITIONS[state[r] << 8 | b];
+                    lines[r] += next >>> STATE_BITS;
+                    state[r] = next & STATE_MASK;
+                }
+                if (runs > 1) {
+                    merge();
+                }
+            }
+        }
+
+        /**
+         * Fold runs that are now in the same state into the earlier one
+         */
+        private void merge() {
+            for (int a = 0; a < runs; a++) {
+                for (int r = runs - 1; r > a; r--) {
+                    if (state[r] != state[a]) {
+                        continue;
+                    }
+                    int last = runs - 1;
+                    for (int s = 0; s < STATES; s++) {
+                        if (runOf[s] == r) {
+                            runOf[s] = a;
+                            lineOffset[s] += lines[r] - lines[a];
+                        } else if (runOf[s] == last) {
+                            runOf[s] = r;
+                        }
+                    }
+                    state[r] = state[last];
+                    lines[r] = lines[last];
+                    runs--;
+                }
+            }
+        }
+
+        int endState(int startState) {
+            return state[runOf[startState]];
+        }
+
+        long lines(int startState) {
+            return lines[runOf[startState]] + lineOffset[startState];
+        }
+    }
+
+    // ==================== Records ====================
+
+    /**
+     * Parse the records in bytes[from, to), the first starting on line firstLine. Unless last is
+     * set, a trailing record that may continue past to is left unparsed. Returns the offset just
+     * past the last record parsed; nextLine() is the line number at that offset.
+     */
+    public int parse(byte[] bytes, int from, int to, boolean last, long firstLine, RowHandler handler) {
+        data = bytes;
+        line = firstLine;
+        int position = from;
+        while (position < to) {
+            int end = scanRecord(position, to, last);
+            if (end < 0) {
+                break;
+            }
+            emit(handler);
+            line += 1 + recordNewlines;
+            position = end;
+        }
+        return position;
+    }
+
+    /**
+     * Line number of the next unparsed record
+     */
+    public long nextLine() {
+        return line;
+    }
+
+    /**
+     * Find the field bounds of one record; returns the offset after its line break, or -1 if
+     * the record is not complete before to (only when !last)
+     */
+    private int scanRecord(int position, int to, boolean last) {
+        byte[] bytes = data;
+        fieldCount = 0;
+        recordError = null;
+        recordNewlines = 0;
+        int p = position;
+        while (true) {
+            int field = fieldCount++;
+            boolean tracked = field < FIELDS;
+            if (p < to && bytes[p] == '"') {
+                int q = p + 1;
+                boolean escaped = false;
+                while (true) {
+                    if (q >= to) {
+                        if (!last) {
+                            return -1;
+                        }
+                        recordError = "unterminated quoted field";
+                        break;
+                    }
+                    byte b = bytes[q];
+                    if (b == '"') {
+                        if (q + 1 < to && bytes[q + 1] == '"') {
+                            escaped = true;
+                            q += 2;
+                            continue;
+                        }
+                        if (q + 1 >= to && !last) {
+                            return -1;
+                        }
+                        break;
+                    }
+                    if (b == '\n') {
+                        recordNewlines++;
+                    }
+                    q++;
+                }
+                if (tracked) {
+                    fieldStart[field] = p + 1;
+                    fieldEnd[field] = Math.min(q, to);
+                    fieldQuoted[field] = true;
+                    fieldEscaped[field] = escaped;
+                }
+                p = Math.min(q + 1, to);
+                if (p < to && bytes[p] != ',' && bytes[p] != '\n' && bytes[p] != '\r') {
+                    recordError = "unexpected text after closing quote";
+                    while (p < to && bytes[p] != '\n') {
+                        p++;
+                    }
+                }
+            } else {
+                int q = p;
+                while (q < to) {
+                    byte b = bytes[q];
+                    if (b == ',' || b == '\n' || b == '\r') {
+                        break;
+                    }
+                    q++;
+                }
+                if (tracked) {
+                    fieldStart[field] = p;
+                    fieldEnd[field] = q;
+                    fieldQuoted[field] = false;
+                    fieldEscaped[field] = false;
+                }
+                p = q;
+            }
+
+            if (p >= to) {
+                return last ? to : -1;
+            }
+            byte b = bytes[p];
+            if (b == ',') {
+                p++;
+                continue;
+            }
+            if (b == '\r') {
+                p++;
+                if (p >= to) {
+                    return last ? to : -1;
+                }
+                if (bytes[p] == '\n') {
+                    p++;
+                }
+                return p;
+            }
+            // '\n'
+            return p + 1;
+        }
+    }
+
+    private void emit(RowHandler handler) {
+        if (fieldCount == 1 && !fieldQuoted[0] && load(0) == 0) {
+            return;
+        }
+        if (recordError != null) {
+            handler.error(line, recordError);
+            return;
+        }
+        if (records != null) {
+            emitFields(handler);
+            return;
+        }
+        if (line == 1 && isHeader()) {
+            return;
+        }
+        if (fieldCount != FIELDS) {
+            handler.error(line, "expected " + FIELDS + " fields but found " + fieldCount);
+            return;
+        }
+
+        long credit = creditHundredths(2);
+        if (credit == Long.MIN_VALUE) {
+            handler.error(line, "invalid courseCredit '" + text(2, false) + "'");
+            return;
+        }
+        Course course = Course.withCreditHundredths(
+            text(0, false),
+            text(1, true),
+            credit,
+            text(3, true),
+            text(4, true),
+            grade(5));
+        handler.course(line, course);
+    }
+
+    private void emitFields(RowHandler handler) {
+        if (fieldCount > FIELDS) {
+            handler.error(line, "expected at most " + FIELDS + " fields but found " + fieldCount);
+            return;
+        }
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            String value = text(i, false);
+            fields[i] = value != null ? value : "";
+        }
+        records.record(line, fields);
+    }
+
+    private boolean isHeader() {
+        String first = text(0, false);
+        return first != null && (first.equalsIgnoreCase("courseName") || first.equalsIgnoreCase("course_name")
+                                 || first.equalsIgnoreCase("name"));
+    }
+
+    // ==================== Field Conversion ====================
+
+    /**
+     * Point text/textStart at a field's bytes (unquoted fields trimmed of spaces, quoted ones
+     * unescaped into scratch if needed); returns the length
+     */
+    private int load(int field) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        if (!fieldQuoted[field]) {
+            while (start < end && (data[start] == ' ' || data[start] == '\t')) {
+                start++;
+            }
+            while (end > start && (data[end - 1] == ' ' || data[end - 1] == '\t')) {
+                end--;
+            }
+        }
+        if (!fieldEscaped[field]) {
+            text = data;
+            textStart = start;
+            return end - start;
+        }
+        if (scratch.length < end - start) {
+            scratch = new byte[Math.max(end - start, scratch.length * 2)];
+        }
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            byte b = data[i];
+            scratch[n++] = b;
+            if (b == '"') {
+                // "" -> "
+                i++;
+            }
+        }
+        text = scratch;
+        textStart = 0;
+        return n;
+    }
+
+    /**
+     * Field as a String (null when empty); short ASCII values share one instance when interned
+     */
+    private String text(int field, boolean intern) {
+        int length = load(field);
+        if (length == 0) {
+            return null;
+        }
+        if (!intern || length > MAX_INTERN_BYTES) {
+            return new String(text, textStart, length, StandardCharsets.UTF_8);
+        }
+        int hash = 1;
+        int bits = 0;
+        for (int i = textStart; i < textStart + length; i++) {
+            hash = 31 * hash + text[i];
+            bits |= text[i];
+        }
+        if (bits < 0) {
+            // Non-ASCII: chars no longer line up with bytes, so skip the cache
+            return new String(text, textStart, length, StandardCharsets.UTF_8);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (INTERN_SLOTS - 1);
+        String cached = internStrings[slot];
+        if (cached != null && sameAscii(cached, length)) {
+            return cached;
+        }
+        String value = new String(text, textStart, length, StandardCharsets.ISO_8859_1);
+        internStrings[slot] = value;
+        return value;
+    }
+
+    private boolean sameAscii(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != text[textStart + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The scale's own label for a grade field; an unknown grade is returned as read
+     */
+    private String grade(int field) {
+        int length = load(field);
+        if (length == 0) {
+            return null;
+        }
+        if (length < 8) {
+            long key = packed(text, textStart, length);
+            for (int i = 0; i < gradeKeys.length; i++) {
+                if (gradeKeys[i] == key) {
+                    return gradeLabels.get(i);
+                }
+            }
+            return new String(text, textStart, length, StandardCharsets.UTF_8);
+        }
+        String value = new String(text, textStart, length, StandardCharsets.UTF_8);
+        int index = gradeLabels.indexOf(value);
+        return index >= 0 ? gradeLabels.get(index) : value;
+    }
+
+    /**
+     * Up to seven bytes and their count in one long, so short labels compare in one step
+     */
+    private static long packed(byte[] bytes, int from, int length) {
+        long key = length;
+        for (int i = from; i < from + length; i++) {
+            key = key << 8 | (bytes[i] & 0xFF);
+        }
+        return key;
+    }
+
+    /**
+     * Credit in hundredths straight from the bytes, with FixedPoint.parse's rules
+     * (optional sign, at most two decimals); Long.MIN_VALUE if malformed
+     */
+    private long creditHundredths(int field) {
+        int length = load(field);
+        int i = textStart;
+        int end = textStart + length;
+        while (i < end && text[i] == ' ') {
+            i++;
+        }
+        while (end > i && text[end - 1] == ' ') {
+            end--;
+        }
+        boolean negative = false;
+        if (i < end && (text[i] == '-' || text[i] == '+')) {
+            negative = text[i] == '-';
+            i++;
+        }
+        long whole = 0;
+        int wholeDigits = 0;
+        while (i < end && text[i] >= '0' && text[i] <= '9') {
+            whole = whole * 10 + (text[i++] - '0');
+            if (++wholeDigits > 15) {
+                return Long.MIN_VALUE;
+            }
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < end && text[i] == '.') {
+            i++;
+            while (i < end && text[i] >= '0' && text[i] <= '9') {
+                fraction = fraction * 10 + (text[i++] - '0');
+                if (++fractionDigits > 2) {
+                    return Long.MIN_VALUE;
+                }
+            }
+        }
+        if (i != end || wholeDigits + fractionDigits == 0) {
+            return Long.MIN_VALUE;
+        }
+        long units = whole * FixedPoint.SCALE + (fractionDigits == 1 ? fraction * 10 : fraction);
+        return negative ? -units : units;
+    }
+
+    // ==================== Writing ====================
+
+    /**
+     * Write one record (with its line break), quoting fields that need it
+     */
+    public static void writeRecord(Writer out, String courseName, String courseCode, long creditHundredths,
+                                   String teacher1Name, String teacher2Name, String grade) throws IOException {
+        writeField(out, courseName);
+        out.write(',');
+        writeField(out, courseCode);
+        out.write(',');
+        out.write(FixedPoint.format(creditHundredths));
+        out.write(',');
+        writeField(out, teacher1Name);
+        out.write(',');
+        writeField(out, teacher2Name);
+        out.write(',');
+        writeField(out, grade);
+        out.write('\n');
+    }
+
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = Character.isWhitespace(value.charAt(0))
+                        || Character.isWhitespace(value.charAt(value.length() - 1));
+        for (int i = 0; !quote && i < value.length(); i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        int last = 0;
+        for (int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', i + 1)) {
+            out.write(value, last, i + 1 - last);
+            out.write('"');
+            last = i + 1;
+        }
+        out.write(value, last, value.length() - last);
+        out.write('"');
+    }
+}
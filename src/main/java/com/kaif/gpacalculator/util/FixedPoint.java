@@ -0,0 +1,103 @@
+package com.kaif.gpacalculator.util;
+
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point helpers for credits and grade points, both held as hundredths in a long
+ * (3.75 -> 375). A credit times a grade point is then an exact count of ten-thousandths,
+ * so totals never drift and only the final GPA division rounds.
+ */
+public final class FixedPoint {
+
+    /**
+     * Units per 1.0 for credits and grade points
+     */
+    public static final long SCALE = 100;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Parse a decimal string with at most two fractional digits ("3", "1.5", "0.75") into hundredths
+     */
+    public static long parse(String text) {
+        String value = text.trim();
+        boolean negative = value.startsWith("-");
+        int start = negative || value.startsWith("+") ? 1 : 0;
+        int point = value.indexOf('.');
+        String whole = point < 0 ? value.substring(start) : value.substring(start, point);
+        String fraction = point < 0 ? "" : value.substring(point + 1);
+        if ((whole.isEmpty() && fraction.isEmpty()) || fraction.length() > 2
+                || !isDigits(whole) || !isDigits(fraction) || whole.length() > 15) {
+            throw new NumberFormatException("Expected a number with at most two decimal places: " + text);
+        }
+        long units = (whole.isEmpty() ? 0 : Long.parseLong(whole)) * SCALE;
+        if (!fraction.isEmpty()) {
+            units += Long.parseLong(fraction) * (fraction.length() == 1 ? 10 : 1);
+        }
+        return negative ? -units : units;
+    }
+
+    private static boolean isDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Nearest hundredths for a legacy double value (exact for any value that was entered in hundredths)
+     */
+    public static long fromDouble(double value) {
+        return Math.round(value * SCALE);
+    }
+
+    public static double toDouble(long hundredths) {
+        return hundredths / (double) SCALE;
+    }
+
+    /**
+     * Plain decimal text with two fractional digits (375 -> "3.75")
+     */
+    public static String format(long hundredths) {
+        long magnitude = Math.abs(hundredths);
+        long fraction = magnitude % SCALE;
+        return (hundredths < 0 ? "-" : "") + magnitude / SCALE + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    /**
+     * numerator / denominator rounded to a long with the given mode, without BigDecimal.
+     * Supports the modes a registrar would use: HALF_UP, HALF_EVEN, HALF_DOWN, DOWN, UP, FLOOR, CEILING.
+     */
+    public static long divide(long numerator, long denominator, RoundingMode mode) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        if (remainder == 0) {
+            return quotient;
+        }
+        boolean positive = (numerator < 0) == (denominator < 0);
+        int signum = positive ? 1 : -1;
+        // Compare 2|r| with |d| without overflow
+        long absRemainder = Math.abs(remainder);
+        long absDenominator = Math.abs(denominator);
+        int half = Long.compare(absRemainder, absDenominator - absRemainder);
+
+        boolean awayFromZero = switch (mode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> positive;
+            case FLOOR -> !positive;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + signum : quotient;
+    }
+}
@@ -0,0 +1,184 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.Course;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running GPA totals for a course list, updated in O(1) per added, removed or regraded course.
+ * Totals are fixed-point integers, so any add/remove session ends exactly where a fresh
+ * {@link GpaCalculator#calculateGPA} over the same courses would.
+ */
+public class GpaAccumulator {
+
+    // Contribution recorded when each course was counted, so removal and refresh
+    // subtract what was added even if the course was edited in place since
+    private final Map<Course, long[]> contributions = new IdentityHashMap<>();
+
+    private long totalCredits;
+    private long totalWeighted;
+
+    private final ListChangeListener<Course> listener = this::onChanged;
+    private ObservableList<Course> boundList;
+
+    /**
+     * Accumulator over a fixed list of courses
+     */
+    public static GpaAccumulator of(List<Course> courses) {
+        GpaAccumulator accumulator = new GpaAccumulator();
+        if (courses != null) {
+            for (Course course : courses) {
+                accumulator.add(course);
+            }
+        }
+        return accumulator;
+    }
+
+    /**
+     * Track an observable list: the totals follow its adds, removes and replacements.
+     * Courses already in the list are counted; any previously bound list is released.
+     * Course has no observable properties, so the list cannot report in-place edits: to
+     * change a course's credit or grade, replace its element (set) or call refresh.
+     */
+    public void bind(ObservableList<Course> courses) {
+        unbind();
+        clear();
+        for (Course course : courses) {
+            add(course);
+        }
+        boundList = courses;
+        courses.addListener(listener);
+    }
+
+    /**
+     * Stop following the bound list (totals keep their last values)
+     */
+    public void unbind() {
+        if (boundList != null) {
+            boundList.removeListener(listener);
+            boundList = null;
+        }
+    }
+
+    private void onChanged(ListChangeListener.Change<? extends Course> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                continue;
+            }
+            for (Course removed : change.getRemoved()) {
+                remove(removed);
+            }
+            for (Course added : change.getAddedSubList()) {
+                add(added);
+            }
+        }
+    }
+
+    // ==================== Updates ====================
+
+    /**
+     * Count a course (ignored if it is already counted)
+     */
+    public void add(Course course) {
+        if (contributions.containsKey(course)) {
+            return;
+        }
+        long credit = course.getCreditHundredths();
+        long weighted = course.getWeightedTenThousandths();
+        contributions.put(course, new long[] {credit, weighted});
+        totalCredits += credit;
+        totalWeighted += weighted;
+    }
+
+    /**
+     * Stop counting a course, returning false if it was not counted
+     */
+    public boolean remove(Course course) {
+        long[] contribution = contributions.remove(course);
+        if (contribution == null) {
+            return false;
+        }
+        totalCredits -= contribution[0];
+        totalWeighted -= contribution[1];
+        return true;
+    }
+
+    /**
+     * Re-read a counted course after its credit or grade was changed in place
+     */
+    public void refresh(Course course) {
+        if (remove(course)) {
+            add(course);
+        }
+    }
+
+    /**
+     * Re-read every counted course, e.g. after GradeScale.setActive
+     */
+    public void refreshAll() {
+        List<Course> counted = List.copyOf(contributions.keySet());
+        clear();
+        for (Course course : counted) {
+            add(course);
+        }
+    }
+
+    /**
+     * Forget all courses
+     */
+    public void clear() {
+        contributions.clear();
+        totalCredits = 0;
+        totalWeighted = 0;
+    }
+
+    // ==================== Totals ====================
+
+    public int getCourseCount() {
+        return contributions.size();
+    }
+
+    public boolean isEmpty() {
+        return contributions.isEmpty();
+    }
+
+    public double getTotalCredits() {
+        return FixedPoint.toDouble(totalCredits);
+    }
+
+    public long getTotalCreditHundredths() {
+        return totalCredits;
+    }
+
+    /**
+     * Exact sum of credit * grade points in ten-thousandths
+     */
+    public long getWeightedTenThousandths() {
+        return totalWeighted;
+    }
+
+    /**
+     * Sum of credit * grade points (quality points)
+     */
+    public double getTotalWeightedPoints() {
+        return totalWeighted / (double) (FixedPoint.SCALE * FixedPoint.SCALE);
+    }
+
+    /**
+     * Weighted GPA of the counted courses, 0.0 when there are no credits
+     */
+    public double getGpa() {
+        return GpaCalculator.gpa(totalWeighted, totalCredits);
+    }
+
+    /**
+     * Reported GPA in hundredths, rounded by registrar policy
+     */
+    public long getGpaHundredths() {
+        return GpaCalculator.gpaHundredths(totalWeighted, totalCredits);
+    }
+}
@@ -0,0 +1,47 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.GradeScale;
+
+/**
+ * Performance band shown next to a GPA on the result screen and in printed reports.
+ * Thresholds are for a 4.0 scale; GPAs on other scales are normalized to it first.
+ */
+public enum GpaBand {
+    EXCELLENT(3.5, "Excellent (A)", "gpa-excellent",
+              "Outstanding performance! Keep up the excellent work!"),
+    GOOD(3.0, "Good (B)", "gpa-good",
+         "Great job! You're doing well in your studies."),
+    AVERAGE(2.0, "Average (C)", "gpa-average",
+            "You're passing. Consider improving your study habits."),
+    BELOW_AVERAGE(Double.NEGATIVE_INFINITY, "Below Average", "gpa-below-average",
+                  "You need to work harder. Seek help if needed.");
+
+    private final double minimum;
+    private final String label;
+    private final String styleClass;
+    private final String message;
+
+    GpaBand(double minimum, String label, String styleClass, String message) {
+        this.minimum = minimum;
+        this.label = label;
+        this.styleClass = styleClass;
+        this.message = message;
+    }
+
+    /**
+     * Band for a GPA on the given scale
+     */
+    public static GpaBand of(double gpa, GradeScale scale) {
+        double normalized = gpa * 4.0 / scale.getMaxPoints();
+        for (GpaBand band : values()) {
+            if (normalized >= band.minimum) {
+                return band;
+            }
+        }
+        return BELOW_AVERAGE;
+    }
+
+    public String getLabel() { return label; }
+    public String getStyleClass() { return styleClass; }
+    public String getMessage() { return message; }
+}
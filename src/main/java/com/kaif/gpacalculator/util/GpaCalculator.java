@@ -1,13 +1,65 @@
 package com.kaif.gpacalculator.util;
 
 import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.CourseBatch;
+import com.kaif.gpacalculator.model.CourseSnapshot;
+import com.kaif.gpacalculator.model.GradeScale;
+
+import java.math.RoundingMode;
 import java.util.List;
+import java.util.logging.Logger;
 
 /**
- * Utility class for GPA calculations
+ * Utility class for GPA calculations.
+ * Totals are exact fixed-point integers (credits in hundredths, credit * points in
+ * ten-thousandths); the only rounding is the final division.
  */
 public class GpaCalculator {
-    
+    private static final Logger logger = Logger.getLogger(GpaCalculator.class.getName());
+
+    // Registrar rounding for reported GPAs (two decimals); -Dgpa.rounding=DOWN truncates instead
+    private static final RoundingMode ROUNDING = roundingFromConfig(System.getProperty("gpa.rounding"));
+    // Rows per column copy when summing a snapshot
+    private static final int SNAPSHOT_BLOCK = 8192;
+
+    private static RoundingMode roundingFromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return RoundingMode.HALF_UP;
+        }
+        try {
+            RoundingMode mode = RoundingMode.valueOf(value.trim().toUpperCase());
+            if (mode != RoundingMode.UNNECESSARY) {
+                return mode;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // fall through to the warning
+        }
+        logger.warning("Unknown GPA rounding mode '" + value + "', using HALF_UP");
+        return RoundingMode.HALF_UP;
+    }
+
+    /**
+     * Rounding mode applied to reported GPAs
+     */
+    public static RoundingMode getRoundingMode() {
+        return ROUNDING;
+    }
+
+    /**
+     * Unrounded GPA from exact totals (one correctly rounded double division)
+     */
+    public static double gpa(long weightedTenThousandths, long creditHundredths) {
+        return creditHundredths > 0 ? weightedTenThousandths / (creditHundredths * (double) FixedPoint.SCALE) : 0.0;
+    }
+
+    /**
+     * Reported GPA in hundredths, rounded by registrar policy
+     */
+    public static long gpaHundredths(long weightedTenThousandths, long creditHundredths) {
+        // ten-thousandths / hundredths = hundredths of a grade point
+        return creditHundredths > 0 ? FixedPoint.divide(weightedTenThousandths, creditHundredths, ROUNDING) : 0;
+    }
+
     /**
      * Calculate weighted GPA from a list of courses
      * GPA = Sum(Credit * Grade Points) / Sum(Credits)
@@ -17,28 +69,138 @@ public class GpaCalculator {
             return 0.0;
         }
 
-        double totalWeightedPoints = 0.0;
-        double totalCredits = 0.0;
+        long totalWeighted = 0;
+        long totalCredits = 0;
 
         for (Course course : courses) {
-            totalWeightedPoints += course.getWeightedGradePoints();
-            totalCredits += course.getCourseCredit();
+            totalWeighted += course.getWeightedTenThousandths();
+            totalCredits += course.getCreditHundredths();
         }
 
-        return totalCredits > 0 ? totalWeightedPoints / totalCredits : 0.0;
+        return gpa(totalWeighted, totalCredits);
+    }
+
+    /**
+     * GPA of a list of courses in hundredths, rounded by registrar policy
+     */
+    public static long calculateGPAHundredths(List<Course> courses) {
+        if (courses == null || courses.isEmpty()) {
+            return 0;
+        }
+
+        long totalWeighted = 0;
+        long totalCredits = 0;
+        for (Course course : courses) {
+            totalWeighted += course.getWeightedTenThousandths();
+            totalCredits += course.getCreditHundredths();
+        }
+        return gpaHundredths(totalWeighted, totalCredits);
     }
 
     /**
      * Calculate total credits from a list of courses
      */
     public static double calculateTotalCredits(List<Course> courses) {
+        return FixedPoint.toDouble(calculateTotalCreditHundredths(courses));
+    }
+
+    public static long calculateTotalCreditHundredths(List<Course> courses) {
         if (courses == null || courses.isEmpty()) {
+            return 0;
+        }
+
+        long totalCredits = 0;
+        for (Course course : courses) {
+            totalCredits += course.getCreditHundredths();
+        }
+        return totalCredits;
+    }
+
+    /**
+     * Sum of credit * grade points (quality points)
+     */
+    public static double calculateQualityPoints(List<Course> courses) {
+        if (courses == null || courses.isEmpty()) {
+            return 0.0;
+        }
+
+        long totalWeighted = 0;
+        for (Course course : courses) {
+            totalWeighted += course.getWeightedTenThousandths();
+        }
+        return totalWeighted / (double) (FixedPoint.SCALE * FixedPoint.SCALE);
+    }
+
+    /**
+     * Weighted GPA of a columnar batch, identical to the List overload (one pass through
+     * WeightedSumKernel, SIMD when the Vector API is enabled). Nothing is allocated per row;
+     * each call allocates only the kernel's two-element result and, on the SIMD path, its
+     * array of table vectors, a few dozen bytes whatever the batch size.
+     */
+    public static double calculateGPA(CourseBatch batch) {
+        if (batch == null || batch.size() == 0) {
+            return 0.0;
+        }
+
+        long[] sums = WeightedSumKernel.sums(batch.getCredits(), batch.getGradeCodes(),
+                                             batch.getScale().hundredthsTable(), batch.size());
+        return gpa(sums[0], sums[1]);
+    }
+
+    /**
+     * Weighted GPA of a mapped snapshot on the active scale, read straight from its columns
+     */
+    public static double calculateGPA(CourseSnapshot snapshot) {
+        long[] sums = snapshotSums(snapshot, GradeScale.getActive());
+        return gpa(sums[0], sums[1]);
+    }
+
+    /**
+     * {weighted ten-thousandths, credit hundredths} of a snapshot on a scale. Columns are copied
+     * in blocks into two small arrays and summed by WeightedSumKernel, so nothing per row is built.
+     */
+    public static long[] snapshotSums(CourseSnapshot snapshot, GradeScale scale) {
+        long[] table = snapshot.hundredthsTable(scale);
+        int size = snapshot.size();
+        int block = Math.min(SNAPSHOT_BLOCK, Math.max(size, 1));
+        long[] credits = new long[block];
+        byte[] codes = new byte[block];
+        long weighted = 0;
+        long totalCredits = 0;
+        for (int row = 0; row < size; row += block) {
+            int length = Math.min(block, size - row);
+            snapshot.readCredits(row, credits, length);
+            snapshot.readGradeCodes(row, codes, length);
+            long[] sums = WeightedSumKernel.sums(credits, codes, table, length);
+            weighted += sums[0];
+            totalCredits += sums[1];
+        }
+        return new long[] {weighted, totalCredits};
+    }
+
+    /**
+     * Weighted GPA over parallel primitive columns of credits and grade points (both in hundredths)
+     */
+    public static double calculateGPA(long[] creditHundredths, long[] pointsHundredths, int length) {
+        long[] sums = WeightedSumKernel.sums(creditHundredths, pointsHundredths, length);
+        return gpa(sums[0], sums[1]);
+    }
+
+    /**
+     * Total credits of a columnar batch
+     */
+    public static double calculateTotalCredits(CourseBatch batch) {
+        if (batch == null || batch.size() == 0) {
             return 0.0;
         }
 
-        return courses.stream()
-                .mapToDouble(Course::getCourseCredit)
-                .sum();
+        long[] credits = batch.getCredits();
+        int size = batch.size();
+        long totalCredits = 0;
+        for (int i = 0; i < size; i++) {
+            totalCredits += credits[i];
+        }
+        return FixedPoint.toDouble(totalCredits);
     }
 
     /**
@@ -47,4 +209,11 @@ public class GpaCalculator {
     public static String formatGPA(double gpa) {
         return String.format("%.2f", gpa);
     }
+
+    /**
+     * Format a GPA held in hundredths (no further rounding)
+     */
+    public static String formatGPA(long gpaHundredths) {
+        return FixedPoint.format(gpaHundredths);
+    }
 }
@@ -0,0 +1,225 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.Course;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Bounded LRU cache of GPA results keyed by the content hash of a course list, so
+ * recalculating the same courses (e.g. after "Back to Entry") is a lookup.
+ *
+ * The key is order-independent: each course is reduced to a canonical line (name, code,
+ * credit, teachers, grade and grade points, which captures the scale), the lines are sorted
+ * and the result is SHA-256 hashed. Database ids, timestamps and sessions are left out, so a
+ * reloaded or reordered list hashes the same. The same key coalesces calculation history rows.
+ */
+public class GpaResultCache {
+    private static final Logger logger = Logger.getLogger(GpaResultCache.class.getName());
+
+    private static GpaResultCache instance;
+
+    private final int capacity;
+    private final LinkedHashMap<String, Result> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private MetricsHook metricsHook = (hit, hits, misses, size) ->
+        logger.fine(String.format("GPA result cache %s (hit rate %.1f%%, %d entries)",
+                hit ? "hit" : "miss", 100.0 * hits / (hits + misses), size));
+
+    public GpaResultCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.capacity = capacity;
+        // Access order, so iteration starts at the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Result> eldest) {
+                if (size() > GpaResultCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Shared cache; -Dgpa.resultCache.size sets the capacity (default 256 course lists)
+     */
+    public static synchronized GpaResultCache getInstance() {
+        if (instance == null) {
+            instance = new GpaResultCache(Integer.getInteger("gpa.resultCache.size", 256));
+        }
+        return instance;
+    }
+
+    // ==================== Lookup ====================
+
+    /**
+     * Cached result for this key, or compute, store and return it
+     */
+    public Result get(String contentHash, Supplier<Result> compute) {
+        Result result;
+        boolean hit;
+        long hitCount;
+        long missCount;
+        int size;
+        MetricsHook hook;
+        synchronized (this) {
+            result = entries.get(contentHash);
+            hit = result != null;
+            if (hit) {
+                hits++;
+            } else {
+                misses++;
+            }
+            hitCount = hits;
+            missCount = misses;
+            hook = metricsHook;
+        }
+        if (!hit) {
+            // Computed outside the lock; a concurrent miss on the same key just stores an equal value
+            result = compute.get();
+            synchronized (this) {
+                entries.put(contentHash, result);
+            }
+        }
+        synchronized (this) {
+            size = entries.size();
+        }
+        if (hook != null) {
+            hook.onLookup(hit, hitCount, missCount, size);
+        }
+        return result;
+    }
+
+    /**
+     * Result for a course list, computed from its exact totals on a miss
+     */
+    public Result get(List<Course> courses) {
+        return get(contentHash(courses), () -> Result.of(courses));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    // ==================== Content Hash ====================
+
+    /**
+     * Order-independent SHA-256 (hex) of a course list's graded content
+     */
+    public static String contentHash(List<Course> courses) {
+        String[] lines = new String[courses.size()];
+        for (int i = 0; i < lines.length; i++) {
+            Course course = courses.get(i);
+            // NUL-separated so no field value can run into the next
+            lines[i] = nonNull(course.getCourseName()) + '\0' + nonNull(course.getCourseCode()) + '\0'
+                     + course.getCreditHundredths() + '\0' + nonNull(course.getTeacher1Name()) + '\0'
+                     + nonNull(course.getTeacher2Name()) + '\0' + nonNull(course.getGrade()) + '\0'
+                     + course.getGradePointsHundredths();
+        }
+        Arrays.sort(lines);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * Called after every lookup (outside the cache lock) with the running totals
+     */
+    @FunctionalInterface
+    public interface MetricsHook {
+        void onLookup(boolean hit, long hits, long misses, int size);
+    }
+
+    /**
+     * Replace the metrics hook (null disables it; the default logs at FINE)
+     */
+    public synchronized void setMetricsHook(MetricsHook hook) {
+        this.metricsHook = hook;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * A memoized calculation: exact totals plus the policy-rounded GPA
+     */
+    public static class Result {
+        private final long gpaHundredths;
+        private final long creditHundredths;
+        private final long weightedTenThousandths;
+        private final int courseCount;
+
+        public Result(long weightedTenThousandths, long creditHundredths, int courseCount) {
+            this.gpaHundredths = GpaCalculator.gpaHundredths(weightedTenThousandths, creditHundredths);
+            this.creditHundredths = creditHundredths;
+            this.weightedTenThousandths = weightedTenThousandths;
+            this.courseCount = courseCount;
+        }
+
+        public static Result of(List<Course> courses) {
+            long weighted = 0;
+            long credits = 0;
+            for (Course course : courses) {
+                weighted += course.getWeightedTenThousandths();
+                credits += course.getCreditHundredths();
+            }
+            return new Result(weighted, credits, courses.size());
+        }
+
+        public long getGpaHundredths() { return gpaHundredths; }
+        public long getCreditHundredths() { return creditHundredths; }
+        public long getWeightedTenThousandths() { return weightedTenThousandths; }
+        public int getCourseCount() { return courseCount; }
+        public double getGpa() { return FixedPoint.toDouble(gpaHundredths); }
+        public double getTotalCredits() { return FixedPoint.toDouble(creditHundredths); }
+    }
+}
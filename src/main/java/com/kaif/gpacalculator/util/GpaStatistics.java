@@ -0,0 +1,225 @@
+package com.kaif.gpacalculator.util;
+
+import java.util.Arrays;
+
+/**
+ * Streaming statistics over reported GPAs: count, mean, standard deviation, min/max,
+ * histogram and percentiles, updated in O(1) per value.
+ *
+ * Reported GPAs are two-decimal values, so the quantile sketch is a dense count per hundredth
+ * (about 400 slots on a 4.0 scale). That makes it exact rather than approximate, mergeable
+ * by adding counts, and able to forget a value when a calculation is deleted. Mean and
+ * variance come from exact integer sums. Values are rounded half-up to hundredths on entry.
+ *
+ * Methods are synchronized: the database writer updates it while the UI reads it.
+ */
+public class GpaStatistics {
+
+    private static final int INITIAL_SLOTS = 512;
+
+    private long[] counts = new long[INITIAL_SLOTS];
+    private long count;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = -1;
+
+    public GpaStatistics() {
+    }
+
+    private GpaStatistics(GpaStatistics other) {
+        this.counts = other.counts.clone();
+        this.count = other.count;
+        this.sum = other.sum;
+        this.min = other.min;
+        this.max = other.max;
+    }
+
+    // ==================== Updates ====================
+
+    public synchronized void add(double gpa) {
+        add(FixedPoint.fromDouble(gpa));
+    }
+
+    public synchronized void add(long gpaHundredths) {
+        int value = slot(gpaHundredths);
+        if (value >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length * 2));
+        }
+        counts[value]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Forget one occurrence of a GPA (e.g. a deleted calculation); false if it was never added
+     */
+    public synchronized boolean remove(double gpa) {
+        int value = slot(FixedPoint.fromDouble(gpa));
+        if (value >= counts.length || counts[value] == 0) {
+            return false;
+        }
+        counts[value]--;
+        count--;
+        sum -= value;
+        if (count == 0) {
+            min = Integer.MAX_VALUE;
+            max = -1;
+        } else if (counts[value] == 0) {
+            while (counts[min] == 0) {
+                min++;
+            }
+            while (counts[max] == 0) {
+                max--;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add every value of another sketch (e.g. one filled by a parallel scan)
+     */
+    public void merge(GpaStatistics other) {
+        GpaStatistics source = other.snapshot();
+        synchronized (this) {
+            if (source.counts.length > counts.length) {
+                counts = Arrays.copyOf(counts, source.counts.length);
+            }
+            for (int value = 0; value < source.counts.length; value++) {
+                counts[value] += source.counts[value];
+            }
+            count += source.count;
+            sum += source.sum;
+            min = Math.min(min, source.min);
+            max = Math.max(max, source.max);
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Integer.MAX_VALUE;
+        max = -1;
+    }
+
+    /**
+     * Independent copy for readers that need several consistent values
+     */
+    public synchronized GpaStatistics snapshot() {
+        return new GpaStatistics(this);
+    }
+
+    private static int slot(long gpaHundredths) {
+        if (gpaHundredths < 0 || gpaHundredths > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("GPA out of range: " + FixedPoint.format(gpaHundredths));
+        }
+        return (int) gpaHundredths;
+    }
+
+    // ==================== Summary ====================
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    public synchronized double getMean() {
+        return count > 0 ? sum / (count * 100.0) : 0.0;
+    }
+
+    /**
+     * Population standard deviation (one pass over the occupied slots)
+     */
+    public synchronized double getStdDev() {
+        if (count < 2) {
+            return 0.0;
+        }
+        double mean = sum / (double) count;
+        double squares = 0;
+        for (int value = min; value <= max; value++) {
+            if (counts[value] != 0) {
+                double deviation = value - mean;
+                squares += counts[value] * deviation * deviation;
+            }
+        }
+        return Math.sqrt(squares / count) / 100.0;
+    }
+
+    public synchronized double getMin() {
+        return count > 0 ? min / 100.0 : 0.0;
+    }
+
+    public synchronized double getMax() {
+        return count > 0 ? max / 100.0 : 0.0;
+    }
+
+    // ==================== Distribution ====================
+
+    /**
+     * Percentile rank of a GPA: the percentage of values below it, counting ties as half
+     * (so the median of the history scores 50)
+     */
+    public synchronized double percentileRank(double gpa) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long value = FixedPoint.fromDouble(gpa);
+        long below = 0;
+        long equal = 0;
+        int limit = (int) Math.min(value, max + 1L);
+        for (int slot = min; slot < limit; slot++) {
+            below += counts[slot];
+        }
+        if (value >= min && value <= max) {
+            equal = counts[(int) value];
+        }
+        return 100.0 * (below + equal / 2.0) / count;
+    }
+
+    /**
+     * Smallest GPA with at least the given fraction of values at or below it (q in [0, 1])
+     */
+    public synchronized double quantile(double q) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(q, 0.0), 1.0) * count));
+        long seen = 0;
+        for (int value = min; value <= max; value++) {
+            seen += counts[value];
+            if (seen >= rank) {
+                return value / 100.0;
+            }
+        }
+        return max / 100.0;
+    }
+
+    /**
+     * Counts per bin of the given width (in hundredths) from 0 up to the largest value;
+     * bin i covers [i * width, (i + 1) * width)
+     */
+    public synchronized long[] histogram(int binWidthHundredths) {
+        if (binWidthHundredths <= 0) {
+            throw new IllegalArgumentException("Bin width must be positive");
+        }
+        if (count == 0) {
+            return new long[0];
+        }
+        long[] bins = new long[max / binWidthHundredths + 1];
+        for (int value = min; value <= max; value++) {
+            bins[value / binWidthHundredths] += counts[value];
+        }
+        return bins;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Calculations: %d | Mean: %.2f | Std dev: %.2f | Min: %.2f | Max: %.2f",
+                count, getMean(), getStdDev(), getMin(), getMax());
+    }
+}
@@ -0,0 +1,348 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the least demanding grades for pending courses that still reach a target GPA.
+ *
+ * Effort is ranked first by the hardest grade any pending course needs (the ceiling) and then
+ * by total quality points. For each ceiling a bitset subset-sum DP over the exact fixed-point
+ * weighted totals (divided by their common gcd) gives the smallest reachable total at or above
+ * the target; the grades are then read back course by course with the DP rows as an exact
+ * bound, so no branch is explored that cannot finish. Rows are checkpointed every sqrt(n)
+ * courses and recomputed per segment, so memory stays at O(sqrt(n)) rows.
+ *
+ * The target is met when the GPA, rounded by registrar policy (see GpaCalculator), reaches it.
+ * When assignments tie, larger-credit courses get the lower grades.
+ */
+public class TargetGpaSolver {
+
+    // Largest weighted-total range (in gcd units) one DP row may cover (8 MB per row)
+    private static final long MAX_STATES = 1L << 26;
+
+    /**
+     * Plan the pending courses given the completed ones (graded on the given scale)
+     */
+    public static Plan solve(List<Course> completed, long[] pendingCredits, GradeScale scale, long targetGpaHundredths) {
+        long weighted = 0;
+        long credits = 0;
+        for (Course course : completed) {
+            weighted += course.getCreditHundredths() * scale.pointsHundredths(course.getGradeCode(scale));
+            credits += course.getCreditHundredths();
+        }
+        return solve(weighted, credits, pendingCredits, scale, targetGpaHundredths);
+    }
+
+    /**
+     * Plan from completed totals (weighted in ten-thousandths, credits in hundredths);
+     * pendingCredits are in hundredths and the result's grades follow their order
+     */
+    public static Plan solve(long completedWeighted, long completedCredits, long[] pendingCredits,
+                             GradeScale scale, long targetGpaHundredths) {
+        if (targetGpaHundredths < 0) {
+            throw new IllegalArgumentException("Target GPA must not be negative");
+        }
+        long pendingTotal = 0;
+        for (long credit : pendingCredits) {
+            if (credit <= 0) {
+                throw new IllegalArgumentException("Pending course credits must be positive");
+            }
+            pendingTotal += credit;
+        }
+        long totalCredits = completedCredits + pendingTotal;
+        long required = requiredWeighted(totalCredits, targetGpaHundredths) - completedWeighted;
+
+        long[] levels = distinctPoints(scale);
+        long topPoints = levels[levels.length - 1];
+        long bestGpa = GpaCalculator.gpaHundredths(completedWeighted + pendingTotal * topPoints, totalCredits);
+        if (pendingTotal * topPoints < required || (totalCredits == 0 && targetGpaHundredths > 0)) {
+            return new Plan(targetGpaHundredths, bestGpa, false, List.of());
+        }
+
+        // Largest credits first, so they take the lower grades on ties
+        int n = pendingCredits.length;
+        Integer[] byCredit = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            byCredit[i] = i;
+        }
+        Arrays.sort(byCredit, (a, b) -> Long.compare(pendingCredits[b], pendingCredits[a]));
+
+        // Every weighted value credit * points is a multiple of gcd(credits) * gcd(points)
+        long creditGcd = 0;
+        for (long credit : pendingCredits) {
+            creditGcd = gcd(creditGcd, credit);
+        }
+        long pointGcd = 0;
+        for (long points : levels) {
+            pointGcd = gcd(pointGcd, points);
+        }
+        if (pointGcd == 0) {
+            pointGcd = 1;
+        }
+        long[] creditUnits = new long[n];
+        for (int i = 0; i < n; i++) {
+            creditUnits[i] = creditGcd > 0 ? pendingCredits[byCredit[i]] / creditGcd : 0;
+        }
+        long[] pointUnits = new long[levels.length];
+        for (int k = 0; k < levels.length; k++) {
+            pointUnits[k] = levels[k] / pointGcd;
+        }
+        long unit = Math.max(1, creditGcd * pointGcd);
+        long requiredUnits = required <= 0 ? 0 : Math.ceilDiv(required, unit);
+        String[] labels = labelsFor(scale, levels);
+
+        // Raise the ceiling one grade at a time; keep only ceilings that lower the total
+        List<Assignment> frontier = new ArrayList<>();
+        long previousTotal = Long.MAX_VALUE;
+        for (int ceiling = 0; ceiling < levels.length; ceiling++) {
+            if (pendingTotal * levels[ceiling] < required) {
+                continue;
+            }
+            int[] chosen = new int[n];
+            long totalUnits = solveCeiling(creditUnits, pointUnits, ceiling, requiredUnits, chosen);
+            if (totalUnits >= previousTotal) {
+                continue;
+            }
+            previousTotal = totalUnits;
+
+            String[] grades = new String[n];
+            for (int i = 0; i < n; i++) {
+                grades[byCredit[i]] = labels[chosen[i]];
+            }
+            long pendingWeighted = totalUnits * unit;
+            frontier.add(new Assignment(labels[ceiling], grades, pendingWeighted,
+                GpaCalculator.gpaHundredths(completedWeighted + pendingWeighted, totalCredits)));
+            if (totalUnits == requiredUnits) {
+                break; // nothing can need fewer points
+            }
+        }
+        return new Plan(targetGpaHundredths, bestGpa, true, frontier);
+    }
+
+    /**
+     * Smallest total (in units) at or above requiredUnits using grade levels 0..ceiling,
+     * with the level chosen for each course written to chosen
+     */
+    private static long solveCeiling(long[] creditUnits, long[] pointUnits, int ceiling,
+                                     long requiredUnits, int[] chosen) {
+        int n = creditUnits.length;
+        long maxUnits = 0;
+        long minUnits = 0;
+        long maxCredit = 0;
+        for (long credit : creditUnits) {
+            maxUnits += credit * pointUnits[ceiling];
+            minUnits += credit * pointUnits[0];
+            maxCredit = Math.max(maxCredit, credit);
+        }
+        // Lowering one grade at a time from all-ceiling to all-lowest drops the total by at most
+        // maxCredit * gap per step, so the answer is below required + that step (or is the
+        // all-lowest total); larger totals never need tracking
+        long maxGap = 0;
+        for (int level = 1; level <= ceiling; level++) {
+            maxGap = Math.max(maxGap, pointUnits[level] - pointUnits[level - 1]);
+        }
+        long limit = Math.min(maxUnits, Math.max(minUnits, requiredUnits + maxCredit * maxGap));
+        if (limit >= MAX_STATES) {
+            throw new IllegalArgumentException("Pending credits are too many or too fine-grained to plan");
+        }
+        int words = (int) (limit >>> 6) + 1;
+
+        // reach[i] = totals reachable by courses i..n-1; only every step-th row (and row n) is kept
+        int step = Math.max(1, (int) Math.ceil(Math.sqrt(n)));
+        long[][] checkpoints = new long[n + 1][];
+        long[] row = new long[words];
+        row[0] = 1L;
+        checkpoints[n] = row;
+        for (int i = n - 1; i >= 0; i--) {
+            row = extend(row, creditUnits[i], pointUnits, ceiling, words);
+            if (i % step == 0) {
+                checkpoints[i] = row;
+            }
+        }
+        long total = nextSetBit(checkpoints[0], requiredUnits);
+
+        // Read grades back one segment at a time, recomputing the segment's rows from its end checkpoint
+        long remaining = total;
+        long[][] segment = new long[step + 1][];
+        for (int start = 0; start < n; start += step) {
+            int end = Math.min(start + step, n);
+            segment[end - start] = checkpoints[end];
+            for (int i = end - 1; i > start; i--) {
+                segment[i - start] = extend(segment[i + 1 - start], creditUnits[i], pointUnits, ceiling, words);
+            }
+            for (int i = start; i < end; i++) {
+                long[] rest = segment[i + 1 - start];
+                for (int level = 0; level <= ceiling; level++) {
+                    long value = creditUnits[i] * pointUnits[level];
+                    if (value <= remaining && testBit(rest, remaining - value)) {
+                        chosen[i] = level;
+                        remaining -= value;
+                        break;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Totals reachable after adding one course with the given credit at any level up to ceiling
+     */
+    private static long[] extend(long[] row, long creditUnits, long[] pointUnits, int ceiling, int words) {
+        long[] next = new long[words];
+        long previous = -1;
+        for (int level = 0; level <= ceiling; level++) {
+            long shift = creditUnits * pointUnits[level];
+            if (shift != previous) {
+                orShifted(next, row, shift);
+                previous = shift;
+            }
+        }
+        return next;
+    }
+
+    private static void orShifted(long[] target, long[] source, long shift) {
+        int wordShift = (int) (shift >>> 6);
+        int bitShift = (int) (shift & 63);
+        if (bitShift == 0) {
+            for (int w = target.length - 1; w >= wordShift; w--) {
+                target[w] |= source[w - wordShift];
+            }
+            return;
+        }
+        for (int w = target.length - 1; w > wordShift; w--) {
+            target[w] |= source[w - wordShift] << bitShift | source[w - wordShift - 1] >>> (64 - bitShift);
+        }
+        if (wordShift < target.length) {
+            target[wordShift] |= source[0] << bitShift;
+        }
+    }
+
+    private static boolean testBit(long[] row, long bit) {
+        return (row[(int) (bit >>> 6)] >>> (bit & 63) & 1L) != 0;
+    }
+
+    private static long nextSetBit(long[] row, long from) {
+        int w = (int) (from >>> 6);
+        long word = row[w] & (-1L << (from & 63));
+        while (word == 0) {
+            word = row[++w];
+        }
+        return ((long) w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Smallest weighted total whose policy-rounded GPA over totalCredits reaches the target
+     */
+    static long requiredWeighted(long totalCredits, long targetGpaHundredths) {
+        if (totalCredits <= 0 || GpaCalculator.gpaHundredths(0, totalCredits) >= targetGpaHundredths) {
+            return 0;
+        }
+        long low = 0;
+        long high = targetGpaHundredths * totalCredits; // exactly the target, so always enough
+        while (high - low > 1) {
+            long middle = (low + high) >>> 1;
+            if (GpaCalculator.gpaHundredths(middle, totalCredits) >= targetGpaHundredths) {
+                high = middle;
+            } else {
+                low = middle;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * The scale's distinct point values in hundredths, ascending
+     */
+    private static long[] distinctPoints(GradeScale scale) {
+        long[] points = new long[scale.size()];
+        for (int code = 0; code < points.length; code++) {
+            points[code] = scale.pointsHundredths((byte) code);
+        }
+        return Arrays.stream(points).distinct().sorted().toArray();
+    }
+
+    /**
+     * Label for each point level: the first grade in scale order worth that many points
+     */
+    private static String[] labelsFor(GradeScale scale, long[] levels) {
+        String[] labels = new String[levels.length];
+        for (int code = scale.size() - 1; code >= 0; code--) {
+            labels[Arrays.binarySearch(levels, scale.pointsHundredths((byte) code))] = scale.grade((byte) code);
+        }
+        return labels;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Grades for every pending course under one ceiling
+     */
+    public static class Assignment {
+        private final String hardestGrade;
+        private final String[] grades;
+        private final long pendingWeighted;
+        private final long gpaHundredths;
+
+        Assignment(String hardestGrade, String[] grades, long pendingWeighted, long gpaHundredths) {
+            this.hardestGrade = hardestGrade;
+            this.grades = grades;
+            this.pendingWeighted = pendingWeighted;
+            this.gpaHundredths = gpaHundredths;
+        }
+
+        public String getHardestGrade() { return hardestGrade; }
+        public List<String> getGrades() { return List.of(grades); }
+        public String getGrade(int pendingIndex) { return grades[pendingIndex]; }
+        public long getPendingWeighted() { return pendingWeighted; }
+        public double getPendingQualityPoints() { return pendingWeighted / (double) (FixedPoint.SCALE * FixedPoint.SCALE); }
+        public long getGpaHundredths() { return gpaHundredths; }
+
+        @Override
+        public String toString() {
+            return String.format("Hardest grade %s - GPA %s - Grades %s",
+                    hardestGrade, GpaCalculator.formatGPA(gpaHundredths), Arrays.toString(grades));
+        }
+    }
+
+    /**
+     * Solver result: the feasible frontier, easiest ceiling first
+     */
+    public static class Plan {
+        private final long targetGpaHundredths;
+        private final long bestGpaHundredths;
+        private final boolean feasible;
+        private final List<Assignment> frontier;
+
+        Plan(long targetGpaHundredths, long bestGpaHundredths, boolean feasible, List<Assignment> frontier) {
+            this.targetGpaHundredths = targetGpaHundredths;
+            this.bestGpaHundredths = bestGpaHundredths;
+            this.feasible = feasible;
+            this.frontier = frontier;
+        }
+
+        public long getTargetGpaHundredths() { return targetGpaHundredths; }
+        public long getBestGpaHundredths() { return bestGpaHundredths; }
+        public boolean isFeasible() { return feasible; }
+        public List<Assignment> getFrontier() { return frontier; }
+
+        /**
+         * Assignment with the easiest hardest grade, or null if the target cannot be reached
+         */
+        public Assignment getMinimumEffort() {
+            return frontier.isEmpty() ? null : frontier.get(0);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.kaif.gpacalculator.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.List;
+
+/**
+ * SIMD bodies for WeightedSumKernel. Only loaded when jdk.incubator.vector is in the boot layer.
+ */
+final class VectorWeightedSum {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    // One byte lane per long lane (null if no byte species that narrow exists)
+    private static final VectorSpecies<Byte> CODES = byteSpecies(LONGS.length());
+    // Grade tables up to this many vectors long are held in registers (32 codes with 8 lanes)
+    private static final int MAX_TABLE_VECTORS = 4;
+
+    private VectorWeightedSum() {
+    }
+
+    private static VectorSpecies<Byte> byteSpecies(int lanes) {
+        for (VectorSpecies<Byte> species : List.of(ByteVector.SPECIES_64, ByteVector.SPECIES_128)) {
+            if (species.length() == lanes) {
+                return species;
+            }
+        }
+        return null;
+    }
+
+    static boolean isUseful() {
+        return LONGS.length() >= 2;
+    }
+
+    static String describe() {
+        return LONGS.toString();
+    }
+
+    static long[] sums(long[] credits, long[] points, int length) {
+        LongVector weighted = LongVector.zero(LONGS);
+        LongVector totalCredits = LongVector.zero(LONGS);
+        int i = 0;
+        int upper = LONGS.loopBound(length);
+        for (; i < upper; i += LONGS.length()) {
+            LongVector credit = LongVector.fromArray(LONGS, credits, i);
+            weighted = weighted.add(credit.mul(LongVector.fromArray(LONGS, points, i)));
+            totalCredits = totalCredits.add(credit);
+        }
+        long weightedSum = weighted.reduceLanes(VectorOperators.ADD);
+        long creditSum = totalCredits.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            weightedSum += credits[i] * points[i];
+            creditSum += credits[i];
+        }
+        return new long[] {weightedSum, creditSum};
+    }
+
+    /**
+     * Grade codes are widened to long lanes and their points picked from the scale's table held
+     * in a few registers (one lane-wise rearrange per table vector), so no gather is needed.
+     * Real scales have a handful of grades and every code past the last one, UNKNOWN (0xFF)
+     * included, is worth 0; those lanes match no table vector and stay 0. Tables with non-zero
+     * points beyond MAX_TABLE_VECTORS * lanes codes go to the scalar loop, which C2 already
+     * unrolls well.
+     */
+    static long[] sums(long[] credits, byte[] gradeCodes, long[] pointsTable, int length) {
+        int lanes = LONGS.length();
+        int tableVectors = tableVectors(pointsTable);
+        if (tableVectors < 0) {
+            return WeightedSumKernel.scalarSums(credits, gradeCodes, pointsTable, length);
+        }
+        LongVector[] tables = new LongVector[tableVectors];
+        for (int v = 0; v < tableVectors; v++) {
+            tables[v] = LongVector.fromArray(LONGS, pointsTable, v * lanes);
+        }
+        int laneBits = Integer.numberOfTrailingZeros(lanes);
+
+        LongVector weighted = LongVector.zero(LONGS);
+        LongVector totalCredits = LongVector.zero(LONGS);
+        int i = 0;
+        int upper = LONGS.loopBound(length);
+        for (; i < upper; i += lanes) {
+            // B2L sign-extends, so mask back to the unsigned code 0..255
+            LongVector codes = ((LongVector) ByteVector.fromArray(CODES, gradeCodes, i)
+                .convertShape(VectorOperators.B2L, LONGS, 0)).and(0xFFL);
+            VectorShuffle<Long> slot = codes.and(lanes - 1).toShuffle();
+            LongVector vector = codes.lanewise(VectorOperators.LSHR, laneBits);
+            LongVector points = LongVector.zero(LONGS);
+            for (int v = 0; v < tableVectors; v++) {
+                points = points.blend(tables[v].rearrange(slot), vector.eq(v));
+            }
+            LongVector credit = LongVector.fromArray(LONGS, credits, i);
+            weighted = weighted.add(credit.mul(points));
+            totalCredits = totalCredits.add(credit);
+        }
+        long weightedSum = weighted.reduceLanes(VectorOperators.ADD);
+        long creditSum = totalCredits.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            weightedSum += credits[i] * pointsTable[gradeCodes[i] & 0xFF];
+            creditSum += credits[i];
+        }
+        return new long[] {weightedSum, creditSum};
+    }
+
+    /**
+     * Whether the code-table kernel takes the SIMD path for this table (rather than the scalar loop)
+     */
+    static boolean vectorizes(long[] pointsTable) {
+        return tableVectors(pointsTable) >= 0;
+    }
+
+    /**
+     * Table vectors needed to cover every code with non-zero points (all higher codes, UNKNOWN
+     * included, must be worth 0), or -1 if that takes more than MAX_TABLE_VECTORS or there is
+     * no byte species to load codes with
+     */
+    private static int tableVectors(long[] table) {
+        int lanes = LONGS.length();
+        if (CODES == null || Integer.bitCount(lanes) != 1) {
+            return -1;
+        }
+        int size = table.length;
+        while (size > 0 && table[size - 1] == 0) {
+            size--;
+        }
+        int vectors = Math.max(1, (size + lanes - 1) / lanes);
+        return vectors <= MAX_TABLE_VECTORS && vectors * lanes <= table.length ? vectors : -1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.kaif.gpacalculator.util;
+
+import java.util.logging.Logger;
+
+/**
+ * One-pass sum(credit * points) and sum(credit) over primitive columns, the inner loop of every
+ * bulk GPA computation. Uses a SIMD kernel from jdk.incubator.vector when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, and a scalar loop otherwise; both return identical
+ * results since the sums are exact integers. -Dgpa.vector=false forces the scalar loop.
+ *
+ * Results are {weighted ten-thousandths, credit hundredths}.
+ */
+public final class WeightedSumKernel {
+    private static final Logger logger = Logger.getLogger(WeightedSumKernel.class.getName());
+
+    private static final boolean VECTORIZED = vectorAvailable();
+
+    private WeightedSumKernel() {
+    }
+
+    private static boolean vectorAvailable() {
+        if (!Boolean.parseBoolean(System.getProperty("gpa.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        // VectorWeightedSum is the only class touching the incubator API, so it is loaded only here
+        try {
+            boolean useful = VectorWeightedSum.isUseful();
+            logger.fine("Vector weighted-sum kernel " + (useful ? "enabled: " + VectorWeightedSum.describe() : "not useful on this CPU"));
+            return useful;
+        } catch (LinkageError e) {
+            logger.warning("Vector API unavailable, using scalar GPA kernel: " + e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Whether the SIMD kernel is in use
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Sums over credits[0..length) and points[0..length) (both in hundredths)
+     */
+    public static long[] sums(long[] credits, long[] points, int length) {
+        checkLength(credits.length, points.length, length);
+        return VECTORIZED ? VectorWeightedSum.sums(credits, points, length) : scalarSums(credits, points, length);
+    }
+
+    /**
+     * Sums over credits[0..length) with points looked up from grade codes (table indexed by code &amp; 0xFF)
+     */
+    public static long[] sums(long[] credits, byte[] gradeCodes, long[] pointsTable, int length) {
+        checkLength(credits.length, gradeCodes.length, length);
+        return VECTORIZED
+            ? VectorWeightedSum.sums(credits, gradeCodes, pointsTable, length)
+            : scalarSums(credits, gradeCodes, pointsTable, length);
+    }
+
+    public static long[] scalarSums(long[] credits, long[] points, int length) {
+        long weighted = 0;
+        long totalCredits = 0;
+        for (int i = 0; i < length; i++) {
+            long credit = credits[i];
+            weighted += credit * points[i];
+            totalCredits += credit;
+        }
+        return new long[] {weighted, totalCredits};
+    }
+
+    public static long[] scalarSums(long[] credits, byte[] gradeCodes, long[] pointsTable, int length) {
+        long weighted = 0;
+        long totalCredits = 0;
+        for (int i = 0; i < length; i++) {
+            long credit = credits[i];
+            weighted += credit * pointsTable[gradeCodes[i] & 0xFF];
+            totalCredits += credit;
+        }
+        return new long[] {weighted, totalCredits};
+    }
+
+    private static void checkLength(int first, int second, int length) {
+        if (length < 0 || length > first || length > second) {
+            throw new IndexOutOfBoundsException("Length " + length + " exceeds column size");
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.report.ReportEngine;
+import com.kaif.gpacalculator.util.GpaStatistics;
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous facade over {@link db} so SQLite I/O never runs on the JavaFX Application Thread.
+ * Mutations are serialized on a single writer thread (SQLite allows one writer at a time),
+ * including WriteBehindQueue's group commits; file imports run on their own import threads and
+ * commit chunk by chunk under db's lock; reads run on virtual threads against db's read-only connection pool.
+ * Returned futures complete on the JavaFX thread, so callers can touch the UI in thenAccept.
+ */
+public class AsyncDatabase {
+    private static AsyncDatabase instance;
+    private Logger logger = Logger.getLogger(AsyncDatabase.class.getName());
+
+    private final db database;
+    private final ExecutorService writer;
+    private final ExecutorService imports;
+    private final ExecutorService readers;
+
+    private AsyncDatabase(db database) {
+        this.database = database;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.imports = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-import-", 0).factory());
+        this.readers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-reader-", 0).factory());
+    }
+
+    /**
+     * Singleton pattern - shares the db singleton
+     */
+    public static synchronized AsyncDatabase getInstance() {
+        if (instance == null) {
+            instance = new AsyncDatabase(db.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Whether the facade has been created (so shutdown hooks don't create it just to close it)
+     */
+    public static synchronized boolean isStarted() {
+        return instance != null;
+    }
+
+    /**
+     * The synchronous database behind this facade
+     */
+    public db getDatabase() {
+        return database;
+    }
+
+    // ==================== Writes (single writer thread) ====================
+
+    public CompletableFuture<Boolean> insertCourse(Course course) {
+        return write(() -> database.insertCourse(course));
+    }
+
+    public CompletableFuture<Boolean> insertCourses(List<Course> courses) {
+        return write(() -> database.insertCourses(courses));
+    }
+
+    public CompletableFuture<Boolean> insertCalculation(double gpa, double totalCredits, List<Course> courses) {
+        // Copy so later edits to the caller's list cannot race with serialization
+        List<Course> snapshot = List.copyOf(courses);
+        return write(() -> database.insertCalculation(gpa, totalCredits, snapshot));
+    }
+
+    public CompletableFuture<Boolean> insertCalculation(double gpa, double totalCredits, List<Course> courses,
+                                                        String contentHash) {
+        List<Course> snapshot = List.copyOf(courses);
+        return write(() -> database.insertCalculation(gpa, totalCredits, snapshot, contentHash));
+    }
+
+    public CompletableFuture<Boolean> updateCourseGrade(int id, String newGrade) {
+        return write(() -> database.updateCourseGrade(id, newGrade));
+    }
+
+    public CompletableFuture<Boolean> deleteCourse(int id) {
+        return write(() -> database.deleteCourse(id));
+    }
+
+    public CompletableFuture<Boolean> deleteAllCourses() {
+        return write(database::deleteAllCourses);
+    }
+
+    public CompletableFuture<Integer> getOrCreateSession(String sessionName) {
+        return write(() -> database.getOrCreateSession(sessionName));
+    }
+
+    /**
+     * Stream a JSON file of courses into the database on an import thread (see importWrite).
+     * Progress reports are delivered on the JavaFX thread.
+     */
+    public CompletableFuture<db.ImportReport> importCoursesFromJSON(Path file, int chunkSize,
+                                                                   Consumer<db.ImportReport> progress) {
+        Consumer<db.ImportReport> onFxThread = progress == null
+            ? null
+            : report -> runOnFxThread(() -> progress.accept(report));
+        return importWrite(() -> database.importCoursesFromJSON(file, chunkSize, onFxThread));
+    }
+
+    /**
+     * Import a CSV file of courses, like importCoursesFromJSON; parallelism > 1 parses it on
+     * that many threads (for multi-GB files)
+     */
+    public CompletableFuture<db.ImportReport> importCoursesFromCSV(Path file, int chunkSize, int parallelism,
+                                                                  Consumer<db.ImportReport> progress) {
+        Consumer<db.ImportReport> onFxThread = progress == null
+            ? null
+            : report -> runOnFxThread(() -> progress.accept(report));
+        return importWrite(() -> database.importCoursesFromCSV(file, chunkSize, parallelism, onFxThread));
+    }
+    
+    /**
+     * Run a write on the writer thread without the hop to the JavaFX thread, for callers
+     * that wait on the result from their own thread (WriteBehindQueue's flusher)
+     */
+    <T> CompletableFuture<T> submitWrite(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, writer);
+    }
+
+    // ==================== Reads (virtual threads) ====================
+
+    public CompletableFuture<List<Course>> getAllCourses() {
+        return read(database::getAllCourses);
+    }
+
+    public CompletableFuture<List<Course>> searchCourses(String query) {
+        return read(() -> database.searchCourses(query));
+    }
+
+    public CompletableFuture<List<db.CalculationRecord>> getCalculationHistory(int limit) {
+        return read(() -> database.getCalculationHistory(limit));
+    }
+
+    public CompletableFuture<String> getCalculationCoursesJSON(int calculationId) {
+        return read(() -> database.getCalculationCoursesJSON(calculationId));
+    }
+
+    public CompletableFuture<GpaStatistics> getCalculationStatistics() {
+        return read(database::getCalculationStatistics);
+    }
+
+    public CompletableFuture<List<db.SessionSummary>> getSessionSummaries() {
+        return read(database::getSessionSummaries);
+    }
+
+    public CompletableFuture<String> exportCoursesToJSON() {
+        return read(database::exportCoursesToJSON);
+    }
+
+    public CompletableFuture<db.ExportReport> exportCoursesToJSON(Path file, boolean gzip) {
+        return read(() -> database.exportCoursesToJSON(file, gzip));
+    }
+
+    public CompletableFuture<db.ExportReport> exportCalculationsToJSON(Path file, boolean gzip) {
+        return read(() -> database.exportCalculationsToJSON(file, gzip));
+    }
+
+    public CompletableFuture<db.ExportReport> exportCoursesToCSV(Path file) {
+        return read(() -> database.exportCoursesToCSV(file));
+    }
+
+    public CompletableFuture<Boolean> writeCourseSnapshot(Path file) {
+        return read(() -> database.writeCourseSnapshot(file));
+    }
+
+    public CompletableFuture<Boolean> writeCalculationSnapshot(int calculationId, Path file) {
+        return read(() -> database.writeCalculationSnapshot(calculationId, file));
+    }
+
+    /**
+     * Render a report for every saved calculation into directory on a pool of parallelism
+     * workers; null if the batch could not run. Progress reports arrive on the JavaFX thread.
+     */
+    public CompletableFuture<ReportEngine.BatchReport> renderCalculationReports(Path directory,
+                                                                             Set<ReportEngine.Format> formats,
+                                                                             int parallelism,
+                                                                             Consumer<ReportEngine.BatchReport> progress) {
+        Consumer<ReportEngine.BatchReport> onFxThread = progress == null
+            ? null
+            : report -> runOnFxThread(() -> progress.accept(report));
+        return read(() -> {
+            try (ReportEngine engine = new ReportEngine(parallelism)) {
+                return engine.renderCalculations(database, directory, formats, onFxThread);
+            } catch (IOException e) {
+                logger.severe("Error rendering calculation reports: " + e.toString());
+                return null;
+            }
+        });
+    }
+
+    // ==================== Lifecycle ====================
+
+    /**
+     * Wait for queued writes to finish, then stop the worker threads
+     */
+    public void shutdown() {
+        writer.shutdown();
+        imports.shutdown();
+        readers.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for pending database writes");
+            }
+            if (!imports.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for running imports");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> write(Supplier<T> task) {
+        return onFxThread(CompletableFuture.supplyAsync(task, writer));
+    }
+
+    /**
+     * Run a file import off the writer thread. Each chunk commits in one db transaction under
+     * db's lock, the same lock every writer-thread write takes, so chunks never interleave with
+     * them; queued writes just wait for the current chunk rather than for the whole file.
+     */
+    private <T> CompletableFuture<T> importWrite(Supplier<T> task) {
+        return onFxThread(CompletableFuture.supplyAsync(task, imports));
+    }
+
+    private <T> CompletableFuture<T> read(Supplier<T> task) {
+        return onFxThread(CompletableFuture.supplyAsync(task, readers));
+    }
+
+    /**
+     * Re-deliver the result on the JavaFX thread (inline when no toolkit is running)
+     */
+    private static <T> CompletableFuture<T> onFxThread(CompletableFuture<T> future) {
+        return future.whenCompleteAsync((result, error) -> { }, AsyncDatabase::runOnFxThread);
+    }
+
+    private static void runOnFxThread(Runnable action) {
+        // Platform.isFxApplicationThread() would start the toolkit as a side effect, so just try runLater
+        try {
+            Platform.runLater(action);
+        } catch (IllegalStateException toolkitNotRunning) {
+            action.run();
+        }
+    }
+}
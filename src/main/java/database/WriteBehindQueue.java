@@ -0,0 +1,537 @@
+package database;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.kaif.gpacalculator.model.Course;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind queue with group commit for interactive course entry.
+ * Enqueued courses are appended to a journal file and forced to disk before enqueue returns
+ * (so they survive a crash); producers that arrive while a force is running share the next one.
+ * A background flusher commits them to {@link db} in one transaction once maxBatch entries
+ * are pending or windowMillis has passed since the oldest one. The transaction runs on
+ * AsyncDatabase's writer thread, so it is serialized with every other write, and it also records
+ * the last journal sequence it covers, which makes replaying the journal on startup idempotent.
+ *
+ * Tuning: -Dgpa.writeBehind.maxBatch (default 64) and -Dgpa.writeBehind.windowMillis (default 250).
+ */
+public class WriteBehindQueue {
+    private static final Path JOURNAL_PATH = Paths.get(db.getDatabasePath() + "-pending");
+    private static final String OP_INSERT = "insert";
+    private static final String OP_CANCEL = "cancel";
+    private static WriteBehindQueue instance;
+    private Logger logger = Logger.getLogger(WriteBehindQueue.class.getName());
+    private final Gson gson = new Gson();
+
+    private final AsyncDatabase async;
+    private final db database;
+    private final int maxBatch;
+    private final long windowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeFlusher = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private final Deque<Entry> pending = new ArrayDeque<>();
+    private long nextSeq;
+    private long committedSeq;
+    private long oldestPendingNanos;
+    private boolean running = true;
+    private boolean flushRequested = false;
+    private FileChannel journal;
+    private final Thread flusher;
+
+    // Journal fsync: appendedSeq is the last record written, syncedSeq the last one forced to disk
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private volatile long appendedSeq;
+    private long syncedSeq;
+
+    // Metrics
+    private long commitCount;
+    private long totalCommitNanos;
+    private long lastCommitNanos;
+    private int lastCommitSize;
+
+    /**
+     * Queue over the journal next to the database file; use getInstance(). Package-private
+     * so tests can reopen the journal the way a restart after a crash would.
+     */
+    WriteBehindQueue(AsyncDatabase async, int maxBatch, long windowMillis) {
+        this.async = async;
+        this.database = async.getDatabase();
+        this.maxBatch = maxBatch;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+
+        committedSeq = database.getWriteBehindSeq();
+        nextSeq = committedSeq + 1;
+        recoverJournal();
+        openJournal();
+
+        flusher = new Thread(this::flushLoop, "db-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Singleton pattern - created on first use, replaying any journal left by a crash
+     */
+    public static synchronized WriteBehindQueue getInstance() {
+        if (instance == null) {
+            instance = new WriteBehindQueue(AsyncDatabase.getInstance(),
+                Integer.getInteger("gpa.writeBehind.maxBatch", 64),
+                Long.getLong("gpa.writeBehind.windowMillis", 250L));
+        }
+        return instance;
+    }
+
+    /**
+     * Whether the queue has been created (so shutdown hooks don't create it just to close it)
+     */
+    public static synchronized boolean isStarted() {
+        return instance != null;
+    }
+
+    // ==================== Producer API ====================
+
+    /**
+     * Queue a course for insertion. Returns once the course is journaled and on disk; the
+     * database commit happens later, after which the course has its id. Returns false if the
+     * journal could not be written: the course is still queued but would be lost in a crash.
+     */
+    public boolean enqueue(Course course) {
+        long seq;
+        boolean journaled;
+        lock.lock();
+        try {
+            seq = nextSeq++;
+            journaled = appendToJournal(new JournalRecord(seq, OP_INSERT, course, 0));
+            if (pending.isEmpty()) {
+                oldestPendingNanos = System.nanoTime();
+            }
+            pending.addLast(new Entry(seq, course));
+            if (pending.size() >= maxBatch) {
+                wakeFlusher.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return journaled && syncJournal(seq);
+    }
+
+    /**
+     * Drop a course that has not been committed yet.
+     * Returns false if it is not pending (already committed or currently being committed).
+     */
+    public boolean cancel(Course course) {
+        long cancelSeq = -1;
+        lock.lock();
+        try {
+            Iterator<Entry> it = pending.iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.course == course) {
+                    it.remove();
+                    cancelSeq = nextSeq++;
+                    appendToJournal(new JournalRecord(cancelSeq, OP_CANCEL, null, entry.seq));
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (cancelSeq < 0) {
+            return false;
+        }
+        syncJournal(cancelSeq);
+        return true;
+    }
+
+    /**
+     * Future that completes once everything enqueued before this call is committed
+     */
+    public CompletableFuture<Void> flushAsync() {
+        long target;
+        lock.lock();
+        try {
+            target = nextSeq - 1;
+            wakeFlusher.signal();
+        } finally {
+            lock.unlock();
+        }
+        return CompletableFuture.runAsync(() -> awaitCommitted(target));
+    }
+
+    /**
+     * Commit everything pending, stop the flusher and close the journal (flush-on-exit)
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+            wakeFlusher.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                truncateJournal();
+            } else {
+                logger.warning(pending.size() + " queued courses left in journal; they will be replayed on next start");
+            }
+            closeJournal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== Metrics ====================
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCommitCount() {
+        lock.lock();
+        try {
+            return commitCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLastCommitMillis() {
+        lock.lock();
+        try {
+            return lastCommitNanos / 1_000_000.0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getAverageCommitMillis() {
+        lock.lock();
+        try {
+            return commitCount == 0 ? 0.0 : totalCommitNanos / 1_000_000.0 / commitCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLastCommitSize() {
+        lock.lock();
+        try {
+            return lastCommitSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== Flusher ====================
+
+    private void flushLoop() {
+        while (true) {
+            List<Entry> batch = new ArrayList<>();
+            long batchSeq;
+            lock.lock();
+            try {
+                while (running && !isFlushDue()) {
+                    long wait = pending.isEmpty()
+                        ? TimeUnit.SECONDS.toNanos(1)
+                        : windowNanos - (System.nanoTime() - oldestPendingNanos);
+                    wakeFlusher.awaitNanos(Math.max(wait, 1));
+                }
+                if (!running && pending.isEmpty()) {
+                    return;
+                }
+                while (!pending.isEmpty() && batch.size() < maxBatch) {
+                    batch.add(pending.pollFirst());
+                }
+                // Covers cancel records too: everything journaled before the next pending entry is resolved
+                batchSeq = pending.isEmpty() ? nextSeq - 1 : pending.peekFirst().seq - 1;
+                flushRequested = false;
+                if (!pending.isEmpty()) {
+                    oldestPendingNanos = System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            List<Course> courses = new ArrayList<>(batch.size());
+            for (Entry entry : batch) {
+                courses.add(entry.course);
+            }
+            long start = System.nanoTime();
+            boolean ok = commit(courses, batchSeq);
+            long elapsed = System.nanoTime() - start;
+
+            lock.lock();
+            try {
+                if (ok) {
+                    commitCount++;
+                    totalCommitNanos += elapsed;
+                    lastCommitNanos = elapsed;
+                    lastCommitSize = batch.size();
+                    markCommitted(batchSeq);
+                    if (pending.isEmpty() && committedSeq == nextSeq - 1) {
+                        truncateJournal();
+                    }
+                } else {
+                    // Put the batch back in order and retry after another window
+                    logger.severe("Group commit of " + batch.size() + " courses failed; will retry");
+                    for (int i = batch.size() - 1; i >= 0; i--) {
+                        pending.addFirst(batch.get(i));
+                    }
+                    oldestPendingNanos = System.nanoTime();
+                    if (!running) {
+                        return;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            logger.fine(String.format("Group commit: %d courses in %.2f ms", batch.size(), elapsed / 1_000_000.0));
+        }
+    }
+
+    /**
+     * Run the group's transaction on the AsyncDatabase writer thread and wait for it
+     */
+    private boolean commit(List<Course> courses, long batchSeq) {
+        try {
+            return async.submitWrite(() -> database.insertJournaledCourses(courses, batchSeq)).join();
+        } catch (RuntimeException e) {
+            // Writer shut down or the insert threw; the batch is retried or left in the journal
+            logger.severe("Error running group commit: " + e.toString());
+            return false;
+        }
+    }
+
+    private boolean isFlushDue() {
+        if (pending.isEmpty()) {
+            return flushRequested && committedSeq < nextSeq - 1;
+        }
+        return flushRequested
+            || pending.size() >= maxBatch
+            || System.nanoTime() - oldestPendingNanos >= windowNanos;
+    }
+
+    private void markCommitted(long seq) {
+        if (seq > committedSeq) {
+            committedSeq = seq;
+        }
+        committed.signalAll();
+    }
+
+    private void awaitCommitted(long target) {
+        lock.lock();
+        try {
+            while (committedSeq < target && flusher.isAlive()) {
+                flushRequested = true;
+                wakeFlusher.signal();
+                committed.await(100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== Journal ====================
+
+    /**
+     * Replay journal entries newer than the last committed sequence (crash recovery)
+     */
+    private void recoverJournal() {
+        if (!Files.exists(JOURNAL_PATH)) {
+            return;
+        }
+        Map<Long, Course> inserts = new LinkedHashMap<>();
+        Set<Long> cancelled = new HashSet<>();
+        long maxSeq = committedSeq;
+        try (BufferedReader reader = Files.newBufferedReader(JOURNAL_PATH, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JournalRecord record;
+                try {
+                    record = gson.fromJson(line, JournalRecord.class);
+                } catch (JsonParseException e) {
+                    // A torn last line from a crash mid-append
+                    logger.warning("Skipping unreadable journal line: " + e.toString());
+                    continue;
+                }
+                maxSeq = Math.max(maxSeq, record.seq);
+                if (record.seq <= committedSeq) {
+                    continue;
+                }
+                if (OP_INSERT.equals(record.op) && record.course != null) {
+                    inserts.put(record.seq, record.course);
+                } else if (OP_CANCEL.equals(record.op)) {
+                    cancelled.add(record.target);
+                }
+            }
+        } catch (IOException e) {
+            logger.severe("Error reading write-behind journal: " + e.toString());
+            return;
+        }
+        cancelled.forEach(inserts::remove);
+
+        List<Course> replay = new ArrayList<>(inserts.values());
+        if (commit(replay, maxSeq)) {
+            committedSeq = maxSeq;
+            nextSeq = maxSeq + 1;
+            logger.info("Recovered " + replay.size() + " uncommitted courses from write-behind journal");
+            truncateJournal();
+        } else {
+            // Keep the journal; new entries continue after the highest sequence seen
+            nextSeq = maxSeq + 1;
+            logger.severe("Write-behind journal recovery failed; journal kept for next start");
+        }
+    }
+
+    private void openJournal() {
+        try {
+            journal = FileChannel.open(JOURNAL_PATH,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.severe("Error opening write-behind journal: " + e.toString());
+        }
+    }
+
+    /**
+     * Append one record (caller holds lock); false if the journal is unavailable
+     */
+    private boolean appendToJournal(JournalRecord record) {
+        if (journal == null) {
+            return false;
+        }
+        try {
+            ByteBuffer line = ByteBuffer.wrap((gson.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                journal.write(line);
+            }
+            appendedSeq = record.seq;
+            return true;
+        } catch (IOException e) {
+            logger.severe("Error writing write-behind journal: " + e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Force the journal to disk up to at least seq. One force per group: whoever gets the sync
+     * lock forces everything appended so far, and callers queued behind it find their record
+     * already covered.
+     */
+    private boolean syncJournal(long seq) {
+        syncLock.lock();
+        try {
+            if (syncedSeq >= seq) {
+                return true;
+            }
+            long upTo = appendedSeq;
+            FileChannel channel = journal;
+            if (channel == null) {
+                return false;
+            }
+            channel.force(false);
+            syncedSeq = upTo;
+            return true;
+        } catch (IOException e) {
+            logger.severe("Error syncing write-behind journal: " + e.toString());
+            return false;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void truncateJournal() {
+        try {
+            if (journal != null) {
+                journal.truncate(0);
+            } else {
+                Files.deleteIfExists(JOURNAL_PATH);
+            }
+        } catch (IOException e) {
+            logger.warning("Error truncating write-behind journal: " + e.toString());
+        }
+    }
+
+    private void closeJournal() {
+        try {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+        } catch (IOException e) {
+            logger.warning("Error closing write-behind journal: " + e.toString());
+        }
+    }
+
+    private static class Entry {
+        final long seq;
+        final Course course;
+
+        Entry(long seq, Course course) {
+            this.seq = seq;
+            this.course = course;
+        }
+    }
+
+    /**
+     * One journal line: an insert of a course, or a cancel of an earlier insert
+     */
+    private static class JournalRecord {
+        long seq;
+        String op;
+        Course course;
+        long target;
+
+        JournalRecord(long seq, String op, Course course, long target) {
+            this.seq = seq;
+            this.op = op;
+            this.course = course;
+            this.target = target;
+        }
+    }
+}
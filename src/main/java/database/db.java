@@ -1,35 +1,143 @@
 package database;
 
+import com.kaif.gpacalculator.model.CohortBatch;
 import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.CourseBatch;
+import com.kaif.gpacalculator.model.CourseSnapshot;
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.CourseCsv;
+import com.kaif.gpacalculator.util.FixedPoint;
+import com.kaif.gpacalculator.util.GpaCalculator;
+import com.kaif.gpacalculator.util.GpaResultCache;
+import com.kaif.gpacalculator.util.GpaStatistics;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Database manager with Observable pattern and JSON support
  * Handles all CRUD operations for courses and calculations
  */
 public class db {
+    // Override with -Dgpa.db.path (benchmarks and tools point this at a scratch file)
+    private static final String DB_PATH = System.getProperty("gpa.db.path", "gpa_data.db");
+    private static final String DB_URL = "jdbc:sqlite:" + DB_PATH;
+    private static final int READER_POOL_SIZE = 2;
+    private static final long READER_TIMEOUT_MILLIS = Long.getLong("gpa.db.readerTimeoutMillis", 10_000L);
+    private static final int SCHEMA_VERSION = 10;
     private static Connection con;
     private static db instance;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int DEFAULT_FETCH_SIZE = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 100;
+    private static final int IMPORT_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int EXPORT_BUFFER_SIZE = 1 << 16;
+    
+    // Grade points (hundredths) of the original 4.0 table, frozen for released migration steps
+    private static final Map<String, Long> LEGACY_GRADE_POINTS_HUNDREDTHS = Map.of(
+        "A+", 400L, "A", 375L, "A-", 350L, "B+", 325L, "B", 300L,
+        "B-", 275L, "C+", 250L, "C", 225L, "D", 200L, "F", 0L);
+    
+    // Fixed column order so rows are decoded by index (see mapCourse)
+    private static final String COURSE_COLUMNS =
+        "id, course_name, course_code, credit_hundredths, teacher1_name, teacher2_name, grade, created_at, session_id";
     private Logger logger = Logger.getLogger(db.class.getName());
     private Gson gson;
+    private Gson compactGson;
+    
+    // Read-only connections so history/search reads never queue behind inserts (WAL mode)
+    private final BlockingQueue<Connection> readers = new ArrayBlockingQueue<>(READER_POOL_SIZE);
+    private final List<Connection> allReaders = new ArrayList<>();
+    
+    // Prepared statements cached per connection, keyed by SQL text
+    private final Map<Connection, Map<String, PreparedStatement>> statementCache = new ConcurrentHashMap<>();
     
     // Observable lists for real-time UI updates
     private ObservableList<Course> observableCourses;
+    private volatile boolean coursesLoaded = false;
+    
+    // id -> Course index over observableCourses so mutations can patch single rows
+    private final Map<Integer, Course> courseIndex = new ConcurrentHashMap<>();
+    // id -> position in observableCourses; only touched where the list is (see onListThread)
+    private final Map<Integer, Integer> listPositions = new HashMap<>();
+    
+    // Statistics over calculations.gpa; built by one scan on first use, then kept current by writes
+    private volatile GpaStatistics calculationStats;
     
     private db() {
+        long start = System.nanoTime();
         gson = new GsonBuilder().setPrettyPrinting().create();
+        compactGson = new Gson();
         observableCourses = FXCollections.observableArrayList();
         getConnection();
         createTables();
-        loadCoursesFromDB();
+        reconcileGradeScale();
+        openReaders();
+        // observableCourses is filled on first getObservableCourses(), not here
+        logger.info(String.format("Database ready in %.1f ms", (System.nanoTime() - start) / 1_000_000.0));
     }
     
     /**
@@ -43,14 +151,27 @@ public class db {
     }
     
     /**
-     * Establish database connection
+     * Path of the SQLite database file
+     */
+    public static String getDatabasePath() {
+        return DB_PATH;
+    }
+    
+    /**
+     * Establish the writer connection in WAL mode with tuned pragmas
      */
     public void getConnection() {
+        if (con != null) {
+            return;
+        }
         try {
-            if(con == null || con.isClosed()) {
-                con = DriverManager.getConnection("jdbc:sqlite:gpa_data.db");
-                logger.info("Database connection established");
+            con = DriverManager.getConnection(DB_URL);
+            try (Statement stmt = con.createStatement()) {
+                stmt.execute("PRAGMA journal_mode = WAL");
+                stmt.execute("PRAGMA synchronous = NORMAL");
             }
+            applyTuningPragmas(con);
+            logger.info("Database connection established");
         }
         catch (SQLException e){
             logger.severe("Database connection error: " + e.toString());
@@ -58,54 +179,555 @@ public class db {
     }
     
     /**
-     * Create database tables if they don't exist
+     * Open the pool of read-only connections
+     */
+    private void openReaders() {
+        try {
+            for (int i = 0; i < READER_POOL_SIZE; i++) {
+                Connection reader = openReadOnly();
+                allReaders.add(reader);
+                readers.add(reader);
+            }
+            logger.info("Opened " + readers.size() + " read-only connections");
+        } catch (SQLException e) {
+            logger.severe("Error opening reader connections: " + e.toString());
+        }
+    }
+    
+    private Connection openReadOnly() throws SQLException {
+        Connection reader = DriverManager.getConnection(DB_URL);
+        try {
+            applyTuningPragmas(reader);
+            try (Statement stmt = reader.createStatement()) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        } catch (SQLException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+    
+    /**
+     * Per-connection pragmas shared by the writer and the readers
+     */
+    private void applyTuningPragmas(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA cache_size = -16000");
+            stmt.execute("PRAGMA mmap_size = 268435456");
+            stmt.execute("PRAGMA temp_store = MEMORY");
+            stmt.execute("PRAGMA busy_timeout = 5000");
+        }
+    }
+    
+    /**
+     * Borrow a reader connection, falling back to the writer if the pool could not be opened.
+     * Fails after -Dgpa.db.readerTimeoutMillis (default 10 s) rather than hanging when every
+     * reader is held, e.g. by a leaked stream.
+     */
+    private Connection borrowReader() throws SQLException {
+        if (allReaders.isEmpty()) {
+            getConnection();
+            return con;
+        }
+        try {
+            Connection reader = readers.poll(READER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (reader == null) {
+                throw new SQLException("No reader connection free after " + READER_TIMEOUT_MILLIS
+                    + " ms; all " + READER_POOL_SIZE + " are in use");
+            }
+            return reader;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a reader connection", e);
+        }
+    }
+    
+    private void releaseReader(Connection reader) {
+        if (reader != null && reader != con) {
+            readers.offer(reader);
+        }
+    }
+    
+    /**
+     * Return the cached prepared statement for this SQL on the given connection.
+     * Cached statements must not be closed by callers; close their ResultSets instead.
+     */
+    private PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        Map<String, PreparedStatement> cache =
+            statementCache.computeIfAbsent(connection, c -> new ConcurrentHashMap<>());
+        PreparedStatement pstmt = cache.get(sql);
+        if (pstmt == null) {
+            pstmt = connection.prepareStatement(sql);
+            cache.put(sql, pstmt);
+        }
+        return pstmt;
+    }
+    
+    /**
+     * Bring the schema up to SCHEMA_VERSION.
+     * The version lives in PRAGMA user_version, so an up-to-date database costs one pragma read
+     * and no DDL. Each pending migration runs in its own transaction together with the version bump.
      */
     public void createTables() {
         getConnection();
         
-        String createCoursesTable = """
-            CREATE TABLE IF NOT EXISTS courses (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                course_name TEXT NOT NULL,
-                course_code TEXT NOT NULL,
-                course_credit REAL NOT NULL,
-                teacher1_name TEXT,
-                teacher2_name TEXT,
-                grade TEXT NOT NULL,
-                grade_points REAL NOT NULL,
-                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-            )
-        """;
+        int version;
+        try (Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            version = rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            logger.severe("Error reading schema version: " + e.toString());
+            return;
+        }
         
-        String createCalculationsTable = """
-            CREATE TABLE IF NOT EXISTS calculations (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                gpa REAL NOT NULL,
-                total_credits REAL NOT NULL,
-                total_courses INTEGER NOT NULL,
-                courses_json TEXT NOT NULL,
-                calculation_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-            )
-        """;
+        if (version == SCHEMA_VERSION) {
+            logger.fine("Database schema is current (version " + version + ")");
+            return;
+        }
+        if (version > SCHEMA_VERSION) {
+            logger.warning("Database schema version " + version + " is newer than this build (" + SCHEMA_VERSION + ")");
+            return;
+        }
+        
+        boolean previousAutoCommit = true;
+        try {
+            previousAutoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            for (int next = version + 1; next <= SCHEMA_VERSION; next++) {
+                try (Statement stmt = con.createStatement()) {
+                    migrate(stmt, next);
+                    stmt.execute("PRAGMA user_version = " + next);
+                }
+                con.commit();
+                logger.info("Database schema migrated to version " + next);
+            }
+        } catch (Exception e) {
+            logger.severe("Error migrating database schema: " + e.toString());
+            try {
+                con.rollback();
+            } catch (SQLException rollbackError) {
+                logger.severe("Error rolling back schema migration: " + rollbackError.toString());
+            }
+        } finally {
+            try {
+                con.setAutoCommit(previousAutoCommit);
+            } catch (SQLException e) {
+                logger.severe("Error restoring auto-commit: " + e.toString());
+            }
+        }
+    }
+    
+    /**
+     * Schema migrations in order. Never edit a released step; add a new one and bump SCHEMA_VERSION.
+     * Steps use IF NOT EXISTS because databases from before versioning report version 0
+     * but may already contain some of these objects.
+     */
+    private void migrate(Statement stmt, int version) throws SQLException {
+        switch (version) {
+            case 1 -> {
+                // Original tables
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS courses (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        course_name TEXT NOT NULL,
+                        course_code TEXT NOT NULL,
+                        course_credit REAL NOT NULL,
+                        teacher1_name TEXT,
+                        teacher2_name TEXT,
+                        grade TEXT NOT NULL,
+                        grade_points REAL NOT NULL,
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                """);
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS calculations (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        gpa REAL NOT NULL,
+                        total_credits REAL NOT NULL,
+                        total_courses INTEGER NOT NULL,
+                        courses_json TEXT NOT NULL,
+                        calculation_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                """);
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS sessions (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        session_name TEXT NOT NULL,
+                        semester TEXT,
+                        year INTEGER,
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                """);
+            }
+            case 2 -> {
+                // Indexes for newest-first paging, code lookups and history ordering
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_courses_created_at ON courses(created_at, id)");
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_courses_code ON courses(course_code)");
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_calculations_date ON calculations(calculation_date)");
+            }
+            case 3 -> {
+                // External-content FTS5 index over the searchable course columns.
+                // prefix='2 3' keeps short type-ahead prefixes cheap.
+                stmt.execute("""
+                    CREATE VIRTUAL TABLE IF NOT EXISTS courses_fts USING fts5(
+                        course_name, course_code, teacher1_name, teacher2_name,
+                        content='courses', content_rowid='id',
+                        tokenize='unicode61', prefix='2 3'
+                    )
+                """);
+                stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS courses_fts_insert AFTER INSERT ON courses BEGIN
+                        INSERT INTO courses_fts(rowid, course_name, course_code, teacher1_name, teacher2_name)
+                        VALUES (new.id, new.course_name, new.course_code, new.teacher1_name, new.teacher2_name);
+                    END
+                """);
+                stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS courses_fts_delete AFTER DELETE ON courses BEGIN
+                        INSERT INTO courses_fts(courses_fts, rowid, course_name, course_code, teacher1_name, teacher2_name)
+                        VALUES ('delete', old.id, old.course_name, old.course_code, old.teacher1_name, old.teacher2_name);
+                    END
+                """);
+                stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS courses_fts_update AFTER UPDATE OF
+                            course_name, course_code, teacher1_name, teacher2_name ON courses BEGIN
+                        INSERT INTO courses_fts(courses_fts, rowid, course_name, course_code, teacher1_name, teacher2_name)
+                        VALUES ('delete', old.id, old.course_name, old.course_code, old.teacher1_name, old.teacher2_name);
+                        INSERT INTO courses_fts(rowid, course_name, course_code, teacher1_name, teacher2_name)
+                        VALUES (new.id, new.course_name, new.course_code, new.teacher1_name, new.teacher2_name);
+                    END
+                """);
+                // Backfill rows that existed before the index
+                stmt.execute("INSERT INTO courses_fts(courses_fts) VALUES ('rebuild')");
+            }
+            case 4 -> {
+                // Calculation course lists, stored once per distinct content (SHA-256 of the compact JSON)
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS course_snapshots (
+                        hash TEXT PRIMARY KEY,
+                        data BLOB NOT NULL
+                    ) WITHOUT ROWID
+                """);
+                if (!hasColumn(stmt, "calculations", "snapshot_hash")) {
+                    stmt.execute("ALTER TABLE calculations ADD COLUMN snapshot_hash TEXT");
+                }
+                migrateCalculationSnapshots();
+            }
+            case 5 -> {
+                // Last write-behind journal entry known to be committed (single row)
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS write_behind_state (
+                        id INTEGER PRIMARY KEY CHECK (id = 1),
+                        last_seq INTEGER NOT NULL
+                    )
+                """);
+            }
+            case 6 -> {
+                // Fixed-point copies of credit and grade points (hundredths); the REAL columns
+                // stay NOT NULL from version 1 and are still written for older readers
+                if (!hasColumn(stmt, "courses", "credit_hundredths")) {
+                    stmt.execute("ALTER TABLE courses ADD COLUMN credit_hundredths INTEGER NOT NULL DEFAULT 0");
+                }
+                if (!hasColumn(stmt, "courses", "grade_points_hundredths")) {
+                    stmt.execute("ALTER TABLE courses ADD COLUMN grade_points_hundredths INTEGER NOT NULL DEFAULT 0");
+                }
+                stmt.execute("""
+                    UPDATE courses SET
+                        credit_hundredths = CAST(ROUND(course_credit * 100) AS INTEGER),
+                        grade_points_hundredths = CAST(ROUND(grade_points * 100) AS INTEGER)
+                """);
+            }
+            case 7 -> {
+                // Courses belong to a session (NULL for courses entered before sessions existed)
+                if (!hasColumn(stmt, "courses", "session_id")) {
+                    stmt.execute("ALTER TABLE courses ADD COLUMN session_id INTEGER REFERENCES sessions(id)");
+                }
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_courses_session ON courses(session_id)");
+                // Exact per-session totals (credit * points in ten-thousandths, credits in hundredths),
+                // kept current by the triggers below so CGPA never has to re-read the courses
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS session_aggregates (
+                        session_id INTEGER PRIMARY KEY REFERENCES sessions(id),
+                        weighted_ten_thousandths INTEGER NOT NULL DEFAULT 0,
+                        credit_hundredths INTEGER NOT NULL DEFAULT 0,
+                        course_count INTEGER NOT NULL DEFAULT 0
+                    )
+                """);
+                stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS session_aggregates_insert AFTER INSERT ON courses
+                    WHEN new.session_id IS NOT NULL BEGIN
+                        INSERT INTO session_aggregates (session_id, weighted_ten_thousandths, credit_hundredths, course_count)
+                        VALUES (new.session_id, new.credit_hundredths * new.grade_points_hundredths, new.credit_hundredths, 1)
+                        ON CONFLICT(session_id) DO UPDATE SET
+                            weighted_ten_thousandths = weighted_ten_thousandths + excluded.weighted_ten_thousandths,
+                            credit_hundredths = credit_hundredths + excluded.credit_hundredths,
+                            course_count = course_count + 1;
+                    END
+                """);
+                stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS session_aggregates_delete AFTER DELETE ON courses
+                    WHEN old.session_id IS NOT NULL BEGIN
+                        UPDATE session_aggregates SET
+                            weighted_ten_thousandths = weighted_ten_thousandths - old.credit_hundredths * old.grade_points_hundredths,
+                            credit_hundredths = credit_hundredths - old.credit_hundredths,
+                            course_count = course_count - 1
+                        WHERE session_id = old.session_id;
+                    END
+                """);
+                // Subtract the old row, then add the new one (the session itself may have changed).
+                // INSERT ... SELECT ... WHERE skips the add when the course left every session.
+                stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS session_aggregates_update AFTER UPDATE OF
+                            session_id, credit_hundredths, grade_points_hundredths ON courses BEGIN
+                        UPDATE session_aggregates SET
+                            weighted_ten_thousandths = weighted_ten_thousandths - old.credit_hundredths * old.grade_points_hundredths,
+                            credit_hundredths = credit_hundredths - old.credit_hundredths,
+                            course_count = course_count - 1
+                        WHERE session_id = old.session_id;
+                        INSERT INTO session_aggregates (session_id, weighted_ten_thousandths, credit_hundredths, course_count)
+                        SELECT new.session_id, new.credit_hundredths * new.grade_points_hundredths, new.credit_hundredths, 1
+                        WHERE new.session_id IS NOT NULL
+                        ON CONFLICT(session_id) DO UPDATE SET
+                            weighted_ten_thousandths = weighted_ten_thousandths + excluded.weighted_ten_thousandths,
+                            credit_hundredths = credit_hundredths + excluded.credit_hundredths,
+                            course_count = course_count + 1;
+                    END
+                """);
+                // Backfill from any rows that were already linked
+                stmt.execute("DELETE FROM session_aggregates");
+                stmt.execute("""
+                    INSERT INTO session_aggregates (session_id, weighted_ten_thousandths, credit_hundredths, course_count)
+                    SELECT session_id, SUM(credit_hundredths * grade_points_hundredths), SUM(credit_hundredths), COUNT(*)
+                    FROM courses WHERE session_id IS NOT NULL GROUP BY session_id
+                """);
+            }
+            case 8 -> {
+                // Repeat calculations of the same courses share one history row (order-independent content hash)
+                if (!hasColumn(stmt, "calculations", "content_hash")) {
+                    stmt.execute("ALTER TABLE calculations ADD COLUMN content_hash TEXT");
+                }
+                if (!hasColumn(stmt, "calculations", "hit_count")) {
+                    stmt.execute("ALTER TABLE calculations ADD COLUMN hit_count INTEGER NOT NULL DEFAULT 1");
+                }
+                if (!hasColumn(stmt, "calculations", "last_seen")) {
+                    stmt.execute("ALTER TABLE calculations ADD COLUMN last_seen TIMESTAMP");
+                }
+                coalesceCalculationHistory();
+                stmt.execute("UPDATE calculations SET last_seen = calculation_date WHERE last_seen IS NULL");
+                stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_calculations_content ON calculations(content_hash)");
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_calculations_last_seen ON calculations(last_seen, id)");
+            }
+            case 9 -> {
+                // Deleting a calculation drops its snapshot once nothing references it; the index
+                // keeps that check a lookup, and snapshots orphaned by earlier deletes go now
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_calculations_snapshot ON calculations(snapshot_hash)");
+                stmt.execute("""
+                    DELETE FROM course_snapshots WHERE hash NOT IN
+                        (SELECT snapshot_hash FROM calculations WHERE snapshot_hash IS NOT NULL)
+                """);
+            }
+            case 10 -> {
+                // Scale the stored grade points were scored under (single row, see GradeScale.fingerprint).
+                // Points stored so far came from the original 4.0 table, whose fingerprint is frozen here.
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS grade_scale_state (
+                        id INTEGER PRIMARY KEY CHECK (id = 1),
+                        name TEXT NOT NULL,
+                        fingerprint TEXT NOT NULL
+                    )
+                """);
+                stmt.execute("""
+                    INSERT OR IGNORE INTO grade_scale_state (id, name, fingerprint)
+                    VALUES (1, '4.0', '760b35bd31c43b3038744bf9ad48e07dc0b9d0325a998bba4ad36c542bbb75b2')
+                """);
+            }
+            default -> throw new SQLException("Unknown schema version " + version);
+        }
+    }
+    
+    private static boolean hasColumn(Statement stmt, String table, String column) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Move inline courses_json from older calculation rows into the snapshot store.
+     * Runs inside the schema migration transaction.
+     */
+    private void migrateCalculationSnapshots() throws SQLException {
+        String selectSql = "SELECT id, courses_json FROM calculations WHERE snapshot_hash IS NULL";
+        String updateSql = "UPDATE calculations SET snapshot_hash = ?, courses_json = '' WHERE id = ?";
         
-        String createSessionsTable = """
-            CREATE TABLE IF NOT EXISTS sessions (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                session_name TEXT NOT NULL,
-                semester TEXT,
-                year INTEGER,
-                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-            )
+        int migrated = 0;
+        try (Statement select = con.createStatement();
+             ResultSet rs = select.executeQuery(selectSql);
+             PreparedStatement update = con.prepareStatement(updateSql)) {
+            while (rs.next()) {
+                // Raw JSON tree, not Course: a released step must not change with the live model.
+                // Re-encoded compactly so equal lists hash equally regardless of old formatting.
+                String json = rs.getString(2);
+                if (json == null || json.isBlank()) {
+                    continue;
+                }
+                JsonElement courses;
+                try {
+                    courses = JsonParser.parseString(json);
+                } catch (JsonParseException e) {
+                    logger.warning("Skipping calculation " + rs.getInt(1) + " with malformed courses: " + e.toString());
+                    continue;
+                }
+                if (!courses.isJsonArray()) {
+                    logger.warning("Skipping calculation " + rs.getInt(1) + " whose courses are not a list");
+                    continue;
+                }
+                String hash = storeSnapshot(courses.toString());
+                update.setString(1, hash);
+                update.setInt(2, rs.getInt(1));
+                update.addBatch();
+                migrated++;
+            }
+            update.executeBatch();
+        }
+        if (migrated > 0) {
+            logger.info("Migrated " + migrated + " calculations to the snapshot store");
+        }
+    }
+    
+    /**
+     * Hash every existing calculation's course list and fold duplicates into their newest row
+     * (hit_count = number of rows folded, last_seen = newest date). Rows whose course list
+     * cannot be decoded keep a NULL hash and stay as they are. Runs inside the schema migration
+     * transaction.
+     */
+    private void coalesceCalculationHistory() throws SQLException {
+        String selectSql = """
+            SELECT c.id, c.courses_json, s.data, c.calculation_date
+            FROM calculations c LEFT JOIN course_snapshots s ON s.hash = c.snapshot_hash
+            WHERE c.content_hash IS NULL
+            ORDER BY c.calculation_date, c.id
         """;
         
+        // content hash -> {kept id, hit count}, with the newest row winning
+        Map<String, int[]> kept = new HashMap<>();
+        Map<String, String> lastSeen = new HashMap<>();
+        List<Integer> folded = new ArrayList<>();
+        try (Statement select = con.createStatement();
+             ResultSet rs = select.executeQuery(selectSql)) {
+            while (rs.next()) {
+                String json;
+                try {
+                    byte[] snapshot = rs.getBytes(3);
+                    json = snapshot != null ? new String(inflate(snapshot), StandardCharsets.UTF_8) : rs.getString(2);
+                } catch (DataFormatException e) {
+                    logger.warning("Skipping calculation " + rs.getInt(1) + " with unreadable courses: " + e.toString());
+                    continue;
+                }
+                if (json == null || json.isBlank()) {
+                    continue;
+                }
+                String hash;
+                try {
+                    hash = legacyContentHash(JsonParser.parseString(json));
+                } catch (JsonParseException | ArithmeticException | NumberFormatException
+                         | IllegalStateException | UnsupportedOperationException e) {
+                    logger.warning("Skipping calculation " + rs.getInt(1) + " with malformed courses: " + e.toString());
+                    continue;
+                }
+                int[] previous = kept.get(hash);
+                if (previous != null) {
+                    folded.add(previous[0]);
+                }
+                kept.put(hash, new int[] {rs.getInt(1), previous != null ? previous[1] + 1 : 1});
+                lastSeen.put(hash, rs.getString(4));
+            }
+        }
+        
+        try (PreparedStatement delete = con.prepareStatement("DELETE FROM calculations WHERE id = ?");
+             PreparedStatement update = con.prepareStatement(
+                 "UPDATE calculations SET content_hash = ?, hit_count = ?, last_seen = ? WHERE id = ?")) {
+            for (int id : folded) {
+                delete.setInt(1, id);
+                delete.addBatch();
+            }
+            delete.executeBatch();
+            for (Map.Entry<String, int[]> entry : kept.entrySet()) {
+                update.setString(1, entry.getKey());
+                update.setInt(2, entry.getValue()[1]);
+                update.setString(3, lastSeen.get(entry.getKey()));
+                update.setInt(4, entry.getValue()[0]);
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+        if (!folded.isEmpty()) {
+            logger.info("Coalesced " + folded.size() + " repeated calculations into " + kept.size() + " history rows");
+        }
+    }
+    
+    /**
+     * Content hash of a stored course list in GpaResultCache.contentHash's line format, read
+     * straight from the JSON objects so version 8 never depends on the live Course mapping or
+     * the active grade scale. Points come from the stored gradePoints, or the original 4.0
+     * table when a row predates that field being written.
+     */
+    private static String legacyContentHash(JsonElement courses) {
+        JsonArray array = courses.getAsJsonArray();
+        String[] lines = new String[array.size()];
+        for (int i = 0; i < lines.length; i++) {
+            JsonObject course = array.get(i).getAsJsonObject();
+            String grade = legacyString(course, "grade");
+            JsonElement points = course.get("gradePoints");
+            long pointsHundredths = points == null || points.isJsonNull()
+                ? LEGACY_GRADE_POINTS_HUNDREDTHS.getOrDefault(grade, 0L)
+                : legacyHundredths(points);
+            lines[i] = legacyString(course, "courseName") + '\0' + legacyString(course, "courseCode") + '\0'
+                     + legacyHundredths(course.get("courseCredit")) + '\0' + legacyString(course, "teacher1Name")
+                     + '\0' + legacyString(course, "teacher2Name") + '\0' + grade + '\0' + pointsHundredths;
+        }
+        Arrays.sort(lines);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static String legacyString(JsonObject course, String field) {
+        JsonElement value = course.get(field);
+        return value == null || value.isJsonNull() ? "" : value.getAsString();
+    }
+    
+    private static long legacyHundredths(JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            return 0;
+        }
+        return new BigDecimal(value.getAsString()).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+    
+    /**
+     * Rebuild the full-text search index from the courses table
+     */
+    public synchronized boolean rebuildSearchIndex() {
+        getConnection();
         try (Statement stmt = con.createStatement()) {
-            stmt.execute(createCoursesTable);
-            stmt.execute(createCalculationsTable);
-            stmt.execute(createSessionsTable);
-            logger.info("Database tables created/verified successfully");
+            stmt.execute("INSERT INTO courses_fts(courses_fts) VALUES ('rebuild')");
+            logger.info("Course search index rebuilt");
+            return true;
         } catch (SQLException e) {
-            logger.severe("Error creating tables: " + e.toString());
+            logger.severe("Error rebuilding search index: " + e.toString());
         }
+        return false;
     }
     
     // ==================== CREATE Operations ====================
@@ -113,15 +735,17 @@ public class db {
     /**
      * Insert a single course into database
      */
-    public boolean insertCourse(Course course) {
+    public synchronized boolean insertCourse(Course course) {
         getConnection();
         String sql = """
             INSERT INTO courses (course_name, course_code, course_credit, 
-                                teacher1_name, teacher2_name, grade, grade_points)
-            VALUES (?, ?, ?, ?, ?, ?, ?)
+                                teacher1_name, teacher2_name, grade, grade_points,
+                                credit_hundredths, grade_points_hundredths, session_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
         """;
         
-        try (PreparedStatement pstmt = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try {
+            PreparedStatement pstmt = prepare(con, sql);
             pstmt.setString(1, course.getCourseName());
             pstmt.setString(2, course.getCourseCode());
             pstmt.setDouble(3, course.getCourseCredit());
@@ -129,12 +753,20 @@ public class db {
             pstmt.setString(5, course.getTeacher2Name());
             pstmt.setString(6, course.getGrade());
             pstmt.setDouble(7, course.getGradePoints());
+            pstmt.setLong(8, course.getCreditHundredths());
+            pstmt.setLong(9, course.getGradePointsHundredths());
+            setSessionId(pstmt, 10, course.getSessionId());
             
             int affectedRows = pstmt.executeUpdate();
             
             if (affectedRows > 0) {
-                // Update observable list
-                observableCourses.add(course);
+                course.setId(lastInsertId());
+                
+                // Update observable list (only once it has been loaded)
+                if (coursesLoaded) {
+                    courseIndex.put(course.getId(), course);
+                    onListThread(() -> listAdd(List.of(course)));
+                }
                 logger.info("Course inserted successfully: " + course.getCourseName());
                 return true;
             }
@@ -145,51 +777,299 @@ public class db {
     }
     
     /**
-     * Insert multiple courses at once
+     * Insert multiple courses at once using the default batch size
      */
     public boolean insertCourses(List<Course> courses) {
-        boolean allSuccess = true;
-        for (Course course : courses) {
-            if (!insertCourse(course)) {
-                allSuccess = false;
+        return insertCourses(courses, DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * Insert multiple courses in a single transaction.
+     * One prepared statement is reused and rows are sent to SQLite in
+     * chunks of batchSize; on any failure the whole import is rolled back.
+     */
+    public boolean insertCourses(List<Course> courses, int batchSize) {
+        return insertCourses(courses, batchSize, -1, true);
+    }
+    
+    /**
+     * Group-commit entry point for WriteBehindQueue: inserts the courses and records
+     * the last journal sequence number they cover in the same transaction
+     */
+    boolean insertJournaledCourses(List<Course> courses, long journalSeq) {
+        return insertCourses(courses, DEFAULT_BATCH_SIZE, journalSeq, true);
+    }
+    
+    private synchronized boolean insertCourses(List<Course> courses, int batchSize, long journalSeq,
+                                               boolean logTiming) {
+        if ((courses == null || courses.isEmpty()) && journalSeq < 0) {
+            return true;
+        }
+        if (courses == null) {
+            courses = List.of();
+        }
+        if (batchSize <= 0) {
+            batchSize = DEFAULT_BATCH_SIZE;
+        }
+        getConnection();
+        String sql = """
+            INSERT INTO courses (course_name, course_code, course_credit, 
+                                teacher1_name, teacher2_name, grade, grade_points,
+                                credit_hundredths, grade_points_hundredths, session_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+        
+        long start = System.nanoTime();
+        boolean previousAutoCommit = true;
+        try {
+            previousAutoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            
+            PreparedStatement pstmt = prepare(con, sql);
+            int pending = 0;
+            for (Course course : courses) {
+                pstmt.setString(1, course.getCourseName());
+                pstmt.setString(2, course.getCourseCode());
+                pstmt.setDouble(3, course.getCourseCredit());
+                pstmt.setString(4, course.getTeacher1Name());
+                pstmt.setString(5, course.getTeacher2Name());
+                pstmt.setString(6, course.getGrade());
+                pstmt.setDouble(7, course.getGradePoints());
+                pstmt.setLong(8, course.getCreditHundredths());
+                pstmt.setLong(9, course.getGradePointsHundredths());
+                setSessionId(pstmt, 10, course.getSessionId());
+                pstmt.addBatch();
+                
+                if (++pending == batchSize) {
+                    pstmt.executeBatch();
+                    pending = 0;
+                }
             }
+            if (pending > 0) {
+                pstmt.executeBatch();
+            }
+            
+            // Single writer inside one transaction, so AUTOINCREMENT keys are consecutive
+            int id = lastInsertId() - courses.size() + 1;
+            if (journalSeq >= 0) {
+                PreparedStatement mark = prepare(con,
+                    "INSERT OR REPLACE INTO write_behind_state (id, last_seq) VALUES (1, ?)");
+                mark.setLong(1, journalSeq);
+                mark.executeUpdate();
+            }
+            con.commit();
+            
+            // Update observable list once for the whole import
+            for (Course course : courses) {
+                course.setId(id++);
+            }
+            if (coursesLoaded) {
+                for (Course course : courses) {
+                    courseIndex.put(course.getId(), course);
+                }
+                List<Course> inserted = courses;
+                onListThread(() -> listAdd(inserted));
+            }
+            
+            if (logTiming) {
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+                logger.info(String.format("Batch inserted %d courses in %.3fs (%.0f rows/sec)",
+                    courses.size(), seconds, courses.size() / Math.max(seconds, 1e-9)));
+            }
+            return true;
+        } catch (SQLException e) {
+            logger.severe("Error batch inserting courses: " + e.toString());
+            try {
+                con.rollback();
+            } catch (SQLException rollbackError) {
+                logger.severe("Error rolling back batch insert: " + rollbackError.toString());
+            }
+        } finally {
+            try {
+                con.setAutoCommit(previousAutoCommit);
+            } catch (SQLException e) {
+                logger.severe("Error restoring auto-commit: " + e.toString());
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Bind a session id, storing 0 (no session) as NULL
+     */
+    private static void setSessionId(PreparedStatement pstmt, int index, int sessionId) throws SQLException {
+        if (sessionId > 0) {
+            pstmt.setInt(index, sessionId);
+        } else {
+            pstmt.setNull(index, Types.INTEGER);
+        }
+    }
+    
+    /**
+     * Last write-behind journal sequence number committed to the database, or 0
+     */
+    synchronized long getWriteBehindSeq() {
+        getConnection();
+        try (ResultSet rs = prepare(con, "SELECT last_seq FROM write_behind_state WHERE id = 1").executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            logger.severe("Error reading write-behind state: " + e.toString());
+        }
+        return 0;
+    }
+    
+    /**
+     * Key generated by the last INSERT on the writer connection
+     */
+    private int lastInsertId() throws SQLException {
+        try (ResultSet rs = prepare(con, "SELECT last_insert_rowid()").executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
         }
-        return allSuccess;
     }
     
     /**
-     * Save GPA calculation with JSON data
+     * Save GPA calculation; the course list goes to the content-addressed snapshot store
+     */
+    public synchronized boolean insertCalculation(double gpa, double totalCredits, List<Course> courses) {
+        return insertCalculation(gpa, totalCredits, courses, GpaResultCache.contentHash(courses));
+    }
+    
+    /**
+     * Save GPA calculation under a precomputed {@link GpaResultCache#contentHash}. A repeat of
+     * an existing calculation only bumps that row's hit_count and last_seen (no new row, no
+     * snapshot write, and it is not counted again in the calculation statistics).
      */
-    public boolean insertCalculation(double gpa, double totalCredits, List<Course> courses) {
+    public synchronized boolean insertCalculation(double gpa, double totalCredits, List<Course> courses,
+                                                  String contentHash) {
         getConnection();
+        String touchSql = """
+            UPDATE calculations SET hit_count = hit_count + 1, last_seen = CURRENT_TIMESTAMP
+            WHERE content_hash = ?
+        """;
         String sql = """
-            INSERT INTO calculations (gpa, total_credits, total_courses, courses_json)
-            VALUES (?, ?, ?, ?)
+            INSERT INTO calculations (gpa, total_credits, total_courses, courses_json, snapshot_hash,
+                                      content_hash, last_seen)
+            VALUES (?, ?, ?, '', ?, ?, CURRENT_TIMESTAMP)
         """;
         
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
+        boolean previousAutoCommit = true;
+        try {
+            previousAutoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            
+            PreparedStatement touch = prepare(con, touchSql);
+            touch.setString(1, contentHash);
+            if (touch.executeUpdate() > 0) {
+                con.commit();
+                logger.info("Repeat calculation recorded");
+                return true;
+            }
+            
+            String hash = storeSnapshot(compactGson.toJson(courses));
+            PreparedStatement pstmt = prepare(con, sql);
             pstmt.setDouble(1, gpa);
             pstmt.setDouble(2, totalCredits);
             pstmt.setInt(3, courses.size());
-            pstmt.setString(4, gson.toJson(courses));
+            pstmt.setString(4, hash);
+            pstmt.setString(5, contentHash);
             
             int affectedRows = pstmt.executeUpdate();
+            con.commit();
             if (affectedRows > 0) {
+                GpaStatistics stats = calculationStats;
+                if (stats != null) {
+                    stats.add(gpa);
+                }
                 logger.info("Calculation saved successfully");
                 return true;
             }
         } catch (SQLException e) {
             logger.severe("Error saving calculation: " + e.toString());
+            try {
+                con.rollback();
+            } catch (SQLException rollbackError) {
+                logger.severe("Error rolling back calculation: " + rollbackError.toString());
+            }
+        } finally {
+            try {
+                con.setAutoCommit(previousAutoCommit);
+            } catch (SQLException e) {
+                logger.severe("Error restoring auto-commit: " + e.toString());
+            }
         }
         return false;
     }
     
+    /**
+     * Store a compact course-list JSON once, keyed by its SHA-256, and return the key.
+     * Identical lists are deduplicated by INSERT OR IGNORE on the primary key.
+     */
+    private String storeSnapshot(String compactJson) throws SQLException {
+        byte[] raw = compactJson.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256Hex(raw);
+        PreparedStatement pstmt = prepare(con, "INSERT OR IGNORE INTO course_snapshots (hash, data) VALUES (?, ?)");
+        pstmt.setString(1, hash);
+        pstmt.setBytes(2, deflate(raw));
+        pstmt.executeUpdate();
+        return hash;
+    }
+    
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static byte[] inflate(byte[] data) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated course snapshot");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+    
     // ==================== READ Operations ====================
     
     /**
      * Get all courses as ObservableList (for TableView binding)
      */
     public ObservableList<Course> getObservableCourses() {
+        if (!coursesLoaded) {
+            synchronized (this) {
+                if (!coursesLoaded) {
+                    loadCoursesFromDB();
+                }
+            }
+        }
         return observableCourses;
     }
     
@@ -198,26 +1078,21 @@ public class db {
      */
     public List<Course> getAllCourses() {
         List<Course> courses = new ArrayList<>();
-        getConnection();
-        String sql = "SELECT * FROM courses ORDER BY created_at DESC";
+        String sql = "SELECT " + COURSE_COLUMNS + " FROM courses ORDER BY created_at DESC, id DESC";
         
-        try (Statement stmt = con.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                Course course = new Course(
-                    rs.getString("course_name"),
-                    rs.getString("course_code"),
-                    rs.getDouble("course_credit"),
-                    rs.getString("teacher1_name"),
-                    rs.getString("teacher2_name"),
-                    rs.getString("grade")
-                );
-                courses.add(course);
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            try (ResultSet rs = prepare(reader, sql).executeQuery()) {
+                while (rs.next()) {
+                    courses.add(mapCourse(rs));
+                }
             }
             logger.info("Fetched " + courses.size() + " courses from database");
         } catch (SQLException e) {
             logger.severe("Error fetching courses: " + e.toString());
+        } finally {
+            releaseReader(reader);
         }
         return courses;
     }
@@ -225,125 +1100,443 @@ public class db {
     /**
      * Load courses into observable list
      */
-    private void loadCoursesFromDB() {
-        observableCourses.clear();
-        observableCourses.addAll(getAllCourses());
+    private synchronized void loadCoursesFromDB() {
+        List<Course> courses = getAllCourses();
+        courseIndex.clear();
+        listPositions.clear();
+        for (int i = 0; i < courses.size(); i++) {
+            courseIndex.put(courses.get(i).getId(), courses.get(i));
+            listPositions.put(courses.get(i).getId(), i);
+        }
+        // Filled synchronously so the first caller sees the rows; later changes go through onListThread
+        observableCourses.setAll(courses);
+        coursesLoaded = true;
     }
     
     /**
      * Get course by ID
      */
     public Course getCourseById(int id) {
-        getConnection();
-        String sql = "SELECT * FROM courses WHERE id = ?";
+        Course cached = courseIndex.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        String sql = "SELECT " + COURSE_COLUMNS + " FROM courses WHERE id = ?";
         
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            PreparedStatement pstmt = prepare(reader, sql);
             pstmt.setInt(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                Course course = new Course(
-                    rs.getString("course_name"),
-                    rs.getString("course_code"),
-                    rs.getDouble("course_credit"),
-                    rs.getString("teacher1_name"),
-                    rs.getString("teacher2_name"),
-                    rs.getString("grade")
-                );
-                return course;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapCourse(rs);
+                }
             }
         } catch (SQLException e) {
             logger.severe("Error fetching course by ID: " + e.toString());
+        } finally {
+            releaseReader(reader);
         }
         return null;
     }
     
     /**
-     * Search courses by name or code
+     * Search courses by name, code or teacher (best matches first)
      */
     public List<Course> searchCourses(String query) {
+        return searchCourses(query, DEFAULT_SEARCH_LIMIT);
+    }
+    
+    /**
+     * Full-text search over name, code and both teacher columns.
+     * Every word in the query must match the start of a token in any of those columns;
+     * results are ranked by bm25 and capped at limit. A blank query returns the newest courses.
+     */
+    public List<Course> searchCourses(String query, int limit) {
+        String matchExpression = toMatchExpression(query);
+        if (matchExpression.isEmpty()) {
+            return getCoursesPage(null, limit).getCourses();
+        }
+        
         List<Course> courses = new ArrayList<>();
-        getConnection();
-        String sql = "SELECT * FROM courses WHERE course_name LIKE ? OR course_code LIKE ? ORDER BY created_at DESC";
+        // Every match is ranked; FTS5 keeps only the best limit rows while scanning, and only
+        // those are joined back to courses
+        String sql = "SELECT c.id, c.course_name, c.course_code, c.credit_hundredths, c.teacher1_name, "
+                   + "c.teacher2_name, c.grade, c.created_at, c.session_id "
+                   + "FROM (SELECT rowid, rank FROM courses_fts WHERE courses_fts MATCH ? "
+                   + "      ORDER BY rank LIMIT ?) f "
+                   + "JOIN courses c ON c.id = f.rowid ORDER BY f.rank, c.id DESC";
         
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
-            String searchPattern = "%" + query + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                Course course = new Course(
-                    rs.getString("course_name"),
-                    rs.getString("course_code"),
-                    rs.getDouble("course_credit"),
-                    rs.getString("teacher1_name"),
-                    rs.getString("teacher2_name"),
-                    rs.getString("grade")
-                );
-                courses.add(course);
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            PreparedStatement pstmt = prepare(reader, sql);
+            pstmt.setString(1, matchExpression);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    courses.add(mapCourse(rs));
+                }
             }
         } catch (SQLException e) {
             logger.severe("Error searching courses: " + e.toString());
+        } finally {
+            releaseReader(reader);
         }
         return courses;
     }
     
     /**
-     * Get calculation history
+     * Turn free text into an FTS5 query: each word becomes a quoted prefix term, all ANDed
      */
-    public List<CalculationRecord> getCalculationHistory(int limit) {
-        List<CalculationRecord> history = new ArrayList<>();
-        getConnection();
-        String sql = "SELECT * FROM calculations ORDER BY calculation_date DESC LIMIT ?";
-        
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
-            pstmt.setInt(1, limit);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                CalculationRecord record = new CalculationRecord(
-                    rs.getInt("id"),
-                    rs.getDouble("gpa"),
-                    rs.getDouble("total_credits"),
-                    rs.getInt("total_courses"),
-                    rs.getString("calculation_date")
-                );
-                history.add(record);
+    private static String toMatchExpression(String query) {
+        if (query == null) {
+            return "";
+        }
+        StringBuilder match = new StringBuilder();
+        for (String token : query.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append('"').append(token).append("\"*");
             }
-            logger.info("Fetched " + history.size() + " calculation records");
-        } catch (SQLException e) {
-            logger.severe("Error fetching calculation history: " + e.toString());
         }
-        return history;
+        return match.toString();
     }
     
     /**
-     * Get courses from a calculation as JSON
+     * Build a Course from the current row of a "SELECT COURSE_COLUMNS" result set
      */
-    public String getCalculationCoursesJSON(int calculationId) {
-        getConnection();
-        String sql = "SELECT courses_json FROM calculations WHERE id = ?";
+    private Course mapCourse(ResultSet rs) throws SQLException {
+        Course course = Course.withCreditHundredths(
+            rs.getString(2),
+            rs.getString(3),
+            rs.getLong(4),
+            rs.getString(5),
+            rs.getString(6),
+            rs.getString(7)
+        );
+        course.setId(rs.getInt(1));
+        course.setSessionId(rs.getInt(9));
+        return course;
+    }
+    
+    /**
+     * Visit every stored course (newest first) without materializing the table.
+     * Only one row is held in memory at a time besides the driver's fetch buffer.
+     */
+    public void forEachCourse(int fetchSize, Consumer<Course> action) {
+        String sql = "SELECT " + COURSE_COLUMNS + " FROM courses ORDER BY created_at DESC, id DESC";
         
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
-            pstmt.setInt(1, calculationId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                return rs.getString("courses_json");
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            PreparedStatement pstmt = prepare(reader, sql);
+            pstmt.setFetchSize(fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(mapCourse(rs));
+                }
             }
         } catch (SQLException e) {
-            logger.severe("Error fetching courses JSON: " + e.toString());
+            logger.severe("Error streaming courses: " + e.toString());
+        } finally {
+            releaseReader(reader);
+        }
+    }
+    
+    /**
+     * Lazily stream every stored course (newest first).
+     * The stream has its own read-only connection, so a slow consumer never holds one of the
+     * pooled readers; it is closed with the stream, so use try-with-resources.
+     */
+    public Stream<Course> streamCourses(int fetchSize) {
+        String sql = "SELECT " + COURSE_COLUMNS + " FROM courses ORDER BY created_at DESC, id DESC";
+        
+        Connection reader = null;
+        try {
+            reader = openReadOnly();
+            PreparedStatement pstmt = reader.prepareStatement(sql);
+            pstmt.setFetchSize(fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE);
+            ResultSet rs = pstmt.executeQuery();
+            Connection dedicated = reader;
+            
+            Spliterator<Course> rows = new Spliterators.AbstractSpliterator<>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Course> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapCourse(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Error streaming courses", e);
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                try {
+                    // Closing the connection also closes its statement and result set
+                    dedicated.close();
+                } catch (SQLException e) {
+                    logger.warning("Error closing course stream: " + e.toString());
+                }
+            });
+        } catch (SQLException e) {
+            logger.severe("Error streaming courses: " + e.toString());
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (SQLException closeError) {
+                    logger.warning("Error closing course stream: " + closeError.toString());
+                }
+            }
+            return Stream.empty();
+        }
+    }
+    
+    /**
+     * Load every stored course into a columnar CourseBatch (rowid order) for bulk GPA computation.
+     * Without text only id, credit and grade are read, which skips decoding the string columns.
+     */
+    public CourseBatch loadCourseBatch(boolean withText) {
+        String sql = withText
+            ? "SELECT id, credit_hundredths, grade, course_name, course_code, teacher1_name, teacher2_name FROM courses"
+            : "SELECT id, credit_hundredths, grade FROM courses";
+        
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            int capacity = 0;
+            try (ResultSet rs = prepare(reader, "SELECT COUNT(*) FROM courses").executeQuery()) {
+                if (rs.next()) {
+                    capacity = rs.getInt(1);
+                }
+            }
+            
+            CourseBatch batch = new CourseBatch(capacity, withText);
+            PreparedStatement pstmt = prepare(reader, sql);
+            pstmt.setFetchSize(DEFAULT_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (withText) {
+                    while (rs.next()) {
+                        batch.add(rs.getInt(1), rs.getString(4), rs.getString(5), rs.getLong(2),
+                                  rs.getString(6), rs.getString(7), rs.getString(3));
+                    }
+                } else {
+                    GradeScale scale = batch.getScale();
+                    while (rs.next()) {
+                        batch.add(rs.getInt(1), rs.getLong(2), scale.code(rs.getString(3)));
+                    }
+                }
+            }
+            return batch;
+        } catch (SQLException e) {
+            logger.severe("Error loading course batch: " + e.toString());
+            return new CourseBatch(withText);
+        } finally {
+            releaseReader(reader);
+        }
+    }
+    
+    /**
+     * Stream the stored courses into a CohortBatch under one student id, one term per session
+     * (named by session_name). Courses without a session land in a single unnamed term.
+     */
+    public CohortBatch loadCohortBatch(String studentId) {
+        CohortBatch batch = new CohortBatch();
+        GradeScale scale = batch.getScale();
+        
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            PreparedStatement pstmt = prepare(reader,
+                "SELECT c.credit_hundredths, c.grade, COALESCE(s.session_name, '') "
+              + "FROM courses c LEFT JOIN sessions s ON s.id = c.session_id");
+            pstmt.setFetchSize(DEFAULT_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    batch.add(studentId, rs.getString(3), rs.getLong(1), scale.code(rs.getString(2)));
+                }
+            }
+        } catch (SQLException e) {
+            logger.severe("Error loading cohort batch: " + e.toString());
+        } finally {
+            releaseReader(reader);
+        }
+        return batch;
+    }
+    
+    /**
+     * Fetch one page of courses (newest first) using keyset pagination on (created_at, id).
+     * Pass null for after to get the first page, then the previous page itself for the next one.
+     * Each page costs O(pageSize) via idx_courses_created_at regardless of how deep it is.
+     */
+    public CoursePage getCoursesPage(CoursePage after, int pageSize) {
+        String firstSql = "SELECT " + COURSE_COLUMNS + " FROM courses "
+                        + "ORDER BY created_at DESC, id DESC LIMIT ?";
+        String nextSql = "SELECT " + COURSE_COLUMNS + " FROM courses WHERE (created_at, id) < (?, ?) "
+                       + "ORDER BY created_at DESC, id DESC LIMIT ?";
+        
+        List<Course> courses = new ArrayList<>(pageSize);
+        String lastCreatedAt = null;
+        int lastId = 0;
+        
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            PreparedStatement pstmt;
+            if (after == null) {
+                pstmt = prepare(reader, firstSql);
+                pstmt.setInt(1, pageSize);
+            } else {
+                pstmt = prepare(reader, nextSql);
+                pstmt.setString(1, after.getLastCreatedAt());
+                pstmt.setInt(2, after.getLastId());
+                pstmt.setInt(3, pageSize);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Course course = mapCourse(rs);
+                    courses.add(course);
+                    lastId = course.getId();
+                    lastCreatedAt = rs.getString(8);
+                }
+            }
+        } catch (SQLException e) {
+            logger.severe("Error fetching course page: " + e.toString());
+        } finally {
+            releaseReader(reader);
+        }
+        return new CoursePage(courses, lastCreatedAt, lastId, courses.size() == pageSize);
+    }
+    
+    /**
+     * Get calculation history, most recently seen first (a repeated calculation moves to the top)
+     */
+    public List<CalculationRecord> getCalculationHistory(int limit) {
+        List<CalculationRecord> history = new ArrayList<>();
+        String sql = "SELECT * FROM calculations ORDER BY last_seen DESC, id DESC LIMIT ?";
+        
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            PreparedStatement pstmt = prepare(reader, sql);
+            pstmt.setInt(1, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    history.add(mapCalculation(rs));
+                }
+            }
+            logger.info("Fetched " + history.size() + " calculation records");
+        } catch (SQLException e) {
+            logger.severe("Error fetching calculation history: " + e.toString());
+        } finally {
+            releaseReader(reader);
+        }
+        return history;
+    }
+    
+    /**
+     * One page of calculations in id order, keyset-paginated: pass 0 for the first page, then
+     * the last id of the previous page. Each page costs O(limit) on the primary key however
+     * deep it is. Returns null if the page could not be read.
+     */
+    public List<CalculationRecord> getCalculationsAfter(int afterId, int limit) {
+        String sql = "SELECT * FROM calculations WHERE id > ? ORDER BY id LIMIT ?";
+        
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            PreparedStatement pstmt = prepare(reader, sql);
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, limit);
+            List<CalculationRecord> page = new ArrayList<>(limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(mapCalculation(rs));
+                }
+            }
+            return page;
+        } catch (SQLException e) {
+            logger.severe("Error fetching calculation page: " + e.toString());
+            return null;
+        } finally {
+            releaseReader(reader);
+        }
+    }
+    
+    private static CalculationRecord mapCalculation(ResultSet rs) throws SQLException {
+        return new CalculationRecord(
+            rs.getInt("id"),
+            rs.getDouble("gpa"),
+            rs.getDouble("total_credits"),
+            rs.getInt("total_courses"),
+            rs.getString("calculation_date"),
+            rs.getInt("hit_count"),
+            rs.getString("last_seen")
+        );
+    }
+    
+    /**
+     * Get courses from a calculation as (compact) JSON, decoding the snapshot on demand
+     */
+    public String getCalculationCoursesJSON(int calculationId) {
+        String sql = """
+            SELECT c.courses_json, s.data
+            FROM calculations c LEFT JOIN course_snapshots s ON s.hash = c.snapshot_hash
+            WHERE c.id = ?
+        """;
+        
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            PreparedStatement pstmt = prepare(reader, sql);
+            pstmt.setInt(1, calculationId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    byte[] snapshot = rs.getBytes(2);
+                    return snapshot != null
+                        ? new String(inflate(snapshot), StandardCharsets.UTF_8)
+                        : rs.getString(1);
+                }
+            }
+        } catch (SQLException | DataFormatException e) {
+            logger.severe("Error fetching courses JSON: " + e.toString());
+        } finally {
+            releaseReader(reader);
+        }
+        return null;
+    }
+    
+    /**
+     * Courses stored with a calculation, or null if there is no such calculation or they
+     * cannot be read
+     */
+    public List<Course> getCalculationCourses(int calculationId) {
+        String json = getCalculationCoursesJSON(calculationId);
+        if (json == null) {
+            return null;
+        }
+        try {
+            Course[] courses = compactGson.fromJson(json.isEmpty() ? "[]" : json, Course[].class);
+            return courses == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(courses));
+        } catch (JsonParseException e) {
+            logger.severe("Error parsing calculation courses: " + e.toString());
+            return null;
         }
-        return null;
     }
     
     // ==================== UPDATE Operations ====================
     
     /**
-     * Update a course
+     * Update a course (a session id of 0 keeps the course's current session)
      */
-    public boolean updateCourse(int id, Course updatedCourse) {
+    public synchronized boolean updateCourse(int id, Course updatedCourse) {
         getConnection();
         String sql = """
             UPDATE courses SET 
@@ -353,11 +1546,15 @@ public class db {
                 teacher1_name = ?, 
                 teacher2_name = ?, 
                 grade = ?, 
-                grade_points = ?
+                grade_points = ?,
+                credit_hundredths = ?,
+                grade_points_hundredths = ?,
+                session_id = COALESCE(?, session_id)
             WHERE id = ?
         """;
         
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
+        try {
+            PreparedStatement pstmt = prepare(con, sql);
             pstmt.setString(1, updatedCourse.getCourseName());
             pstmt.setString(2, updatedCourse.getCourseCode());
             pstmt.setDouble(3, updatedCourse.getCourseCredit());
@@ -365,12 +1562,29 @@ public class db {
             pstmt.setString(5, updatedCourse.getTeacher2Name());
             pstmt.setString(6, updatedCourse.getGrade());
             pstmt.setDouble(7, updatedCourse.getGradePoints());
-            pstmt.setInt(8, id);
+            pstmt.setLong(8, updatedCourse.getCreditHundredths());
+            pstmt.setLong(9, updatedCourse.getGradePointsHundredths());
+            setSessionId(pstmt, 10, updatedCourse.getSessionId());
+            pstmt.setInt(11, id);
             
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
-                // Reload observable list
-                loadCoursesFromDB();
+                Course existing = courseIndex.get(id);
+                updatedCourse.setId(id);
+                // Every loaded or inserted row is indexed, so a miss means the list has not been
+                // loaded yet (the load will read this row); it is never appended as a new row
+                if (existing != null) {
+                    existing.setCourseName(updatedCourse.getCourseName());
+                    existing.setCourseCode(updatedCourse.getCourseCode());
+                    existing.setCreditHundredths(updatedCourse.getCreditHundredths());
+                    existing.setTeacher1Name(updatedCourse.getTeacher1Name());
+                    existing.setTeacher2Name(updatedCourse.getTeacher2Name());
+                    existing.setGrade(updatedCourse.getGrade());
+                    if (updatedCourse.getSessionId() > 0) {
+                        existing.setSessionId(updatedCourse.getSessionId());
+                    }
+                    refreshRow(existing);
+                }
                 logger.info("Course updated successfully: " + updatedCourse.getCourseName());
                 return true;
             }
@@ -381,20 +1595,28 @@ public class db {
     }
     
     /**
-     * Update course grade only
+     * Update course grade only; its points come from the active scale
      */
-    public boolean updateCourseGrade(int id, String newGrade, double newGradePoints) {
+    public synchronized boolean updateCourseGrade(int id, String newGrade) {
         getConnection();
-        String sql = "UPDATE courses SET grade = ?, grade_points = ? WHERE id = ?";
+        String sql = "UPDATE courses SET grade = ?, grade_points = ?, grade_points_hundredths = ? WHERE id = ?";
         
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
+        try {
+            GradeScale scale = GradeScale.getActive();
+            long pointsHundredths = scale.pointsHundredths(scale.code(newGrade));
+            PreparedStatement pstmt = prepare(con, sql);
             pstmt.setString(1, newGrade);
-            pstmt.setDouble(2, newGradePoints);
-            pstmt.setInt(3, id);
+            pstmt.setDouble(2, FixedPoint.toDouble(pointsHundredths));
+            pstmt.setLong(3, pointsHundredths);
+            pstmt.setInt(4, id);
             
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
-                loadCoursesFromDB();
+                Course existing = courseIndex.get(id);
+                if (existing != null) {
+                    existing.setGrade(newGrade);
+                    refreshRow(existing);
+                }
                 logger.info("Course grade updated successfully");
                 return true;
             }
@@ -404,22 +1626,174 @@ public class db {
         return false;
     }
     
+    /**
+     * Switch the active grade scale and re-score every stored course under it in one
+     * transaction. The session_aggregates triggers follow the grade_points_hundredths updates,
+     * and cached results are dropped. Grades the new scale does not know score 0.0. The scale
+     * is recorded in grade_scale_state so the next start can tell whether -Dgpa.gradeScale
+     * changed. Calculation history keeps the points it was calculated under.
+     * Returns false (and keeps the current scale) if the update fails.
+     */
+    public synchronized boolean switchGradeScale(GradeScale scale) {
+        if (scale == null) {
+            throw new IllegalArgumentException("Grade scale must not be null");
+        }
+        getConnection();
+        boolean previousAutoCommit = true;
+        try {
+            previousAutoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            
+            // One statement per grade rather than per row; points only change between grades
+            PreparedStatement pstmt = prepare(con,
+                "UPDATE courses SET grade_points = ?, grade_points_hundredths = ? WHERE grade = ? AND grade_points_hundredths <> ?");
+            List<String> grades = scale.getGrades();
+            for (int code = 0; code < grades.size(); code++) {
+                long hundredths = scale.pointsHundredths((byte) code);
+                pstmt.setDouble(1, FixedPoint.toDouble(hundredths));
+                pstmt.setLong(2, hundredths);
+                pstmt.setString(3, grades.get(code));
+                pstmt.setLong(4, hundredths);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            String unknown = "UPDATE courses SET grade_points = 0, grade_points_hundredths = 0"
+                + " WHERE grade_points_hundredths <> 0 AND grade NOT IN ("
+                + String.join(", ", Collections.nCopies(grades.size(), "?")) + ")";
+            try (PreparedStatement unknownGrades = con.prepareStatement(unknown)) {
+                for (int i = 0; i < grades.size(); i++) {
+                    unknownGrades.setString(i + 1, grades.get(i));
+                }
+                unknownGrades.executeUpdate();
+            }
+            PreparedStatement state = prepare(con,
+                "INSERT OR REPLACE INTO grade_scale_state (id, name, fingerprint) VALUES (1, ?, ?)");
+            state.setString(1, scale.getName());
+            state.setString(2, scale.fingerprint());
+            state.executeUpdate();
+            con.commit();
+            
+            GradeScale.setActive(scale);
+            GpaResultCache.getInstance().clear();
+            // Loaded courses re-score lazily against the new scale; redraw them
+            if (coursesLoaded) {
+                onListThread(() -> observableCourses.setAll(new ArrayList<>(observableCourses)));
+            }
+            logger.info("Switched to grade scale " + scale.getName());
+            return true;
+        } catch (SQLException e) {
+            logger.severe("Error switching grade scale: " + e.toString());
+            try {
+                con.rollback();
+            } catch (SQLException rollbackError) {
+                logger.severe("Error rolling back grade scale switch: " + rollbackError.toString());
+            }
+        } finally {
+            try {
+                con.setAutoCommit(previousAutoCommit);
+            } catch (SQLException e) {
+                logger.severe("Error restoring auto-commit: " + e.toString());
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Re-score stored courses at startup if they were scored under a different scale than
+     * the active one, e.g. after -Dgpa.gradeScale changed between runs
+     */
+    private void reconcileGradeScale() {
+        GradeScale active = GradeScale.getActive();
+        String stored = null;
+        try (Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT fingerprint FROM grade_scale_state WHERE id = 1")) {
+            if (rs.next()) {
+                stored = rs.getString(1);
+            }
+        } catch (SQLException e) {
+            logger.severe("Error reading grade scale state: " + e.toString());
+            return;
+        }
+        if (!active.fingerprint().equals(stored)) {
+            logger.info("Stored grade points were not scored under " + active.getName() + "; re-scoring");
+            switchGradeScale(active);
+        }
+    }
+    
+    /**
+     * Fire a single-row replace event so bound tables redraw only that row
+     */
+    private void refreshRow(Course course) {
+        onListThread(() -> {
+            Integer index = listPositions.get(course.getId());
+            if (index != null) {
+                observableCourses.set(index, course);
+            }
+        });
+    }
+    
+    /**
+     * Put newly inserted rows at the top of observableCourses, keeping the list in
+     * getAllCourses order (newest first), and shift the other rows' positions (list thread only)
+     */
+    private void listAdd(List<Course> courses) {
+        List<Course> newestFirst = new ArrayList<>(courses);
+        Collections.reverse(newestFirst);
+        int added = newestFirst.size();
+        for (Map.Entry<Integer, Integer> entry : listPositions.entrySet()) {
+            entry.setValue(entry.getValue() + added);
+        }
+        for (int i = 0; i < added; i++) {
+            listPositions.put(newestFirst.get(i).getId(), i);
+        }
+        observableCourses.addAll(0, newestFirst);
+    }
+    
+    /**
+     * Remove a row and shift the positions of the rows after it up by one (list thread only)
+     */
+    private void listRemove(int id) {
+        Integer index = listPositions.remove(id);
+        if (index == null) {
+            return;
+        }
+        observableCourses.remove((int) index);
+        for (int i = index; i < observableCourses.size(); i++) {
+            listPositions.put(observableCourses.get(i).getId(), i);
+        }
+    }
+    
+    /**
+     * Apply an observableCourses change on the JavaFX thread, since the list may be bound to UI.
+     * Mutations may run on the async writer thread; without a running toolkit the change runs inline.
+     * (Platform.isFxApplicationThread() is avoided because it starts the toolkit as a side effect.)
+     */
+    private void onListThread(Runnable change) {
+        try {
+            Platform.runLater(change);
+        } catch (IllegalStateException toolkitNotRunning) {
+            change.run();
+        }
+    }
+    
     // ==================== DELETE Operations ====================
     
     /**
      * Delete a course by ID
      */
-    public boolean deleteCourse(int id) {
+    public synchronized boolean deleteCourse(int id) {
         getConnection();
         String sql = "DELETE FROM courses WHERE id = ?";
         
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
+        try {
+            PreparedStatement pstmt = prepare(con, sql);
             pstmt.setInt(1, id);
             int affectedRows = pstmt.executeUpdate();
             
             if (affectedRows > 0) {
-                // Reload observable list
-                loadCoursesFromDB();
+                if (courseIndex.remove(id) != null) {
+                    onListThread(() -> listRemove(id));
+                }
                 logger.info("Course deleted successfully");
                 return true;
             }
@@ -432,13 +1806,17 @@ public class db {
     /**
      * Delete all courses (clear database)
      */
-    public boolean deleteAllCourses() {
+    public synchronized boolean deleteAllCourses() {
         getConnection();
         String sql = "DELETE FROM courses";
         
-        try (Statement stmt = con.createStatement()) {
-            stmt.execute(sql);
-            observableCourses.clear();
+        try {
+            prepare(con, sql).executeUpdate();
+            courseIndex.clear();
+            onListThread(() -> {
+                listPositions.clear();
+                observableCourses.clear();
+            });
             logger.info("All courses deleted");
             return true;
         } catch (SQLException e) {
@@ -448,42 +1826,230 @@ public class db {
     }
     
     /**
-     * Delete a calculation record
+     * Delete a calculation record, and its course snapshot if no other calculation shares it
      */
-    public boolean deleteCalculation(int id) {
+    public synchronized boolean deleteCalculation(int id) {
         getConnection();
-        String sql = "DELETE FROM calculations WHERE id = ?";
+        String sql = "DELETE FROM calculations WHERE id = ? RETURNING gpa, snapshot_hash";
+        String orphanSql = "DELETE FROM course_snapshots WHERE hash = ? "
+                         + "AND NOT EXISTS (SELECT 1 FROM calculations WHERE snapshot_hash = ?)";
         
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
+        boolean previousAutoCommit = true;
+        try {
+            previousAutoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            
+            PreparedStatement pstmt = prepare(con, sql);
             pstmt.setInt(1, id);
-            int affectedRows = pstmt.executeUpdate();
+            boolean deleted = false;
+            double gpa = 0;
+            String snapshotHash = null;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    deleted = true;
+                    gpa = rs.getDouble(1);
+                    snapshotHash = rs.getString(2);
+                }
+            }
+            if (snapshotHash != null) {
+                PreparedStatement orphan = prepare(con, orphanSql);
+                orphan.setString(1, snapshotHash);
+                orphan.setString(2, snapshotHash);
+                orphan.executeUpdate();
+            }
+            con.commit();
             
-            if (affectedRows > 0) {
+            if (deleted) {
+                GpaStatistics stats = calculationStats;
+                if (stats != null) {
+                    stats.remove(gpa);
+                }
                 logger.info("Calculation deleted successfully");
                 return true;
             }
         } catch (SQLException e) {
             logger.severe("Error deleting calculation: " + e.toString());
+            try {
+                con.rollback();
+            } catch (SQLException rollbackError) {
+                logger.severe("Error rolling back calculation delete: " + rollbackError.toString());
+            }
+        } finally {
+            try {
+                con.setAutoCommit(previousAutoCommit);
+            } catch (SQLException e) {
+                logger.severe("Error restoring auto-commit: " + e.toString());
+            }
         }
         return false;
     }
     
+    // ==================== Statistics Operations ====================
+    
+    /**
+     * Snapshot of mean, spread, histogram and percentiles over every saved calculation.
+     * The first call streams calculations.gpa once (holding the write lock so no insert can
+     * slip between the scan and the first incremental update); later calls are O(1) copies.
+     */
+    public GpaStatistics getCalculationStatistics() {
+        GpaStatistics stats = calculationStats;
+        if (stats == null) {
+            stats = loadCalculationStatistics();
+        }
+        return stats.snapshot();
+    }
+    
+    private synchronized GpaStatistics loadCalculationStatistics() {
+        if (calculationStats != null) {
+            return calculationStats;
+        }
+        long start = System.nanoTime();
+        GpaStatistics stats = new GpaStatistics();
+        
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            PreparedStatement pstmt = prepare(reader, "SELECT gpa FROM calculations");
+            pstmt.setFetchSize(DEFAULT_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    stats.add(rs.getDouble(1));
+                }
+            }
+        } catch (SQLException e) {
+            // Not cached, so the next call retries the scan
+            logger.severe("Error loading calculation statistics: " + e.toString());
+            return stats;
+        } finally {
+            releaseReader(reader);
+        }
+        calculationStats = stats;
+        logger.info(String.format("Calculation statistics over %d records built in %.1f ms",
+                stats.getCount(), (System.nanoTime() - start) / 1_000_000.0));
+        return stats;
+    }
+    
+    // ==================== Session Operations ====================
+    
+    /**
+     * Id of the session with this name, creating it if needed; 0 on error
+     */
+    public synchronized int getOrCreateSession(String sessionName) {
+        getConnection();
+        try {
+            PreparedStatement select = prepare(con, "SELECT id FROM sessions WHERE session_name = ? ORDER BY id LIMIT 1");
+            select.setString(1, sessionName);
+            try (ResultSet rs = select.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+            PreparedStatement insert = prepare(con, "INSERT INTO sessions (session_name) VALUES (?)");
+            insert.setString(1, sessionName);
+            insert.executeUpdate();
+            int id = lastInsertId();
+            logger.info("Session created: " + sessionName);
+            return id;
+        } catch (SQLException e) {
+            logger.severe("Error creating session: " + e.toString());
+        }
+        return 0;
+    }
+    
+    /**
+     * Term and cumulative totals for every session with courses, in session_name order
+     * (so names should sort chronologically, e.g. "2024-1"). Reads one aggregate row per
+     * session and builds CGPA from running prefix sums, so the cost is O(sessions).
+     */
+    public List<SessionSummary> getSessionSummaries() {
+        List<SessionSummary> summaries = new ArrayList<>();
+        String sql = """
+            SELECT s.id, s.session_name, a.weighted_ten_thousandths, a.credit_hundredths, a.course_count
+            FROM session_aggregates a JOIN sessions s ON s.id = a.session_id
+            WHERE a.course_count > 0
+            ORDER BY s.session_name, s.id
+        """;
+        
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            long totalWeighted = 0;
+            long totalCredits = 0;
+            int totalCourses = 0;
+            try (ResultSet rs = prepare(reader, sql).executeQuery()) {
+                while (rs.next()) {
+                    long weighted = rs.getLong(3);
+                    long credits = rs.getLong(4);
+                    int courses = rs.getInt(5);
+                    totalWeighted += weighted;
+                    totalCredits += credits;
+                    totalCourses += courses;
+                    summaries.add(new SessionSummary(rs.getInt(1), rs.getString(2), weighted, credits, courses,
+                                                     totalWeighted, totalCredits, totalCourses));
+                }
+            }
+        } catch (SQLException e) {
+            logger.severe("Error fetching session summaries: " + e.toString());
+        } finally {
+            releaseReader(reader);
+        }
+        return summaries;
+    }
+    
+    /**
+     * Totals for one session (CGPA through that session), or null if it has no courses
+     */
+    public SessionSummary getSessionSummary(int sessionId) {
+        for (SessionSummary summary : getSessionSummaries()) {
+            if (summary.getSessionId() == sessionId) {
+                return summary;
+            }
+        }
+        return null;
+    }
+    
     // ==================== Utility Methods ====================
     
     /**
      * Get total course count
      */
     public int getCourseCount() {
-        getConnection();
         String sql = "SELECT COUNT(*) as count FROM courses";
         
-        try (Statement stmt = con.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getInt("count");
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            try (ResultSet rs = prepare(reader, sql).executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("count");
+                }
             }
         } catch (SQLException e) {
             logger.severe("Error getting course count: " + e.toString());
+        } finally {
+            releaseReader(reader);
+        }
+        return 0;
+    }
+    
+    /**
+     * Get total calculation count
+     */
+    public int getCalculationCount() {
+        String sql = "SELECT COUNT(*) as count FROM calculations";
+        
+        Connection reader = null;
+        try {
+            reader = borrowReader();
+            try (ResultSet rs = prepare(reader, sql).executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("count");
+                }
+            }
+        } catch (SQLException e) {
+            logger.severe("Error getting calculation count: " + e.toString());
+        } finally {
+            releaseReader(reader);
         }
         return 0;
     }
@@ -496,22 +2062,567 @@ public class db {
     }
     
     /**
-     * Import courses from JSON string
+     * Stream every course (id order) to a compact JSON array file that importCoursesFromJSON
+     * reads back. Rows go straight from the cursor through JsonWriter, so memory does not grow
+     * with the table. Returns null on error (the target is left untouched).
      */
-    public boolean importCoursesFromJSON(String json) {
+    public ExportReport exportCoursesToJSON(Path file, boolean gzip) {
+        String sql = "SELECT " + COURSE_COLUMNS + " FROM courses ORDER BY id";
+        TypeAdapter<Course> adapter = compactGson.getAdapter(Course.class);
+        return exportToJSON(file, gzip, sql, (rs, out) -> adapter.write(out, mapCourse(rs)));
+    }
+    
+    /**
+     * Stream the calculation history (id order) to a compact JSON array file; each entry embeds
+     * its course list, decoded from the snapshot store one row at a time. Returns null on error.
+     */
+    public ExportReport exportCalculationsToJSON(Path file, boolean gzip) {
+        String sql = """
+            SELECT c.id, c.gpa, c.total_credits, c.total_courses, c.calculation_date,
+                   c.hit_count, c.last_seen, c.courses_json, s.data
+            FROM calculations c LEFT JOIN course_snapshots s ON s.hash = c.snapshot_hash
+            ORDER BY c.id
+        """;
+        return exportToJSON(file, gzip, sql, (rs, out) -> {
+            out.beginObject();
+            out.name("id").value(rs.getInt(1));
+            out.name("gpa").value(rs.getDouble(2));
+            out.name("totalCredits").value(rs.getDouble(3));
+            out.name("totalCourses").value(rs.getInt(4));
+            out.name("calculationDate").value(rs.getString(5));
+            out.name("hitCount").value(rs.getInt(6));
+            out.name("lastSeen").value(rs.getString(7));
+            byte[] snapshot = rs.getBytes(9);
+            String courses;
+            try {
+                courses = snapshot != null ? new String(inflate(snapshot), StandardCharsets.UTF_8) : rs.getString(8);
+            } catch (DataFormatException e) {
+                throw new IOException("Unreadable course snapshot for calculation " + rs.getInt(1), e);
+            }
+            // Already compact JSON, so it is copied through rather than re-parsed
+            out.name("courses").jsonValue(courses == null || courses.isEmpty() ? "[]" : courses);
+            out.endObject();
+        });
+    }
+    
+    /**
+     * One JSON value per result row
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs, JsonWriter out) throws SQLException, IOException;
+    }
+    
+    /**
+     * Writes an export document one row at a time; close finishes it and flushes every layer
+     */
+    private interface RowSink extends Closeable {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+    
+    @FunctionalInterface
+    private interface RowSinkFactory {
+        RowSink open(Writer out) throws IOException;
+    }
+    
+    /**
+     * A JSON array with one element per row of sql
+     */
+    private ExportReport exportToJSON(Path file, boolean gzip, String sql, RowWriter rowWriter) {
+        return exportToFile(file, gzip, sql, out -> {
+            JsonWriter writer = new JsonWriter(out);
+            writer.beginArray();
+            return new RowSink() {
+                @Override
+                public void write(ResultSet rs) throws SQLException, IOException {
+                    rowWriter.write(rs, writer);
+                }
+                
+                @Override
+                public void close() throws IOException {
+                    writer.endArray();
+                    writer.close();
+                }
+            };
+        });
+    }
+    
+    /**
+     * Write every row of sql to a temporary file next to the target, then move it into place.
+     * Output is UTF-8 text buffered onto a FileChannel, optionally gzip-compressed.
+     */
+    private ExportReport exportToFile(Path file, boolean gzip, String sql, RowSinkFactory format) {
+        long start = System.nanoTime();
+        Path target = file.toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long rows = 0;
+        
+        Connection reader = null;
         try {
-            Course[] courses = gson.fromJson(json, Course[].class);
-            return insertCourses(List.of(courses));
-        } catch (Exception e) {
-            logger.severe("Error importing courses from JSON: " + e.toString());
+            reader = borrowReader();
+            CountingOutputStream text;
+            try (OutputStream fileOut = Channels.newOutputStream(FileChannel.open(temp, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+                OutputStream out = new BufferedOutputStream(fileOut, EXPORT_BUFFER_SIZE);
+                if (gzip) {
+                    out = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+                }
+                text = new CountingOutputStream(out);
+                RowSink sink = format.open(new BufferedWriter(
+                    new OutputStreamWriter(text, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE));
+                PreparedStatement pstmt = prepare(reader, sql);
+                pstmt.setFetchSize(DEFAULT_FETCH_SIZE);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        sink.write(rs);
+                        rows++;
+                    }
+                }
+                // Flushes every layer and writes the gzip trailer; fileOut's own close is then a no-op
+                sink.close();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            
+            ExportReport report = new ExportReport(target, rows, text.getCount(), Files.size(target),
+                                                   System.nanoTime() - start);
+            logger.info("Exported " + report);
+            return report;
+        } catch (SQLException | IOException e) {
+            logger.severe("Error exporting to " + target + ": " + e.toString());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException cleanupError) {
+                logger.warning("Error removing partial export: " + cleanupError.toString());
+            }
+        } finally {
+            releaseReader(reader);
+        }
+        return null;
+    }
+    
+    /**
+     * Write every stored course (with text) to a binary snapshot file that CourseSnapshot
+     * maps back without SQLite or Gson. Returns false on error.
+     */
+    public boolean writeCourseSnapshot(Path file) {
+        long start = System.nanoTime();
+        CourseBatch batch = loadCourseBatch(true);
+        try {
+            CourseSnapshot.write(file, batch);
+            logger.info(String.format("Wrote %d courses to snapshot %s in %.0f ms", batch.size(),
+                file.getFileName(), (System.nanoTime() - start) / 1e6));
+            return true;
+        } catch (IOException e) {
+            logger.severe("Error writing course snapshot: " + e.toString());
+            return false;
+        }
+    }
+    
+    /**
+     * Write the course list of one saved calculation to a snapshot file (graded on the active
+     * scale). Returns false on error or if there is no such calculation.
+     */
+    public boolean writeCalculationSnapshot(int calculationId, Path file) {
+        List<Course> courses = getCalculationCourses(calculationId);
+        if (courses == null) {
+            return false;
+        }
+        try {
+            CourseSnapshot.write(file, courses, GradeScale.getActive(), true);
+            return true;
+        } catch (IOException e) {
+            logger.severe("Error writing calculation snapshot: " + e.toString());
             return false;
         }
     }
     
     /**
-     * Close database connection
+     * Import courses from JSON string; false if any record was rejected
+     */
+    public boolean importCoursesFromJSON(String json) {
+        ImportReport report = importCourses(new JsonReader(new StringReader(json)), () -> -1, -1,
+                                            DEFAULT_BATCH_SIZE, null);
+        return report.isComplete() && report.getRejected() == 0;
+    }
+    
+    /**
+     * Stream a JSON array of courses from a file (see the InputStream overload)
+     */
+    public ImportReport importCoursesFromJSON(Path file, int chunkSize, Consumer<ImportReport> progress) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return importCoursesFromJSON(in, Files.size(file), chunkSize, progress);
+        } catch (IOException e) {
+            logger.severe("Error opening JSON import: " + e.toString());
+            return ImportReport.failed("Cannot read " + file + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Stream a JSON array of courses into the database with flat memory use: records are
+     * parsed one at a time with JsonReader, validated, and committed in chunks of chunkSize.
+     * Invalid records are reported and skipped; malformed JSON stops the import, keeping the
+     * chunks already committed. progress (may be null) gets a report after every chunk, on the
+     * calling thread. totalBytes is only used for progress (-1 if unknown). The stream is not closed.
+     * Gzip-compressed input is decompressed transparently.
+     */
+    public ImportReport importCoursesFromJSON(InputStream in, long totalBytes, int chunkSize,
+                                              Consumer<ImportReport> progress) {
+        CountingInputStream counter = new CountingInputStream(in);
+        try {
+            // gzip (e.g. from exportCoursesToJSON) is detected by its magic number; progress
+            // counts the compressed bytes, so it still matches totalBytes
+            InputStream source = new BufferedInputStream(counter, IMPORT_BUFFER_SIZE);
+            source.mark(2);
+            boolean gzipped = source.read() == 0x1f && source.read() == 0x8b;
+            source.reset();
+            if (gzipped) {
+                source = new GZIPInputStream(source, IMPORT_BUFFER_SIZE);
+            }
+            Reader reader = new InputStreamReader(source, StandardCharsets.UTF_8);
+            return importCourses(new JsonReader(new BufferedReader(reader, IMPORT_BUFFER_SIZE)),
+                                 counter::getCount, totalBytes, chunkSize, progress);
+        } catch (IOException e) {
+            logger.severe("Error reading JSON import: " + e.toString());
+            return ImportReport.failed("Cannot read input: " + e.getMessage());
+        }
+    }
+    
+    private ImportReport importCourses(JsonReader reader, LongSupplier bytesRead, long totalBytes,
+                                       int chunkSize, Consumer<ImportReport> progress) {
+        if (chunkSize <= 0) {
+            chunkSize = DEFAULT_BATCH_SIZE;
+        }
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport(totalBytes);
+        List<Course> chunk = new ArrayList<>(chunkSize);
+        GradeScale scale = GradeScale.getActive();
+        
+        try {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                // One record at a time: a type error only costs this record, not the stream position
+                JsonElement element = JsonParser.parseReader(reader);
+                long record = ++report.records;
+                try {
+                    Course course = compactGson.fromJson(element, Course.class);
+                    String problem = validateImported(course, scale);
+                    if (problem != null) {
+                        report.reject(record, problem);
+                        continue;
+                    }
+                    course.setId(0);
+                    chunk.add(course);
+                } catch (RuntimeException e) {
+                    report.reject(record, e.getMessage());
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    flushImportChunk(chunk, report, record);
+                    // A fresh list, since a loaded observable list is handed the inserted chunk
+                    chunk = new ArrayList<>(chunkSize);
+                    report.progress(bytesRead.getAsLong(), start, progress);
+                }
+            }
+            reader.endArray();
+            report.complete = true;
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            report.fail("Malformed JSON after record " + report.records + ": " + e.getMessage());
+        }
+        flushImportChunk(chunk, report, report.records);
+        report.progress(bytesRead.getAsLong(), start, progress);
+        
+        logger.info(String.format("Imported %d courses (%d rejected) in %.1fs (%.0f records/sec)",
+            report.imported, report.rejected, report.getElapsedSeconds(),
+            report.records / Math.max(report.getElapsedSeconds(), 1e-9)));
+        return report;
+    }
+    
+    private void flushImportChunk(List<Course> chunk, ImportReport report, long lastRecord) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (insertCourses(chunk, DEFAULT_BATCH_SIZE, -1, false)) {
+            report.imported += chunk.size();
+        } else {
+            report.rejected += chunk.size();
+            report.addError(String.format("Records %d-%d: database insert failed, chunk rolled back",
+                lastRecord - chunk.size() + 1, lastRecord));
+        }
+    }
+    
+    /**
+     * Stream every course (id order) to a CSV file with a header line, in the layout
+     * importCoursesFromCSV reads. Not compressed, since the import memory-maps the file.
+     * Returns null on error (the target is left untouched).
+     */
+    public ExportReport exportCoursesToCSV(Path file) {
+        String sql = "SELECT " + COURSE_COLUMNS + " FROM courses ORDER BY id";
+        return exportToFile(file, false, sql, out -> {
+            out.write(CourseCsv.HEADER);
+            out.write('\n');
+            return new RowSink() {
+                @Override
+                public void write(ResultSet rs) throws SQLException, IOException {
+                    CourseCsv.writeRecord(out, rs.getString(2), rs.getString(3), rs.getLong(4),
+                                          rs.getString(5), rs.getString(6), rs.getString(7));
+                }
+                
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            };
+        });
+    }
+    
+    /**
+     * Import courses from a CSV file (courseName, courseCode, courseCredit, teacher1Name,
+     * teacher2Name, grade; optional header line). The file is memory-mapped and parsed without
+     * per-field Strings (see CourseCsv), then validated like a JSON import and committed in
+     * chunks of chunkSize. Invalid rows are reported by line number and skipped.
+     *
+     * With parallelism > 1 the file is split at record boundaries and parsed on that many
+     * threads while this thread commits their chunks, which pays off for multi-GB files; rows
+     * are then not stored in file order. progress (may be null) gets a report after every chunk.
+     */
+    public ImportReport importCoursesFromCSV(Path file, int chunkSize, int parallelism,
+                                             Consumer<ImportReport> progress) {
+        int size = chunkSize > 0 ? chunkSize : DEFAULT_BATCH_SIZE;
+        long start = System.nanoTime();
+        GradeScale scale = GradeScale.getActive();
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ImportReport report = new ImportReport(channel.size());
+            if (parallelism > 1) {
+                importCsvParallel(channel, scale, size, parallelism, report, start, progress);
+            } else {
+                importCsvSequential(channel, scale, size, report, start, progress);
+            }
+            report.progress(report.bytesRead, start, progress);
+            logger.info(String.format("Imported %d courses (%d rejected) from CSV in %.1fs (%.0f records/sec)",
+                report.imported, report.rejected, report.getElapsedSeconds(),
+                report.records / Math.max(report.getElapsedSeconds(), 1e-9)));
+            return report;
+        } catch (IOException e) {
+            logger.severe("Error opening CSV import: " + e.toString());
+            return ImportReport.failed("Cannot read " + file + ": " + e.getMessage());
+        }
+    }
+    
+    private void importCsvSequential(FileChannel channel, GradeScale scale, int chunkSize, ImportReport report,
+                                     long start, Consumer<ImportReport> progress) {
+        CsvChunker chunker = new CsvChunker(scale, chunkSize, Integer.MAX_VALUE) {
+            @Override
+            void full(CsvChunk chunk) {
+                merge(chunk, report);
+                report.progress(report.bytesRead, start, progress);
+            }
+        };
+        try {
+            new CourseCsv(scale).parse(channel, chunker);
+            chunker.finish();
+            report.complete = true;
+        } catch (IOException e) {
+            chunker.finish();
+            report.fail("Stopped after " + report.bytesRead + " bytes: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Parser threads fill chunks and hand them over a bounded queue (so memory stays flat when
+     * parsing outruns SQLite); this thread commits them as they arrive
+     */
+    private void importCsvParallel(FileChannel channel, GradeScale scale, int chunkSize, int parallelism,
+                                   ImportReport report, long start, Consumer<ImportReport> progress) {
+        BlockingQueue<CsvChunk> queue = new ArrayBlockingQueue<>(parallelism * 2);
+        CsvChunk end = new CsvChunk(0);
+        Thread parser = Thread.ofPlatform().name("csv-import").daemon().start(() -> {
+            try {
+                CourseCsv.parseParallel(channel, scale, parallelism,
+                    () -> new CsvChunker(scale, chunkSize, MAX_REPORTED_ERRORS) {
+                        @Override
+                        void full(CsvChunk chunk) {
+                            try {
+                                queue.put(chunk);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new IllegalStateException("CSV import cancelled", e);
+                            }
+                        }
+                    });
+            } catch (IOException | RuntimeException e) {
+                end.errors.add("Stopped: " + e.getMessage());
+            } finally {
+                try {
+                    queue.put(end);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        
+        try {
+            for (CsvChunk chunk = queue.take(); chunk != end; chunk = queue.take()) {
+                merge(chunk, report);
+                report.progress(report.bytesRead, start, progress);
+            }
+            report.complete = end.errors.isEmpty();
+            end.errors.forEach(report::fail);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            parser.interrupt();
+            report.fail("Stopped: import interrupted");
+        }
+    }
+    
+    private void merge(CsvChunk chunk, ImportReport report) {
+        report.records += chunk.records;
+        report.rejected += chunk.rejected;
+        report.bytesRead += chunk.bytes;
+        chunk.errors.forEach(report::addError);
+        if (chunk.courses.isEmpty()) {
+            return;
+        }
+        if (insertCourses(chunk.courses, DEFAULT_BATCH_SIZE, -1, false)) {
+            report.imported += chunk.courses.size();
+        } else {
+            report.rejected += chunk.courses.size();
+            report.addError(String.format("Lines %d-%d: database insert failed, chunk rolled back",
+                chunk.firstLine, chunk.lastLine));
+        }
+    }
+    
+    /**
+     * Parsed and validated CSV rows waiting to be committed
+     */
+    private static final class CsvChunk {
+        final List<Course> courses;
+        final List<String> errors = new ArrayList<>();
+        long records;
+        long rejected;
+        long bytes;
+        long firstLine = -1;
+        long lastLine;
+        
+        CsvChunk(int capacity) {
+            this.courses = new ArrayList<>(capacity);
+        }
+    }
+    
+    /**
+     * Validates parsed rows into chunks and passes each full one on; one per parser thread
+     */
+    private abstract static class CsvChunker implements CourseCsv.RowHandler {
+        private final GradeScale scale;
+        private final int chunkSize;
+        private final int maxErrors;
+        private CsvChunk chunk;
+        
+        CsvChunker(GradeScale scale, int chunkSize, int maxErrors) {
+            this.scale = scale;
+            this.chunkSize = chunkSize;
+            this.maxErrors = maxErrors;
+            this.chunk = new CsvChunk(chunkSize);
+        }
+        
+        abstract void full(CsvChunk chunk);
+        
+        @Override
+        public void course(long line, Course course) {
+            String problem = validateImported(course, scale);
+            if (problem != null) {
+                error(line, problem);
+                return;
+            }
+            chunk.records++;
+            chunk.courses.add(course);
+            track(line);
+            if (chunk.courses.size() == chunkSize) {
+                finish();
+            }
+        }
+        
+        @Override
+        public void error(long line, String message) {
+            chunk.records++;
+            chunk.rejected++;
+            if (chunk.errors.size() < maxErrors) {
+                chunk.errors.add("Line " + line + ": " + message);
+            }
+            track(line);
+        }
+        
+        @Override
+        public void consumed(long bytes) {
+            chunk.bytes += bytes;
+            // A range or window boundary: pass on what is parsed so far, so progress keeps moving
+            finish();
+        }
+        
+        private void track(long line) {
+            if (chunk.firstLine < 0) {
+                chunk.firstLine = line;
+            }
+            chunk.lastLine = line;
+        }
+        
+        /**
+         * Pass on the current chunk if it holds anything
+         */
+        void finish() {
+            if (chunk.records > 0 || chunk.bytes > 0) {
+                CsvChunk done = chunk;
+                // A fresh list, since a loaded observable list is handed the inserted chunk
+                chunk = new CsvChunk(chunkSize);
+                full(done);
+            }
+        }
+    }
+    
+    /**
+     * Reason an imported course cannot be stored, or null if it is valid
      */
-    public void closeConnection() {
+    private static String validateImported(Course course, GradeScale scale) {
+        if (course.getCourseName() == null || course.getCourseName().isBlank()) {
+            return "missing courseName";
+        }
+        if (course.getCourseCode() == null || course.getCourseCode().isBlank()) {
+            return "missing courseCode";
+        }
+        if (course.getCreditHundredths() <= 0) {
+            return "courseCredit must be positive";
+        }
+        if (course.getGrade() == null || scale.code(course.getGrade()) == GradeScale.UNKNOWN) {
+            return "grade '" + course.getGrade() + "' is not on the " + scale.getName() + " scale";
+        }
+        return null;
+    }
+    
+    /**
+     * Close cached statements, reader connections and the writer connection
+     */
+    public synchronized void closeConnection() {
+        for (Map<String, PreparedStatement> cache : statementCache.values()) {
+            for (PreparedStatement pstmt : cache.values()) {
+                try {
+                    pstmt.close();
+                } catch (SQLException e) {
+                    logger.warning("Error closing cached statement: " + e.toString());
+                }
+            }
+        }
+        statementCache.clear();
+        
+        for (Connection reader : allReaders) {
+            try {
+                reader.close();
+            } catch (SQLException e) {
+                logger.warning("Error closing reader connection: " + e.toString());
+            }
+        }
+        allReaders.clear();
+        readers.clear();
+        
         try {
             if (con != null && !con.isClosed()) {
                 con.close();
@@ -519,6 +2630,8 @@ public class db {
             }
         } catch (SQLException e) {
             logger.severe("Error closing connection: " + e.toString());
+        } finally {
+            con = null;
         }
     }
     
@@ -529,6 +2642,75 @@ public class db {
         loadCoursesFromDB();
     }
     
+    /**
+     * Inner class for one keyset page of courses
+     */
+    public static class CoursePage {
+        private List<Course> courses;
+        private String lastCreatedAt;
+        private int lastId;
+        private boolean hasMore;
+        
+        public CoursePage(List<Course> courses, String lastCreatedAt, int lastId, boolean hasMore) {
+            this.courses = courses;
+            this.lastCreatedAt = lastCreatedAt;
+            this.lastId = lastId;
+            this.hasMore = hasMore;
+        }
+        
+        public List<Course> getCourses() { return courses; }
+        public String getLastCreatedAt() { return lastCreatedAt; }
+        public int getLastId() { return lastId; }
+        public boolean hasMore() { return hasMore; }
+    }
+    
+    /**
+     * Inner class for one session's term totals and the cumulative totals through it.
+     * Sums are exact fixed-point (weighted in ten-thousandths, credits in hundredths).
+     */
+    public static class SessionSummary {
+        private int sessionId;
+        private String sessionName;
+        private long termWeighted;
+        private long termCredits;
+        private int termCourses;
+        private long totalWeighted;
+        private long totalCredits;
+        private int totalCourses;
+        
+        public SessionSummary(int sessionId, String sessionName, long termWeighted, long termCredits, int termCourses,
+                              long totalWeighted, long totalCredits, int totalCourses) {
+            this.sessionId = sessionId;
+            this.sessionName = sessionName;
+            this.termWeighted = termWeighted;
+            this.termCredits = termCredits;
+            this.termCourses = termCourses;
+            this.totalWeighted = totalWeighted;
+            this.totalCredits = totalCredits;
+            this.totalCourses = totalCourses;
+        }
+        
+        public int getSessionId() { return sessionId; }
+        public String getSessionName() { return sessionName; }
+        public int getTermCourses() { return termCourses; }
+        public int getTotalCourses() { return totalCourses; }
+        public long getTermCreditHundredths() { return termCredits; }
+        public long getTotalCreditHundredths() { return totalCredits; }
+        public double getTermCredits() { return FixedPoint.toDouble(termCredits); }
+        public double getTotalCredits() { return FixedPoint.toDouble(totalCredits); }
+        public double getTermGpa() { return GpaCalculator.gpa(termWeighted, termCredits); }
+        public double getCgpa() { return GpaCalculator.gpa(totalWeighted, totalCredits); }
+        public long getTermGpaHundredths() { return GpaCalculator.gpaHundredths(termWeighted, termCredits); }
+        public long getCgpaHundredths() { return GpaCalculator.gpaHundredths(totalWeighted, totalCredits); }
+        
+        @Override
+        public String toString() {
+            return String.format("%s | Term GPA: %s | CGPA: %s | Credits: %.1f",
+                sessionName, GpaCalculator.formatGPA(getTermGpaHundredths()),
+                GpaCalculator.formatGPA(getCgpaHundredths()), getTotalCredits());
+        }
+    }
+    
     /**
      * Inner class for calculation records
      */
@@ -538,13 +2720,22 @@ public class db {
         private double totalCredits;
         private int totalCourses;
         private String date;
+        private int hitCount;
+        private String lastSeen;
         
         public CalculationRecord(int id, double gpa, double totalCredits, int totalCourses, String date) {
+            this(id, gpa, totalCredits, totalCourses, date, 1, date);
+        }
+        
+        public CalculationRecord(int id, double gpa, double totalCredits, int totalCourses, String date,
+                                 int hitCount, String lastSeen) {
             this.id = id;
             this.gpa = gpa;
             this.totalCredits = totalCredits;
             this.totalCourses = totalCourses;
             this.date = date;
+            this.hitCount = hitCount;
+            this.lastSeen = lastSeen;
         }
         
         public int getId() { return id; }
@@ -552,11 +2743,204 @@ public class db {
         public double getTotalCredits() { return totalCredits; }
         public int getTotalCourses() { return totalCourses; }
         public String getDate() { return date; }
+        public int getHitCount() { return hitCount; }
+        public String getLastSeen() { return lastSeen; }
         
         @Override
         public String toString() {
-            return String.format("GPA: %.2f | Credits: %.1f | Courses: %d | Date: %s",
-                gpa, totalCredits, totalCourses, date);
+            String repeats = hitCount > 1 ? String.format(" (calculated %d times)", hitCount) : "";
+            return String.format("GPA: %.2f | Credits: %.1f | Courses: %d | Date: %s%s",
+                gpa, totalCredits, totalCourses, lastSeen != null ? lastSeen : date, repeats);
+        }
+    }
+    
+    /**
+     * Running totals of a streaming import; also passed to progress callbacks (as a copy)
+     */
+    public static class ImportReport {
+        private final long totalBytes;
+        private long records;
+        private long imported;
+        private long rejected;
+        private long bytesRead;
+        private long elapsedNanos;
+        private boolean complete;
+        private final List<String> errors;
+        
+        ImportReport(long totalBytes) {
+            this(totalBytes, new ArrayList<>());
+        }
+        
+        private ImportReport(long totalBytes, List<String> errors) {
+            this.totalBytes = totalBytes;
+            this.errors = errors;
+        }
+        
+        static ImportReport failed(String error) {
+            ImportReport report = new ImportReport(-1);
+            report.addError(error);
+            return report;
+        }
+        
+        void reject(long record, String reason) {
+            rejected++;
+            addError("Record " + record + ": " + reason);
+        }
+        
+        void fail(String error) {
+            complete = false;
+            addError(error);
+        }
+        
+        void addError(String error) {
+            // Keep the first few messages only, so a file of bad records cannot fill the heap
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+        
+        void progress(long bytesRead, long startNanos, Consumer<ImportReport> listener) {
+            this.bytesRead = bytesRead;
+            this.elapsedNanos = System.nanoTime() - startNanos;
+            if (listener != null) {
+                ImportReport copy = new ImportReport(totalBytes, List.copyOf(errors));
+                copy.records = records;
+                copy.imported = imported;
+                copy.rejected = rejected;
+                copy.bytesRead = bytesRead;
+                copy.elapsedNanos = elapsedNanos;
+                copy.complete = complete;
+                listener.accept(copy);
+            }
+        }
+        
+        public long getRecords() { return records; }
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        public long getBytesRead() { return bytesRead; }
+        public long getTotalBytes() { return totalBytes; }
+        public boolean isComplete() { return complete; }
+        public List<String> getErrors() { return errors; }
+        public double getElapsedSeconds() { return elapsedNanos / 1_000_000_000.0; }
+        
+        /**
+         * Fraction of the input consumed (0 when the size is unknown)
+         */
+        public double getFraction() {
+            return totalBytes > 0 ? Math.min(1.0, bytesRead / (double) totalBytes) : 0.0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Records: %d | Imported: %d | Rejected: %d | %.1f MB in %.1fs%s",
+                records, imported, rejected, bytesRead / 1_048_576.0, getElapsedSeconds(),
+                complete ? "" : " | INCOMPLETE");
+        }
+    }
+    
+    /**
+     * Outcome of a streaming export
+     */
+    public static class ExportReport {
+        private final Path file;
+        private final long rows;
+        private final long textBytes;
+        private final long fileBytes;
+        private final long elapsedNanos;
+        
+        ExportReport(Path file, long rows, long textBytes, long fileBytes, long elapsedNanos) {
+            this.file = file;
+            this.rows = rows;
+            this.textBytes = textBytes;
+            this.fileBytes = fileBytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        public Path getFile() { return file; }
+        public long getRows() { return rows; }
+        public long getTextBytes() { return textBytes; }
+        public long getFileBytes() { return fileBytes; }
+        public double getElapsedSeconds() { return elapsedNanos / 1_000_000_000.0; }
+        
+        /**
+         * Throughput in MB of JSON or CSV text produced per second (before compression)
+         */
+        public double getMegabytesPerSecond() {
+            return textBytes / 1_048_576.0 / Math.max(getElapsedSeconds(), 1e-9);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%d rows to %s: %.1f MB text, %.1f MB on disk in %.2fs (%.1f MB/s)",
+                rows, file.getFileName(), textBytes / 1_048_576.0, fileBytes / 1_048_576.0,
+                getElapsedSeconds(), getMegabytesPerSecond());
+        }
+    }
+    
+    /**
+     * Counts bytes written through to the underlying stream, for export throughput
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+        
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+        
+        long getCount() {
+            return count;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            count += length;
+        }
+    }
+    
+    /**
+     * Counts bytes pulled from the underlying stream, for import progress
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+        
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+        
+        long getCount() {
+            return count;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+        
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
         }
     }
 }
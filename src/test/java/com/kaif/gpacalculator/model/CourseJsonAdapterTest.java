@@ -0,0 +1,34 @@
+package com.kaif.gpacalculator.model;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseJsonAdapterTest {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    void writesTheOriginalReflectiveShape() {
+        Course course = Course.withCreditHundredths("Algebra", "MTH101", 300, "Lee", null, "A");
+        course.setId(7);
+        assertEquals("{\"id\":7,\"courseName\":\"Algebra\",\"courseCode\":\"MTH101\",\"courseCredit\":3.0,"
+                     + "\"teacher1Name\":\"Lee\",\"grade\":\"A\",\"gradePoints\":3.75}", gson.toJson(course));
+        course.setSessionId(2);
+        assertTrue(gson.toJson(course).endsWith("\"gradePoints\":3.75,\"sessionId\":2}"));
+    }
+
+    @Test
+    void readsExportsFromBeforeFixedPoint() {
+        Course course = gson.fromJson("{\"id\":3,\"courseName\":\"Physics\",\"courseCode\":\"PHY101\",\"courseCredit\":0.75,"
+                                      + "\"teacher1Name\":\"Kim\",\"teacher2Name\":null,\"grade\":\"B\",\"gradePoints\":9.9}",
+                                      Course.class);
+        assertEquals(3, course.getId());
+        assertEquals(75, course.getCreditHundredths());
+        // Points follow the grade, not the stored number
+        assertEquals(300, course.getGradePointsHundredths());
+        assertEquals(course.getCreditHundredths(), gson.fromJson(gson.toJson(course), Course.class).getCreditHundredths());
+    }
+}
@@ -0,0 +1,134 @@
+package com.kaif.gpacalculator.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseSnapshotTest {
+
+    // Header bytes 60..63 are reserved and outside both checksums
+    private static final int RESERVED_FROM = 60;
+    private static final int RESERVED_TO = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripWithText() throws IOException {
+        List<Course> courses = randomCourses(new Random(24), 300);
+        Path file = directory.resolve("courses.snap");
+        CourseSnapshot.write(file, courses, GradeScale.STANDARD_4_0, true);
+
+        CourseSnapshot snapshot = CourseSnapshot.open(file);
+        assertTrue(snapshot.hasText());
+        assertEquals(courses.size(), snapshot.size());
+        assertEquals(GradeScale.STANDARD_4_0.getGrades(), snapshot.getGrades());
+        List<Course> read = snapshot.toCourses();
+        for (int i = 0; i < courses.size(); i++) {
+            Course expected = courses.get(i);
+            Course actual = read.get(i);
+            assertEquals(expected.getId(), actual.getId(), "row " + i);
+            assertEquals(expected.getCourseName(), actual.getCourseName(), "row " + i);
+            assertEquals(expected.getCourseCode(), actual.getCourseCode(), "row " + i);
+            assertEquals(expected.getCreditHundredths(), actual.getCreditHundredths(), "row " + i);
+            assertEquals(expected.getTeacher1Name(), actual.getTeacher1Name(), "row " + i);
+            assertEquals(expected.getTeacher2Name(), actual.getTeacher2Name(), "row " + i);
+            String grade = expected.getGrade() != null && GradeScale.STANDARD_4_0.getGrades().contains(expected.getGrade())
+                           ? expected.getGrade() : null;
+            assertEquals(grade, actual.getGrade(), "row " + i);
+        }
+    }
+
+    @Test
+    void roundTripWithoutText() throws IOException {
+        List<Course> courses = randomCourses(new Random(4), 50);
+        Path file = directory.resolve("numbers.snap");
+        CourseSnapshot.write(file, courses, GradeScale.STANDARD_4_0, false);
+
+        CourseSnapshot snapshot = CourseSnapshot.open(file);
+        assertFalse(snapshot.hasText());
+        long[] credits = new long[courses.size()];
+        snapshot.readCredits(0, credits, credits.length);
+        for (int i = 0; i < courses.size(); i++) {
+            assertEquals(courses.get(i).getCreditHundredths(), credits[i]);
+            assertEquals(courses.get(i).getGradeCode(GradeScale.STANDARD_4_0), snapshot.getGradeCode(i));
+            assertNull(snapshot.getCourseName(i));
+        }
+    }
+
+    @Test
+    void emptySnapshot() throws IOException {
+        Path file = directory.resolve("empty.snap");
+        CourseSnapshot.write(file, List.of(), GradeScale.PASS_FAIL, true);
+        CourseSnapshot snapshot = CourseSnapshot.open(file);
+        assertEquals(0, snapshot.size());
+        assertEquals(GradeScale.PASS_FAIL.getGrades(), snapshot.getGrades());
+    }
+
+    @Test
+    void truncatedOrExtendedFilesAreRejected() throws IOException {
+        Path file = directory.resolve("courses.snap");
+        CourseSnapshot.write(file, randomCourses(new Random(9), 40), GradeScale.STANDARD_4_0, true);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path damaged = directory.resolve("damaged.snap");
+        for (int length : new int[] {0, 7, 63, 64, 65, bytes.length / 2, bytes.length - 1}) {
+            Files.write(damaged, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> CourseSnapshot.open(damaged, false), "length " + length);
+        }
+        Files.write(damaged, Arrays.copyOf(bytes, bytes.length + 1));
+        assertThrows(IOException.class, () -> CourseSnapshot.open(damaged, false));
+    }
+
+    @Test
+    void everyFlippedByteIsRejected() throws IOException {
+        Path file = directory.resolve("courses.snap");
+        CourseSnapshot.write(file, randomCourses(new Random(12), 25), GradeScale.SCALE_4_3, true);
+        long length = Files.size(file);
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            for (long position = 0; position < length; position++) {
+                if (position >= RESERVED_FROM && position < RESERVED_TO) {
+                    continue;
+                }
+                raw.seek(position);
+                int original = raw.read();
+                raw.seek(position);
+                raw.write(original ^ 0x10);
+                assertThrows(IOException.class, () -> CourseSnapshot.open(file), "byte " + position);
+                raw.seek(position);
+                raw.write(original);
+            }
+        }
+        CourseSnapshot.open(file);
+    }
+
+    private static List<Course> randomCourses(Random random, int count) {
+        String[] names = {"Algebra", "Physics", "Café Studies", "", "History of \"Art\""};
+        List<String> grades = new ArrayList<>(GradeScale.STANDARD_4_0.getGrades());
+        grades.add("Z");
+        grades.add(null);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Course course = Course.withCreditHundredths(names[random.nextInt(names.length)], "C" + random.nextInt(50),
+                                                        random.nextInt(1000), random.nextBoolean() ? "Teacher" : null,
+                                                        "T" + random.nextInt(5), grades.get(random.nextInt(grades.size())));
+            course.setId(1 + i);
+            courses.add(course);
+        }
+        return courses;
+    }
+}
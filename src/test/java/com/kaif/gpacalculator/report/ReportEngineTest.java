@@ -0,0 +1,73 @@
+package com.kaif.gpacalculator.report;
+
+import com.kaif.gpacalculator.model.Course;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportEngineTest {
+
+    private static final List<Course> COURSES = List.of(
+        Course.withCreditHundredths("Algebra", "MTH101", 300, "Lee", "", "A"));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void pagedBatchRendersEveryItemOnce() throws IOException {
+        AtomicInteger pagesRead = new AtomicInteger();
+        // Items 1..50 in pages of 7, keyed on the last item like the calculation history
+        ReportEngine.PageSource<Integer> pages = after -> {
+            pagesRead.incrementAndGet();
+            int from = after == null ? 1 : after + 1;
+            List<Integer> page = new ArrayList<>();
+            for (int i = from; i <= 50 && page.size() < 7; i++) {
+                page.add(i);
+            }
+            return page;
+        };
+        try (ReportEngine engine = new ReportEngine(3)) {
+            ReportEngine.BatchReport report = engine.renderAll(pages, 50, i -> "item-" + i,
+                i -> GpaReport.forCalculation("Report " + i, null, 4.0, 3.0, COURSES),
+                directory, EnumSet.of(ReportEngine.Format.HTML), null);
+            assertEquals(50, report.getReports());
+            assertEquals(0, report.getFailed());
+            assertTrue(report.getLatencyMillis(100) > 0);
+        }
+        // Eight pages of items, then the empty one that ends the batch
+        assertEquals(9, pagesRead.get());
+        for (int i = 1; i <= 50; i++) {
+            assertTrue(Files.exists(directory.resolve("item-" + i + ".html")), "item " + i);
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(50, files.count());
+        }
+    }
+
+    @Test
+    void failedPageStopsTheBatch() {
+        ReportEngine.PageSource<Integer> pages = after -> {
+            if (after != null) {
+                throw new IOException("page after " + after + " unreadable");
+            }
+            return List.of(1, 2, 3);
+        };
+        try (ReportEngine engine = new ReportEngine(2)) {
+            IOException error = assertThrows(IOException.class, () -> engine.renderAll(pages, 10, i -> "item-" + i,
+                i -> GpaReport.forCalculation("Report " + i, null, 4.0, 3.0, COURSES),
+                directory, EnumSet.of(ReportEngine.Format.HTML), null));
+            assertEquals("page after 3 unreadable", error.getMessage());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.CohortBatch;
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cohort results match scoring each student's courses one by one with GpaCalculator, whatever
+ * the parallelism and row order
+ */
+class CohortGpaCalculatorTest {
+
+    private static final String[] SEMESTERS = {"2023-1", "2023-2", "2024-1", "2024-2"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void matchesPerStudentGpaAtAnyParallelismAndRowOrder() {
+        // Enough students that the fork-join tree splits several times
+        List<Row> rows = rows(new Random(17), 1500);
+        Map<String, String> expected = expected(rows);
+
+        for (int parallelism : new int[] {1, 2, 4, 8}) {
+            assertEquals(expected, render(CohortGpaCalculator.calculate(batch(rows), parallelism)),
+                         "parallelism " + parallelism);
+        }
+        Random random = new Random(5);
+        for (int round = 0; round < 3; round++) {
+            List<Row> shuffled = new ArrayList<>(rows);
+            Collections.shuffle(shuffled, random);
+            assertEquals(expected, render(CohortGpaCalculator.calculate(batch(shuffled), 1 << round + 1)),
+                         "shuffle " + round);
+        }
+    }
+
+    @Test
+    void readCsvUsesTheCourseCsvQuotingRules() throws IOException {
+        Path file = directory.resolve("cohort.csv");
+        Files.writeString(file, "student,semester,credit,grade\r\n"
+                                + "\"Doe, Jane\",2024-1,3.0,A\r\n"
+                                + " S2 , \"2024-2\" ,1.5, B+ \n"
+                                + "\"Doe, Jane\",2024-2,4,\"C\"\n");
+        CohortBatch batch = CohortBatch.readCsv(file);
+        assertEquals(3, batch.size());
+        assertEquals(List.of("Doe, Jane", "S2"), List.of(batch.getStudentId(0), batch.getStudentId(1)));
+        assertEquals(List.of(0, 1, 0), List.of(batch.getStudents()[0], batch.getStudents()[1], batch.getStudents()[2]));
+        assertEquals(List.of(300L, 150L, 400L), List.of(batch.getCredits()[0], batch.getCredits()[1], batch.getCredits()[2]));
+        GradeScale scale = batch.getScale();
+        assertEquals(List.of(scale.code("A"), scale.code("B+"), scale.code("C")),
+                     List.of(batch.getGradeCodes()[0], batch.getGradeCodes()[1], batch.getGradeCodes()[2]));
+
+        Files.writeString(file, "S1,2024-1,3.0,A\nS1,2024-1,three,A\n");
+        IOException error = assertThrows(IOException.class, () -> CohortBatch.readCsv(file));
+        assertTrue(error.getMessage().endsWith(":2: invalid credit 'three'"), error.getMessage());
+    }
+
+    private record Row(String student, String semester, long credit, String grade) {
+    }
+
+    private static List<Row> rows(Random random, int students) {
+        List<String> grades = new ArrayList<>(GradeScale.getActive().getGrades());
+        grades.add("X");
+        List<Row> rows = new ArrayList<>();
+        for (int s = 0; s < students; s++) {
+            for (int i = 1 + random.nextInt(12); i > 0; i--) {
+                rows.add(new Row("S" + s, SEMESTERS[random.nextInt(SEMESTERS.length)],
+                                 50 * (random.nextInt(9)), grades.get(random.nextInt(grades.size()))));
+            }
+        }
+        return rows;
+    }
+
+    private static CohortBatch batch(List<Row> rows) {
+        CohortBatch batch = new CohortBatch();
+        for (Row row : rows) {
+            batch.add(row.student(), row.semester(), row.credit(), row.grade());
+        }
+        return batch;
+    }
+
+    /**
+     * Each student's terms in label order, scored with the List&lt;Course&gt; calculator
+     */
+    private static Map<String, String> expected(List<Row> rows) {
+        Map<String, TreeMap<String, List<Course>>> byStudent = new HashMap<>();
+        for (Row row : rows) {
+            byStudent.computeIfAbsent(row.student(), student -> new TreeMap<>())
+                     .computeIfAbsent(row.semester(), semester -> new ArrayList<>())
+                     .add(Course.withCreditHundredths("Course", "C", row.credit(), "", "", row.grade()));
+        }
+        Map<String, String> expected = new HashMap<>();
+        byStudent.forEach((student, terms) -> {
+            StringBuilder text = new StringBuilder();
+            List<Course> soFar = new ArrayList<>();
+            terms.forEach((semester, courses) -> {
+                soFar.addAll(courses);
+                text.append(semester).append(' ')
+                    .append(GpaCalculator.calculateGPA(courses)).append(' ')
+                    .append(GpaCalculator.calculateTotalCredits(courses)).append(' ')
+                    .append(GpaCalculator.calculateGPA(soFar)).append(' ')
+                    .append(GpaCalculator.calculateTotalCredits(soFar)).append(';');
+            });
+            expected.put(student, text.toString());
+        });
+        return expected;
+    }
+
+    private static Map<String, String> render(List<CohortGpaCalculator.StudentGpa> results) {
+        Map<String, String> rendered = new HashMap<>();
+        for (CohortGpaCalculator.StudentGpa result : results) {
+            StringBuilder text = new StringBuilder();
+            for (int term = 0; term < result.getSemesters().size(); term++) {
+                text.append(result.getSemesters().get(term)).append(' ')
+                    .append(result.getTermGpa(term)).append(' ')
+                    .append(result.getTermCredits(term)).append(' ')
+                    .append(result.getCgpaAfter(term)).append(' ')
+                    .append(result.getCreditsAfter(term)).append(';');
+            }
+            rendered.put(result.getStudentId(), text.toString());
+        }
+        return rendered;
+    }
+}
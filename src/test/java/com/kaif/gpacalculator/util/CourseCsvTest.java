@@ -0,0 +1,156 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CourseCsvTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void quotingEscapesAndLineBreaks() {
+        String csv = "courseName,courseCode,courseCredit,teacher1Name,teacher2Name,grade\r\n"
+                   + "\"Algebra, Linear\",MTH101,3,\"Dr. \"\"Ada\"\"\",,A\r\n"
+                   + "\"Multi\nline\",PHY101,1.5, Smith ,\" Jones \",B+\n"
+                   + "History,HIS101,.75,Lee,Kim,C\n";
+        List<String> rows = parse(csv);
+        assertEquals(List.of(
+            "2|Algebra, Linear|MTH101|300|Dr. \"Ada\"|null|A",
+            "3|Multi\nline|PHY101|150|Smith| Jones |B+",
+            "5|History|HIS101|75|Lee|Kim|C"), rows);
+    }
+
+    @Test
+    void quoteInsideUnquotedFieldIsText() {
+        List<String> rows = parse("3\" disks,CS100,3,A,B,A\n\"ok\",CS101,3,A,B,B\n");
+        assertEquals(List.of("1|3\" disks|CS100|300|A|B|A", "2|ok|CS101|300|A|B|B"), rows);
+    }
+
+    @Test
+    void errorsCarryTheRecordsLineNumber() {
+        String csv = "Algebra,MTH101,3,A,B,A\n"
+                   + "\"Two\nlines\",X,abc,A,B,A\n"
+                   + "Short,row\n"
+                   + "\"bad\"quote,X,3,A,B,A\n"
+                   + "Tail,T1,3.125,A,B,A\n"
+                   + "\"open,X,3,A,B,A\n";
+        assertEquals(List.of(
+            "1|Algebra|MTH101|300|A|B|A",
+            "2|error|invalid courseCredit 'abc'",
+            "4|error|expected 6 fields but found 2",
+            "5|error|unexpected text after closing quote",
+            "6|error|invalid courseCredit '3.125'",
+            "7|error|unterminated quoted field"), parse(csv));
+    }
+
+    @Test
+    void writtenRecordsReadBack() throws IOException {
+        StringWriter out = new StringWriter();
+        CourseCsv.writeRecord(out, "Algebra, \"Linear\"", "MTH101", 325, " padded ", "Line\nbreak", "A-");
+        CourseCsv.writeRecord(out, "Plain", null, 100, "", "X", "C");
+        assertEquals(List.of("1|Algebra, \"Linear\"|MTH101|325| padded |Line\nbreak|A-",
+                             "3|Plain|null|100|null|X|C"), parse(out.toString()));
+    }
+
+    @Test
+    void parallelParseAgreesWithSerial() throws IOException {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 20; trial++) {
+            StringBuilder csv = new StringBuilder(CourseCsv.HEADER).append('\n');
+            int records = 50 + random.nextInt(400);
+            for (int i = 0; i < records; i++) {
+                csv.append(randomRecord(random, i));
+            }
+            Path file = directory.resolve("courses-" + trial + ".csv");
+            Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+            List<String> serial = new ArrayList<>();
+            List<String> parallel = Collections.synchronizedList(new ArrayList<>());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                new CourseCsv(GradeScale.STANDARD_4_0).parse(channel, collector(serial));
+                CourseCsv.parseParallel(channel, GradeScale.STANDARD_4_0, 1 + random.nextInt(8),
+                                        () -> collector(parallel));
+            }
+            List<String> sorted = new ArrayList<>(parallel);
+            sorted.sort(Comparator.comparingLong(CourseCsvTest::lineOf));
+            assertEquals(serial, sorted, "trial " + trial);
+        }
+    }
+
+    @Test
+    void emptyFieldsAreNull() {
+        List<String> rows = new ArrayList<>();
+        byte[] bytes = ",,1,,,\n".getBytes(StandardCharsets.UTF_8);
+        new CourseCsv(GradeScale.STANDARD_4_0).parse(bytes, 0, bytes.length, true, 1, collector(rows));
+        assertEquals(List.of("1|null|null|100|null|null|null"), rows);
+    }
+
+    private static String randomRecord(Random random, int i) {
+        String[] names = {"Algebra", "3\" disks", "\"Quoted, name\"", "\"Two\nlines\"", "\"Say \"\"hi\"\"\"",
+                          "\"CRLF\r\ninside\"", "\"bad\"tail", "Plain \"mid\" text", "\"\"", ""};
+        String[] credits = {"3", "1.5", "0.25", "x", "4.125"};
+        String[] breaks = {"\n", "\r\n", "\n", "\r\n", "\r"};
+        String record = names[random.nextInt(names.length)] + ",C" + i + "," + credits[random.nextInt(credits.length)]
+                      + ",Teacher,\"Other, T\"," + (random.nextBoolean() ? "A" : "B+");
+        if (random.nextInt(20) == 0) {
+            record = "short,row";
+        }
+        return record + breaks[random.nextInt(breaks.length)];
+    }
+
+    private static List<String> parse(String csv) {
+        List<String> rows = new ArrayList<>();
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        CourseCsv parser = new CourseCsv(GradeScale.STANDARD_4_0);
+        int end = parser.parse(bytes, 0, bytes.length, true, 1, collector(rows));
+        assertEquals(bytes.length, end);
+        // Fed in small pieces (as from a mapped block) the result is the same
+        List<String> pieces = new ArrayList<>();
+        int position = 0;
+        long line = 1;
+        for (int to = Math.min(7, bytes.length); position < bytes.length; to = Math.min(to + 7, bytes.length)) {
+            position = parser.parse(bytes, position, to, to == bytes.length, line, collector(pieces));
+            line = parser.nextLine();
+        }
+        assertEquals(rows, pieces);
+        return rows;
+    }
+
+    private static CourseCsv.RowHandler collector(List<String> rows) {
+        return new CourseCsv.RowHandler() {
+            @Override
+            public void course(long line, Course course) {
+                rows.add(line + "|" + course.getCourseName() + "|" + course.getCourseCode() + "|"
+                         + course.getCreditHundredths() + "|" + course.getTeacher1Name() + "|"
+                         + course.getTeacher2Name() + "|" + course.getGrade());
+            }
+
+            @Override
+            public void error(long line, String message) {
+                rows.add(line + "|error|" + message);
+            }
+        };
+    }
+
+    private static long lineOf(String row) {
+        return Long.parseLong(row.substring(0, row.indexOf('|')));
+    }
+}
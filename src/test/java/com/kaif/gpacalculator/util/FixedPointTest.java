@@ -0,0 +1,74 @@
+package com.kaif.gpacalculator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FixedPointTest {
+
+    private static final RoundingMode[] MODES = {
+        RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+        RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN
+    };
+
+    @Test
+    void divideMatchesBigDecimalInEveryMode() {
+        Random random = new Random(15);
+        for (RoundingMode mode : MODES) {
+            for (long n = -40; n <= 40; n++) {
+                for (long d = -8; d <= 8; d++) {
+                    if (d != 0) {
+                        assertEquals(expected(n, d, mode), FixedPoint.divide(n, d, mode), n + "/" + d + " " + mode);
+                    }
+                }
+            }
+            for (int i = 0; i < 10_000; i++) {
+                long n = random.nextLong() >> random.nextInt(63);
+                long d = random.nextLong() >> random.nextInt(63);
+                if (d != 0) {
+                    assertEquals(expected(n, d, mode), FixedPoint.divide(n, d, mode), n + "/" + d + " " + mode);
+                }
+            }
+        }
+    }
+
+    @Test
+    void exactHalves() {
+        assertEquals(3, FixedPoint.divide(5, 2, RoundingMode.HALF_UP));
+        assertEquals(-3, FixedPoint.divide(-5, 2, RoundingMode.HALF_UP));
+        assertEquals(2, FixedPoint.divide(5, 2, RoundingMode.HALF_DOWN));
+        assertEquals(-2, FixedPoint.divide(5, -2, RoundingMode.HALF_DOWN));
+        assertEquals(2, FixedPoint.divide(5, 2, RoundingMode.HALF_EVEN));
+        assertEquals(4, FixedPoint.divide(7, 2, RoundingMode.HALF_EVEN));
+        assertEquals(-4, FixedPoint.divide(-7, 2, RoundingMode.HALF_EVEN));
+        // 3.345 GPA in ten-thousandths over 1.00 credit: the half a registrar rounds up
+        assertEquals(335, FixedPoint.divide(33450, 100, RoundingMode.HALF_UP));
+        assertEquals(334, FixedPoint.divide(33450, 100, RoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void extremes() {
+        for (RoundingMode mode : MODES) {
+            assertEquals(expected(Long.MAX_VALUE, 2, mode), FixedPoint.divide(Long.MAX_VALUE, 2, mode), mode.toString());
+            assertEquals(expected(Long.MIN_VALUE + 1, 2, mode), FixedPoint.divide(Long.MIN_VALUE + 1, 2, mode), mode.toString());
+            assertEquals(expected(Long.MAX_VALUE - 1, Long.MAX_VALUE, mode),
+                         FixedPoint.divide(Long.MAX_VALUE - 1, Long.MAX_VALUE, mode), mode.toString());
+        }
+    }
+
+    @Test
+    void unnecessaryAndZero() {
+        assertEquals(3, FixedPoint.divide(6, 2, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.divide(7, 2, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.divide(7, 0, RoundingMode.HALF_UP));
+    }
+
+    private static long expected(long n, long d, RoundingMode mode) {
+        return BigDecimal.valueOf(n).divide(BigDecimal.valueOf(d), 0, mode).longValueExact();
+    }
+}
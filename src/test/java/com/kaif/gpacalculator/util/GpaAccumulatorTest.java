@@ -0,0 +1,69 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GpaAccumulatorTest {
+
+    @Test
+    void boundListMatchesFullRecalculationAfterRandomEdits() {
+        Random random = new Random(11);
+        List<String> grades = GradeScale.getActive().getGrades();
+        ObservableList<Course> courses = FXCollections.observableArrayList();
+        GpaAccumulator accumulator = new GpaAccumulator();
+        accumulator.bind(courses);
+
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(10);
+            if (op < 4 || courses.isEmpty()) {
+                courses.add(random.nextInt(courses.size() + 1), randomCourse(random, grades));
+            } else if (op < 6) {
+                courses.remove(random.nextInt(courses.size()));
+            } else if (op < 8) {
+                courses.set(random.nextInt(courses.size()), randomCourse(random, grades));
+            } else if (op == 8) {
+                List<Course> replacement = new ArrayList<>(courses.subList(0, courses.size() / 2));
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    replacement.add(randomCourse(random, grades));
+                }
+                courses.setAll(replacement);
+            } else {
+                FXCollections.shuffle(courses, random);
+            }
+
+            assertEquals(courses.size(), accumulator.getCourseCount(), "step " + step);
+            assertEquals(GpaCalculator.calculateTotalCreditHundredths(courses),
+                         accumulator.getTotalCreditHundredths(), "step " + step);
+            assertEquals(GpaCalculator.calculateGPAHundredths(courses), accumulator.getGpaHundredths(), "step " + step);
+            assertEquals(GpaCalculator.calculateGPA(courses), accumulator.getGpa(), "step " + step);
+        }
+
+        accumulator.unbind();
+        long credits = accumulator.getTotalCreditHundredths();
+        courses.clear();
+        assertEquals(credits, accumulator.getTotalCreditHundredths());
+    }
+
+    @Test
+    void refreshPicksUpInPlaceEdit() {
+        Course course = Course.withCreditHundredths("Algebra", "MTH101", 300, "", "", "A");
+        GpaAccumulator accumulator = GpaAccumulator.of(List.of(course));
+        course.setGrade("C");
+        accumulator.refresh(course);
+        assertEquals(GpaCalculator.calculateGPA(List.of(course)), accumulator.getGpa());
+    }
+
+    private static Course randomCourse(Random random, List<String> grades) {
+        return Course.withCreditHundredths("Course", "C" + random.nextInt(1000), 25 * (1 + random.nextInt(24)),
+                                           "", "", grades.get(random.nextInt(grades.size())));
+    }
+}
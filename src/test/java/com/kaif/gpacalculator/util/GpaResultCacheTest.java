@@ -0,0 +1,105 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GpaResultCacheTest {
+
+    @Test
+    void contentHashIgnoresOrderIdsAndSessions() {
+        List<Course> courses = new ArrayList<>(List.of(
+            course("Algebra", "MTH101", 300, "A"),
+            course("Physics", "PHY101", 400, "B+"),
+            course("History", "HIS101", 200, "C"),
+            course("Algebra", "MTH101", 300, "A")));
+        String hash = GpaResultCache.contentHash(courses);
+
+        Random random = new Random(20);
+        for (int i = 0; i < 10; i++) {
+            Collections.shuffle(courses, random);
+            assertEquals(hash, GpaResultCache.contentHash(courses));
+        }
+        List<Course> reloaded = new ArrayList<>();
+        for (Course course : courses) {
+            Course copy = course(course.getCourseName(), course.getCourseCode(), course.getCreditHundredths(),
+                                 course.getGrade());
+            copy.setId(1 + random.nextInt(1000));
+            copy.setSessionId(random.nextInt(5));
+            reloaded.add(copy);
+        }
+        assertEquals(hash, GpaResultCache.contentHash(reloaded));
+    }
+
+    @Test
+    void contentHashSeesEveryGradedField() {
+        List<Course> courses = List.of(course("Algebra", "MTH101", 300, "A"), course("Physics", "PHY101", 400, "B"));
+        String hash = GpaResultCache.contentHash(courses);
+        assertNotEquals(hash, GpaResultCache.contentHash(List.of(courses.get(0))));
+        assertNotEquals(hash, GpaResultCache.contentHash(
+            List.of(course("Algebra", "MTH101", 300, "A"), course("Physics", "PHY101", 400, "B-"))));
+        assertNotEquals(hash, GpaResultCache.contentHash(
+            List.of(course("Algebra", "MTH101", 300, "A"), course("Physics", "PHY101", 350, "B"))));
+        // Fields are separated, so shifting text between name and code changes the hash
+        assertNotEquals(GpaResultCache.contentHash(List.of(course("AB", "C", 300, "A"))),
+                        GpaResultCache.contentHash(List.of(course("A", "BC", 300, "A"))));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndCountsHitsAndMisses() {
+        GpaResultCache cache = new GpaResultCache(3);
+        AtomicInteger computed = new AtomicInteger();
+        List<Boolean> hooked = new ArrayList<>();
+        cache.setMetricsHook((hit, hits, misses, size) -> hooked.add(hit));
+
+        GpaResultCache.Result a = lookup(cache, "a", computed);
+        lookup(cache, "b", computed);
+        lookup(cache, "c", computed);
+        assertSame(a, lookup(cache, "a", computed)); // a is now the most recent
+        lookup(cache, "d", computed);                // evicts b
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        lookup(cache, "a", computed);
+        lookup(cache, "c", computed);
+        lookup(cache, "d", computed);
+        assertEquals(4, computed.get());
+        lookup(cache, "b", computed);                // miss again, evicts a
+        assertEquals(5, computed.get());
+        lookup(cache, "a", computed);
+        assertEquals(6, computed.get());
+
+        assertEquals(4, cache.getHitCount());
+        assertEquals(6, cache.getMissCount());
+        assertEquals(0.4, cache.getHitRate(), 1e-12);
+        assertEquals(List.of(false, false, false, true, false, true, true, true, false, false), hooked);
+    }
+
+    @Test
+    void courseListLookupUsesExactTotals() {
+        GpaResultCache cache = new GpaResultCache(4);
+        List<Course> courses = List.of(course("Algebra", "MTH101", 300, "A"), course("Physics", "PHY101", 400, "C"));
+        GpaResultCache.Result result = cache.get(courses);
+        assertEquals(GpaCalculator.calculateGPAHundredths(courses), result.getGpaHundredths());
+        assertEquals(700, result.getCreditHundredths());
+        assertSame(result, cache.get(List.of(courses.get(1), courses.get(0))));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    private static GpaResultCache.Result lookup(GpaResultCache cache, String key, AtomicInteger computed) {
+        return cache.get(key, () -> new GpaResultCache.Result(computed.incrementAndGet() * 1000L, 100, 1));
+    }
+
+    private static Course course(String name, String code, long credits, String grade) {
+        return Course.withCreditHundredths(name, code, credits, "Teacher", "", grade);
+    }
+}
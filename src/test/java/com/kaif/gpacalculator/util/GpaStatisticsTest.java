@@ -0,0 +1,109 @@
+package com.kaif.gpacalculator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GpaStatisticsTest {
+
+    private static final double[] QUANTILES = {0.0, 0.01, 0.1, 0.25, 0.5, 0.5001, 0.75, 0.9, 0.99, 1.0};
+
+    @Test
+    void matchesSortedArrayThroughAddsAndRemoves() {
+        Random random = new Random(19);
+        GpaStatistics statistics = new GpaStatistics();
+        List<Long> values = new ArrayList<>();
+
+        for (int step = 0; step < 3000; step++) {
+            if (values.isEmpty() || random.nextInt(3) != 0) {
+                // Clustered values so ties are common
+                long value = random.nextBoolean() ? random.nextInt(401) : 250 + random.nextInt(20);
+                statistics.add(value);
+                values.add(value);
+            } else {
+                long value = values.remove(random.nextInt(values.size()));
+                assertTrue(statistics.remove(value / 100.0), "step " + step);
+            }
+            if (step % 25 == 0) {
+                check(statistics, values, "step " + step);
+            }
+        }
+        while (!values.isEmpty()) {
+            assertTrue(statistics.remove(values.remove(values.size() - 1) / 100.0));
+            check(statistics, values, values.size() + " left");
+        }
+        assertTrue(statistics.isEmpty());
+    }
+
+    @Test
+    void removeOfAbsentValueIsRejected() {
+        GpaStatistics statistics = new GpaStatistics();
+        statistics.add(3.5);
+        assertFalse(statistics.remove(3.49));
+        assertFalse(statistics.remove(9.99));
+        assertTrue(statistics.remove(3.5));
+        assertFalse(statistics.remove(3.5));
+        assertEquals(0, statistics.getCount());
+    }
+
+    @Test
+    void mergeAddsCounts() {
+        GpaStatistics a = new GpaStatistics();
+        GpaStatistics b = new GpaStatistics();
+        List<Long> values = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            long value = random.nextInt(1000);
+            (i % 2 == 0 ? a : b).add(value);
+            values.add(value);
+        }
+        a.merge(b);
+        check(a, values, "merged");
+    }
+
+    private static void check(GpaStatistics statistics, List<Long> values, String context) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+        int n = sorted.length;
+        assertEquals(n, statistics.getCount(), context);
+        if (n == 0) {
+            assertEquals(0.0, statistics.quantile(0.5), context);
+            assertEquals(0.0, statistics.percentileRank(3.0), context);
+            return;
+        }
+        assertEquals(sorted[0] / 100.0, statistics.getMin(), context);
+        assertEquals(sorted[n - 1] / 100.0, statistics.getMax(), context);
+        long sum = 0;
+        for (long value : sorted) {
+            sum += value;
+        }
+        assertEquals(sum / (n * 100.0), statistics.getMean(), 1e-12, context);
+
+        for (double q : QUANTILES) {
+            int rank = Math.max(1, (int) Math.ceil(q * n));
+            assertEquals(sorted[rank - 1] / 100.0, statistics.quantile(q), context + " q " + q);
+        }
+        for (long probe : new long[] {-5, 0, sorted[0], sorted[n / 2], sorted[n - 1], sorted[n - 1] + 1, 260, 1200}) {
+            long below = 0;
+            long equal = 0;
+            for (long value : sorted) {
+                below += value < probe ? 1 : 0;
+                equal += value == probe ? 1 : 0;
+            }
+            assertEquals(100.0 * (below + equal / 2.0) / n, statistics.percentileRank(probe / 100.0), 1e-9,
+                         context + " rank of " + probe);
+        }
+
+        long[] bins = new long[(int) (sorted[n - 1] / 50) + 1];
+        for (long value : sorted) {
+            bins[(int) (value / 50)]++;
+        }
+        assertArrayEquals(bins, statistics.histogram(50), context);
+    }
+}
@@ -0,0 +1,142 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.GradeScale;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TargetGpaSolverTest {
+
+    @Test
+    void frontierMatchesBruteForceOnSmallInputs() {
+        Random random = new Random(17);
+        for (GradeScale scale : GradeScale.builtInScales()) {
+            long[] levels = levels(scale);
+            long top = levels[levels.length - 1];
+            for (int trial = 0; trial < 300; trial++) {
+                int n = 1 + random.nextInt(4);
+                long[] pending = new long[n];
+                for (int i = 0; i < n; i++) {
+                    pending[i] = 50 * (1 + random.nextInt(8));
+                }
+                long completedCredits = random.nextInt(4) == 0 ? 0 : 100 * (1 + random.nextInt(30));
+                long completedWeighted = completedCredits * random.nextLong(top + 1);
+                long target = random.nextLong(top + 40);
+
+                TargetGpaSolver.Plan plan = TargetGpaSolver.solve(completedWeighted, completedCredits, pending,
+                                                                  scale, target);
+                List<long[]> expected = bruteForce(completedWeighted, completedCredits, pending, levels, target);
+                String context = scale + " pending " + Arrays.toString(pending) + " completed "
+                                 + completedWeighted + "/" + completedCredits + " target " + target;
+
+                assertEquals(!expected.isEmpty(), plan.isFeasible(), context);
+                assertEquals(expected.size(), plan.getFrontier().size(), context);
+                for (int k = 0; k < expected.size(); k++) {
+                    TargetGpaSolver.Assignment assignment = plan.getFrontier().get(k);
+                    assertEquals(levels[(int) expected.get(k)[0]],
+                                 scale.pointsHundredths(scale.code(assignment.getHardestGrade())), context);
+                    assertEquals(expected.get(k)[1], assignment.getPendingWeighted(), context);
+
+                    long weighted = 0;
+                    for (int i = 0; i < n; i++) {
+                        long points = scale.pointsHundredths(scale.code(assignment.getGrade(i)));
+                        assertTrue(points <= levels[(int) expected.get(k)[0]], context);
+                        weighted += pending[i] * points;
+                    }
+                    assertEquals(assignment.getPendingWeighted(), weighted, context);
+                    assertTrue(GpaCalculator.gpaHundredths(completedWeighted + weighted,
+                                                           completedCredits + sum(pending)) >= target, context);
+                }
+            }
+        }
+    }
+
+    @Test
+    void infeasibleTargetReportsBestPossible() {
+        GradeScale scale = GradeScale.STANDARD_4_0;
+        long[] pending = {300, 300};
+        // 30 credits at 2.00 plus 6 at 4.00 tops out at 2.33
+        TargetGpaSolver.Plan plan = TargetGpaSolver.solve(3000 * 200, 3000, pending, scale, 300);
+        assertFalse(plan.isFeasible());
+        assertTrue(plan.getFrontier().isEmpty());
+        assertNull(plan.getMinimumEffort());
+        assertEquals(GpaCalculator.gpaHundredths(3000 * 200 + 600 * 400, 3600), plan.getBestGpaHundredths());
+    }
+
+    @Test
+    void alreadyMetTargetNeedsOnlyTheLowestGrade() {
+        GradeScale scale = GradeScale.STANDARD_4_0;
+        long lowest = levels(scale)[0];
+        TargetGpaSolver.Plan plan = TargetGpaSolver.solve(3000 * 400, 3000, new long[] {300, 100}, scale, 300);
+        assertTrue(plan.isFeasible());
+        TargetGpaSolver.Assignment easiest = plan.getMinimumEffort();
+        assertEquals(lowest, scale.pointsHundredths(scale.code(easiest.getHardestGrade())));
+        assertEquals(400 * lowest, easiest.getPendingWeighted());
+        assertEquals(1, plan.getFrontier().size());
+    }
+
+    /**
+     * (ceiling level, least pending weighted total) for each ceiling that lowers the total,
+     * by trying every grade combination
+     */
+    private static List<long[]> bruteForce(long completedWeighted, long completedCredits, long[] pending,
+                                           long[] levels, long target) {
+        long totalCredits = completedCredits + sum(pending);
+        List<long[]> frontier = new ArrayList<>();
+        long previous = Long.MAX_VALUE;
+        for (int ceiling = 0; ceiling < levels.length; ceiling++) {
+            long best = Long.MAX_VALUE;
+            int[] choice = new int[pending.length];
+            while (true) {
+                long weighted = 0;
+                for (int i = 0; i < pending.length; i++) {
+                    weighted += pending[i] * levels[choice[i]];
+                }
+                boolean reaches = totalCredits == 0
+                    ? target <= 0
+                    : GpaCalculator.gpaHundredths(completedWeighted + weighted, totalCredits) >= target;
+                if (reaches) {
+                    best = Math.min(best, weighted);
+                }
+                int i = 0;
+                while (i < pending.length && choice[i] == ceiling) {
+                    choice[i++] = 0;
+                }
+                if (i == pending.length) {
+                    break;
+                }
+                choice[i]++;
+            }
+            if (best < previous) {
+                frontier.add(new long[] {ceiling, best});
+                previous = best;
+            }
+        }
+        return frontier;
+    }
+
+    private static long[] levels(GradeScale scale) {
+        TreeSet<Long> points = new TreeSet<>();
+        for (int code = 0; code < scale.size(); code++) {
+            points.add(scale.pointsHundredths((byte) code));
+        }
+        return points.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,96 @@
+package com.kaif.gpacalculator.util;
+
+import com.kaif.gpacalculator.model.GradeScale;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * WeightedSumKernel (SIMD when the JVM has jdk.incubator.vector, scalar otherwise) must match
+ * the scalar loop exactly. Surefire runs this class both with and without the module.
+ */
+class WeightedSumKernelTest {
+
+    private static final int[] LENGTHS = {0, 1, 7, 8, 9, 63, 64, 65, 1000, 4099};
+
+    @Test
+    void codeTableSumsMatchScalarLoopOnEveryBuiltInScale() {
+        Random random = new Random(18);
+        for (GradeScale scale : GradeScale.builtInScales()) {
+            long[] table = scale.hundredthsTable();
+            for (int length : LENGTHS) {
+                long[] credits = randomCredits(random, length + 3);
+                byte[] codes = randomCodes(random, length + 3, scale.size());
+                assertArrayEquals(WeightedSumKernel.scalarSums(credits, codes, table, length),
+                                  WeightedSumKernel.sums(credits, codes, table, length),
+                                  scale + " length " + length);
+            }
+        }
+    }
+
+    @Test
+    void pointSumsMatchScalarLoop() {
+        Random random = new Random(7);
+        for (int length : LENGTHS) {
+            long[] credits = randomCredits(random, length);
+            long[] points = new long[length];
+            for (int i = 0; i < length; i++) {
+                points[i] = random.nextInt(431);
+            }
+            assertArrayEquals(WeightedSumKernel.scalarSums(credits, points, length),
+                              WeightedSumKernel.sums(credits, points, length), "length " + length);
+        }
+    }
+
+    @Test
+    void builtInScalesTakeTheVectorPath() {
+        assumeTrue(WeightedSumKernel.isVectorized(), "Vector API not in use");
+        for (GradeScale scale : GradeScale.builtInScales()) {
+            assertTrue(VectorWeightedSum.vectorizes(scale.hundredthsTable()), scale.toString());
+        }
+    }
+
+    @Test
+    void vectorKernelIgnoresUnknownAndOutOfScaleCodes() {
+        assumeTrue(WeightedSumKernel.isVectorized(), "Vector API not in use");
+        Random random = new Random(3);
+        long[] table = GradeScale.SCALE_4_3.hundredthsTable();
+        long[] credits = randomCredits(random, 513);
+        byte[] codes = new byte[513];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (byte) random.nextInt(256);
+        }
+        assertArrayEquals(WeightedSumKernel.scalarSums(credits, codes, table, codes.length),
+                          VectorWeightedSum.sums(credits, codes, table, codes.length));
+    }
+
+    @Test
+    void scalarWhenModuleMissing() {
+        assumeTrue(Boolean.getBoolean("gpa.test.expectScalar"));
+        assertFalse(WeightedSumKernel.isVectorized());
+    }
+
+    private static long[] randomCredits(Random random, int length) {
+        long[] credits = new long[length];
+        for (int i = 0; i < length; i++) {
+            credits[i] = 25 + random.nextInt(600);
+        }
+        return credits;
+    }
+
+    /**
+     * Codes of the scale with about one in ten UNKNOWN
+     */
+    private static byte[] randomCodes(Random random, int length, int size) {
+        byte[] codes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            codes[i] = random.nextInt(10) == 0 ? GradeScale.UNKNOWN : (byte) random.nextInt(size);
+        }
+        return codes;
+    }
+}
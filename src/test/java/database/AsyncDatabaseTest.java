@@ -0,0 +1,157 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes run one at a time in submission order, failures reach the returned future, and
+ * import chunks commit whole between writer-thread transactions
+ */
+class AsyncDatabaseTest {
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+
+    @BeforeAll
+    static void openDatabase() {
+        file = directory.resolve("async.db");
+        System.setProperty("gpa.db.path", file.toString());
+    }
+
+    @AfterAll
+    static void close() {
+        AsyncDatabase.getInstance().shutdown();
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void writesRunOneAtATimeInSubmissionOrder() {
+        AsyncDatabase database = AsyncDatabase.getInstance();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<CompletableFuture<Integer>> writes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int task = i;
+            writes.add(database.submitWrite(() -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                order.add(task);
+                threads.add(Thread.currentThread().getName());
+                Thread.yield();
+                running.decrementAndGet();
+                return task;
+            }));
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        assertEquals(0, overlaps.get());
+        assertEquals(Set.of("db-writer"), threads);
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i, order.get(i));
+        }
+
+        // The public writes share the queue, so ids follow submission order
+        List<Course> courses = new ArrayList<>();
+        List<CompletableFuture<Boolean>> inserts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Course course = course("Ordered " + i);
+            courses.add(course);
+            inserts.add(database.insertCourse(course));
+        }
+        inserts.forEach(insert -> assertTrue(insert.join()));
+        for (int i = 1; i < courses.size(); i++) {
+            assertTrue(courses.get(i).getId() > courses.get(i - 1).getId());
+        }
+    }
+
+    @Test
+    void failingWriteCompletesExceptionallyAndTheWriterCarriesOn() {
+        AsyncDatabase database = AsyncDatabase.getInstance();
+        IllegalStateException failure = new IllegalStateException("write failed");
+        CompletableFuture<Object> failed = database.submitWrite(() -> {
+            throw failure;
+        });
+        CompletableFuture<Boolean> next = database.insertCourse(course("After failure"));
+
+        CompletionException error = assertThrows(CompletionException.class, failed::join);
+        assertSame(failure, error.getCause());
+        assertTrue(failed.isCompletedExceptionally());
+        assertTrue(next.join());
+    }
+
+    @Test
+    void importChunksNeverInterleaveWithWriterTransactions() throws IOException, SQLException {
+        AsyncDatabase database = AsyncDatabase.getInstance();
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 400; i++) {
+            json.append(i == 0 ? "" : ",")
+                .append("{\"courseName\":\"Imported ").append(i)
+                .append("\",\"courseCode\":\"IMP100\",\"courseCredit\":3.0,\"grade\":\"A\"}");
+        }
+        Path input = directory.resolve("import.json");
+        Files.writeString(input, json.append("]"));
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CompletableFuture<db.ImportReport> imported = database.importCoursesFromJSON(
+            input, 20, report -> threads.add(Thread.currentThread().getName()));
+        // Keep the writer busy for the whole import
+        List<CompletableFuture<Boolean>> writes = new ArrayList<>();
+        while (!imported.isDone()) {
+            writes.add(database.insertCourse(course("Concurrent " + writes.size())));
+            writes.get(writes.size() - 1).join();
+        }
+        assertEquals(400, imported.join().getImported());
+        writes.forEach(write -> assertTrue(write.join()));
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("db-import-")), threads.toString());
+
+        // Each chunk is one transaction under db's lock, so its ids are contiguous
+        List<Integer> ids = ids("SELECT id FROM courses WHERE course_name LIKE 'Imported %' ORDER BY id");
+        for (int chunk = 0; chunk < ids.size(); chunk += 20) {
+            assertEquals(19, ids.get(chunk + 19) - ids.get(chunk), "chunk at record " + chunk);
+        }
+    }
+
+    private static Course course(String name) {
+        return Course.withCreditHundredths(name, "ASY100", 300, "", "", "B");
+    }
+
+    private static List<Integer> ids(String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,81 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deleting a calculation removes its course snapshot once no other calculation uses it
+ */
+class CalculationDeleteTest {
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+
+    @BeforeAll
+    static void openDatabase() {
+        file = directory.resolve("history.db");
+        System.setProperty("gpa.db.path", file.toString());
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void sharedSnapshotOutlivesTheFirstDelete() throws SQLException {
+        db database = db.getInstance();
+        List<Course> courses = List.of(Course.withCreditHundredths("Algebra", "MTH101", 300, "Lee", "", "A"));
+        // Distinct content hashes keep two rows; the identical course JSON shares one snapshot
+        assertTrue(database.insertCalculation(4.0, 3.0, courses, "first"));
+        assertTrue(database.insertCalculation(4.0, 3.0, courses, "second"));
+        assertTrue(database.insertCalculation(3.0, 3.0,
+            List.of(Course.withCreditHundredths("Physics", "PHY101", 300, "Kim", "", "B")), "third"));
+        assertEquals(2, snapshots());
+
+        List<db.CalculationRecord> history = database.getCalculationHistory(10);
+        assertEquals(3, history.size());
+        for (db.CalculationRecord record : history) {
+            assertTrue(database.deleteCalculation(record.getId()));
+        }
+        assertEquals(0, snapshots());
+    }
+
+    @Test
+    void deleteKeepsSnapshotStillInUse() throws SQLException {
+        db database = db.getInstance();
+        List<Course> courses = List.of(Course.withCreditHundredths("History", "HIS101", 200, "Ng", "", "C"));
+        assertTrue(database.insertCalculation(2.25, 2.0, courses, "kept-1"));
+        assertTrue(database.insertCalculation(2.25, 2.0, courses, "kept-2"));
+        List<db.CalculationRecord> history = database.getCalculationHistory(10);
+        assertTrue(database.deleteCalculation(history.get(0).getId()));
+        assertEquals(1, snapshots());
+        assertEquals(courses.get(0).getCourseCode(),
+                     database.getCalculationCourses(history.get(1).getId()).get(0).getCourseCode());
+        assertTrue(database.deleteCalculation(history.get(1).getId()));
+        assertEquals(0, snapshots());
+    }
+
+    private static long snapshots() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM course_snapshots")) {
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keyset pages walk every course exactly once in (created_at, id) order, and streamCourses
+ * gives its dedicated connection back when the stream is closed
+ */
+class CoursePagingTest {
+
+    private static final String[] TIMESTAMPS = {"2024-01-01 09:00:00", "2024-03-01 09:00:00", "2024-02-01 09:00:00"};
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+
+    @BeforeAll
+    static void openDatabase() {
+        file = directory.resolve("paging.db");
+        System.setProperty("gpa.db.path", file.toString());
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @BeforeEach
+    void clearCourses() {
+        assertTrue(db.getInstance().deleteAllCourses());
+    }
+
+    @Test
+    void emptyTableHasOneEmptyLastPage() {
+        db.CoursePage page = db.getInstance().getCoursesPage(null, 5);
+        assertEquals(List.of(), page.getCourses());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void pagesBreakTiesOnCreatedAtById() throws SQLException {
+        // Ten courses on three timestamps, so most page boundaries fall inside a tie
+        List<Integer> expected = insertWithTimestamps(10);
+
+        for (int pageSize : new int[] {1, 3, 4, 10}) {
+            List<Integer> walked = new ArrayList<>();
+            List<Integer> sizes = new ArrayList<>();
+            db.CoursePage page = null;
+            do {
+                page = db.getInstance().getCoursesPage(page, pageSize);
+                page.getCourses().forEach(course -> walked.add(course.getId()));
+                sizes.add(page.getCourses().size());
+            } while (page.hasMore());
+
+            assertEquals(expected, walked, "page size " + pageSize);
+            // Only the last page is short; an exact multiple ends with an empty page
+            int last = 10 % pageSize;
+            assertEquals(last, sizes.get(sizes.size() - 1), "page size " + pageSize);
+            assertTrue(sizes.subList(0, sizes.size() - 1).stream().allMatch(size -> size == pageSize),
+                       "page size " + pageSize + ": " + sizes);
+        }
+    }
+
+    @Test
+    void streamClosesItsDedicatedConnection() throws SQLException {
+        insertWithTimestamps(10);
+        try (Stream<Course> courses = db.getInstance().streamCourses(2)) {
+            assertEquals(3, courses.limit(3).count());
+            // The half-read stream keeps a read transaction open, which pins the WAL
+            assertEquals(1, truncateWal());
+        }
+        assertEquals(0, truncateWal());
+    }
+
+    /**
+     * Insert count courses spread over TIMESTAMPS; returns their ids newest first
+     */
+    private static List<Integer> insertWithTimestamps(int count) throws SQLException {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            courses.add(Course.withCreditHundredths("Course " + i, "PG" + i, 300, "", "", "A"));
+        }
+        assertTrue(db.getInstance().insertCourses(courses));
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement()) {
+            for (int i = 0; i < count; i++) {
+                stmt.executeUpdate("UPDATE courses SET created_at = '" + TIMESTAMPS[i % TIMESTAMPS.length]
+                                   + "' WHERE id = " + courses.get(i).getId());
+            }
+            List<Integer> ids = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT id FROM courses ORDER BY created_at DESC, id DESC")) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * The busy flag of a TRUNCATE checkpoint: 1 while any connection is still reading
+     */
+    private static int truncateWal() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = 0");
+            try (ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(TRUNCATE)")) {
+                return rs.getInt(1);
+            }
+        }
+    }
+}
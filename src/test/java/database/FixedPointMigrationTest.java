@@ -0,0 +1,81 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Version 6: credit and grade points gain exact hundredths columns, backfilled from the REAL ones
+ */
+class FixedPointMigrationTest {
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+
+    @BeforeAll
+    static void openLegacyDatabase() throws SQLException {
+        file = directory.resolve("v5.db");
+        LegacyDatabase legacy = LegacyDatabase.create(file);
+        // Two-decimal credits whose doubles times 100 land just off the integer (0.29 * 100 = 28.999...)
+        legacy.course("Algebra", "MTH101", 3.3, "B+", 3.3)
+              .course("Lab", "PHY101L", 0.15, "A-", 3.7)
+              .course("Seminar", "SEM100", 0.29, "C", 2.0)
+              .course("Thesis", "THS400", 1.13, "A", 4.0);
+        legacy.close();
+        System.setProperty("gpa.db.path", file.toString());
+        db.getInstance();
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void migratesToTheCurrentVersion() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            assertEquals(10, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void backfillsHundredthsRoundedFromTheRealColumns() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT credit_hundredths, grade_points_hundredths FROM courses ORDER BY id")) {
+            long[][] expected = {{330, 330}, {15, 370}, {29, 200}, {113, 400}};
+            for (long[] row : expected) {
+                rs.next();
+                assertEquals(row[0], rs.getLong(1));
+                assertEquals(row[1], rs.getLong(2));
+            }
+        }
+    }
+
+    @Test
+    void coursesLoadWithExactCredits() {
+        List<Course> courses = db.getInstance().getAllCourses();
+        assertEquals(4, courses.size());
+        long total = 0;
+        for (Course course : courses) {
+            total += course.getCreditHundredths();
+        }
+        assertEquals(330 + 15 + 29 + 113, total);
+    }
+}
@@ -0,0 +1,77 @@
+package database;
+
+import com.kaif.gpacalculator.model.GradeScale;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Starting with a different -Dgpa.gradeScale than the stored points were scored under
+ * re-scores them before anything reads the database
+ */
+class GradeScaleStartupTest {
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+
+    @BeforeAll
+    static void openLegacyDatabase() throws SQLException {
+        file = directory.resolve("v5.db");
+        LegacyDatabase legacy = LegacyDatabase.create(file);
+        legacy.course("Algebra", "MTH101", 3.0, "A", 3.75)
+              .course("Physics", "PHY101", 4.0, "C+", 2.5)
+              .course("Seminar", "SEM100", 1.0, "D", 2.0);
+        legacy.close();
+        // Read once, when GradeScale loads
+        System.setProperty("gpa.gradeScale", "4.3");
+        System.setProperty("gpa.db.path", file.toString());
+        db.getInstance();
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void rescoresUnderTheConfiguredScale() throws SQLException {
+        assertSame(GradeScale.SCALE_4_3, GradeScale.getActive());
+        assertEquals(List.of("A|400", "C+|230", "D|100"),
+                     rows("SELECT grade, grade_points_hundredths FROM courses ORDER BY id"));
+        assertEquals(List.of("4.3|" + GradeScale.SCALE_4_3.fingerprint()),
+                     rows("SELECT name, fingerprint FROM grade_scale_state"));
+    }
+
+    @Test
+    void fingerprintIsStableAcrossRuns() {
+        // Frozen in the version 10 migration as the scale every earlier database was scored under
+        assertEquals("760b35bd31c43b3038744bf9ad48e07dc0b9d0325a998bba4ad36c542bbb75b2",
+                     GradeScale.STANDARD_4_0.fingerprint());
+    }
+
+    private static List<String> rows(String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                rows.add(rs.getString(1) + "|" + rs.getString(2));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,125 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.GpaResultCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * db.switchGradeScale re-scores stored courses and their session totals together
+ */
+class GradeScaleSwitchTest {
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+
+    @BeforeAll
+    static void openDatabase() {
+        file = directory.resolve("scales.db");
+        System.setProperty("gpa.db.path", file.toString());
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().switchGradeScale(GradeScale.STANDARD_4_0);
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void switchRescoresCoursesAndSessionTotals() throws SQLException {
+        db database = db.getInstance();
+        int[] sessions = {0, database.getOrCreateSession("2024-1"), database.getOrCreateSession("2024-2")};
+        List<String> grades = GradeScale.STANDARD_4_0.getGrades();
+        Random random = new Random(13);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Course course = Course.withCreditHundredths("Course " + i, "C" + i, 50 * (1 + random.nextInt(8)),
+                                                        "", "", grades.get(random.nextInt(grades.size())));
+            course.setSessionId(sessions[random.nextInt(sessions.length)]);
+            courses.add(course);
+        }
+        assertTrue(database.insertCourses(courses));
+        GpaResultCache.getInstance().get(courses);
+
+        for (GradeScale scale : List.of(GradeScale.SCALE_4_3, GradeScale.PASS_FAIL, GradeScale.STANDARD_4_0)) {
+            assertTrue(database.switchGradeScale(scale));
+            assertSame(scale, GradeScale.getActive());
+            assertEquals(0, GpaResultCache.getInstance().size());
+            try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+                 Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT grade, grade_points, grade_points_hundredths FROM courses")) {
+                while (rs.next()) {
+                    long expected = scale.pointsHundredths(scale.code(rs.getString(1)));
+                    assertEquals(expected, rs.getLong(3), scale + " " + rs.getString(1));
+                    assertEquals(expected / 100.0, rs.getDouble(2), scale + " " + rs.getString(1));
+                }
+            }
+            try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+                 Statement stmt = connection.createStatement()) {
+                assertEquals(rows(stmt, """
+                                 SELECT session_id, SUM(credit_hundredths * grade_points_hundredths), SUM(credit_hundredths)
+                                 FROM courses WHERE session_id IS NOT NULL GROUP BY session_id ORDER BY session_id
+                             """),
+                             rows(stmt, """
+                                 SELECT session_id, weighted_ten_thousandths, credit_hundredths
+                                 FROM session_aggregates WHERE course_count > 0 ORDER BY session_id
+                             """), scale.toString());
+            }
+        }
+    }
+
+    @Test
+    void gradeUpdatesAreScoredUnderTheActiveScale() throws SQLException {
+        db database = db.getInstance();
+        Course course = Course.withCreditHundredths("Graded", "GRD100", 300, "", "", "B");
+        assertTrue(database.insertCourse(course));
+        for (GradeScale scale : List.of(GradeScale.SCALE_4_3, GradeScale.STANDARD_4_0)) {
+            assertTrue(database.switchGradeScale(scale));
+            assertTrue(database.updateCourseGrade(course.getId(), "A+"));
+            try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+                 Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                     "SELECT grade_points, grade_points_hundredths FROM courses WHERE id = " + course.getId())) {
+                assertEquals(scale.getMaxPoints(), rs.getDouble(1), scale.toString());
+                assertEquals(scale.getMaxPointsHundredths(), rs.getLong(2), scale.toString());
+            }
+        }
+    }
+
+    @Test
+    void maxPointsIsTheLargestEntryWhateverTheOrder() {
+        GradeScale worstFirst = new GradeScale("worst first", new String[] {"F", "C", "A", "B"},
+                                               new double[] {0.0, 2.0, 4.0, 3.0}, null);
+        assertEquals(4.0, worstFirst.getMaxPoints());
+        assertEquals(400, worstFirst.getMaxPointsHundredths());
+        assertEquals(430, GradeScale.SCALE_4_3.getMaxPointsHundredths());
+    }
+
+    private static List<String> rows(Statement stmt, String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                rows.add(rs.getLong(1) + ":" + rs.getLong(2) + ":" + rs.getLong(3));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,103 @@
+package database;
+
+import com.google.gson.Gson;
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.util.GpaResultCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Version 8: repeated calculations of the same courses fold into their newest history row
+ */
+class HistoryCoalesceMigrationTest {
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+
+    private static final List<Course> FIRST = List.of(
+        Course.withCreditHundredths("Algebra", "MTH101", 300, "Lee", "", "A"),
+        Course.withCreditHundredths("Physics", "PHY101", 400, "Kim", "", "B"));
+    private static final List<Course> SECOND = List.of(
+        Course.withCreditHundredths("History", "HIS101", 200, "Ng", "", "C"));
+
+    @BeforeAll
+    static void openLegacyDatabase() throws SQLException {
+        file = directory.resolve("v5.db");
+        Gson gson = new Gson();
+        LegacyDatabase legacy = LegacyDatabase.create(file);
+        legacy.calculation(3.43, 7, 2, gson.toJson(FIRST), "2024-01-01 10:00:00")
+              .calculation(2.0, 2, 1, gson.toJson(SECOND), "2024-01-02 10:00:00")
+              // Same courses in another order: a different snapshot, but the same content
+              .calculation(3.43, 7, 2, gson.toJson(List.of(FIRST.get(1), FIRST.get(0))), "2024-01-03 10:00:00")
+              .brokenCalculation("2024-01-04 10:00:00")
+              .calculation(3.43, 7, 2, gson.toJson(FIRST), "2024-01-05 10:00:00")
+              // Truncated JSON must be skipped, not abort the migration
+              .calculation(1.0, 3, 1, "[{\"courseName\": \"Alg", "2024-01-06 10:00:00");
+        legacy.close();
+        System.setProperty("gpa.db.path", file.toString());
+        db.getInstance();
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void foldsRepeatsIntoTheNewestRow() throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT id, content_hash, hit_count, calculation_date, last_seen FROM calculations ORDER BY id")) {
+            while (rs.next()) {
+                rows.add(rs.getInt(1) + "|" + rs.getString(2) + "|" + rs.getInt(3) + "|" + rs.getString(4) + "|"
+                         + rs.getString(5));
+            }
+        }
+        assertEquals(List.of(
+            "2|" + GpaResultCache.contentHash(SECOND) + "|1|2024-01-02 10:00:00|2024-01-02 10:00:00",
+            "4|null|1|2024-01-04 10:00:00|2024-01-04 10:00:00",
+            "5|" + GpaResultCache.contentHash(FIRST) + "|3|2024-01-05 10:00:00|2024-01-05 10:00:00",
+            "6|null|1|2024-01-06 10:00:00|2024-01-06 10:00:00"), rows);
+    }
+
+    @Test
+    void malformedHistoryDoesNotHoldBackLaterVersions() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            assertEquals(10, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void contentHashIsUniqueAndHistoryIsOrderedByLastSeen() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT \"unique\" FROM pragma_index_list('calculations') WHERE name = 'idx_calculations_content'")) {
+            assertEquals(1, rs.getInt(1));
+        }
+        List<db.CalculationRecord> history = db.getInstance().getCalculationHistory(10);
+        assertEquals(List.of(6, 5, 4, 2), history.stream().map(db.CalculationRecord::getId).toList());
+        assertEquals(3, history.get(1).getHitCount());
+        assertEquals(2, db.getInstance().getCalculationCourses(5).size());
+        assertTrue(db.getInstance().getCalculationCourses(4).isEmpty());
+    }
+}
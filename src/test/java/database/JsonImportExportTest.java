@@ -0,0 +1,201 @@
+package database;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kaif.gpacalculator.model.Course;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streaming JSON export and import: plain and gzip round trips, rejected records, truncated
+ * input and per-chunk progress
+ */
+class JsonImportExportTest {
+
+    @TempDir
+    static Path directory;
+
+    @BeforeAll
+    static void openDatabase() {
+        System.setProperty("gpa.db.path", directory.resolve("export.db").toString());
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @BeforeEach
+    void clearCourses() {
+        assertTrue(db.getInstance().deleteAllCourses());
+    }
+
+    @Test
+    void coursesRoundTripPlainAndGzipped() throws IOException {
+        db database = db.getInstance();
+        List<Course> courses = courses(25);
+        assertTrue(database.insertCourses(courses));
+        List<String> expected = render(database.getAllCourses());
+
+        for (boolean gzip : new boolean[] {false, true}) {
+            Path file = directory.resolve(gzip ? "courses.json.gz" : "courses.json");
+            db.ExportReport export = database.exportCoursesToJSON(file, gzip);
+            assertNotNull(export);
+            assertEquals(25, export.getRows());
+            assertEquals(Files.size(file), export.getFileBytes());
+            byte[] head = Arrays.copyOf(Files.readAllBytes(file), 2);
+            assertEquals(gzip, head[0] == (byte) 0x1f && head[1] == (byte) 0x8b, file.toString());
+
+            assertTrue(database.deleteAllCourses());
+            db.ImportReport report = database.importCoursesFromJSON(file, 10, null);
+            assertTrue(report.isComplete(), report.getErrors().toString());
+            assertEquals(25, report.getImported());
+            assertEquals(0, report.getRejected());
+            assertEquals(expected, render(database.getAllCourses()), file.toString());
+        }
+    }
+
+    @Test
+    void badRecordsMidArrayAreCountedAndSkipped() throws IOException {
+        Path file = directory.resolve("bad.json");
+        Files.writeString(file, "[" + String.join(",",
+            record("Good 1", "A"),
+            "42",
+            record("Good 2", "B"),
+            "{\"courseName\":\"Bad credit\",\"courseCode\":\"X1\",\"courseCredit\":\"three\",\"grade\":\"A\"}",
+            record("Good 3", "C"),
+            record("Bad grade", "Z"),
+            record("Good 4", "D")) + "]");
+
+        db.ImportReport report = db.getInstance().importCoursesFromJSON(file, 2, null);
+        assertTrue(report.isComplete());
+        assertEquals(7, report.getRecords());
+        assertEquals(4, report.getImported());
+        assertEquals(3, report.getRejected());
+        assertEquals(List.of("Record 2:", "Record 4:", "Record 6:"),
+                     report.getErrors().stream().map(error -> error.substring(0, error.indexOf(':') + 1)).toList());
+        assertEquals(List.of("Good 4", "Good 3", "Good 2", "Good 1"),
+                     db.getInstance().getAllCourses().stream().map(Course::getCourseName).toList());
+    }
+
+    @Test
+    void truncatedFileKeepsTheRecordsBeforeTheCut() throws IOException {
+        db database = db.getInstance();
+        assertTrue(database.insertCourses(courses(10)));
+        for (boolean gzip : new boolean[] {false, true}) {
+            Path file = directory.resolve(gzip ? "cut.json.gz" : "cut.json");
+            assertNotNull(database.exportCoursesToJSON(file, gzip));
+            byte[] bytes = Files.readAllBytes(file);
+            // Plain: stop inside the last record; gzip: drop the trailer and the end of the stream
+            Path cut = directory.resolve("cut-" + file.getFileName());
+            Files.write(cut, Arrays.copyOf(bytes, bytes.length - (gzip ? 12 : 20)));
+
+            assertTrue(database.deleteAllCourses());
+            db.ImportReport report = database.importCoursesFromJSON(cut, 4, null);
+            assertFalse(report.isComplete(), cut.toString());
+            assertTrue(report.getErrors().get(report.getErrors().size() - 1).startsWith("Malformed JSON after record"),
+                       report.getErrors().toString());
+            assertEquals(report.getRecords(), report.getImported());
+            assertEquals(report.getImported(), database.getAllCourses().size());
+            if (!gzip) {
+                assertEquals(9, report.getImported());
+            }
+            assertTrue(database.deleteAllCourses());
+            assertTrue(database.insertCourses(courses(10)));
+        }
+    }
+
+    @Test
+    void progressIsReportedOncePerChunk() throws IOException {
+        db database = db.getInstance();
+        assertTrue(database.insertCourses(courses(25)));
+        Path file = directory.resolve("progress.json");
+        assertNotNull(database.exportCoursesToJSON(file, false));
+        assertTrue(database.deleteAllCourses());
+
+        List<db.ImportReport> updates = new ArrayList<>();
+        db.ImportReport report = database.importCoursesFromJSON(file, 10, updates::add);
+        assertEquals(List.of(10L, 20L, 25L), updates.stream().map(db.ImportReport::getImported).toList());
+        assertEquals(List.of(false, false, true), updates.stream().map(db.ImportReport::isComplete).toList());
+        for (int i = 1; i < updates.size(); i++) {
+            assertTrue(updates.get(i).getBytesRead() >= updates.get(i - 1).getBytesRead());
+        }
+        assertEquals(Files.size(file), updates.get(2).getBytesRead());
+        assertEquals(1.0, updates.get(2).getFraction());
+        assertEquals(25, report.getImported());
+    }
+
+    @Test
+    void calculationsExportWithTheirCourses() throws IOException {
+        db database = db.getInstance();
+        List<Course> first = courses(3);
+        List<Course> second = courses(1);
+        assertTrue(database.insertCalculation(3.5, 9.0, first, "export-first"));
+        assertTrue(database.insertCalculation(2.0, 3.0, second, "export-second"));
+
+        for (boolean gzip : new boolean[] {false, true}) {
+            Path file = directory.resolve(gzip ? "history.json.gz" : "history.json");
+            db.ExportReport export = database.exportCalculationsToJSON(file, gzip);
+            assertNotNull(export);
+            assertEquals(2, export.getRows());
+            JsonArray history;
+            try (InputStream in = gzip ? new GZIPInputStream(Files.newInputStream(file)) : Files.newInputStream(file);
+                 Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                history = JsonParser.parseReader(reader).getAsJsonArray();
+            }
+            assertEquals(2, history.size());
+            JsonObject entry = history.get(0).getAsJsonObject();
+            assertEquals(3.5, entry.get("gpa").getAsDouble());
+            assertEquals(1, entry.get("hitCount").getAsInt());
+            List<String> names = new ArrayList<>();
+            entry.getAsJsonArray("courses").forEach(course -> names.add(course.getAsJsonObject().get("courseName").getAsString()));
+            assertEquals(first.stream().map(Course::getCourseName).toList(), names);
+            assertEquals(1, history.get(1).getAsJsonObject().getAsJsonArray("courses").size());
+        }
+    }
+
+    private static List<Course> courses(int count) {
+        String[] grades = {"A+", "A", "B-", "C", "F"};
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Quotes, commas and non-ASCII text must survive the JSON encoding
+            courses.add(Course.withCreditHundredths("Course \"" + i + "\", ünïcode", "C" + i, 25 * (i + 1),
+                                                    "Teacher " + i, i % 2 == 0 ? null : "Second", grades[i % grades.length]));
+        }
+        return courses;
+    }
+
+    private static String record(String name, String grade) {
+        return "{\"courseName\":\"" + name + "\",\"courseCode\":\"T1\",\"courseCredit\":3.0,\"grade\":\"" + grade + "\"}";
+    }
+
+    private static List<String> render(List<Course> courses) {
+        return courses.stream()
+            .map(course -> course.getCourseName() + "|" + course.getCourseCode() + "|" + course.getCreditHundredths() + "|"
+                           + course.getTeacher1Name() + "|" + course.getTeacher2Name() + "|" + course.getGrade() + "|"
+                           + course.getGradePointsHundredths())
+            .sorted()
+            .toList();
+    }
+}
@@ -0,0 +1,215 @@
+package database;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+
+/**
+ * Builds a database file as version 5 of the schema left it (before fixed-point columns,
+ * sessions on courses and coalesced history), for the migration tests.
+ *
+ * db reads its path once, when the class loads, so each migration test sets gpa.db.path
+ * before its first use of db and runs in its own JVM (surefire reuseForks=false).
+ */
+final class LegacyDatabase {
+
+    private final Connection connection;
+
+    private LegacyDatabase(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Create the version 5 schema in a new file
+     */
+    static LegacyDatabase create(Path file) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE courses (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    course_name TEXT NOT NULL,
+                    course_code TEXT NOT NULL,
+                    course_credit REAL NOT NULL,
+                    teacher1_name TEXT,
+                    teacher2_name TEXT,
+                    grade TEXT NOT NULL,
+                    grade_points REAL NOT NULL,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE calculations (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    gpa REAL NOT NULL,
+                    total_credits REAL NOT NULL,
+                    total_courses INTEGER NOT NULL,
+                    courses_json TEXT NOT NULL,
+                    calculation_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    snapshot_hash TEXT
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE sessions (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    session_name TEXT NOT NULL,
+                    semester TEXT,
+                    year INTEGER,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+            stmt.execute("CREATE INDEX idx_courses_created_at ON courses(created_at, id)");
+            stmt.execute("CREATE INDEX idx_courses_code ON courses(course_code)");
+            stmt.execute("CREATE INDEX idx_calculations_date ON calculations(calculation_date)");
+            stmt.execute("""
+                CREATE VIRTUAL TABLE courses_fts USING fts5(
+                    course_name, course_code, teacher1_name, teacher2_name,
+                    content='courses', content_rowid='id', tokenize='unicode61', prefix='2 3'
+                )
+            """);
+            stmt.execute("""
+                CREATE TRIGGER courses_fts_insert AFTER INSERT ON courses BEGIN
+                    INSERT INTO courses_fts(rowid, course_name, course_code, teacher1_name, teacher2_name)
+                    VALUES (new.id, new.course_name, new.course_code, new.teacher1_name, new.teacher2_name);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER courses_fts_delete AFTER DELETE ON courses BEGIN
+                    INSERT INTO courses_fts(courses_fts, rowid, course_name, course_code, teacher1_name, teacher2_name)
+                    VALUES ('delete', old.id, old.course_name, old.course_code, old.teacher1_name, old.teacher2_name);
+                END
+            """);
+            stmt.execute("CREATE TABLE course_snapshots (hash TEXT PRIMARY KEY, data BLOB NOT NULL) WITHOUT ROWID");
+            stmt.execute("""
+                CREATE TABLE write_behind_state (
+                    id INTEGER PRIMARY KEY CHECK (id = 1),
+                    last_seq INTEGER NOT NULL
+                )
+            """);
+            stmt.execute("PRAGMA user_version = 5");
+        }
+        return new LegacyDatabase(connection);
+    }
+
+    LegacyDatabase course(String name, String code, double credit, String grade, double gradePoints) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("""
+                INSERT INTO courses (course_name, course_code, course_credit, teacher1_name, teacher2_name, grade, grade_points)
+                VALUES (?, ?, ?, 'Teacher', NULL, ?, ?)
+            """)) {
+            pstmt.setString(1, name);
+            pstmt.setString(2, code);
+            pstmt.setDouble(3, credit);
+            pstmt.setString(4, grade);
+            pstmt.setDouble(5, gradePoints);
+            pstmt.executeUpdate();
+        }
+        return this;
+    }
+
+    LegacyDatabase session(String name) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("INSERT INTO sessions (session_name) VALUES (?)")) {
+            pstmt.setString(1, name);
+            pstmt.executeUpdate();
+        }
+        return this;
+    }
+
+    /**
+     * A calculation whose courses (compact JSON) sit in the snapshot store, as version 4 moved them
+     */
+    LegacyDatabase calculation(double gpa, double credits, int courses, String coursesJson, String date)
+            throws SQLException {
+        byte[] raw = coursesJson.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256Hex(raw);
+        try (PreparedStatement snapshot = connection.prepareStatement(
+                 "INSERT OR IGNORE INTO course_snapshots (hash, data) VALUES (?, ?)");
+             PreparedStatement calculation = connection.prepareStatement("""
+                 INSERT INTO calculations (gpa, total_credits, total_courses, courses_json, calculation_date, snapshot_hash)
+                 VALUES (?, ?, ?, '', ?, ?)
+             """)) {
+            snapshot.setString(1, hash);
+            snapshot.setBytes(2, deflate(raw));
+            snapshot.executeUpdate();
+            calculation.setDouble(1, gpa);
+            calculation.setDouble(2, credits);
+            calculation.setInt(3, courses);
+            calculation.setString(4, date);
+            calculation.setString(5, hash);
+            calculation.executeUpdate();
+        }
+        return this;
+    }
+
+    /**
+     * A calculation with its courses inline in courses_json, as rows were stored before version 4
+     */
+    LegacyDatabase inlineCalculation(String coursesJson, String date) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("""
+                INSERT INTO calculations (gpa, total_credits, total_courses, courses_json, calculation_date)
+                VALUES (0, 0, 0, ?, ?)
+            """)) {
+            pstmt.setString(1, coursesJson);
+            pstmt.setString(2, date);
+            pstmt.executeUpdate();
+        }
+        return this;
+    }
+
+    /**
+     * Mark the file as an earlier schema version, so db re-runs the later (idempotent) steps
+     */
+    LegacyDatabase version(int version) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA user_version = " + version);
+        }
+        return this;
+    }
+
+    /**
+     * A calculation row whose snapshot is missing, so its courses cannot be read
+     */
+    LegacyDatabase brokenCalculation(String date) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("""
+                INSERT INTO calculations (gpa, total_credits, total_courses, courses_json, calculation_date, snapshot_hash)
+                VALUES (0, 0, 0, '', ?, 'missing')
+            """)) {
+            pstmt.setString(1, date);
+            pstmt.executeUpdate();
+        }
+        return this;
+    }
+
+    void close() throws SQLException {
+        connection.close();
+    }
+
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+}
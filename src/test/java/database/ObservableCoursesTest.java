@@ -0,0 +1,110 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The observable course list follows inserts, updates and deletes row by row and stays in
+ * getAllCourses order (no toolkit is running, so list changes apply inline)
+ */
+class ObservableCoursesTest {
+
+    @TempDir
+    static Path directory;
+
+    @BeforeAll
+    static void openDatabase() {
+        System.setProperty("gpa.db.path", directory.resolve("courses.db").toString());
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void listMatchesTableAfterRandomEdits() {
+        db database = db.getInstance();
+        List<String> grades = GradeScale.getActive().getGrades();
+        Random random = new Random(3);
+        assertTrue(database.insertCourse(course("Loaded", "L0", grades.get(0))));
+        ObservableList<Course> list = database.getObservableCourses();
+        List<Integer> ids = new ArrayList<>(List.of(list.get(0).getId()));
+
+        for (int step = 0; step < 500; step++) {
+            int op = random.nextInt(4);
+            if (op == 0 || ids.isEmpty()) {
+                Course course = course("Course " + step, "C" + step, grades.get(random.nextInt(grades.size())));
+                assertTrue(database.insertCourse(course));
+                ids.add(course.getId());
+            } else if (op == 1) {
+                List<Course> batch = new ArrayList<>();
+                for (int i = random.nextInt(4); i >= 0; i--) {
+                    batch.add(course("Batch " + step + "-" + i, "B" + step, grades.get(random.nextInt(grades.size()))));
+                }
+                assertTrue(database.insertCourses(batch));
+                batch.forEach(course -> ids.add(course.getId()));
+            } else if (op == 2) {
+                int id = ids.get(random.nextInt(ids.size()));
+                String grade = grades.get(random.nextInt(grades.size()));
+                assertTrue(database.updateCourse(id, course("Edited " + step, "E" + step, grade)));
+                Course row = database.getCourseById(id);
+                assertEquals(grade, row.getGrade());
+                assertSame(row, list.get(list.indexOf(row)));
+            } else {
+                assertTrue(database.deleteCourse(ids.remove(random.nextInt(ids.size()))));
+            }
+            assertEquals(idsOf(database.getAllCourses()), idsOf(list), "step " + step);
+        }
+    }
+
+    @Test
+    void updateOfUnlistedRowDoesNotAppendIt() throws SQLException {
+        db database = db.getInstance();
+        ObservableList<Course> list = database.getObservableCourses();
+        int size = list.size();
+        int id;
+        // A row written behind db's back is in the table but not in the list
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("courses.db"));
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("""
+                INSERT INTO courses (course_name, course_code, course_credit, grade, grade_points,
+                                     credit_hundredths, grade_points_hundredths)
+                VALUES ('Ghost', 'G1', 3.0, 'A', 4.0, 300, 400)
+            """);
+            try (ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+                id = rs.getInt(1);
+            }
+        }
+        assertTrue(database.updateCourse(id, course("Ghost", "G2", "B")));
+        assertEquals(size, list.size());
+        assertTrue(database.deleteCourse(id));
+    }
+
+    private static Course course(String name, String code, String grade) {
+        return Course.withCreditHundredths(name, code, 300, "", "", grade);
+    }
+
+    private static List<Integer> idsOf(List<Course> courses) {
+        return courses.stream().map(Course::getId).toList();
+    }
+}
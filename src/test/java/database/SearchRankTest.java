@@ -0,0 +1,50 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Search ranks the whole match set, not just the newest matches
+ */
+class SearchRankTest {
+
+    @TempDir
+    static Path directory;
+
+    @BeforeAll
+    static void openDatabase() {
+        System.setProperty("gpa.db.path", directory.resolve("search.db").toString());
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void bestMatchIsFoundBehindThousandsOfNewerWeakerOnes() {
+        db database = db.getInstance();
+        Course best = Course.withCreditHundredths("Physics", "PHYSICS", 300, "Physics", "", "A");
+        assertTrue(database.insertCourse(best));
+        List<Course> weaker = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            weaker.add(Course.withCreditHundredths("Introductory Physics Laboratory Section " + i, "LAB" + i, 100,
+                                                   "Staff Member", "Teaching Assistant", "B"));
+        }
+        assertTrue(database.insertCourses(weaker));
+
+        List<Course> results = database.searchCourses("physics", 5);
+        assertEquals(5, results.size());
+        assertEquals(best.getId(), results.get(0).getId());
+    }
+}
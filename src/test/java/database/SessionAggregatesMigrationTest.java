@@ -0,0 +1,149 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.model.GradeScale;
+import com.kaif.gpacalculator.util.GpaCalculator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Version 7: courses gain a session, and session_aggregates is kept equal to the per-session
+ * sums by triggers
+ */
+class SessionAggregatesMigrationTest {
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+    // Read right after the migration, before any test writes
+    private static long legacyWithoutSession;
+    private static long aggregateRows;
+
+    @BeforeAll
+    static void openLegacyDatabase() throws SQLException {
+        file = directory.resolve("v5.db");
+        LegacyDatabase legacy = LegacyDatabase.create(file);
+        legacy.session("2023-1").session("2023-2")
+              .course("Algebra", "MTH101", 3.0, "A", 4.0)
+              .course("Physics", "PHY101", 4.0, "B", 3.0);
+        legacy.close();
+        System.setProperty("gpa.db.path", file.toString());
+        db.getInstance();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement()) {
+            legacyWithoutSession = count(stmt, "SELECT COUNT(*) FROM courses WHERE session_id IS NULL");
+            aggregateRows = count(stmt, "SELECT COUNT(*) FROM session_aggregates");
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void legacyCoursesHaveNoSessionAndAggregatesStartEmpty() throws SQLException {
+        assertEquals(2, legacyWithoutSession);
+        assertEquals(0, aggregateRows);
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement()) {
+            assertEquals(1, count(stmt, "SELECT COUNT(*) FROM sqlite_master WHERE name = 'idx_courses_session'"));
+        }
+    }
+
+    @Test
+    void triggersKeepAggregatesEqualToCourseSums() throws SQLException {
+        db database = db.getInstance();
+        int[] sessions = {0, database.getOrCreateSession("2023-1"), database.getOrCreateSession("2023-2"),
+                          database.getOrCreateSession("2024-1")};
+        List<String> grades = GradeScale.getActive().getGrades();
+        List<Integer> ids = new ArrayList<>();
+        Random random = new Random(16);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement()) {
+            // Link the legacy rows by hand, as a user assigning old courses would
+            stmt.executeUpdate("UPDATE courses SET session_id = " + sessions[1] + " WHERE course_code = 'MTH101'");
+            assertAggregatesMatch(stmt, "linked legacy row");
+
+            for (int step = 0; step < 300; step++) {
+                int op = random.nextInt(4);
+                if (op <= 1 || ids.isEmpty()) {
+                    Course course = Course.withCreditHundredths("Course " + step, "C" + step, 50 * (1 + random.nextInt(8)),
+                                                                "", "", grades.get(random.nextInt(grades.size())));
+                    course.setSessionId(sessions[random.nextInt(sessions.length)]);
+                    assertTrue(database.insertCourse(course));
+                    ids.add(course.getId());
+                } else if (op == 2) {
+                    int id = ids.get(random.nextInt(ids.size()));
+                    Course course = Course.withCreditHundredths("Edited", "E" + step, 50 * (1 + random.nextInt(8)),
+                                                                "", "", grades.get(random.nextInt(grades.size())));
+                    course.setSessionId(sessions[random.nextInt(sessions.length)]);
+                    assertTrue(database.updateCourse(id, course));
+                } else {
+                    assertTrue(database.deleteCourse(ids.remove(random.nextInt(ids.size()))));
+                }
+                if (random.nextInt(10) == 0 && !ids.isEmpty()) {
+                    stmt.executeUpdate("UPDATE courses SET session_id = NULL WHERE id = " + ids.get(random.nextInt(ids.size())));
+                }
+                assertAggregatesMatch(stmt, "step " + step);
+            }
+        }
+
+        // The last summary's cumulative totals cover every session
+        List<db.SessionSummary> summaries = database.getSessionSummaries();
+        db.SessionSummary last = summaries.get(summaries.size() - 1);
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("""
+                 SELECT SUM(credit_hundredths), SUM(credit_hundredths * grade_points_hundredths), COUNT(*)
+                 FROM courses WHERE session_id IS NOT NULL
+             """)) {
+            assertEquals(rs.getLong(1), last.getTotalCreditHundredths());
+            assertEquals(GpaCalculator.gpaHundredths(rs.getLong(2), rs.getLong(1)), last.getCgpaHundredths());
+            assertEquals(rs.getInt(3), last.getTotalCourses());
+        }
+    }
+
+    private static void assertAggregatesMatch(Statement stmt, String context) throws SQLException {
+        assertEquals(rows(stmt, """
+                         SELECT session_id, SUM(credit_hundredths * grade_points_hundredths), SUM(credit_hundredths), COUNT(*)
+                         FROM courses WHERE session_id IS NOT NULL GROUP BY session_id ORDER BY session_id
+                     """),
+                     rows(stmt, """
+                         SELECT session_id, weighted_ten_thousandths, credit_hundredths, course_count
+                         FROM session_aggregates WHERE course_count > 0 ORDER BY session_id
+                     """), context);
+    }
+
+    private static long count(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.getLong(1);
+        }
+    }
+
+    private static List<String> rows(Statement stmt, String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                rows.add(rs.getLong(1) + ":" + rs.getLong(2) + ":" + rs.getLong(3) + ":" + rs.getLong(4));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,96 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import com.kaif.gpacalculator.util.GpaResultCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Versions 4 and 8 read stored course lists as raw JSON, so they keep migrating rows written
+ * by the original Course shape whatever the live model and grade scale look like
+ */
+class SnapshotMigrationTest {
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+
+    // The original reflective Gson shape: no id, gradePoints stored, loose formatting
+    private static final String ALGEBRA = """
+        [ {"courseName": "Algebra", "courseCode": "MTH101", "courseCredit": 3.0,
+           "teacher1Name": "Lee", "teacher2Name": "", "grade": "A", "gradePoints": 3.75} ]""";
+    private static final String ALGEBRA_COMPACT = "[{\"courseName\":\"Algebra\",\"courseCode\":\"MTH101\","
+        + "\"courseCredit\":3.0,\"teacher1Name\":\"Lee\",\"teacher2Name\":\"\",\"grade\":\"A\",\"gradePoints\":3.75}]";
+
+    @BeforeAll
+    static void openLegacyDatabase() throws SQLException {
+        file = directory.resolve("v3.db");
+        LegacyDatabase legacy = LegacyDatabase.create(file);
+        legacy.inlineCalculation(ALGEBRA, "2024-01-01 10:00:00")
+              .inlineCalculation("", "2024-01-02 10:00:00")
+              .inlineCalculation("[{\"courseName\": \"Alg", "2024-01-03 10:00:00")
+              .inlineCalculation(ALGEBRA.replace(" ", ""), "2024-01-04 10:00:00")
+              // No gradePoints field: points come from the original 4.0 table
+              .inlineCalculation("[{\"courseName\":\"Lab\",\"courseCode\":\"PHY101L\",\"courseCredit\":0.125,"
+                                 + "\"grade\":\"B+\"}]", "2024-01-05 10:00:00")
+              .version(3);
+        legacy.close();
+        System.setProperty("gpa.db.path", file.toString());
+        db.getInstance();
+    }
+
+    @AfterAll
+    static void close() {
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void storesTheRawListCompactlyAndSkipsEmptyOrMalformedRows() throws SQLException {
+        assertEquals(List.of("2|null", "3|null", "4|hash", "5|hash"), calculations("""
+            SELECT id, CASE WHEN snapshot_hash IS NULL THEN 'null' ELSE 'hash' END FROM calculations ORDER BY id
+        """));
+        assertEquals(List.of("2"), calculations("SELECT COUNT(*) FROM course_snapshots"));
+        assertEquals(ALGEBRA_COMPACT, db.getInstance().getCalculationCoursesJSON(4));
+    }
+
+    @Test
+    void hashesMatchTheLiveContentHash() throws SQLException {
+        String algebra = GpaResultCache.contentHash(List.of(
+            Course.withCreditHundredths("Algebra", "MTH101", 300, "Lee", "", "A")));
+        String lab = GpaResultCache.contentHash(List.of(
+            Course.withCreditHundredths("Lab", "PHY101L", 13, null, null, "B+")));
+        assertEquals(List.of("2|null|1", "3|null|1", "4|" + algebra + "|2", "5|" + lab + "|1"),
+                     calculations("SELECT id, content_hash, hit_count FROM calculations ORDER BY id"));
+        assertEquals(1, db.getInstance().getCalculationCourses(4).size());
+    }
+
+    private static List<String> calculations(String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                StringBuilder row = new StringBuilder(rs.getString(1));
+                for (int i = 2; i <= columns; i++) {
+                    row.append('|').append(rs.getString(i));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+}
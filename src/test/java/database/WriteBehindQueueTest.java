@@ -0,0 +1,129 @@
+package database;
+
+import com.kaif.gpacalculator.model.Course;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A queue killed before its group commits is replayed from the journal when it is reopened:
+ * entries the database already covers, cancelled entries and a torn last line are not replayed
+ */
+class WriteBehindQueueTest {
+
+    @TempDir
+    static Path directory;
+    private static Path file;
+    private static Path journal;
+
+    @BeforeAll
+    static void openDatabase() {
+        file = directory.resolve("queue.db");
+        journal = Path.of(file + "-pending");
+        System.setProperty("gpa.db.path", file.toString());
+    }
+
+    @AfterAll
+    static void close() {
+        AsyncDatabase.getInstance().shutdown();
+        db.getInstance().closeConnection();
+    }
+
+    @Test
+    void replaysOnlyUncommittedUncancelledEntries() throws IOException, SQLException {
+        db.getInstance();
+        execute("INSERT OR REPLACE INTO write_behind_state (id, last_seq) VALUES (1, 102)");
+        Files.writeString(journal, record(101, "insert", "Committed A") + record(102, "insert", "Committed B")
+                                   + record(103, "insert", "Pending C") + record(104, "insert", "Cancelled D")
+                                   + "{\"seq\":105,\"op\":\"cancel\",\"target\":104}\n"
+                                   + record(106, "insert", "Pending E")
+                                   // Crash mid-append: no closing brace, no newline
+                                   + "{\"seq\":107,\"op\":\"insert\",\"course\":{\"courseName\":\"Torn F",
+                          StandardCharsets.UTF_8);
+
+        WriteBehindQueue queue = new WriteBehindQueue(AsyncDatabase.getInstance(), 64, 60_000);
+        assertEquals(List.of("Pending C", "Pending E"), names("Committed %", "Pending %", "Cancelled %", "Torn %"));
+        assertEquals(106, db.getInstance().getWriteBehindSeq());
+        assertEquals(0, Files.size(journal));
+
+        // New entries continue after the highest sequence in the journal
+        Course course = course("After G");
+        assertTrue(queue.enqueue(course));
+        queue.flushAsync().join();
+        assertEquals(107, db.getInstance().getWriteBehindSeq());
+        assertTrue(course.getId() > 0);
+        queue.shutdown();
+    }
+
+    @Test
+    void reopeningAfterAKillMidGroupCommitsWhatWasJournaled() throws IOException, SQLException {
+        db.getInstance();
+        long committed = db.getInstance().getWriteBehindSeq();
+        // A window no test outlives, so this queue never commits on its own: it is "killed"
+        WriteBehindQueue killed = new WriteBehindQueue(AsyncDatabase.getInstance(), 1000, 600_000);
+        Course kept = course("Killed X");
+        Course dropped = course("Killed Y");
+        assertTrue(killed.enqueue(kept));
+        assertTrue(killed.enqueue(dropped));
+        assertTrue(killed.enqueue(course("Killed Z")));
+        assertTrue(killed.cancel(dropped));
+        assertEquals(List.of(), names("Killed %"));
+
+        WriteBehindQueue reopened = new WriteBehindQueue(AsyncDatabase.getInstance(), 64, 60_000);
+        assertEquals(List.of("Killed X", "Killed Z"), names("Killed %"));
+        assertEquals(committed + 4, db.getInstance().getWriteBehindSeq());
+
+        // Reopening again finds nothing left to replay
+        reopened.shutdown();
+        new WriteBehindQueue(AsyncDatabase.getInstance(), 64, 60_000).shutdown();
+        assertEquals(List.of("Killed X", "Killed Z"), names("Killed %"));
+    }
+
+    private static Course course(String name) {
+        return Course.withCreditHundredths(name, "WBQ100", 300, "", "", "A");
+    }
+
+    private static String record(long seq, String op, String name) {
+        return "{\"seq\":" + seq + ",\"op\":\"" + op + "\",\"course\":{\"courseName\":\"" + name
+               + "\",\"courseCode\":\"WBQ100\",\"courseCredit\":3.0,\"grade\":\"A\"},\"target\":0}\n";
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+
+    private static List<String> names(String... patterns) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = connection.createStatement()) {
+            for (String pattern : patterns) {
+                try (ResultSet rs = stmt.executeQuery(
+                         "SELECT course_name FROM courses WHERE course_name LIKE '" + pattern + "' ORDER BY id")) {
+                    while (rs.next()) {
+                        names.add(rs.getString(1));
+                    }
+                }
+            }
+        }
+        return names;
+    }
+}